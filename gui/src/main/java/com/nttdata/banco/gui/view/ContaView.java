@@ -365,7 +365,7 @@ public class ContaView extends JDialog {
                         break;
                 }
                 
-                resultado.append("\nTotal de Transações: ").append(conta.getHistorico().size()).append("\n");
+                resultado.append("\nTotal de Transações: ").append(conta.getQuantidadeTransacoes()).append("\n");
                 
                 resultadoBuscaConta.setText(resultado.toString());
                 
@@ -663,7 +663,7 @@ public class TransacaoView extends JDialog {
                         break;
                 }
                 
-                resultado.append("\nTotal de Transações: ").append(conta.getHistorico().size()).append("\n");
+                resultado.append("\nTotal de Transações: ").append(conta.getQuantidadeTransacoes()).append("\n");
                 resultado.append("Status: ").append(conta.isAtiva() ? "Ativa" : "Inativa").append("\n");
                 resultado.append("Consulta realizada em: ").append(
                     java.time.LocalDateTime.now().format(
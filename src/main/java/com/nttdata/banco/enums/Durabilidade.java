@@ -0,0 +1,25 @@
+package com.nttdata.banco.enums;
+
+/**
+ * Enum que define quando uma operação registrada no journal é confirmada
+ */
+public enum Durabilidade {
+    SINCRONA("Síncrona - a própria thread grava e força o journal para o disco"),
+    GRUPO("Grupo - espera um fsync compartilhado com outras operações"),
+    ASSINCRONA("Assíncrona - confirma sem esperar o disco");
+
+    private final String descricao;
+
+    Durabilidade(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
@@ -0,0 +1,41 @@
+package com.nttdata.banco.enums;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Enum que define os formatos de texto da importação e exportação em massa
+ */
+public enum FormatoDados {
+    CSV("CSV"),
+    NDJSON("JSON delimitado por linhas");
+
+    private final String descricao;
+
+    FormatoDados(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Formato pela extensão do arquivo (.csv, .ndjson ou .jsonl)
+     */
+    public static FormatoDados deArquivo(Path arquivo) {
+        String nome = arquivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (nome.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nome.endsWith(".ndjson") || nome.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Extensão de arquivo não reconhecida: " + arquivo.getFileName());
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.nttdata.banco.enums;
+
+/**
+ * Enum que define como um lote de transferências trata falhas individuais
+ */
+public enum ModoLote {
+    TUDO_OU_NADA("Tudo ou nada"),
+    MELHOR_ESFORCO("Melhor esforço");
+
+    private final String descricao;
+
+    ModoLote(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
@@ -0,0 +1,32 @@
+package com.nttdata.banco.enums;
+
+/**
+ * Enum que define o resultado de um PIX com controle de admissão
+ * As rejeições por limite de taxa são distintas da recusa da própria operação
+ */
+public enum ResultadoPix {
+    SUCESSO("PIX realizado"),
+    FALHOU("PIX recusado"),
+    REJEITADO_LIMITE_CONTA("Limite de PIX da conta excedido"),
+    REJEITADO_LIMITE_CPF("Limite de PIX do CPF excedido"),
+    REJEITADO_LIMITE_GLOBAL("Limite global de PIX excedido");
+
+    private final String descricao;
+
+    ResultadoPix(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public boolean isRejeitado() {
+        return this != SUCESSO && this != FALHOU;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.nttdata.banco.model.Conta;
 import com.nttdata.banco.model.Investimento;
 import com.nttdata.banco.service.BancoService;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Scanner;
 
@@ -32,6 +34,7 @@ public class MenuRelatorio {
                 case 3 -> relatorioInvestimentos();
                 case 4 -> posicaoConsolidada();
                 case 5 -> rankingClientes();
+                case 6 -> exibirExtratoPeriodo();
                 case 0 -> voltar = true;
                 default -> System.out.println("⚠️ Opção inválida!");
             }
@@ -51,6 +54,7 @@ public class MenuRelatorio {
         System.out.println("💰 3. Relatório de Investimentos");
         System.out.println("🏆 4. Posição Consolidada (CPF)");
         System.out.println("📅 5. Ranking de Clientes");
+        System.out.println("🗓️ 6. Extrato por Período");
         System.out.println("⬅️ 0. Voltar");
         System.out.println("─".repeat(50));
         System.out.print("🔴 Escolha uma opção: ");
@@ -71,6 +75,27 @@ public class MenuRelatorio {
         }
     }
 
+    private void exibirExtratoPeriodo() {
+        System.out.println("\n🗓️ EXTRATO POR PERÍODO");
+        System.out.println("─".repeat(25));
+        
+        try {
+            String[] dadosConta = lerDadosConta();
+            if (dadosConta == null) return;
+            
+            DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+            System.out.print("📅 De (dd/MM/yyyy): ");
+            LocalDate de = LocalDate.parse(scanner.nextLine().trim(), formato);
+            System.out.print("📅 Até (dd/MM/yyyy): ");
+            LocalDate ate = LocalDate.parse(scanner.nextLine().trim(), formato);
+            
+            bancoService.exibirExtratoPeriodo(dadosConta[0], dadosConta[1], de, ate);
+            
+        } catch (Exception e) {
+            System.out.println("❌ Erro: " + e.getMessage());
+        }
+    }
+
     private void relatorioGeral() {
         System.out.println("\n📈 RELATÓRIO GERAL DO BANCO");
         System.out.println("=".repeat(50));
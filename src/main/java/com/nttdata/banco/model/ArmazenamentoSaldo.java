@@ -0,0 +1,23 @@
+package com.nttdata.banco.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Abstração do local onde o saldo de uma Conta é guardado
+ * Permite trocar a representação (BigDecimal ou centavos em long)
+ * sem alterar as regras de saque das subclasses de Conta
+ */
+public interface ArmazenamentoSaldo {
+
+    BigDecimal getValor();
+
+    void definir(BigDecimal valor);
+
+    void creditar(BigDecimal valor);
+
+    /**
+     * Debita valor + tarifa somente se o saldo mais o limite cobrir o débito.
+     * A verificação e a alteração acontecem de forma atômica.
+     */
+    boolean debitar(BigDecimal valor, BigDecimal tarifa, BigDecimal limite);
+}
@@ -3,9 +3,9 @@ package com.nttdata.banco.model;
 import com.nttdata.banco.enums.TipoConta;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 
 /**
  * Classe abstrata que representa uma Conta bancária
@@ -14,16 +14,18 @@ import java.util.Objects;
 public abstract class Conta {
     private String numero;
     private String agencia;
-    private BigDecimal saldo;
+    private volatile ArmazenamentoSaldo saldo;
     private Cliente titular;
     private TipoConta tipoConta;
     private LocalDateTime dataAbertura;
-    private List<Transacao> historico;
+    private volatile HistoricoTransacoes historico;
     private boolean ativa;
+    private volatile long versao;
+    private volatile long sequenciaJournal;
 
     public Conta() {
-        this.saldo = BigDecimal.ZERO;
-        this.historico = new ArrayList<>();
+        this.saldo = new SaldoDecimal();
+        this.historico = new HistoricoEmMemoria();
         this.dataAbertura = LocalDateTime.now();
         this.ativa = true;
     }
@@ -46,7 +48,35 @@ public abstract class Conta {
         if (valor.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Valor deve ser positivo");
         }
-        this.saldo = this.saldo.add(valor);
+        this.saldo.creditar(valor);
+    }
+
+    /**
+     * Versões de depositar e sacar com o valor em centavos. Com o saldo em centavos
+     * não alocam BigDecimal: tarifa e limite também vêm em centavos das subclasses.
+     * Com o saldo decimal, convertem o valor e usam as versões normais.
+     */
+    public void depositarCentavos(long valor) {
+        if (valor <= 0) {
+            throw new IllegalArgumentException("Valor deve ser positivo");
+        }
+        ArmazenamentoSaldo atual = this.saldo;
+        if (atual instanceof SaldoCentavos centavos) {
+            centavos.creditarCentavos(valor);
+        } else {
+            atual.creditar(BigDecimal.valueOf(valor, 2));
+        }
+    }
+
+    public boolean sacarCentavos(long valor) {
+        if (valor <= 0 || !permiteSaqueCentavos(valor)) {
+            return false;
+        }
+        ArmazenamentoSaldo atual = this.saldo;
+        if (atual instanceof SaldoCentavos centavos) {
+            return centavos.debitarCentavos(valor, getTarifaPorSaqueCentavos(), getLimiteCentavos());
+        }
+        return sacar(BigDecimal.valueOf(valor, 2));
     }
 
     public boolean transferir(BigDecimal valor, Conta contaDestino) {
@@ -57,8 +87,102 @@ public abstract class Conta {
         return false;
     }
 
-    public void adicionarTransacao(Transacao transacao) {
-        this.historico.add(transacao);
+    /**
+     * Debita valor + tarifa de forma atômica, permitindo usar o limite informado.
+     * Usado pelas subclasses na implementação de sacar.
+     */
+    protected boolean debitar(BigDecimal valor, BigDecimal tarifa, BigDecimal limite) {
+        return saldo.debitar(valor, tarifa, limite);
+    }
+
+    protected void creditarSaldo(BigDecimal valor) {
+        saldo.creditar(valor);
+    }
+
+    /**
+     * Tarifa debitada junto com o valor a cada saque bem-sucedido (zero por padrão)
+     */
+    public BigDecimal getTarifaPorSaque() {
+        return BigDecimal.ZERO;
+    }
+
+    /**
+     * Tarifa de saque e limite em centavos, usados por sacarCentavos (devem corresponder a sacar)
+     */
+    protected long getTarifaPorSaqueCentavos() {
+        return 0L;
+    }
+
+    protected long getLimiteCentavos() {
+        return 0L;
+    }
+
+    /**
+     * Regras de saque da subclasse além de saldo, tarifa e limite (as mesmas de sacar),
+     * verificadas por sacarCentavos antes do débito
+     */
+    protected boolean permiteSaqueCentavos(long valor) {
+        return true;
+    }
+
+    /**
+     * Valor que pode ser debitado sem considerar tarifas (saldo + limite, quando houver)
+     */
+    public BigDecimal getSaldoDisponivel() {
+        return getSaldo();
+    }
+
+    /**
+     * Troca o armazenamento do saldo para centavos em long atualizados por CAS.
+     * Deve ser chamado antes de a conta ser compartilhada entre threads.
+     */
+    public void usarSaldoEmCentavos() {
+        if (!(saldo instanceof SaldoCentavos)) {
+            this.saldo = new SaldoCentavos(saldo.getValor());
+        }
+    }
+
+    public boolean isSaldoEmCentavos() {
+        return saldo instanceof SaldoCentavos;
+    }
+
+    /**
+     * Troca o armazenamento do histórico (por exemplo, para arquivos mapeados em memória).
+     * Se o novo armazenamento estiver vazio, recebe as transações já registradas.
+     */
+    public synchronized void usarHistorico(HistoricoTransacoes novoHistorico) {
+        if (novoHistorico.getQuantidade() == 0 && historico.getQuantidade() > 0) {
+            novoHistorico.adicionarTodas(historico.listar());
+        }
+        this.historico = novoHistorico;
+    }
+
+    /**
+     * Troca o armazenamento do histórico pelo resultado da função, sem que nenhuma
+     * transação seja registrada entre a leitura do atual e a troca (arquivamento)
+     */
+    public synchronized void substituirHistorico(UnaryOperator<HistoricoTransacoes> substituicao) {
+        this.historico = substituicao.apply(historico);
+    }
+
+    public HistoricoTransacoes getArmazenamentoHistorico() {
+        return historico;
+    }
+
+    public synchronized void adicionarTransacao(Transacao transacao) {
+        this.historico.adicionar(transacao);
+    }
+
+    public synchronized void adicionarTransacoes(List<Transacao> transacoes) {
+        this.historico.adicionarTodas(transacoes);
+    }
+
+    /**
+     * Volta saldo e histórico ao que eram antes de uma operação que não chegou ao journal
+     */
+    public synchronized void desfazer(BigDecimal saldoAnterior, long quantidadeTransacoes) {
+        this.historico.descartarAPartirDe(quantidadeTransacoes);
+        this.saldo.definir(saldoAnterior);
     }
 
     // Getters e Setters
@@ -79,11 +203,11 @@ public abstract class Conta {
     }
 
     public BigDecimal getSaldo() {
-        return saldo;
+        return saldo.getValor();
     }
 
     protected void setSaldo(BigDecimal saldo) {
-        this.saldo = saldo;
+        this.saldo.definir(saldo);
     }
 
     public Cliente getTitular() {
@@ -106,8 +230,81 @@ public abstract class Conta {
         return dataAbertura;
     }
 
-    public List<Transacao> getHistorico() {
-        return new ArrayList<>(historico);
+    /**
+     * Cópia de todo o histórico; para telas e extratos prefira getPaginaHistorico,
+     * percorrerHistoricoRecente ou getHistoricoSomenteLeitura, que não copiam tudo
+     */
+    public synchronized List<Transacao> getHistorico() {
+        return historico.listar();
+    }
+
+    /**
+     * Lista somente leitura das transações registradas até agora, sem cópia
+     */
+    public List<Transacao> getHistoricoSomenteLeitura() {
+        return historico.visaoSomenteLeitura();
+    }
+
+    /**
+     * Página do histórico da mais nova para a mais antiga (página 0 = as mais recentes)
+     */
+    public PaginaTransacoes getPaginaHistorico(int pagina, int tamanho) {
+        return historico.pagina(pagina, tamanho);
+    }
+
+    /**
+     * As últimas transações, da mais nova para a mais antiga
+     */
+    public List<Transacao> getTransacoesRecentes(int limite) {
+        return getPaginaHistorico(0, limite).getTransacoes();
+    }
+
+    public long getQuantidadeTransacoes() {
+        return historico.getQuantidade();
+    }
+
+    /**
+     * Percorre o histórico sem copiá-lo para uma lista
+     */
+    public CursorTransacoes percorrerHistorico() {
+        return historico.cursor();
+    }
+
+    /**
+     * Percorre no máximo limite transações, da mais nova para a mais antiga
+     */
+    public CursorTransacoes percorrerHistoricoRecente(long limite) {
+        return historico.cursorRecentes(limite);
+    }
+
+    /**
+     * Versão para controle otimista: incrementada pelo repositório a cada gravação
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+
+    /**
+     * Última sequência do journal que registrou uma alteração desta conta
+     */
+    public long getSequenciaJournal() {
+        return sequenciaJournal;
+    }
+
+    public void setSequenciaJournal(long sequenciaJournal) {
+        this.sequenciaJournal = sequenciaJournal;
+    }
+
+    /**
+     * Restaura saldo e data de abertura gravados (journal e snapshot), sem gerar transação
+     */
+    public void restaurar(BigDecimal saldo, LocalDateTime dataAbertura) {
+        this.saldo.definir(saldo);
+        this.dataAbertura = dataAbertura;
     }
 
     public boolean isAtiva() {
@@ -134,6 +331,6 @@ public abstract class Conta {
     @Override
     public String toString() {
         return String.format("%s - Ag: %s, Conta: %s, Saldo: R$ %.2f", 
-                           tipoConta.getDescricao(), agencia, numero, saldo);
+                           tipoConta.getDescricao(), agencia, numero, getSaldo());
     }
 }
\ No newline at end of file
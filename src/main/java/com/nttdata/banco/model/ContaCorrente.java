@@ -9,20 +9,24 @@ import java.math.BigDecimal;
  */
 public class ContaCorrente extends Conta {
     private BigDecimal limite;
+    private volatile long limiteCentavos;
     private BigDecimal tarifaMensal;
     private static final BigDecimal TARIFA_SAQUE = new BigDecimal("2.50");
     private static final BigDecimal TARIFA_TRANSFERENCIA = new BigDecimal("1.50");
+    private static final long TARIFA_SAQUE_CENTAVOS = SaldoCentavos.paraCentavos(TARIFA_SAQUE);
 
     public ContaCorrente() {
         super();
         setTipoConta(TipoConta.CORRENTE);
         this.limite = new BigDecimal("1000.00");
+        this.limiteCentavos = SaldoCentavos.paraCentavos(limite);
         this.tarifaMensal = new BigDecimal("15.00");
     }
 
     public ContaCorrente(String numero, String agencia, Cliente titular) {
         super(numero, agencia, titular, TipoConta.CORRENTE);
         this.limite = new BigDecimal("1000.00");
+        this.limiteCentavos = SaldoCentavos.paraCentavos(limite);
         this.tarifaMensal = new BigDecimal("15.00");
     }
 
@@ -32,14 +36,28 @@ public class ContaCorrente extends Conta {
             return false;
         }
         
-        BigDecimal saldoDisponivel = getSaldo().add(limite);
-        BigDecimal valorComTarifa = valor.add(TARIFA_SAQUE);
-        
-        if (valorComTarifa.compareTo(saldoDisponivel) <= 0) {
-            setSaldo(getSaldo().subtract(valorComTarifa));
-            return true;
-        }
-        return false;
+        // Verifica saldo + limite e desconta a tarifa em uma única operação atômica
+        return debitar(valor, TARIFA_SAQUE, limite);
+    }
+
+    @Override
+    public BigDecimal getTarifaPorSaque() {
+        return TARIFA_SAQUE;
+    }
+
+    @Override
+    protected long getTarifaPorSaqueCentavos() {
+        return TARIFA_SAQUE_CENTAVOS;
+    }
+
+    @Override
+    protected long getLimiteCentavos() {
+        return limiteCentavos;
+    }
+
+    @Override
+    public BigDecimal getSaldoDisponivel() {
+        return getSaldo().add(limite);
     }
 
     @Override
@@ -58,6 +76,7 @@ public class ContaCorrente extends Conta {
 
     public void setLimite(BigDecimal limite) {
         this.limite = limite;
+        this.limiteCentavos = SaldoCentavos.paraCentavos(limite);
     }
 
     public BigDecimal getTarifaMensal() {
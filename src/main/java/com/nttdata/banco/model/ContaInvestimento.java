@@ -13,6 +13,7 @@ public class ContaInvestimento extends Conta {
     private List<Investimento> investimentos;
     private BigDecimal valorTotalInvestido;
     private static final BigDecimal VALOR_MINIMO_SAQUE = new BigDecimal("100.00");
+    private static final long VALOR_MINIMO_SAQUE_CENTAVOS = SaldoCentavos.paraCentavos(VALOR_MINIMO_SAQUE);
 
     public ContaInvestimento() {
         super();
@@ -33,11 +34,12 @@ public class ContaInvestimento extends Conta {
             return false;
         }
         
-        if (valor.compareTo(getSaldo()) <= 0) {
-            setSaldo(getSaldo().subtract(valor));
-            return true;
-        }
-        return false;
+        return debitar(valor, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    @Override
+    protected boolean permiteSaqueCentavos(long valor) {
+        return valor >= VALOR_MINIMO_SAQUE_CENTAVOS;
     }
 
     @Override
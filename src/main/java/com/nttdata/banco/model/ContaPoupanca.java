@@ -32,11 +32,7 @@ public class ContaPoupanca extends Conta {
             return false;
         }
         
-        if (valor.compareTo(getSaldo()) <= 0) {
-            setSaldo(getSaldo().subtract(valor));
-            return true;
-        }
-        return false;
+        return debitar(valor, BigDecimal.ZERO, BigDecimal.ZERO);
     }
 
     @Override
@@ -52,7 +48,7 @@ public class ContaPoupanca extends Conta {
 
     public void aplicarRendimento() {
         BigDecimal rendimento = getSaldo().multiply(TAXA_RENDIMENTO);
-        setSaldo(getSaldo().add(rendimento));
+        creditarSaldo(rendimento);
         this.rendimentoMensal = this.rendimentoMensal.add(rendimento);
     }
 
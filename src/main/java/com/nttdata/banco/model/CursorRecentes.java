@@ -0,0 +1,57 @@
+package com.nttdata.banco.model;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cursor da transação mais nova para a mais antiga sobre qualquer histórico, por acesso
+ * direto (obter); para na quantidade de transações informada ou no início do histórico
+ */
+class CursorRecentes implements CursorTransacoes {
+    private final HistoricoTransacoes historico;
+    private final long minimo;
+    private long indice;
+    private Transacao atual;
+
+    CursorRecentes(HistoricoTransacoes historico, long inicio, long limite) {
+        this.historico = historico;
+        this.indice = inicio;
+        this.minimo = Math.max(0, inicio - limite);
+    }
+
+    @Override
+    public boolean avancar() {
+        if (indice <= minimo) {
+            atual = null;
+            return false;
+        }
+        atual = historico.obter(--indice);
+        return true;
+    }
+
+    @Override
+    public TipoTransacao getTipo() {
+        return atual.getTipo();
+    }
+
+    @Override
+    public BigDecimal getValor() {
+        return atual.getValor();
+    }
+
+    @Override
+    public LocalDateTime getDataHora() {
+        return atual.getDataHora();
+    }
+
+    @Override
+    public boolean isSucesso() {
+        return atual.isSucesso();
+    }
+
+    @Override
+    public Transacao getTransacao() {
+        return atual;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.nttdata.banco.model;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cursor sobre um histórico de transações
+ * Os campos são lidos direto do armazenamento; getTransacao só cria o objeto quando necessário
+ */
+public interface CursorTransacoes {
+
+    /**
+     * Vai para a próxima transação; retorna false ao chegar ao fim
+     */
+    boolean avancar();
+
+    TipoTransacao getTipo();
+
+    BigDecimal getValor();
+
+    LocalDateTime getDataHora();
+
+    boolean isSucesso();
+
+    Transacao getTransacao();
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.nttdata.banco.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Extrato de uma conta em um período [de, ate): transações em ordem de data/hora e o
+ * saldo após cada uma. Saldos valem null quando anteriores ao primeiro saldo conhecido
+ * da conta (abertura, ou a carga da conta nesta execução).
+ */
+public class ExtratoPeriodo {
+    private final LocalDateTime de;
+    private final LocalDateTime ate;
+    private final List<Transacao> transacoes;
+    private final List<BigDecimal> saldos;
+    private final BigDecimal saldoInicial;
+    private final BigDecimal saldoFinal;
+
+    public ExtratoPeriodo(LocalDateTime de, LocalDateTime ate, List<Transacao> transacoes, List<BigDecimal> saldos,
+                          BigDecimal saldoInicial, BigDecimal saldoFinal) {
+        if (transacoes.size() != saldos.size()) {
+            throw new IllegalArgumentException("Deve haver um saldo por transação");
+        }
+        this.de = de;
+        this.ate = ate;
+        this.transacoes = Collections.unmodifiableList(transacoes);
+        this.saldos = Collections.unmodifiableList(saldos);
+        this.saldoInicial = saldoInicial;
+        this.saldoFinal = saldoFinal;
+    }
+
+    public LocalDateTime getDe() {
+        return de;
+    }
+
+    public LocalDateTime getAte() {
+        return ate;
+    }
+
+    public List<Transacao> getTransacoes() {
+        return transacoes;
+    }
+
+    /**
+     * Saldo da conta logo após a transação da posição informada
+     */
+    public BigDecimal getSaldoApos(int posicao) {
+        return saldos.get(posicao);
+    }
+
+    public BigDecimal getSaldoInicial() {
+        return saldoInicial;
+    }
+
+    public BigDecimal getSaldoFinal() {
+        return saldoFinal;
+    }
+
+    public boolean isVazio() {
+        return transacoes.isEmpty();
+    }
+}
\ No newline at end of file
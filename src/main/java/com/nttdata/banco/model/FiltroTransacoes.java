@@ -0,0 +1,81 @@
+package com.nttdata.banco.model;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Critérios de busca em um histórico de transações (período, tipos e faixa de valor)
+ * Critérios não informados aceitam qualquer transação
+ */
+public class FiltroTransacoes {
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+    private EnumSet<TipoTransacao> tipos;
+    private BigDecimal valorMinimo;
+    private BigDecimal valorMaximo;
+
+    /**
+     * Data/hora a partir de inicio (inclusive) e antes de fim (exclusive); null deixa o lado aberto
+     */
+    public FiltroTransacoes periodo(LocalDateTime inicio, LocalDateTime fim) {
+        this.inicio = inicio;
+        this.fim = fim;
+        return this;
+    }
+
+    public FiltroTransacoes tipos(TipoTransacao primeiro, TipoTransacao... outros) {
+        this.tipos = EnumSet.of(primeiro, outros);
+        return this;
+    }
+
+    /**
+     * Valor entre minimo e maximo, inclusive; null deixa o lado aberto
+     */
+    public FiltroTransacoes valorEntre(BigDecimal minimo, BigDecimal maximo) {
+        this.valorMinimo = minimo;
+        this.valorMaximo = maximo;
+        return this;
+    }
+
+    public boolean aceita(Transacao transacao) {
+        return aceitaDataHora(transacao.getDataHora())
+                && aceitaTipo(transacao.getTipo())
+                && aceitaValor(transacao.getValor());
+    }
+
+    public boolean aceitaDataHora(LocalDateTime dataHora) {
+        return (inicio == null || !dataHora.isBefore(inicio)) && (fim == null || dataHora.isBefore(fim));
+    }
+
+    public boolean aceitaTipo(TipoTransacao tipo) {
+        return tipos == null || tipos.contains(tipo);
+    }
+
+    public boolean aceitaValor(BigDecimal valor) {
+        return (valorMinimo == null || valor.compareTo(valorMinimo) >= 0)
+                && (valorMaximo == null || valor.compareTo(valorMaximo) <= 0);
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public Set<TipoTransacao> getTipos() {
+        return tipos;
+    }
+
+    public BigDecimal getValorMinimo() {
+        return valorMinimo;
+    }
+
+    public BigDecimal getValorMaximo() {
+        return valorMaximo;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.nttdata.banco.model;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Histórico de transações em uma lista no heap (armazenamento padrão da Conta)
+ */
+public class HistoricoEmMemoria implements HistoricoTransacoes {
+    private final List<Transacao> transacoes = new ArrayList<>();
+
+    @Override
+    public synchronized void adicionar(Transacao transacao) {
+        transacoes.add(transacao);
+    }
+
+    @Override
+    public synchronized void adicionarTodas(List<Transacao> novas) {
+        transacoes.addAll(novas);
+    }
+
+    @Override
+    public synchronized long getQuantidade() {
+        return transacoes.size();
+    }
+
+    @Override
+    public synchronized void descartarAPartirDe(long quantidade) {
+        if (quantidade < 0 || quantidade > transacoes.size()) {
+            throw new IndexOutOfBoundsException("Posição " + quantidade + " fora do histórico de " + transacoes.size());
+        }
+        transacoes.subList((int) quantidade, transacoes.size()).clear();
+    }
+
+    @Override
+    public synchronized Transacao obter(long indice) {
+        return transacoes.get(Math.toIntExact(indice));
+    }
+
+    @Override
+    public CursorTransacoes cursor() {
+        return new Cursor(getQuantidade());
+    }
+
+    @Override
+    public synchronized List<Transacao> listar() {
+        return new ArrayList<>(transacoes);
+    }
+
+    private class Cursor implements CursorTransacoes {
+        private final long limite;
+        private long indice = -1;
+        private Transacao atual;
+
+        Cursor(long limite) {
+            this.limite = limite;
+        }
+
+        @Override
+        public boolean avancar() {
+            if (indice + 1 >= limite) {
+                atual = null;
+                return false;
+            }
+            atual = obter(++indice);
+            return true;
+        }
+
+        @Override
+        public TipoTransacao getTipo() {
+            return atual.getTipo();
+        }
+
+        @Override
+        public BigDecimal getValor() {
+            return atual.getValor();
+        }
+
+        @Override
+        public LocalDateTime getDataHora() {
+            return atual.getDataHora();
+        }
+
+        @Override
+        public boolean isSucesso() {
+            return atual.isSucesso();
+        }
+
+        @Override
+        public Transacao getTransacao() {
+            return atual;
+        }
+    }
+}
\ No newline at end of file
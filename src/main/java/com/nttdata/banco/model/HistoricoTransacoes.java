@@ -0,0 +1,85 @@
+package com.nttdata.banco.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Abstração do local onde o histórico de transações de uma Conta é guardado
+ * Permite trocar a lista em memória por um armazenamento fora do heap
+ * (arquivos mapeados em memória) sem alterar quem registra as transações
+ */
+public interface HistoricoTransacoes {
+
+    void adicionar(Transacao transacao);
+
+    default void adicionarTodas(List<Transacao> transacoes) {
+        transacoes.forEach(this::adicionar);
+    }
+
+    long getQuantidade();
+
+    /**
+     * Descarta as transações a partir da posição informada, deixando quantidade transações.
+     * Desfaz os registros de uma operação que não chegou ao journal.
+     */
+    void descartarAPartirDe(long quantidade);
+
+    Transacao obter(long indice);
+
+    /**
+     * Cursor do início ao fim das transações existentes na criação do cursor
+     */
+    CursorTransacoes cursor();
+
+    /**
+     * Cursor da mais nova para a mais antiga, com no máximo limite transações entre as
+     * existentes na criação do cursor; o custo é proporcional ao que for percorrido
+     */
+    default CursorTransacoes cursorRecentes(long limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("Limite não pode ser negativo");
+        }
+        return new CursorRecentes(this, getQuantidade(), limite);
+    }
+
+    /**
+     * Página do histórico da mais nova para a mais antiga (página 0 = as mais recentes);
+     * só as transações da página são lidas
+     */
+    default PaginaTransacoes pagina(int pagina, int tamanho) {
+        if (pagina < 0 || tamanho <= 0) {
+            throw new IllegalArgumentException("Página não pode ser negativa e o tamanho deve ser positivo");
+        }
+        long total = getQuantidade();
+        long inicio = total - (long) pagina * tamanho;
+        List<Transacao> transacoes = new ArrayList<>(inicio > 0 ? (int) Math.min(tamanho, inicio) : 0);
+        if (inicio > 0) {
+            CursorTransacoes cursor = new CursorRecentes(this, inicio, tamanho);
+            while (cursor.avancar()) {
+                transacoes.add(cursor.getTransacao());
+            }
+        }
+        return new PaginaTransacoes(transacoes, pagina, tamanho, total);
+    }
+
+    /**
+     * Lista somente leitura sobre as transações existentes agora, sem copiá-las
+     * (cada get lê direto do armazenamento; transações novas não aparecem nela)
+     */
+    default List<Transacao> visaoSomenteLeitura() {
+        return new VisaoHistorico(this, Math.toIntExact(getQuantidade()));
+    }
+
+    /**
+     * Cópia das transações em uma lista (materializa todo o histórico)
+     */
+    default List<Transacao> listar() {
+        List<Transacao> transacoes = new ArrayList<>();
+        CursorTransacoes cursor = cursor();
+        while (cursor.avancar()) {
+            transacoes.add(cursor.getTransacao());
+        }
+        return transacoes;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.nttdata.banco.model;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Internador dos textos repetidos das transações (contas "agencia-numero", descrições):
+ * cada texto distinto fica uma vez no heap e as transações guardam só a referência.
+ *
+ * As entradas são fracas: quando nenhuma transação (nem outro objeto) usa mais o texto,
+ * o coletor o libera e a entrada sai do mapa, então o internador não prende textos de
+ * bancos e repositórios já descartados, mesmo sendo compartilhado pelo processo.
+ * O limite conta só as entradas vivas, dividido entre as partições: com a partição do
+ * texto cheia, textos novos são guardados como vieram (sem compartilhar) até que
+ * entradas dela sejam liberadas.
+ */
+final class InternadorTextos {
+    private static final int PARTICOES = 16;
+
+    private final Particao[] particoes = new Particao[PARTICOES];
+    private final int limitePorParticao;
+
+    InternadorTextos(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite do internador deve ser positivo");
+        }
+        this.limitePorParticao = Math.max(1, limite / PARTICOES);
+        for (int i = 0; i < PARTICOES; i++) {
+            particoes[i] = new Particao();
+        }
+    }
+
+    String internar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        int hash = texto.hashCode();
+        Particao particao = particoes[(hash ^ (hash >>> 16)) & (PARTICOES - 1)];
+        synchronized (particao) {
+            WeakReference<String> referencia = particao.textos.get(texto);
+            String existente = referencia != null ? referencia.get() : null;
+            if (existente != null) {
+                return existente;
+            }
+            // size() já descarta as entradas de textos coletados
+            if (particao.textos.size() < limitePorParticao) {
+                particao.textos.put(texto, new WeakReference<>(texto));
+            }
+            return texto;
+        }
+    }
+
+    /**
+     * Entradas vivas (textos ainda referenciados fora do internador)
+     */
+    int getQuantidade() {
+        int quantidade = 0;
+        for (Particao particao : particoes) {
+            synchronized (particao) {
+                quantidade += particao.textos.size();
+            }
+        }
+        return quantidade;
+    }
+
+    // O valor referencia o próprio texto só de forma fraca, para não impedir a coleta da chave
+    private static final class Particao {
+        final WeakHashMap<String, WeakReference<String>> textos = new WeakHashMap<>();
+    }
+}
\ No newline at end of file
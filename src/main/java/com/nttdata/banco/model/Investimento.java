@@ -47,6 +47,19 @@ public class Investimento {
         this.observacoes = observacoes != null ? observacoes : "";
     }
 
+    // Construtor de restauração (journal e snapshot): mantém id, datas e situação originais
+    public Investimento(String id, TipoInvestimento tipo, BigDecimal valor, String titular,
+                       LocalDate dataAplicacao, LocalDate dataVencimento, boolean ativo, String observacoes) {
+        this.id = id;
+        this.tipo = tipo;
+        this.valor = valor;
+        this.titular = titular;
+        this.dataAplicacao = dataAplicacao;
+        this.dataVencimento = dataVencimento;
+        this.ativo = ativo;
+        this.observacoes = observacoes != null ? observacoes : "";
+    }
+
     private LocalDate calcularDataVencimento() {
         switch (tipo) {
             case POUPANCA:
@@ -0,0 +1,53 @@
+package com.nttdata.banco.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uma página do histórico de uma conta, da transação mais nova para a mais antiga
+ * (a página 0 traz as mais recentes)
+ */
+public class PaginaTransacoes {
+    private final List<Transacao> transacoes;
+    private final int pagina;
+    private final int tamanhoPagina;
+    private final long total;
+
+    public PaginaTransacoes(List<Transacao> transacoes, int pagina, int tamanhoPagina, long total) {
+        this.transacoes = Collections.unmodifiableList(transacoes);
+        this.pagina = pagina;
+        this.tamanhoPagina = tamanhoPagina;
+        this.total = total;
+    }
+
+    public List<Transacao> getTransacoes() {
+        return transacoes;
+    }
+
+    public int getPagina() {
+        return pagina;
+    }
+
+    public int getTamanhoPagina() {
+        return tamanhoPagina;
+    }
+
+    /**
+     * Total de transações do histórico no momento da consulta
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public long getTotalPaginas() {
+        return (total + tamanhoPagina - 1) / tamanhoPagina;
+    }
+
+    public boolean temProxima() {
+        return (long) (pagina + 1) * tamanhoPagina < total;
+    }
+
+    public boolean isVazia() {
+        return transacoes.isEmpty();
+    }
+}
\ No newline at end of file
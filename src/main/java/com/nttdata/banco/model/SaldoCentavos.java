@@ -0,0 +1,75 @@
+package com.nttdata.banco.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Armazenamento de saldo sem travas baseado em centavos (long)
+ * Créditos e débitos são feitos por CAS, e as verificações de limite
+ * e tarifa acontecem dentro do próprio laço de CAS
+ *
+ * Frações de centavo são arredondadas com HALF_EVEN na conversão
+ */
+public class SaldoCentavos implements ArmazenamentoSaldo {
+    private final AtomicLong centavos;
+
+    public SaldoCentavos() {
+        this(0L);
+    }
+
+    public SaldoCentavos(long centavos) {
+        this.centavos = new AtomicLong(centavos);
+    }
+
+    public SaldoCentavos(BigDecimal valor) {
+        this(paraCentavos(valor));
+    }
+
+    @Override
+    public BigDecimal getValor() {
+        return BigDecimal.valueOf(centavos.get(), 2);
+    }
+
+    @Override
+    public void definir(BigDecimal valor) {
+        centavos.set(paraCentavos(valor));
+    }
+
+    @Override
+    public void creditar(BigDecimal valor) {
+        creditarCentavos(paraCentavos(valor));
+    }
+
+    @Override
+    public boolean debitar(BigDecimal valor, BigDecimal tarifa, BigDecimal limite) {
+        return debitarCentavos(paraCentavos(valor), paraCentavos(tarifa), paraCentavos(limite));
+    }
+
+    // Versões em centavos: não alocam objetos no caminho de crédito/débito
+
+    public void creditarCentavos(long valor) {
+        centavos.addAndGet(valor);
+    }
+
+    public boolean debitarCentavos(long valor, long tarifa, long limite) {
+        long debito = Math.addExact(valor, tarifa);
+        while (true) {
+            long atual = centavos.get();
+            if (atual + limite < debito) {
+                return false;
+            }
+            if (centavos.compareAndSet(atual, atual - debito)) {
+                return true;
+            }
+        }
+    }
+
+    public long getCentavos() {
+        return centavos.get();
+    }
+
+    public static long paraCentavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,46 @@
+package com.nttdata.banco.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Armazenamento de saldo padrão baseado em BigDecimal
+ * Preserva a escala dos valores informados e sincroniza as alterações
+ */
+public class SaldoDecimal implements ArmazenamentoSaldo {
+    private volatile BigDecimal valor;
+
+    public SaldoDecimal() {
+        this(BigDecimal.ZERO);
+    }
+
+    public SaldoDecimal(BigDecimal valor) {
+        this.valor = valor;
+    }
+
+    @Override
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    @Override
+    public synchronized void definir(BigDecimal valor) {
+        this.valor = valor;
+    }
+
+    @Override
+    public synchronized void creditar(BigDecimal valor) {
+        this.valor = this.valor.add(valor);
+    }
+
+    @Override
+    public synchronized boolean debitar(BigDecimal valor, BigDecimal tarifa, BigDecimal limite) {
+        BigDecimal saldoDisponivel = this.valor.add(limite);
+        BigDecimal valorComTarifa = valor.add(tarifa);
+
+        if (valorComTarifa.compareTo(saldoDisponivel) <= 0) {
+            this.valor = this.valor.subtract(valorComTarifa);
+            return true;
+        }
+        return false;
+    }
+}
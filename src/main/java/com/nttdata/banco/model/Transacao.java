@@ -3,80 +3,173 @@ package com.nttdata.banco.model;
 import com.nttdata.banco.enums.TipoTransacao;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 /**
  * Classe que representa uma Transação bancária
  * Implementa encapsulamento e imutabilidade dos dados da transação
+ *
+ * Representação compacta: o id UUID fica em dois long, o valor em um long sem escala
+ * mais a escala, a data/hora em microssegundos da época e o tipo pelo ordinal. Contas
+ * ("agencia-numero") e descrições passam por internadores, então cada texto repetido existe
+ * uma vez no heap. Os getters montam String, BigDecimal e LocalDateTime sob demanda.
+ * O que não cabe nessa forma (id fora do formato UUID, valor grande demais, nanossegundos
+ * além dos microssegundos, observações e correlação) fica em Extras, quase sempre null.
  */
 public class Transacao {
-    private final String id;
-    private final TipoTransacao tipo;
-    private final BigDecimal valor;
-    private final LocalDateTime dataHora;
+    private static final TipoTransacao[] TIPOS = TipoTransacao.values();
+    // Compartilhados pelo processo, com entradas fracas: só ficam os textos em uso.
+    // Limites de textos vivos; além deles, o texto novo fica na transação sem compartilhar.
+    private static final InternadorTextos CONTAS = new InternadorTextos(1 << 20);
+    private static final InternadorTextos DESCRICOES = new InternadorTextos(4_096);
+
+    private final long idAlto;
+    private final long idBaixo;
+    private final long valorSemEscala;
+    private final long micros;
     private final String descricao;
     private final String contaOrigem;
     private final String contaDestino;
+    private final Extras extras;
+    private final byte tipo;
+    private final byte escala;
     private final boolean sucesso;
-    private final String observacoes;
 
     // Construtor para transações simples (depósito, saque)
     public Transacao(TipoTransacao tipo, BigDecimal valor, String descricao, String conta, boolean sucesso) {
-        this.id = UUID.randomUUID().toString();
-        this.tipo = tipo;
-        this.valor = valor;
-        this.dataHora = LocalDateTime.now();
-        this.descricao = descricao;
-        this.contaOrigem = conta;
-        this.contaDestino = null;
-        this.sucesso = sucesso;
-        this.observacoes = "";
+        this(tipo, valor, descricao, conta, null, sucesso, "", null);
     }
 
     // Construtor para transferências e PIX
     public Transacao(TipoTransacao tipo, BigDecimal valor, String descricao, 
                     String contaOrigem, String contaDestino, boolean sucesso) {
-        this.id = UUID.randomUUID().toString();
-        this.tipo = tipo;
-        this.valor = valor;
-        this.dataHora = LocalDateTime.now();
-        this.descricao = descricao;
-        this.contaOrigem = contaOrigem;
-        this.contaDestino = contaDestino;
-        this.sucesso = sucesso;
-        this.observacoes = "";
+        this(tipo, valor, descricao, contaOrigem, contaDestino, sucesso, "", null);
     }
 
     // Construtor completo
     public Transacao(TipoTransacao tipo, BigDecimal valor, String descricao, 
                     String contaOrigem, String contaDestino, boolean sucesso, String observacoes) {
-        this.id = UUID.randomUUID().toString();
-        this.tipo = tipo;
-        this.valor = valor;
-        this.dataHora = LocalDateTime.now();
-        this.descricao = descricao;
-        this.contaOrigem = contaOrigem;
-        this.contaDestino = contaDestino;
+        this(tipo, valor, descricao, contaOrigem, contaDestino, sucesso, observacoes, null);
+    }
+
+    // Construtor para as pernas de uma transferência múltipla, ligadas pelo id de correlação
+    public Transacao(TipoTransacao tipo, BigDecimal valor, String descricao,
+                    String contaOrigem, String contaDestino, boolean sucesso, String observacoes,
+                    String idCorrelacao) {
+        // Data/hora em microssegundos, a mesma precisão gravada no journal e nos arquivos
+        this(UUID.randomUUID(), tipo, valor, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), descricao,
+             contaOrigem, contaDestino, sucesso, observacoes, idCorrelacao);
+    }
+
+    // Construtor de restauração (journal e snapshot): mantém id e data/hora originais
+    public Transacao(String id, TipoTransacao tipo, BigDecimal valor, LocalDateTime dataHora, String descricao,
+                    String contaOrigem, String contaDestino, boolean sucesso, String observacoes,
+                    String idCorrelacao) {
+        this(comoUuid(id), id, tipo, valor, dataHora, descricao, contaOrigem, contaDestino, sucesso, observacoes,
+             idCorrelacao);
+    }
+
+    private Transacao(UUID uuid, TipoTransacao tipo, BigDecimal valor, LocalDateTime dataHora, String descricao,
+                      String contaOrigem, String contaDestino, boolean sucesso, String observacoes,
+                      String idCorrelacao) {
+        this(uuid, null, tipo, valor, dataHora, descricao, contaOrigem, contaDestino, sucesso, observacoes,
+             idCorrelacao);
+    }
+
+    private Transacao(UUID uuid, String id, TipoTransacao tipo, BigDecimal valor, LocalDateTime dataHora,
+                      String descricao, String contaOrigem, String contaDestino, boolean sucesso,
+                      String observacoes, String idCorrelacao) {
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo da transação é obrigatório");
+        }
+        // Extras só é criado quando algum campo não cabe na forma compacta
+        Extras extras = null;
+        if (uuid != null) {
+            this.idAlto = uuid.getMostSignificantBits();
+            this.idBaixo = uuid.getLeastSignificantBits();
+        } else {
+            this.idAlto = 0;
+            this.idBaixo = 0;
+            extras = Extras.garantir(extras);
+            extras.id = id;
+        }
+        if (valor != null && valor.scale() == (byte) valor.scale() && valor.unscaledValue().bitLength() < 64) {
+            this.valorSemEscala = valor.unscaledValue().longValue();
+            this.escala = (byte) valor.scale();
+        } else {
+            this.valorSemEscala = 0;
+            this.escala = 0;
+            extras = Extras.garantir(extras);
+            extras.valor = valor;
+            extras.valorExato = true;
+        }
+        if (dataHora != null && dataHora.getNano() % 1_000 == 0) {
+            this.micros = dataHora.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dataHora.getNano() / 1_000;
+        } else {
+            this.micros = 0;
+            extras = Extras.garantir(extras);
+            extras.dataHora = dataHora;
+            extras.dataHoraExata = true;
+        }
+        this.tipo = (byte) tipo.ordinal();
+        this.descricao = DESCRICOES.internar(descricao);
+        this.contaOrigem = CONTAS.internar(contaOrigem);
+        this.contaDestino = CONTAS.internar(contaDestino);
         this.sucesso = sucesso;
-        this.observacoes = observacoes != null ? observacoes : "";
+        if (observacoes != null && !observacoes.isEmpty()) {
+            extras = Extras.garantir(extras);
+            extras.observacoes = observacoes;
+        }
+        if (idCorrelacao != null) {
+            extras = Extras.garantir(extras);
+            extras.idCorrelacao = idCorrelacao;
+        }
+        this.extras = extras;
     }
 
     // Getters (sem setters para manter imutabilidade)
     public String getId() {
-        return id;
+        if (extras != null && extras.id != null) {
+            return extras.id;
+        }
+        return new UUID(idAlto, idBaixo).toString();
+    }
+
+    /**
+     * Se o id está guardado como os dois long (UUID canônico); senão só getId vale
+     */
+    public boolean isIdCompacto() {
+        return extras == null || extras.id == null;
+    }
+
+    public long getIdAlto() {
+        return idAlto;
+    }
+
+    public long getIdBaixo() {
+        return idBaixo;
     }
 
     public TipoTransacao getTipo() {
-        return tipo;
+        return TIPOS[tipo];
     }
 
     public BigDecimal getValor() {
-        return valor;
+        if (extras != null && extras.valorExato) {
+            return extras.valor;
+        }
+        return BigDecimal.valueOf(valorSemEscala, escala);
     }
 
     public LocalDateTime getDataHora() {
-        return dataHora;
+        if (extras != null && extras.dataHoraExata) {
+            return extras.dataHora;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                                           (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
     }
 
     public String getDescricao() {
@@ -96,21 +189,25 @@ public class Transacao {
     }
 
     public String getObservacoes() {
-        return observacoes;
+        return extras != null ? extras.observacoes : "";
+    }
+
+    public String getIdCorrelacao() {
+        return extras != null ? extras.idCorrelacao : null;
     }
 
     public String getDataHoraFormatada() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        return dataHora.format(formatter);
+        return getDataHora().format(formatter);
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append(String.format("[%s] %s - %s", 
-                getDataHoraFormatada(), tipo.getDescricao(), 
+                getDataHoraFormatada(), getTipo().getDescricao(), 
                 sucesso ? "SUCESSO" : "FALHOU"));
-        sb.append(String.format("\nValor: R$ %.2f", valor));
+        sb.append(String.format("\nValor: R$ %.2f", getValor()));
         sb.append(String.format("\nDescrição: %s", descricao));
         
         if (contaDestino != null) {
@@ -119,10 +216,59 @@ public class Transacao {
             sb.append(String.format("\nConta: %s", contaOrigem));
         }
         
-        if (!observacoes.isEmpty()) {
-            sb.append(String.format("\nObservações: %s", observacoes));
+        if (!getObservacoes().isEmpty()) {
+            sb.append(String.format("\nObservações: %s", getObservacoes()));
         }
         
         return sb.toString();
     }
+
+    /**
+     * UUID do id no formato canônico (minúsculo, com hífens), ou null se o id não voltaria
+     * idêntico de UUID.toString. Para esses ids, as metades do UUID são getIdAlto e getIdBaixo.
+     */
+    public static UUID comoUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        long alto = 0;
+        long baixo = 0;
+        int digitos = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int digito = Character.digit(c, 16);
+            if (digito < 0 || Character.isUpperCase(c)) {
+                return null;
+            }
+            if (digitos++ < 16) {
+                alto = (alto << 4) | digito;
+            } else {
+                baixo = (baixo << 4) | digito;
+            }
+        }
+        return new UUID(alto, baixo);
+    }
+
+    /**
+     * Campos raros ou fora da forma compacta; só existe quando algum deles é usado
+     */
+    private static final class Extras {
+        String id;
+        BigDecimal valor;
+        boolean valorExato;
+        LocalDateTime dataHora;
+        boolean dataHoraExata;
+        String observacoes = "";
+        String idCorrelacao;
+
+        static Extras garantir(Extras extras) {
+            return extras != null ? extras : new Extras();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.nttdata.banco.model;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Lista somente leitura sobre o prefixo de um histórico, lida por acesso direto (obter)
+ */
+class VisaoHistorico extends AbstractList<Transacao> implements RandomAccess {
+    private final HistoricoTransacoes historico;
+    private final int tamanho;
+
+    VisaoHistorico(HistoricoTransacoes historico, int tamanho) {
+        this.historico = historico;
+        this.tamanho = tamanho;
+    }
+
+    @Override
+    public Transacao get(int indice) {
+        return historico.obter(Objects.checkIndex(indice, tamanho));
+    }
+
+    @Override
+    public int size() {
+        return tamanho;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,333 @@
+package com.nttdata.banco.persistencia;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Armazém chave/valor embutido em um único arquivo, com cache de páginas
+ *
+ * Cada gravação é acrescentada ao final do arquivo como [tamanho da chave][tamanho do
+ * valor][crc32][chave][valor]; um índice em memória aponta a última versão de cada chave.
+ * As leituras passam por um cache LRU de páginas de 4 KB do arquivo, então registros
+ * lidos com frequência não vão ao disco. Remoções gravam uma lápide (tamanho -1).
+ *
+ * Quando o espaço ocupado por versões antigas passa do espaço útil, o arquivo é
+ * compactado (reescrito só com as versões atuais). Ao abrir, um final incompleto
+ * deixado por uma queda é descartado. A durabilidade fica a cargo do journal: as
+ * gravações não forçam o disco, a não ser em forcar().
+ */
+public class ArmazemRegistros implements AutoCloseable {
+    public static final int TAMANHO_PAGINA = 4096;
+    public static final int PAGINAS_EM_CACHE_PADRAO = 1024;
+    private static final int CABECALHO = 12;
+    private static final int LAPIDE = -1;
+    private static final long TAMANHO_MINIMO_COMPACTACAO = 1024 * 1024;
+
+    private final Path arquivo;
+    private final int paginasEmCache;
+    private final Map<String, long[]> indice = new HashMap<>();
+    private final LinkedHashMap<Long, byte[]> cache;
+    private FileChannel canal;
+    private long tamanhoArquivo;
+    private long bytesUteis;
+    private long acertosCache;
+    private long leiturasDisco;
+
+    public ArmazemRegistros(Path arquivo) {
+        this(arquivo, PAGINAS_EM_CACHE_PADRAO);
+    }
+
+    public ArmazemRegistros(Path arquivo, int paginasEmCache) {
+        if (paginasEmCache <= 0) {
+            throw new IllegalArgumentException("Quantidade de páginas em cache deve ser positiva");
+        }
+        this.arquivo = arquivo;
+        this.paginasEmCache = paginasEmCache;
+        this.cache = new LinkedHashMap<>(paginasEmCache, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> maisAntiga) {
+                return size() > ArmazemRegistros.this.paginasEmCache;
+            }
+        };
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                          StandardOpenOption.WRITE);
+            carregarIndice();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o armazém " + arquivo, e);
+        }
+    }
+
+    // ================== OPERAÇÕES ==================
+
+    public synchronized void gravar(String chave, byte[] valor) {
+        long[] anterior = indice.get(chave);
+        long posicao = acrescentar(chave, valor);
+        indice.put(chave, new long[] {posicao, valor.length});
+        bytesUteis += tamanhoRegistro(chave, valor.length);
+        if (anterior != null) {
+            bytesUteis -= tamanhoRegistro(chave, (int) anterior[1]);
+        }
+        compactarSeNecessario();
+    }
+
+    public synchronized byte[] ler(String chave) {
+        long[] local = indice.get(chave);
+        if (local == null) {
+            return null;
+        }
+        byte[] chaveBytes = chave.getBytes(StandardCharsets.UTF_8);
+        return lerIntervalo(local[0] + CABECALHO + chaveBytes.length, (int) local[1]);
+    }
+
+    public synchronized boolean remover(String chave) {
+        long[] anterior = indice.remove(chave);
+        if (anterior == null) {
+            return false;
+        }
+        acrescentar(chave, null);
+        bytesUteis -= tamanhoRegistro(chave, (int) anterior[1]);
+        compactarSeNecessario();
+        return true;
+    }
+
+    public synchronized boolean contem(String chave) {
+        return indice.containsKey(chave);
+    }
+
+    public synchronized List<String> chaves() {
+        return new ArrayList<>(indice.keySet());
+    }
+
+    public synchronized int getTamanho() {
+        return indice.size();
+    }
+
+    /**
+     * Apaga todos os registros
+     */
+    public synchronized void limpar() {
+        try {
+            canal.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao limpar o armazém " + arquivo, e);
+        }
+        indice.clear();
+        cache.clear();
+        tamanhoArquivo = 0;
+        bytesUteis = 0;
+    }
+
+    /**
+     * Reescreve o arquivo só com a versão atual de cada chave
+     */
+    public synchronized void compactar() {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".compactando");
+        Map<String, long[]> novoIndice = new HashMap<>();
+        try (FileChannel novo = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                                                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long posicao = 0;
+            for (Map.Entry<String, long[]> entrada : indice.entrySet()) {
+                byte[] valor = ler(entrada.getKey());
+                ByteBuffer registro = montarRegistro(entrada.getKey(), valor);
+                int tamanho = registro.remaining();
+                while (registro.hasRemaining()) {
+                    novo.write(registro);
+                }
+                novoIndice.put(entrada.getKey(), new long[] {posicao, valor.length});
+                posicao += tamanho;
+            }
+            novo.force(true);
+            canal.close();
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            tamanhoArquivo = posicao;
+            bytesUteis = posicao;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao compactar o armazém " + arquivo, e);
+        }
+        indice.clear();
+        indice.putAll(novoIndice);
+        cache.clear();
+    }
+
+    public synchronized void forcar() {
+        try {
+            canal.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o armazém " + arquivo, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            canal.force(false);
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar o armazém " + arquivo, e);
+        }
+    }
+
+    // ================== MÉTRICAS ==================
+
+    public synchronized long getAcertosCache() {
+        return acertosCache;
+    }
+
+    public synchronized long getLeiturasDisco() {
+        return leiturasDisco;
+    }
+
+    public synchronized long getTamanhoArquivo() {
+        return tamanhoArquivo;
+    }
+
+    // ================== INTERNOS ==================
+
+    private long acrescentar(String chave, byte[] valor) {
+        ByteBuffer registro = montarRegistro(chave, valor);
+        long posicao = tamanhoArquivo;
+        try {
+            long escrita = posicao;
+            while (registro.hasRemaining()) {
+                escrita += canal.write(registro, escrita);
+            }
+            tamanhoArquivo = escrita;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar no armazém " + arquivo, e);
+        }
+        // As páginas alteradas deixam de valer no cache
+        for (long pagina = posicao / TAMANHO_PAGINA; pagina <= (tamanhoArquivo - 1) / TAMANHO_PAGINA; pagina++) {
+            cache.remove(pagina);
+        }
+        return posicao;
+    }
+
+    private static ByteBuffer montarRegistro(String chave, byte[] valor) {
+        byte[] chaveBytes = chave.getBytes(StandardCharsets.UTF_8);
+        int tamanhoValor = valor != null ? valor.length : 0;
+        ByteBuffer registro = ByteBuffer.allocate(CABECALHO + chaveBytes.length + tamanhoValor);
+        registro.putInt(chaveBytes.length);
+        registro.putInt(valor != null ? valor.length : LAPIDE);
+        registro.putInt(calcularCrc(chaveBytes, valor));
+        registro.put(chaveBytes);
+        if (valor != null) {
+            registro.put(valor);
+        }
+        return registro.flip();
+    }
+
+    private byte[] lerIntervalo(long posicao, int tamanho) {
+        byte[] destino = new byte[tamanho];
+        int copiados = 0;
+        while (copiados < tamanho) {
+            long atual = posicao + copiados;
+            byte[] pagina = pagina(atual / TAMANHO_PAGINA);
+            int deslocamento = (int) (atual % TAMANHO_PAGINA);
+            int quantidade = Math.min(tamanho - copiados, pagina.length - deslocamento);
+            System.arraycopy(pagina, deslocamento, destino, copiados, quantidade);
+            copiados += quantidade;
+        }
+        return destino;
+    }
+
+    private byte[] pagina(long numero) {
+        byte[] pagina = cache.get(numero);
+        if (pagina != null) {
+            acertosCache++;
+            return pagina;
+        }
+        leiturasDisco++;
+        long inicio = numero * TAMANHO_PAGINA;
+        int tamanho = (int) Math.min(TAMANHO_PAGINA, tamanhoArquivo - inicio);
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        try {
+            while (buffer.hasRemaining()) {
+                if (canal.read(buffer, inicio + buffer.position()) < 0) {
+                    throw new IOException("Fim inesperado do arquivo");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o armazém " + arquivo, e);
+        }
+        pagina = buffer.array();
+        cache.put(numero, pagina);
+        return pagina;
+    }
+
+    private void carregarIndice() throws IOException {
+        long tamanho = canal.size();
+        long posicao = 0;
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+        while (posicao + CABECALHO <= tamanho) {
+            cabecalho.clear();
+            canal.read(cabecalho, posicao);
+            cabecalho.flip();
+            int tamanhoChave = cabecalho.getInt();
+            int tamanhoValor = cabecalho.getInt();
+            int crc = cabecalho.getInt();
+            int corpo = tamanhoChave + Math.max(tamanhoValor, 0);
+            if (tamanhoChave < 0 || tamanhoValor < LAPIDE || posicao + CABECALHO + corpo > tamanho) {
+                break;
+            }
+            ByteBuffer dados = ByteBuffer.allocate(corpo);
+            canal.read(dados, posicao + CABECALHO);
+            byte[] chaveBytes = new byte[tamanhoChave];
+            dados.flip().get(chaveBytes);
+            byte[] valor = tamanhoValor == LAPIDE ? null : new byte[tamanhoValor];
+            if (valor != null) {
+                dados.get(valor);
+            }
+            if (crc != calcularCrc(chaveBytes, valor)) {
+                break;
+            }
+            String chave = new String(chaveBytes, StandardCharsets.UTF_8);
+            long[] anterior = tamanhoValor == LAPIDE ? indice.remove(chave)
+                                                      : indice.put(chave, new long[] {posicao, tamanhoValor});
+            if (anterior != null) {
+                bytesUteis -= tamanhoRegistro(chave, (int) anterior[1]);
+            }
+            if (tamanhoValor != LAPIDE) {
+                bytesUteis += CABECALHO + corpo;
+            }
+            posicao += CABECALHO + corpo;
+        }
+        // Descarta o final incompleto ou corrompido
+        canal.truncate(posicao);
+        tamanhoArquivo = posicao;
+    }
+
+    private void compactarSeNecessario() {
+        if (tamanhoArquivo > TAMANHO_MINIMO_COMPACTACAO && tamanhoArquivo - bytesUteis > bytesUteis) {
+            compactar();
+        }
+    }
+
+    private static long tamanhoRegistro(String chave, int tamanhoValor) {
+        return CABECALHO + chave.getBytes(StandardCharsets.UTF_8).length + tamanhoValor;
+    }
+
+    private static int calcularCrc(byte[] chave, byte[] valor) {
+        CRC32 crc = new CRC32();
+        crc.update(chave);
+        if (valor != null) {
+            crc.update(valor);
+        }
+        return (int) crc.getValue();
+    }
+}
\ No newline at end of file
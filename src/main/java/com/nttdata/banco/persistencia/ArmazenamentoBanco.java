@@ -0,0 +1,648 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.Durabilidade;
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaCorrente;
+import com.nttdata.banco.model.ContaInvestimento;
+import com.nttdata.banco.model.ContaPoupanca;
+import com.nttdata.banco.model.CursorTransacoes;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.model.Transacao;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.RepositorioCliente;
+import com.nttdata.banco.repository.RepositorioConta;
+import com.nttdata.banco.repository.RepositorioInvestimento;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Armazenamento do banco em um diretório: snapshot + segmentos do journal
+ *
+ * O journal é dividido em segmentos (journal-<primeira sequência>.log). Um snapshot
+ * registra a sequência S em que o journal foi rotacionado; todo registro com sequência
+ * maior que S está nos segmentos seguintes. Ao gravar o snapshot, os segmentos
+ * anteriores a S deixam de ser necessários e são apagados.
+ *
+ * Cada conta é copiada para o snapshot dentro da própria trava, com a última sequência
+ * do journal que a alterou. Os registros posteriores ao snapshot que já estiverem na cópia
+ * (sequência menor ou igual à da conta) são ignorados na reaplicação, que roda em paralelo
+ * por partição de contas. Assim o tempo de abertura depende dos dados vivos e do final
+ * do journal, não do tamanho do histórico de registros.
+ *
+ * Desde a versão 3 do snapshot, cada conta leva também os pontos da linha do tempo de
+ * saldos; a reaplicação acrescenta um ponto por registro com transações da conta (o
+ * saldo gravado no registro, no instante da última transação). O serviço recebe esses
+ * pontos em extrairPontosSaldo, então saldoEm e o extrato respondem por instantes
+ * anteriores à abertura.
+ */
+public class ArmazenamentoBanco {
+    private static final int MAGICO = 0x42414E43;
+    private static final byte VERSAO_SNAPSHOT = 3;
+    private static final String ARQUIVO_SNAPSHOT = "snapshot.dat";
+    private static final String ARQUIVO_NUMEROS = "numeros.properties";
+    private static final String PREFIXO_SEGMENTO = "journal-";
+    private static final String SUFIXO_SEGMENTO = ".log";
+
+    private final Path diretorio;
+    private final int particoes;
+    private volatile long sequenciaSnapshot;
+    private volatile long registrosReaplicados;
+    private volatile Map<String, PontosSaldo> pontosRestaurados = Map.of();
+
+    public ArmazenamentoBanco(Path diretorio) {
+        this(diretorio, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ArmazenamentoBanco(Path diretorio, int particoes) {
+        if (particoes <= 0) {
+            throw new IllegalArgumentException("Quantidade de partições deve ser positiva");
+        }
+        this.diretorio = diretorio;
+        this.particoes = particoes;
+        try {
+            Files.createDirectories(diretorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório " + diretorio, e);
+        }
+    }
+
+    // ================== JOURNAL ==================
+
+    /**
+     * Abre o journal no último segmento (ou cria o primeiro). Deve ser chamado depois de restaurar.
+     */
+    public Journal abrirJournal(Durabilidade durabilidade) {
+        List<Path> segmentos = listarSegmentos();
+        if (segmentos.isEmpty()) {
+            return new Journal(nomeSegmento(sequenciaSnapshot + 1), durabilidade,
+                               Journal.JANELA_GRUPO_PADRAO_MICROS, sequenciaSnapshot);
+        }
+        Path ultimo = segmentos.get(segmentos.size() - 1);
+        long anterior = Math.max(primeiraSequencia(ultimo) - 1, sequenciaSnapshot);
+        return new Journal(ultimo, durabilidade, Journal.JANELA_GRUPO_PADRAO_MICROS, anterior);
+    }
+
+    /**
+     * Passa o journal para um novo segmento e devolve a última sequência do segmento anterior
+     */
+    public long rotacionarJournal(Journal journal) {
+        return journal.rotacionar(this::nomeSegmento);
+    }
+
+    public Path getArquivoNumeros() {
+        return diretorio.resolve(ARQUIVO_NUMEROS);
+    }
+
+    public Path getDiretorio() {
+        return diretorio;
+    }
+
+    public List<Path> listarSegmentos() {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(ArmazenamentoBanco::isSegmento)
+                           .sorted()
+                           .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível listar os segmentos em " + diretorio, e);
+        }
+    }
+
+    private Path nomeSegmento(long primeiraSequencia) {
+        return diretorio.resolve(String.format("%s%020d%s", PREFIXO_SEGMENTO, primeiraSequencia, SUFIXO_SEGMENTO));
+    }
+
+    private static boolean isSegmento(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return nome.startsWith(PREFIXO_SEGMENTO) && nome.endsWith(SUFIXO_SEGMENTO);
+    }
+
+    private static long primeiraSequencia(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO_SEGMENTO.length(), nome.length() - SUFIXO_SEGMENTO.length()));
+    }
+
+    // ================== SNAPSHOT ==================
+
+    /**
+     * Grava o snapshot da sequência informada (a devolvida pela rotação) e apaga os
+     * segmentos cobertos por ele. A leitura de cada conta deve ser feita dentro da trava
+     * dela; contas que sumirem durante a cópia são ignoradas.
+     */
+    public void gravarSnapshot(long sequencia, List<Cliente> clientes, List<Investimento> investimentos,
+                               List<Conta> contas, Function<Conta, Optional<byte[]>> leituraConsistente) {
+        Path destino = diretorio.resolve(ARQUIVO_SNAPSHOT);
+        Path temporario = diretorio.resolve(ARQUIVO_SNAPSHOT + ".tmp");
+        try (FileOutputStream arquivo = new FileOutputStream(temporario.toFile())) {
+            BufferedOutputStream buffer = new BufferedOutputStream(arquivo, 64 * 1024);
+            CheckedOutputStream verificado = new CheckedOutputStream(buffer, new CRC32());
+            DataOutputStream saida = new DataOutputStream(verificado);
+            saida.writeInt(MAGICO);
+            saida.writeByte(VERSAO_SNAPSHOT);
+            saida.writeLong(sequencia);
+            for (Cliente cliente : clientes) {
+                saida.writeBoolean(true);
+                CodecPersistencia.escreverCliente(saida, cliente);
+            }
+            saida.writeBoolean(false);
+            for (Investimento investimento : investimentos) {
+                saida.writeBoolean(true);
+                CodecPersistencia.escreverInvestimento(saida, investimento);
+            }
+            saida.writeBoolean(false);
+            for (Conta conta : contas) {
+                Optional<byte[]> copia = leituraConsistente.apply(conta);
+                if (copia.isPresent()) {
+                    saida.writeBoolean(true);
+                    saida.writeInt(copia.get().length);
+                    saida.write(copia.get());
+                }
+            }
+            saida.writeBoolean(false);
+            saida.flush();
+            new DataOutputStream(buffer).writeLong(verificado.getChecksum().getValue());
+            buffer.flush();
+            arquivo.getChannel().force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o snapshot em " + diretorio, e);
+        }
+        try {
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao publicar o snapshot em " + diretorio, e);
+        }
+        sequenciaSnapshot = sequencia;
+        removerSegmentosAte(sequencia);
+    }
+
+    /**
+     * Copia o estado da conta para o snapshot; chamado dentro da trava da conta
+     */
+    public static byte[] codificarConta(Conta conta) {
+        return codificarConta(conta, new PontosSaldo(0));
+    }
+
+    /**
+     * Como codificarConta(conta), com os pontos da linha do tempo de saldos da conta
+     */
+    public static byte[] codificarConta(Conta conta, PontosSaldo pontos) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeUTF(conta.getTipoConta().name());
+            saida.writeUTF(conta.getAgencia());
+            saida.writeUTF(conta.getNumero());
+            saida.writeUTF(conta.getTitular().getCpf());
+            saida.writeUTF(conta.getDataAbertura().toString());
+            saida.writeBoolean(conta.isAtiva());
+            saida.writeUTF(conta.getSaldo().toString());
+            saida.writeBoolean(conta.isSaldoEmCentavos());
+            saida.writeLong(conta.getSequenciaJournal());
+            CursorTransacoes historico = conta.percorrerHistorico();
+            saida.writeInt(Math.toIntExact(conta.getQuantidadeTransacoes()));
+            while (historico.avancar()) {
+                CodecPersistencia.escreverTransacao(saida, historico.getTransacao());
+            }
+            List<Investimento> investimentos = conta instanceof ContaInvestimento contaInvestimento
+                    ? contaInvestimento.getInvestimentos() : List.of();
+            saida.writeInt(investimentos.size());
+            for (Investimento investimento : investimentos) {
+                saida.writeUTF(investimento.getId());
+            }
+            saida.writeInt(pontos.getQuantidade());
+            for (int i = 0; i < pontos.getQuantidade(); i++) {
+                saida.writeLong(pontos.getInstante(i));
+                saida.writeLong(pontos.getCentavos(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void removerSegmentosAte(long sequencia) {
+        for (Path segmento : listarSegmentos()) {
+            if (primeiraSequencia(segmento) <= sequencia) {
+                try {
+                    Files.deleteIfExists(segmento);
+                } catch (IOException e) {
+                    System.err.println("Não foi possível apagar o segmento " + segmento + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // ================== RESTAURAÇÃO ==================
+
+    /**
+     * Carrega o snapshot e reaplica os registros do journal posteriores a ele.
+     * Devolve a última sequência restaurada.
+     */
+    public long restaurar(RepositorioCliente clientes, RepositorioConta contas, RepositorioInvestimento investimentos) {
+        Map<String, Long> sequenciasSnapshot = new HashMap<>();
+        Map<String, List<String>> vinculosSnapshot = new HashMap<>();
+        Map<String, PontosSaldo> pontos = new ConcurrentHashMap<>();
+        long sequencia = carregarSnapshot(clientes, contas, investimentos, sequenciasSnapshot, vinculosSnapshot,
+                                          pontos);
+        sequenciaSnapshot = sequencia;
+
+        // Leitura sequencial: clientes e investimentos vão direto aos repositórios,
+        // os efeitos de conta são separados por partição
+        List<List<EfeitoMutacao>> porParticao = new ArrayList<>(particoes);
+        for (int i = 0; i < particoes; i++) {
+            porParticao.add(new ArrayList<>());
+        }
+        long[] ultima = {sequencia};
+        long[] reaplicados = {0};
+        boolean descartarSeguintes = false;
+        for (Path segmento : listarSegmentos()) {
+            if (descartarSeguintes) {
+                apagarSegmento(segmento);
+                continue;
+            }
+            long tamanhoValido;
+            try {
+                tamanhoValido = Journal.ler(segmento, (seq, dados) -> {
+                    if (seq <= ultima[0]) {
+                        return;
+                    }
+                    ultima[0] = seq;
+                    reaplicados[0]++;
+                    for (EfeitoMutacao efeito : RegistroMutacao.decodificar(seq, dados)) {
+                        distribuir(efeito, clientes, investimentos, porParticao);
+                    }
+                });
+                // Um final inválido em um segmento intermediário torna os seguintes inalcançáveis
+                descartarSeguintes = tamanhoValido < Files.size(segmento);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao ler o segmento " + segmento, e);
+            }
+        }
+
+        vincularInvestimentos(vinculosSnapshot, contas, investimentos);
+        reaplicarContas(porParticao, sequenciasSnapshot, clientes, contas, investimentos, pontos);
+        registrosReaplicados = reaplicados[0];
+        pontosRestaurados = pontos;
+        return ultima[0];
+    }
+
+    /**
+     * Pontos da linha do tempo de saldos restaurados por conta ("agencia-numero"): os do
+     * snapshot mais os do final do journal. Entregues uma vez, a quem abriu o banco.
+     */
+    public Map<String, PontosSaldo> extrairPontosSaldo() {
+        Map<String, PontosSaldo> pontos = pontosRestaurados;
+        pontosRestaurados = Map.of();
+        return pontos;
+    }
+
+    private long carregarSnapshot(RepositorioCliente clientes, RepositorioConta contas,
+                                  RepositorioInvestimento investimentos, Map<String, Long> sequenciasSnapshot,
+                                  Map<String, List<String>> vinculosSnapshot, Map<String, PontosSaldo> pontos) {
+        Path arquivo = diretorio.resolve(ARQUIVO_SNAPSHOT);
+        if (!Files.exists(arquivo)) {
+            return 0;
+        }
+        try {
+            verificarSnapshot(arquivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o snapshot " + arquivo, e);
+        }
+        try (InputStream bruto = new BufferedInputStream(Files.newInputStream(arquivo), 64 * 1024)) {
+            DataInputStream entrada = new DataInputStream(bruto);
+            if (entrada.readInt() != MAGICO) {
+                throw new IllegalStateException("Snapshot inválido: " + arquivo);
+            }
+            // A versão 1 não tinha o modo do saldo (as contas voltam com saldo decimal) e as
+            // anteriores à 3 não tinham a linha do tempo (começa na abertura, como antes)
+            byte versao = entrada.readByte();
+            if (versao < 1 || versao > VERSAO_SNAPSHOT) {
+                throw new IllegalStateException("Snapshot inválido: " + arquivo);
+            }
+            long sequencia = entrada.readLong();
+            List<Cliente> clientesLidos = new ArrayList<>();
+            while (entrada.readBoolean()) {
+                clientesLidos.add(CodecPersistencia.lerCliente(entrada));
+            }
+            List<Investimento> investimentosLidos = new ArrayList<>();
+            while (entrada.readBoolean()) {
+                investimentosLidos.add(CodecPersistencia.lerInvestimento(entrada));
+            }
+            List<byte[]> contasLidas = new ArrayList<>();
+            while (entrada.readBoolean()) {
+                byte[] dados = new byte[entrada.readInt()];
+                entrada.readFully(dados);
+                contasLidas.add(dados);
+            }
+
+            clientesLidos.forEach(clientes::salvar);
+            investimentosLidos.forEach(investimentos::salvar);
+            for (byte[] dados : contasLidas) {
+                Conta conta = lerConta(dados, versao, clientes, vinculosSnapshot, pontos);
+                String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+                sequenciasSnapshot.put(chave, conta.getSequenciaJournal());
+                contas.salvar(conta);
+            }
+            return sequencia;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o snapshot " + arquivo, e);
+        }
+    }
+
+    /**
+     * Confere o CRC do arquivo inteiro antes de interpretar qualquer campo: um snapshot
+     * corrompido é recusado como tal, e não por um tamanho ou texto lido do lixo
+     */
+    private static void verificarSnapshot(Path arquivo) throws IOException {
+        long conteudo = Files.size(arquivo) - Long.BYTES;
+        if (conteudo < 0) {
+            throw new IllegalStateException("Snapshot corrompido: " + arquivo);
+        }
+        try (InputStream entrada = new BufferedInputStream(Files.newInputStream(arquivo), 64 * 1024)) {
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[64 * 1024];
+            for (long restante = conteudo; restante > 0; ) {
+                int lidos = entrada.read(buffer, 0, (int) Math.min(buffer.length, restante));
+                if (lidos < 0) {
+                    throw new IllegalStateException("Snapshot corrompido: " + arquivo);
+                }
+                crc.update(buffer, 0, lidos);
+                restante -= lidos;
+            }
+            if (new DataInputStream(entrada).readLong() != crc.getValue()) {
+                throw new IllegalStateException("Snapshot corrompido: " + arquivo);
+            }
+        }
+    }
+
+    private static Conta lerConta(byte[] dados, byte versao, RepositorioCliente clientes,
+                                  Map<String, List<String>> vinculosSnapshot,
+                                  Map<String, PontosSaldo> pontos) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados));
+        TipoConta tipo = TipoConta.valueOf(entrada.readUTF());
+        String agencia = entrada.readUTF();
+        String numero = entrada.readUTF();
+        String cpf = entrada.readUTF();
+        LocalDateTime dataAbertura = LocalDateTime.parse(entrada.readUTF());
+        boolean ativa = entrada.readBoolean();
+        BigDecimal saldo = new BigDecimal(entrada.readUTF());
+        boolean saldoEmCentavos = versao >= 2 && entrada.readBoolean();
+        long sequenciaJournal = entrada.readLong();
+        Conta conta = novaConta(tipo, agencia, numero, titular(clientes, cpf));
+        conta.restaurar(saldo, dataAbertura);
+        if (saldoEmCentavos) {
+            conta.usarSaldoEmCentavos();
+        }
+        conta.setAtiva(ativa);
+        conta.setSequenciaJournal(sequenciaJournal);
+        int transacoes = entrada.readInt();
+        List<Transacao> historico = new ArrayList<>(transacoes);
+        for (int i = 0; i < transacoes; i++) {
+            historico.add(CodecPersistencia.lerTransacao(entrada));
+        }
+        conta.adicionarTransacoes(historico);
+        int vinculos = entrada.readInt();
+        if (vinculos > 0) {
+            List<String> ids = new ArrayList<>(vinculos);
+            for (int i = 0; i < vinculos; i++) {
+                ids.add(entrada.readUTF());
+            }
+            vinculosSnapshot.put(ContaRepository.gerarChave(agencia, numero), ids);
+        }
+        if (versao >= 3) {
+            int quantidade = entrada.readInt();
+            if (quantidade > 0) {
+                PontosSaldo lidos = new PontosSaldo(quantidade);
+                for (int i = 0; i < quantidade; i++) {
+                    lidos.adicionar(entrada.readLong(), entrada.readLong());
+                }
+                pontos.put(ContaRepository.gerarChave(agencia, numero), lidos);
+            }
+        }
+        return conta;
+    }
+
+    private void distribuir(EfeitoMutacao efeito, RepositorioCliente clientes, RepositorioInvestimento investimentos,
+                            List<List<EfeitoMutacao>> porParticao) {
+        switch (efeito.getTipo()) {
+            case CLIENTE -> clientes.salvar(efeito.getCliente());
+            case INVESTIMENTO -> {
+                // Uma única instância por investimento, atualizada com o estado mais recente
+                Investimento lido = efeito.getInvestimento();
+                Optional<Investimento> existente = investimentos.buscarPorId(lido.getId());
+                if (existente.isPresent()) {
+                    existente.get().setAtivo(lido.isAtivo());
+                    existente.get().setDataVencimento(lido.getDataVencimento());
+                    existente.get().setObservacoes(lido.getObservacoes());
+                    investimentos.salvar(existente.get());
+                } else {
+                    investimentos.salvar(lido);
+                }
+                if (efeito.getChaveConta() != null) {
+                    porParticao.get(particaoDe(efeito.getChaveConta())).add(efeito);
+                }
+            }
+            default -> porParticao.get(particaoDe(efeito.getChaveConta())).add(efeito);
+        }
+    }
+
+    private void vincularInvestimentos(Map<String, List<String>> vinculos, RepositorioConta contas,
+                                       RepositorioInvestimento investimentos) {
+        vinculos.forEach((chave, ids) -> buscarConta(contas, chave).ifPresent(conta -> {
+            ContaInvestimento contaInvestimento = (ContaInvestimento) conta;
+            ids.forEach(id -> investimentos.buscarPorId(id).ifPresent(contaInvestimento::adicionarInvestimento));
+            contas.salvar(conta);
+        }));
+    }
+
+    private void reaplicarContas(List<List<EfeitoMutacao>> porParticao, Map<String, Long> sequenciasSnapshot,
+                                 RepositorioCliente clientes, RepositorioConta contas,
+                                 RepositorioInvestimento investimentos, Map<String, PontosSaldo> pontos) {
+        ExecutorService executor = Executors.newFixedThreadPool(particoes, tarefa -> {
+            Thread thread = new Thread(tarefa, "restauracao-contas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> tarefas = new ArrayList<>(particoes);
+            for (List<EfeitoMutacao> efeitos : porParticao) {
+                if (!efeitos.isEmpty()) {
+                    tarefas.add(executor.submit(() ->
+                            reaplicarParticao(efeitos, sequenciasSnapshot, clientes, contas, investimentos,
+                                              pontos)));
+                }
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Restauração interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao reaplicar o journal", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reaplica, em ordem, os efeitos de um grupo de contas. Cada conta de uma partição só
+     * é alterada por ela, então partições diferentes rodam sem coordenação.
+     *
+     * As transações de uma conta em um registro vêm em sequência, depois do saldo dela:
+     * ao fim desse trecho entra o ponto (última transação, saldo) na linha do tempo.
+     */
+    private static void reaplicarParticao(List<EfeitoMutacao> efeitos, Map<String, Long> sequenciasSnapshot,
+                                          RepositorioCliente clientes, RepositorioConta contas,
+                                          RepositorioInvestimento investimentos, Map<String, PontosSaldo> pontos) {
+        Map<String, Conta> restauradas = new HashMap<>();
+        EfeitoMutacao ultimaTransacao = null;
+        Conta contaDaTransacao = null;
+        for (EfeitoMutacao efeito : efeitos) {
+            String chave = efeito.getChaveConta();
+            if (ultimaTransacao != null && !mesmoTrecho(ultimaTransacao, efeito)) {
+                registrarPonto(pontos, ultimaTransacao, contaDaTransacao);
+                ultimaTransacao = null;
+            }
+            if (efeito.getSequencia() <= sequenciasSnapshot.getOrDefault(chave, 0L)) {
+                continue; // Já está na cópia da conta gravada no snapshot
+            }
+            Conta conta = restauradas.computeIfAbsent(chave, c -> buscarConta(contas, c).orElse(null));
+            if (efeito.getTipo() == EfeitoMutacao.Tipo.CONTA) {
+                if (conta == null) {
+                    conta = criarConta(efeito, chave, clientes);
+                    contas.salvar(conta);
+                    restauradas.put(chave, conta);
+                    pontos.computeIfAbsent(chave, c -> new PontosSaldo())
+                          .adicionar(conta.getDataAbertura(), conta.getSaldo());
+                }
+                conta.setAtiva(efeito.isAtiva());
+                if (efeito.isSaldoEmCentavos()) {
+                    conta.usarSaldoEmCentavos();
+                }
+            } else if (conta == null) {
+                continue; // Conta excluída depois do registro
+            } else if (efeito.getTipo() == EfeitoMutacao.Tipo.EXCLUSAO) {
+                contas.excluir(conta.getAgencia(), conta.getNumero());
+                restauradas.put(chave, null);
+                pontos.remove(chave);
+                continue;
+            } else if (efeito.getTipo() == EfeitoMutacao.Tipo.SALDO) {
+                if (efeito.isSaldoEmCentavos()) {
+                    conta.usarSaldoEmCentavos();
+                }
+                conta.restaurar(efeito.getSaldo(), conta.getDataAbertura());
+            } else if (efeito.getTipo() == EfeitoMutacao.Tipo.TRANSACAO) {
+                conta.adicionarTransacao(efeito.getTransacao());
+                ultimaTransacao = efeito;
+                contaDaTransacao = conta;
+            } else if (efeito.getTipo() == EfeitoMutacao.Tipo.INVESTIMENTO
+                    && conta instanceof ContaInvestimento contaInvestimento) {
+                Investimento investimento = investimentos.buscarPorId(efeito.getInvestimento().getId()).orElseThrow();
+                if (!efeito.getInvestimento().isAtivo()) {
+                    contaInvestimento.removerInvestimento(investimento);
+                } else if (!contaInvestimento.getInvestimentos().contains(investimento)) {
+                    contaInvestimento.adicionarInvestimento(investimento);
+                }
+            }
+            conta.setSequenciaJournal(efeito.getSequencia());
+        }
+        if (ultimaTransacao != null) {
+            registrarPonto(pontos, ultimaTransacao, contaDaTransacao);
+        }
+        // Repositórios fora da memória só guardam o que for salvo
+        restauradas.values().stream().filter(Objects::nonNull).forEach(contas::salvar);
+    }
+
+    private static boolean mesmoTrecho(EfeitoMutacao transacao, EfeitoMutacao seguinte) {
+        return seguinte.getTipo() == EfeitoMutacao.Tipo.TRANSACAO
+                && seguinte.getSequencia() == transacao.getSequencia()
+                && seguinte.getChaveConta().equals(transacao.getChaveConta());
+    }
+
+    // Chamado antes do próximo efeito da conta: o saldo ainda é o gravado no registro da transação
+    private static void registrarPonto(Map<String, PontosSaldo> pontos, EfeitoMutacao transacao, Conta conta) {
+        pontos.computeIfAbsent(transacao.getChaveConta(), c -> new PontosSaldo())
+              .adicionar(transacao.getTransacao().getDataHora(), conta.getSaldo());
+    }
+
+    private static Conta criarConta(EfeitoMutacao efeito, String chave, RepositorioCliente clientes) {
+        int separador = chave.indexOf('-');
+        Conta conta = novaConta(efeito.getTipoConta(), chave.substring(0, separador), chave.substring(separador + 1),
+                                titular(clientes, efeito.getCpfTitular()));
+        conta.restaurar(BigDecimal.ZERO, efeito.getDataAbertura());
+        return conta;
+    }
+
+    static Conta novaConta(TipoConta tipo, String agencia, String numero, Cliente titular) {
+        return switch (tipo) {
+            case CORRENTE -> new ContaCorrente(numero, agencia, titular);
+            case POUPANCA -> new ContaPoupanca(numero, agencia, titular);
+            case INVESTIMENTO -> new ContaInvestimento(numero, agencia, titular);
+        };
+    }
+
+    private static Cliente titular(RepositorioCliente clientes, String cpf) {
+        return clientes.buscarPorCpf(cpf)
+                       .orElseThrow(() -> new IllegalStateException("Titular não encontrado na restauração: " + cpf));
+    }
+
+    private static Optional<Conta> buscarConta(RepositorioConta contas, String chave) {
+        int separador = chave.indexOf('-');
+        return contas.buscarPorNumero(chave.substring(0, separador), chave.substring(separador + 1));
+    }
+
+    private int particaoDe(String chaveConta) {
+        return Math.floorMod(chaveConta.hashCode(), particoes);
+    }
+
+    private static void apagarSegmento(Path segmento) {
+        try {
+            Files.deleteIfExists(segmento);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível descartar o segmento " + segmento, e);
+        }
+    }
+
+    // ================== CONSULTA ==================
+
+    public long getSequenciaSnapshot() {
+        return sequenciaSnapshot;
+    }
+
+    /**
+     * Registros do journal reaplicados na última restauração
+     */
+    public long getRegistrosReaplicados() {
+        return registrosReaplicados;
+    }
+}
\ No newline at end of file
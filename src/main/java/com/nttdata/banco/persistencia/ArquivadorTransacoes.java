@@ -0,0 +1,96 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.CursorTransacoes;
+import com.nttdata.banco.model.HistoricoEmMemoria;
+import com.nttdata.banco.model.HistoricoTransacoes;
+import com.nttdata.banco.model.Transacao;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estágio de arquivamento: move as transações antigas do histórico em memória de uma
+ * conta para uma nova geração de arquivo colunar ("agencia-numero-indice.col")
+ *
+ * O arquivo é gravado fora do bloqueio da conta (o histórico só cresce no fim, então o
+ * prefixo antigo não muda); a troca pelo HistoricoArquivado é feita sob o bloqueio e
+ * descartada se outro armazenamento tiver sido instalado nesse meio tempo.
+ * Históricos mapeados em memória já ficam fora do heap e não são arquivados.
+ */
+public class ArquivadorTransacoes {
+    private final Path diretorio;
+    private final int linhasPorBloco;
+
+    public ArquivadorTransacoes(Path diretorio) {
+        this(diretorio, ArquivoColunar.LINHAS_POR_BLOCO_PADRAO);
+    }
+
+    public ArquivadorTransacoes(Path diretorio, int linhasPorBloco) {
+        this.diretorio = diretorio;
+        this.linhasPorBloco = linhasPorBloco;
+        try {
+            Files.createDirectories(diretorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório de arquivo " + diretorio, e);
+        }
+    }
+
+    /**
+     * Arquiva as transações do início do histórico recente com data/hora anterior ao
+     * limite (até a primeira mais nova). Retorna quantas foram arquivadas.
+     */
+    public synchronized int arquivar(Conta conta, LocalDateTime limite) {
+        HistoricoTransacoes original = conta.getArmazenamentoHistorico();
+        List<ArquivoColunar> geracoes = new ArrayList<>();
+        HistoricoEmMemoria recentes;
+        long primeiroIndice = 0;
+        if (original instanceof HistoricoArquivado arquivado) {
+            geracoes.addAll(arquivado.getGeracoes());
+            recentes = arquivado.getRecentes();
+            primeiroIndice = arquivado.getQuantidadeArquivada();
+        } else if (original instanceof HistoricoEmMemoria emMemoria) {
+            recentes = emMemoria;
+        } else {
+            return 0;
+        }
+
+        List<Transacao> antigas = new ArrayList<>();
+        CursorTransacoes cursor = recentes.cursor();
+        while (cursor.avancar() && cursor.getDataHora().isBefore(limite)) {
+            antigas.add(cursor.getTransacao());
+        }
+        if (antigas.isEmpty()) {
+            return 0;
+        }
+
+        Path arquivo = diretorio.resolve(conta.getAgencia() + "-" + conta.getNumero() + "-" + primeiroIndice + ".col");
+        geracoes.add(ArquivoColunar.gravar(arquivo, antigas, linhasPorBloco));
+        boolean[] trocado = new boolean[1];
+        conta.substituirHistorico(atual -> {
+            if (atual != original) {
+                return atual;
+            }
+            List<Transacao> todas = recentes.listar();
+            trocado[0] = true;
+            return new HistoricoArquivado(geracoes, todas.subList(antigas.size(), todas.size()));
+        });
+        if (!trocado[0]) {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                // A geração órfã não é referenciada; fica para a próxima limpeza do diretório
+            }
+            return 0;
+        }
+        return antigas.size();
+    }
+
+    public Path getDiretorio() {
+        return diretorio;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,683 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.CursorTransacoes;
+import com.nttdata.banco.model.FiltroTransacoes;
+import com.nttdata.banco.model.Transacao;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Arquivo colunar comprimido e imutável para transações antigas (armazenamento frio)
+ *
+ * As transações são divididas em blocos; em cada bloco cada coluna (tipo, valor, data/hora,
+ * origem, destino e os demais campos) é gravada em separado e comprimida com Deflater.
+ * Valores e datas/horas viram inteiros variáveis com delta, textos viram códigos de um
+ * dicionário único do arquivo. O índice no fim do arquivo guarda, por bloco, o mapa de
+ * zona (mínimo e máximo de data/hora e de valor, e os tipos presentes) e o CRC.
+ *
+ * A busca consulta primeiro os mapas de zona e pula blocos inteiros; nos blocos lidos
+ * só descomprime as colunas dos critérios, e as demais apenas se alguma linha passar.
+ * O arquivo é mapeado em memória somente para leitura, sem canal aberto.
+ */
+public class ArquivoColunar {
+    public static final int LINHAS_POR_BLOCO_PADRAO = 4096;
+
+    private static final int MAGICO = 0x434F4C54;
+    private static final byte VERSAO = 1;
+    private static final int TAMANHO_FINAL = Long.BYTES + Integer.BYTES;
+
+    private static final int COL_TIPO = 0;
+    private static final int COL_VALOR = 1;
+    private static final int COL_ESCALA = 2;
+    private static final int COL_DATA_HORA = 3;
+    private static final int COL_ORIGEM = 4;
+    private static final int COL_DESTINO = 5;
+    private static final int COL_ID = 6;
+    private static final int COL_DESCRICAO = 7;
+    private static final int COL_SUCESSO = 8;
+    private static final int COL_OBSERVACOES = 9;
+    private static final int COL_CORRELACAO = 10;
+    private static final int COLUNAS = 11;
+
+    private static final TipoTransacao[] TIPOS = TipoTransacao.values();
+
+    private final Path arquivo;
+    private final MappedByteBuffer dados;
+    private final String[] textos;
+    private final Bloco[] blocos;
+    private final long quantidade;
+    private final LongAdder blocosLidos = new LongAdder();
+    private final LongAdder blocosIgnorados = new LongAdder();
+    // Último bloco totalmente descomprimido (leitura sequencial por cursor ou obter)
+    private volatile Linhas ultimoBloco;
+
+    private ArquivoColunar(Path arquivo) throws IOException {
+        this.arquivo = arquivo;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            // O mapeamento continua válido depois de fechar o canal
+            this.dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+        int tamanho = dados.capacity();
+        if (tamanho < 5 + TAMANHO_FINAL || dados.getInt(0) != MAGICO || dados.getInt(tamanho - 4) != MAGICO) {
+            throw new IllegalStateException("Arquivo colunar inválido: " + arquivo);
+        }
+        if (dados.get(4) != VERSAO) {
+            throw new IllegalStateException("Versão de arquivo colunar não suportada: " + dados.get(4));
+        }
+        ByteBuffer indice = dados.duplicate().position((int) dados.getLong(tamanho - TAMANHO_FINAL));
+        this.textos = new String[indice.getInt()];
+        for (int i = 0; i < textos.length; i++) {
+            byte[] bytes = new byte[lerVarInt(indice)];
+            indice.get(bytes);
+            textos[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        this.blocos = new Bloco[indice.getInt()];
+        long total = 0;
+        for (int i = 0; i < blocos.length; i++) {
+            blocos[i] = new Bloco(indice, total);
+            total += blocos[i].linhas;
+        }
+        this.quantidade = total;
+    }
+
+    public static ArquivoColunar abrir(Path arquivo) {
+        try {
+            return new ArquivoColunar(arquivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o arquivo colunar " + arquivo, e);
+        }
+    }
+
+    // ================== ESCRITA ==================
+
+    public static ArquivoColunar gravar(Path arquivo, List<Transacao> transacoes) {
+        return gravar(arquivo, transacoes, LINHAS_POR_BLOCO_PADRAO);
+    }
+
+    /**
+     * Grava as transações, na ordem recebida, em um arquivo temporário publicado por
+     * renomeação atômica, e abre o resultado
+     */
+    public static ArquivoColunar gravar(Path arquivo, List<Transacao> transacoes, int linhasPorBloco) {
+        if (linhasPorBloco <= 0) {
+            throw new IllegalArgumentException("Linhas por bloco deve ser positivo");
+        }
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        Map<String, Integer> codigos = new HashMap<>();
+        List<String> textos = new ArrayList<>();
+        ByteArrayOutputStream indice = new ByteArrayOutputStream();
+        Deflater compressor = new Deflater();
+        try (FileOutputStream saida = new FileOutputStream(temporario.toFile())) {
+            DataOutputStream arquivoSaida = new DataOutputStream(saida);
+            arquivoSaida.writeInt(MAGICO);
+            arquivoSaida.writeByte(VERSAO);
+            long posicao = 5;
+            int quantidadeBlocos = 0;
+            DataOutputStream entradasIndice = new DataOutputStream(indice);
+            for (int inicio = 0; inicio < transacoes.size(); inicio += linhasPorBloco) {
+                List<Transacao> bloco = transacoes.subList(inicio, Math.min(inicio + linhasPorBloco, transacoes.size()));
+                byte[][] colunas = codificarColunas(bloco, codigos, textos);
+
+                long minimoMicros = Long.MAX_VALUE;
+                long maximoMicros = Long.MIN_VALUE;
+                long minimoCentavos = Long.MAX_VALUE;
+                long maximoCentavos = Long.MIN_VALUE;
+                int mascaraTipos = 0;
+                for (Transacao transacao : bloco) {
+                    long micros = CodecBinario.paraMicros(transacao.getDataHora());
+                    long centavos = centavos(transacao.getValor());
+                    minimoMicros = Math.min(minimoMicros, micros);
+                    maximoMicros = Math.max(maximoMicros, micros);
+                    minimoCentavos = Math.min(minimoCentavos, centavos);
+                    maximoCentavos = Math.max(maximoCentavos, centavos);
+                    mascaraTipos |= 1 << transacao.getTipo().ordinal();
+                }
+
+                entradasIndice.writeLong(posicao);
+                entradasIndice.writeInt(bloco.size());
+                entradasIndice.writeLong(minimoMicros);
+                entradasIndice.writeLong(maximoMicros);
+                entradasIndice.writeLong(minimoCentavos);
+                entradasIndice.writeLong(maximoCentavos);
+                entradasIndice.writeInt(mascaraTipos);
+                CRC32 crc = new CRC32();
+                for (byte[] coluna : colunas) {
+                    byte[] comprimida = comprimir(compressor, coluna);
+                    entradasIndice.writeInt(comprimida.length);
+                    entradasIndice.writeInt(coluna.length);
+                    crc.update(comprimida);
+                    arquivoSaida.write(comprimida);
+                    posicao += comprimida.length;
+                }
+                entradasIndice.writeInt((int) crc.getValue());
+                quantidadeBlocos++;
+            }
+
+            // Índice: dicionário de textos e entradas dos blocos
+            long posicaoIndice = posicao;
+            arquivoSaida.writeInt(textos.size());
+            for (String texto : textos) {
+                byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+                escreverVarInt(arquivoSaida, bytes.length);
+                arquivoSaida.write(bytes);
+            }
+            arquivoSaida.writeInt(quantidadeBlocos);
+            indice.writeTo(arquivoSaida);
+            arquivoSaida.writeLong(posicaoIndice);
+            arquivoSaida.writeInt(MAGICO);
+            arquivoSaida.flush();
+            saida.getChannel().force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o arquivo colunar " + arquivo, e);
+        } finally {
+            compressor.end();
+        }
+        try {
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao publicar o arquivo colunar " + arquivo, e);
+        }
+        return abrir(arquivo);
+    }
+
+    private static byte[][] codificarColunas(List<Transacao> bloco, Map<String, Integer> codigos, List<String> textos)
+            throws IOException {
+        ByteArrayOutputStream[] brutas = new ByteArrayOutputStream[COLUNAS];
+        DataOutputStream[] colunas = new DataOutputStream[COLUNAS];
+        for (int i = 0; i < COLUNAS; i++) {
+            brutas[i] = new ByteArrayOutputStream(bloco.size() * 2);
+            colunas[i] = new DataOutputStream(brutas[i]);
+        }
+        long centavosAnterior = 0;
+        long microsAnterior = 0;
+        for (Transacao transacao : bloco) {
+            long centavos = centavos(transacao.getValor());
+            long micros = CodecBinario.paraMicros(transacao.getDataHora());
+            colunas[COL_TIPO].writeByte(transacao.getTipo().ordinal());
+            escreverVarLong(colunas[COL_VALOR], centavos - centavosAnterior);
+            colunas[COL_ESCALA].writeByte(transacao.getValor().scale());
+            escreverVarLong(colunas[COL_DATA_HORA], micros - microsAnterior);
+            escreverTexto(colunas[COL_ORIGEM], transacao.getContaOrigem(), codigos, textos);
+            escreverTexto(colunas[COL_DESTINO], transacao.getContaDestino(), codigos, textos);
+            UUID uuid = CodecBinario.comoUuid(transacao.getId());
+            if (uuid != null) {
+                colunas[COL_ID].writeByte(1);
+                colunas[COL_ID].writeLong(uuid.getMostSignificantBits());
+                colunas[COL_ID].writeLong(uuid.getLeastSignificantBits());
+            } else {
+                colunas[COL_ID].writeByte(0);
+                escreverTexto(colunas[COL_ID], transacao.getId(), codigos, textos);
+            }
+            escreverTexto(colunas[COL_DESCRICAO], transacao.getDescricao(), codigos, textos);
+            colunas[COL_SUCESSO].writeByte(transacao.isSucesso() ? 1 : 0);
+            escreverTexto(colunas[COL_OBSERVACOES], transacao.getObservacoes(), codigos, textos);
+            escreverTexto(colunas[COL_CORRELACAO], transacao.getIdCorrelacao(), codigos, textos);
+            centavosAnterior = centavos;
+            microsAnterior = micros;
+        }
+        byte[][] resultado = new byte[COLUNAS][];
+        for (int i = 0; i < COLUNAS; i++) {
+            resultado[i] = brutas[i].toByteArray();
+        }
+        return resultado;
+    }
+
+    // ================== LEITURA ==================
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public Transacao obter(long indice) {
+        if (indice < 0 || indice >= quantidade) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fora do arquivo com " + quantidade);
+        }
+        int posicao = blocoDe(indice);
+        return linhasDe(posicao).transacao((int) (indice - blocos[posicao].primeiraLinha));
+    }
+
+    public CursorTransacoes cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Transações que atendem ao filtro, na ordem do arquivo. Blocos cujo mapa de zona
+     * não pode conter nenhuma delas não são lidos.
+     */
+    public List<Transacao> buscar(FiltroTransacoes filtro) {
+        long inicio = filtro.getInicio() != null ? CodecBinario.paraMicros(filtro.getInicio()) : Long.MIN_VALUE;
+        long fim = filtro.getFim() != null ? CodecBinario.paraMicros(filtro.getFim()) : Long.MAX_VALUE;
+        long minimo = filtro.getValorMinimo() != null
+                ? filtro.getValorMinimo().movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact()
+                : Long.MIN_VALUE;
+        long maximo = filtro.getValorMaximo() != null
+                ? filtro.getValorMaximo().movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact()
+                : Long.MAX_VALUE;
+        int mascara = 0;
+        if (filtro.getTipos() != null) {
+            for (TipoTransacao tipo : filtro.getTipos()) {
+                mascara |= 1 << tipo.ordinal();
+            }
+        } else {
+            mascara = -1;
+        }
+
+        List<Transacao> encontradas = new ArrayList<>();
+        for (int b = 0; b < blocos.length; b++) {
+            Bloco bloco = blocos[b];
+            if (bloco.maximoMicros < inicio || bloco.minimoMicros >= fim
+                    || bloco.maximoCentavos < minimo || bloco.minimoCentavos > maximo
+                    || (bloco.mascaraTipos & mascara) == 0) {
+                blocosIgnorados.increment();
+                continue;
+            }
+            blocosLidos.increment();
+            bloco.verificar(dados, arquivo);
+
+            // Só as colunas dos critérios; as demais se alguma linha passar
+            boolean[] aceitas = new boolean[bloco.linhas];
+            int quantidadeAceitas = bloco.linhas;
+            Arrays.fill(aceitas, true);
+            if (bloco.minimoMicros < inicio || bloco.maximoMicros >= fim) {
+                long[] micros = lerDeltas(bloco.coluna(dados, COL_DATA_HORA), bloco.linhas);
+                quantidadeAceitas = filtrar(aceitas, micros, inicio, fim - 1);
+            }
+            if (quantidadeAceitas > 0 && (bloco.minimoCentavos < minimo || bloco.maximoCentavos > maximo)) {
+                long[] centavos = lerDeltas(bloco.coluna(dados, COL_VALOR), bloco.linhas);
+                quantidadeAceitas = filtrar(aceitas, centavos, minimo, maximo);
+            }
+            if (quantidadeAceitas > 0 && mascara != -1 && bloco.mascaraTipos != (bloco.mascaraTipos & mascara)) {
+                ByteBuffer tipos = bloco.coluna(dados, COL_TIPO);
+                quantidadeAceitas = 0;
+                for (int i = 0; i < bloco.linhas; i++) {
+                    aceitas[i] &= (mascara & (1 << tipos.get(i))) != 0;
+                    quantidadeAceitas += aceitas[i] ? 1 : 0;
+                }
+            }
+            if (quantidadeAceitas > 0) {
+                Linhas linhas = new Linhas(bloco);
+                for (int i = 0; i < bloco.linhas; i++) {
+                    if (aceitas[i]) {
+                        encontradas.add(linhas.transacao(i));
+                    }
+                }
+            }
+        }
+        return encontradas;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    public int getQuantidadeBlocos() {
+        return blocos.length;
+    }
+
+    /**
+     * Blocos descomprimidos pelas buscas (os demais foram pulados pelo mapa de zona)
+     */
+    public long getBlocosLidos() {
+        return blocosLidos.sum();
+    }
+
+    public long getBlocosIgnorados() {
+        return blocosIgnorados.sum();
+    }
+
+    private static int filtrar(boolean[] aceitas, long[] valores, long minimo, long maximo) {
+        int quantidade = 0;
+        for (int i = 0; i < aceitas.length; i++) {
+            aceitas[i] &= valores[i] >= minimo && valores[i] <= maximo;
+            quantidade += aceitas[i] ? 1 : 0;
+        }
+        return quantidade;
+    }
+
+    private int blocoDe(long indice) {
+        int inicio = 0;
+        int fim = blocos.length - 1;
+        while (inicio < fim) {
+            int meio = (inicio + fim + 1) >>> 1;
+            if (blocos[meio].primeiraLinha <= indice) {
+                inicio = meio;
+            } else {
+                fim = meio - 1;
+            }
+        }
+        return inicio;
+    }
+
+    private Linhas linhasDe(int posicao) {
+        Linhas linhas = ultimoBloco;
+        if (linhas == null || linhas.bloco != blocos[posicao]) {
+            blocos[posicao].verificar(dados, arquivo);
+            linhas = new Linhas(blocos[posicao]);
+            ultimoBloco = linhas;
+        }
+        return linhas;
+    }
+
+    /**
+     * Entrada do índice: posição, mapa de zona e tamanhos das colunas de um bloco
+     */
+    private static final class Bloco {
+        final long primeiraLinha;
+        final int posicao;
+        final int linhas;
+        final long minimoMicros;
+        final long maximoMicros;
+        final long minimoCentavos;
+        final long maximoCentavos;
+        final int mascaraTipos;
+        final int[] inicioColuna = new int[COLUNAS];
+        final int[] tamanhoComprimido = new int[COLUNAS];
+        final int[] tamanhoOriginal = new int[COLUNAS];
+        final int crc;
+        volatile boolean verificado;
+
+        Bloco(ByteBuffer indice, long primeiraLinha) {
+            this.primeiraLinha = primeiraLinha;
+            this.posicao = Math.toIntExact(indice.getLong());
+            this.linhas = indice.getInt();
+            this.minimoMicros = indice.getLong();
+            this.maximoMicros = indice.getLong();
+            this.minimoCentavos = indice.getLong();
+            this.maximoCentavos = indice.getLong();
+            this.mascaraTipos = indice.getInt();
+            int inicio = posicao;
+            for (int i = 0; i < COLUNAS; i++) {
+                inicioColuna[i] = inicio;
+                tamanhoComprimido[i] = indice.getInt();
+                tamanhoOriginal[i] = indice.getInt();
+                inicio += tamanhoComprimido[i];
+            }
+            this.crc = indice.getInt();
+        }
+
+        void verificar(ByteBuffer dados, Path arquivo) {
+            if (verificado) {
+                return;
+            }
+            CRC32 calculado = new CRC32();
+            int fim = inicioColuna[COLUNAS - 1] + tamanhoComprimido[COLUNAS - 1];
+            calculado.update(dados.duplicate().position(posicao).limit(fim));
+            if ((int) calculado.getValue() != crc) {
+                throw new IllegalStateException("Bloco corrompido no arquivo colunar " + arquivo);
+            }
+            verificado = true;
+        }
+
+        ByteBuffer coluna(ByteBuffer dados, int coluna) {
+            ByteBuffer comprimida = dados.duplicate()
+                    .position(inicioColuna[coluna])
+                    .limit(inicioColuna[coluna] + tamanhoComprimido[coluna]);
+            byte[] original = new byte[tamanhoOriginal[coluna]];
+            Inflater descompressor = new Inflater();
+            try {
+                descompressor.setInput(comprimida);
+                int lidos = 0;
+                while (lidos < original.length) {
+                    int n = descompressor.inflate(original, lidos, original.length - lidos);
+                    if (n == 0 && (descompressor.finished() || descompressor.needsInput())) {
+                        break;
+                    }
+                    lidos += n;
+                }
+                if (lidos != original.length) {
+                    throw new IllegalStateException("Coluna incompleta no arquivo colunar");
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Coluna corrompida no arquivo colunar", e);
+            } finally {
+                descompressor.end();
+            }
+            return ByteBuffer.wrap(original);
+        }
+    }
+
+    /**
+     * Bloco totalmente descomprimido, com as colunas em arrays
+     */
+    private final class Linhas {
+        final Bloco bloco;
+        final ByteBuffer tipos;
+        final long[] centavos;
+        final ByteBuffer escalas;
+        final long[] micros;
+        final int[] origens;
+        final int[] destinos;
+        final String[] ids;
+        final int[] descricoes;
+        final ByteBuffer sucessos;
+        final int[] observacoes;
+        final int[] correlacoes;
+
+        Linhas(Bloco bloco) {
+            this.bloco = bloco;
+            int n = bloco.linhas;
+            this.tipos = bloco.coluna(dados, COL_TIPO);
+            this.centavos = lerDeltas(bloco.coluna(dados, COL_VALOR), n);
+            this.escalas = bloco.coluna(dados, COL_ESCALA);
+            this.micros = lerDeltas(bloco.coluna(dados, COL_DATA_HORA), n);
+            this.origens = lerCodigos(bloco.coluna(dados, COL_ORIGEM), n);
+            this.destinos = lerCodigos(bloco.coluna(dados, COL_DESTINO), n);
+            this.descricoes = lerCodigos(bloco.coluna(dados, COL_DESCRICAO), n);
+            this.sucessos = bloco.coluna(dados, COL_SUCESSO);
+            this.observacoes = lerCodigos(bloco.coluna(dados, COL_OBSERVACOES), n);
+            this.correlacoes = lerCodigos(bloco.coluna(dados, COL_CORRELACAO), n);
+            ByteBuffer colunaIds = bloco.coluna(dados, COL_ID);
+            this.ids = new String[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = colunaIds.get() == 1
+                        ? new UUID(colunaIds.getLong(), colunaIds.getLong()).toString()
+                        : texto(lerVarInt(colunaIds));
+            }
+        }
+
+        TipoTransacao tipo(int linha) {
+            return TIPOS[tipos.get(linha)];
+        }
+
+        BigDecimal valor(int linha) {
+            BigDecimal valor = BigDecimal.valueOf(centavos[linha], 2);
+            int escala = escalas.get(linha);
+            return escala == 2 ? valor : valor.setScale(escala);
+        }
+
+        LocalDateTime dataHora(int linha) {
+            return CodecBinario.deMicros(micros[linha]);
+        }
+
+        boolean sucesso(int linha) {
+            return sucessos.get(linha) == 1;
+        }
+
+        Transacao transacao(int linha) {
+            return new Transacao(ids[linha], tipo(linha), valor(linha), dataHora(linha), texto(descricoes[linha]),
+                                 texto(origens[linha]), texto(destinos[linha]), sucesso(linha),
+                                 texto(observacoes[linha]), texto(correlacoes[linha]));
+        }
+    }
+
+    private class Cursor implements CursorTransacoes {
+        private long indice = -1;
+        private Linhas linhas;
+        private int linha;
+
+        @Override
+        public boolean avancar() {
+            if (indice + 1 >= quantidade) {
+                return false;
+            }
+            indice++;
+            int posicao = blocoDe(indice);
+            if (linhas == null || linhas.bloco != blocos[posicao]) {
+                linhas = linhasDe(posicao);
+            }
+            linha = (int) (indice - blocos[posicao].primeiraLinha);
+            return true;
+        }
+
+        @Override
+        public TipoTransacao getTipo() {
+            return linhas.tipo(linha);
+        }
+
+        @Override
+        public BigDecimal getValor() {
+            return linhas.valor(linha);
+        }
+
+        @Override
+        public LocalDateTime getDataHora() {
+            return linhas.dataHora(linha);
+        }
+
+        @Override
+        public boolean isSucesso() {
+            return linhas.sucesso(linha);
+        }
+
+        @Override
+        public Transacao getTransacao() {
+            return linhas.transacao(linha);
+        }
+    }
+
+    // ================== CODIFICAÇÃO ==================
+
+    private String texto(int codigo) {
+        return codigo == 0 ? null : textos[codigo - 1];
+    }
+
+    /**
+     * Valores em centavos exatos; frações de centavo não cabem no arquivo
+     */
+    private static long centavos(BigDecimal valor) {
+        try {
+            return valor.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor não representável em centavos: " + valor, e);
+        }
+    }
+
+    private static byte[] comprimir(Deflater compressor, byte[] coluna) {
+        compressor.reset();
+        compressor.setInput(coluna);
+        compressor.finish();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, coluna.length / 2));
+        byte[] buffer = new byte[8192];
+        while (!compressor.finished()) {
+            int n = compressor.deflate(buffer);
+            saida.write(buffer, 0, n);
+        }
+        return saida.toByteArray();
+    }
+
+    /**
+     * Código 0 é null; os demais são a posição no dicionário + 1
+     */
+    private static void escreverTexto(DataOutputStream saida, String texto, Map<String, Integer> codigos,
+                                      List<String> textos) throws IOException {
+        if (texto == null) {
+            escreverVarInt(saida, 0);
+            return;
+        }
+        Integer codigo = codigos.get(texto);
+        if (codigo == null) {
+            textos.add(texto);
+            codigo = textos.size();
+            codigos.put(texto, codigo);
+        }
+        escreverVarInt(saida, codigo);
+    }
+
+    private static int[] lerCodigos(ByteBuffer coluna, int linhas) {
+        int[] codigos = new int[linhas];
+        for (int i = 0; i < linhas; i++) {
+            codigos[i] = lerVarInt(coluna);
+        }
+        return codigos;
+    }
+
+    private static long[] lerDeltas(ByteBuffer coluna, int linhas) {
+        long[] valores = new long[linhas];
+        long anterior = 0;
+        for (int i = 0; i < linhas; i++) {
+            anterior += lerVarLong(coluna);
+            valores[i] = anterior;
+        }
+        return valores;
+    }
+
+    private static void escreverVarInt(DataOutputStream saida, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            saida.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        saida.writeByte(valor);
+    }
+
+    private static int lerVarInt(ByteBuffer origem) {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            byte b = origem.get();
+            valor |= (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalStateException("Inteiro variável mal formado");
+    }
+
+    /**
+     * Inteiro longo variável em zigue-zague (deltas negativos continuam curtos)
+     */
+    private static void escreverVarLong(DataOutputStream saida, long valor) throws IOException {
+        long zigueZague = (valor << 1) ^ (valor >> 63);
+        while ((zigueZague & ~0x7FL) != 0) {
+            saida.writeByte((int) ((zigueZague & 0x7F) | 0x80));
+            zigueZague >>>= 7;
+        }
+        saida.writeByte((int) zigueZague);
+    }
+
+    private static long lerVarLong(ByteBuffer origem) {
+        long zigueZague = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            byte b = origem.get();
+            zigueZague |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return (zigueZague >>> 1) ^ -(zigueZague & 1);
+            }
+        }
+        throw new IllegalStateException("Inteiro variável mal formado");
+    }
+}
\ No newline at end of file
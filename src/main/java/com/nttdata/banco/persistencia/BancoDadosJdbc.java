@@ -0,0 +1,337 @@
+package com.nttdata.banco.persistencia;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Banco de dados embutido (H2 ou SQLite em arquivo) compartilhado pelos repositórios JDBC
+ *
+ * Usa somente java.sql: o driver é escolhido pela URL e precisa estar no classpath.
+ * Cada chamada a emTransacao usa uma única conexão do pool e uma única transação do
+ * banco; chamadas aninhadas na mesma thread participam da transação já aberta.
+ *
+ * Gravações dentro da transação não vão ao banco na hora: são acumuladas por tabela
+ * (a última gravação de cada chave prevalece) e enviadas em lote com PreparedStatement
+ * ao confirmar, antes de qualquer consulta da própria transação ou a cada TAMANHO_LOTE
+ * gravações. O upsert em lote é um UPDATE por chave seguido de INSERT só das chaves
+ * que o UPDATE não encontrou, o que funciona igual em H2 e SQLite.
+ *
+ * Valores monetários ficam em colunas DECIMAL(19,2) e trafegam como BigDecimal.
+ */
+public class BancoDadosJdbc implements AutoCloseable {
+    public static final int TAMANHO_POOL_PADRAO = 8;
+    public static final int TAMANHO_LOTE = 500;
+
+    private static final String[] ESQUEMA = {
+        "CREATE TABLE IF NOT EXISTS clientes (cpf VARCHAR(14) PRIMARY KEY, nome VARCHAR(200), "
+            + "email VARCHAR(200), telefone VARCHAR(40), data_nascimento VARCHAR(10), logradouro VARCHAR(200), "
+            + "numero_endereco VARCHAR(20), complemento VARCHAR(100), bairro VARCHAR(100), cidade VARCHAR(100), "
+            + "estado VARCHAR(2), cep VARCHAR(9))",
+        "CREATE TABLE IF NOT EXISTS investimentos (id VARCHAR(64) PRIMARY KEY, tipo VARCHAR(30), "
+            + "valor DECIMAL(19,2), titular VARCHAR(14), data_aplicacao VARCHAR(10), data_vencimento VARCHAR(10), "
+            + "ativo BOOLEAN, observacoes VARCHAR(500))",
+        "CREATE INDEX IF NOT EXISTS idx_investimentos_titular ON investimentos (titular)",
+        "CREATE INDEX IF NOT EXISTS idx_investimentos_vencimento ON investimentos (data_vencimento)",
+        "CREATE TABLE IF NOT EXISTS contas (chave VARCHAR(40) PRIMARY KEY, tipo VARCHAR(20), agencia VARCHAR(10), "
+            + "numero VARCHAR(20), cpf_titular VARCHAR(14), data_abertura VARCHAR(40), ativa BOOLEAN, "
+            + "saldo DECIMAL(19,2), saldo_em_centavos BOOLEAN, versao BIGINT, sequencia_journal BIGINT, "
+            + "investimentos VARCHAR(100000))",
+        "CREATE INDEX IF NOT EXISTS idx_contas_titular ON contas (cpf_titular)",
+        "CREATE TABLE IF NOT EXISTS transacoes (chave_conta VARCHAR(40) NOT NULL, sequencia BIGINT NOT NULL, "
+            + "id VARCHAR(64), tipo VARCHAR(30), valor DECIMAL(19,2), data_hora VARCHAR(40), descricao VARCHAR(500), "
+            + "conta_origem VARCHAR(40), conta_destino VARCHAR(40), sucesso BOOLEAN, observacoes VARCHAR(500), "
+            + "id_correlacao VARCHAR(64), PRIMARY KEY (chave_conta, sequencia))"
+    };
+
+    private final PoolConexoes pool;
+    private final ThreadLocal<Unidade> unidadeAtual = new ThreadLocal<>();
+
+    public BancoDadosJdbc(String url) {
+        this(url, null, null, TAMANHO_POOL_PADRAO);
+    }
+
+    public BancoDadosJdbc(String url, String usuario, String senha, int tamanhoPool) {
+        this.pool = new PoolConexoes(url, usuario, senha, tamanhoPool);
+        emTransacao(() -> {
+            try (Statement comando = unidade().conexao.createStatement()) {
+                for (String ddl : ESQUEMA) {
+                    comando.execute(ddl);
+                }
+            } catch (SQLException e) {
+                throw falha("criar o esquema", e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Banco H2 em arquivo (o H2 acrescenta a extensão .mv.db ao caminho)
+     */
+    public static BancoDadosJdbc emArquivoH2(Path arquivo) {
+        return new BancoDadosJdbc("jdbc:h2:file:" + arquivo.toAbsolutePath());
+    }
+
+    public static boolean driverDisponivel(String url) {
+        try {
+            DriverManager.getDriver(url);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // ================== TRANSAÇÕES ==================
+
+    /**
+     * Executa a operação em uma transação do banco. Se a operação lançar exceção, a
+     * transação é desfeita (junto com as gravações acumuladas) e a exceção é repassada.
+     */
+    public <T> T emTransacao(Supplier<T> operacao) {
+        if (unidadeAtual.get() != null) {
+            return operacao.get();
+        }
+        Connection conexao;
+        try {
+            conexao = pool.obter();
+        } catch (SQLException e) {
+            throw falha("obter conexão", e);
+        }
+        Unidade unidade = new Unidade(conexao);
+        unidadeAtual.set(unidade);
+        try {
+            conexao.setAutoCommit(false);
+            T resultado = operacao.get();
+            descarregar(unidade);
+            conexao.commit();
+            return resultado;
+        } catch (SQLException e) {
+            desfazer(unidade);
+            throw falha("confirmar a transação", e);
+        } catch (RuntimeException | Error e) {
+            desfazer(unidade);
+            throw e;
+        } finally {
+            unidadeAtual.remove();
+            try {
+                conexao.setAutoCommit(true);
+            } catch (SQLException e) {
+                // A conexão inválida é descartada pelo pool
+            }
+            pool.devolver(conexao);
+        }
+    }
+
+    /**
+     * Registra uma ação a executar se a transação atual for desfeita
+     * (os repositórios descartam o que guardaram em memória)
+     */
+    void aoDesfazer(Runnable acao) {
+        unidade().aoDesfazer.add(acao);
+    }
+
+    // ================== GRAVAÇÃO EM LOTE ==================
+
+    /**
+     * Acumula um upsert na transação atual; valores na ordem das colunas da tabela
+     */
+    void gravar(Tabela tabela, String chave, Object... valores) {
+        Unidade unidade = unidade();
+        unidade.gravacoes.computeIfAbsent(tabela, t -> new LinkedHashMap<>()).put(chave, valores);
+        contarPendente(unidade);
+    }
+
+    /**
+     * Acumula um INSERT simples na transação atual
+     */
+    void inserir(String sql, Object... valores) {
+        Unidade unidade = unidade();
+        unidade.insercoes.computeIfAbsent(sql, s -> new ArrayList<>()).add(valores);
+        contarPendente(unidade);
+    }
+
+    /**
+     * Executa um comando (DELETE, UPDATE) na transação atual, depois das gravações acumuladas
+     */
+    int executar(String sql, Object... parametros) {
+        Unidade unidade = unidade();
+        try {
+            descarregar(unidade);
+            try (PreparedStatement comando = unidade.conexao.prepareStatement(sql)) {
+                definir(comando, parametros);
+                return comando.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw falha("executar " + sql, e);
+        }
+    }
+
+    // ================== CONSULTAS ==================
+
+    interface LeitorLinha<T> {
+        T ler(ResultSet linha) throws SQLException;
+    }
+
+    /**
+     * Consulta na transação atual (vendo as gravações acumuladas) ou em uma transação própria
+     */
+    <T> List<T> consultar(String sql, LeitorLinha<T> leitor, Object... parametros) {
+        return emTransacao(() -> {
+            Unidade unidade = unidade();
+            try {
+                descarregar(unidade);
+                try (PreparedStatement consulta = unidade.conexao.prepareStatement(sql)) {
+                    definir(consulta, parametros);
+                    try (ResultSet linhas = consulta.executeQuery()) {
+                        List<T> resultado = new ArrayList<>();
+                        while (linhas.next()) {
+                            resultado.add(leitor.ler(linhas));
+                        }
+                        return resultado;
+                    }
+                }
+            } catch (SQLException e) {
+                throw falha("consultar " + sql, e);
+            }
+        });
+    }
+
+    long contar(String sql, Object... parametros) {
+        return consultar(sql, linha -> linha.getLong(1), parametros).get(0);
+    }
+
+    public PoolConexoes getPool() {
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    // ================== INTERNOS ==================
+
+    /**
+     * Tabela com chave primária simples, para upsert em lote
+     */
+    static final class Tabela {
+        private final String sqlAtualizar;
+        private final String sqlInserir;
+
+        Tabela(String nome, String chave, String... colunas) {
+            this.sqlAtualizar = "UPDATE " + nome + " SET " + String.join(" = ?, ", colunas) + " = ? WHERE "
+                    + chave + " = ?";
+            this.sqlInserir = "INSERT INTO " + nome + " (" + String.join(", ", colunas) + ", " + chave
+                    + ") VALUES (" + "?, ".repeat(colunas.length) + "?)";
+        }
+    }
+
+    private static final class Unidade {
+        private final Connection conexao;
+        private final Map<Tabela, Map<String, Object[]>> gravacoes = new LinkedHashMap<>();
+        private final Map<String, List<Object[]>> insercoes = new LinkedHashMap<>();
+        private final List<Runnable> aoDesfazer = new ArrayList<>();
+        private int pendentes;
+
+        Unidade(Connection conexao) {
+            this.conexao = conexao;
+        }
+    }
+
+    private Unidade unidade() {
+        Unidade unidade = unidadeAtual.get();
+        if (unidade == null) {
+            throw new IllegalStateException("Operação fora de emTransacao");
+        }
+        return unidade;
+    }
+
+    private void contarPendente(Unidade unidade) {
+        if (++unidade.pendentes >= TAMANHO_LOTE) {
+            try {
+                descarregar(unidade);
+            } catch (SQLException e) {
+                throw falha("gravar o lote", e);
+            }
+        }
+    }
+
+    private static void descarregar(Unidade unidade) throws SQLException {
+        if (unidade.pendentes == 0) {
+            return;
+        }
+        for (Map.Entry<Tabela, Map<String, Object[]>> gravacao : unidade.gravacoes.entrySet()) {
+            Tabela tabela = gravacao.getKey();
+            List<Map.Entry<String, Object[]>> linhas = new ArrayList<>(gravacao.getValue().entrySet());
+            List<Map.Entry<String, Object[]>> novas = new ArrayList<>();
+            try (PreparedStatement atualizar = unidade.conexao.prepareStatement(tabela.sqlAtualizar)) {
+                for (Map.Entry<String, Object[]> linha : linhas) {
+                    definir(atualizar, linha.getValue());
+                    atualizar.setObject(linha.getValue().length + 1, linha.getKey());
+                    atualizar.addBatch();
+                }
+                int[] alteradas = atualizar.executeBatch();
+                for (int i = 0; i < alteradas.length; i++) {
+                    if (alteradas[i] == 0) {
+                        novas.add(linhas.get(i));
+                    }
+                }
+            }
+            if (!novas.isEmpty()) {
+                try (PreparedStatement inserir = unidade.conexao.prepareStatement(tabela.sqlInserir)) {
+                    for (Map.Entry<String, Object[]> linha : novas) {
+                        definir(inserir, linha.getValue());
+                        inserir.setObject(linha.getValue().length + 1, linha.getKey());
+                        inserir.addBatch();
+                    }
+                    inserir.executeBatch();
+                }
+            }
+        }
+        for (Map.Entry<String, List<Object[]>> insercao : unidade.insercoes.entrySet()) {
+            try (PreparedStatement inserir = unidade.conexao.prepareStatement(insercao.getKey())) {
+                for (Object[] valores : insercao.getValue()) {
+                    definir(inserir, valores);
+                    inserir.addBatch();
+                }
+                inserir.executeBatch();
+            }
+        }
+        unidade.gravacoes.clear();
+        unidade.insercoes.clear();
+        unidade.pendentes = 0;
+    }
+
+    private static void desfazer(Unidade unidade) {
+        try {
+            unidade.conexao.rollback();
+        } catch (SQLException e) {
+            // A conexão será descartada pelo pool se estiver inválida
+        }
+        unidade.aoDesfazer.forEach(Runnable::run);
+    }
+
+    private static void definir(PreparedStatement comando, Object[] valores) throws SQLException {
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] instanceof BigDecimal valor) {
+                comando.setBigDecimal(i + 1, valor);
+            } else {
+                comando.setObject(i + 1, valores[i]);
+            }
+        }
+    }
+
+    private static IllegalStateException falha(String acao, SQLException e) {
+        return new IllegalStateException("Falha no banco de dados ao " + acao + ": " + e.getMessage(), e);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,307 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.model.Transacao;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Codificação binária compacta e versionada de Transacao e Investimento
+ *
+ * Ids UUID viram dois longs, valores viram centavos em long (com a escala original),
+ * datas/horas viram microssegundos da época e enums viram ordinais. Chaves de conta,
+ * descrições e titulares passam por um dicionário: a primeira ocorrência vai por
+ * extenso e as seguintes só com o código. Por isso um fluxo deve ser decodificado na
+ * mesma ordem em que foi codificado, por uma instância que começou vazia (ou que é a
+ * própria instância que codificou).
+ *
+ * A decodificação lê direto do ByteBuffer (heap ou direto), sem cópia intermediária;
+ * textos já presentes no dicionário não criam objetos novos.
+ */
+public class CodecBinario {
+    public static final byte VERSAO = 1;
+    public static final int TAMANHO_MAXIMO_DICIONARIO = 65_536;
+
+    private static final byte ID_UUID = 1;
+    private static final byte SUCESSO = 2;
+    private static final byte ATIVO = 4;
+
+    // Marcadores de texto: 0 nulo, 1 por extenso, 2 nova entrada do dicionário, 3+ código - 3
+    private static final int TEXTO_NULO = 0;
+    private static final int TEXTO_EXTENSO = 1;
+    private static final int TEXTO_NOVO = 2;
+    private static final int TEXTO_CODIGO = 3;
+
+    private static final TipoTransacao[] TIPOS_TRANSACAO = TipoTransacao.values();
+    private static final TipoInvestimento[] TIPOS_INVESTIMENTO = TipoInvestimento.values();
+
+    private final Map<String, Integer> codigos = new HashMap<>();
+    private final List<String> textos = new ArrayList<>();
+
+    // ================== TRANSAÇÃO ==================
+
+    /**
+     * Codifica a transação a partir da posição atual do buffer.
+     * Lança BufferOverflowException se não houver espaço.
+     */
+    public void escreverTransacao(ByteBuffer destino, Transacao transacao) {
+        destino.put(VERSAO);
+        UUID uuid = comoUuid(transacao.getId());
+        byte marcacao = (byte) ((uuid != null ? ID_UUID : 0) | (transacao.isSucesso() ? SUCESSO : 0));
+        destino.put(marcacao);
+        escreverId(destino, uuid, transacao.getId());
+        destino.put((byte) transacao.getTipo().ordinal());
+        escreverValor(destino, transacao.getValor());
+        destino.putLong(paraMicros(transacao.getDataHora()));
+        escreverTextoDicionario(destino, transacao.getDescricao());
+        escreverTextoDicionario(destino, transacao.getContaOrigem());
+        escreverTextoDicionario(destino, transacao.getContaDestino());
+        escreverTexto(destino, transacao.getObservacoes());
+        escreverTexto(destino, transacao.getIdCorrelacao());
+    }
+
+    public Transacao lerTransacao(ByteBuffer origem) {
+        verificarVersao(origem);
+        byte marcacao = origem.get();
+        String id = lerId(origem, marcacao);
+        TipoTransacao tipo = TIPOS_TRANSACAO[origem.get()];
+        BigDecimal valor = lerValor(origem);
+        LocalDateTime dataHora = deMicros(origem.getLong());
+        String descricao = lerTexto(origem);
+        String contaOrigem = lerTexto(origem);
+        String contaDestino = lerTexto(origem);
+        String observacoes = lerTexto(origem);
+        String idCorrelacao = lerTexto(origem);
+        return new Transacao(id, tipo, valor, dataHora, descricao, contaOrigem, contaDestino,
+                             (marcacao & SUCESSO) != 0, observacoes, idCorrelacao);
+    }
+
+    // ================== INVESTIMENTO ==================
+
+    public void escreverInvestimento(ByteBuffer destino, Investimento investimento) {
+        destino.put(VERSAO);
+        UUID uuid = comoUuid(investimento.getId());
+        byte marcacao = (byte) ((uuid != null ? ID_UUID : 0) | (investimento.isAtivo() ? ATIVO : 0));
+        destino.put(marcacao);
+        escreverId(destino, uuid, investimento.getId());
+        destino.put((byte) investimento.getTipo().ordinal());
+        escreverValor(destino, investimento.getValor());
+        escreverTextoDicionario(destino, investimento.getTitular());
+        destino.putInt((int) investimento.getDataAplicacao().toEpochDay());
+        destino.putInt((int) investimento.getDataVencimento().toEpochDay());
+        escreverTexto(destino, investimento.getObservacoes());
+    }
+
+    public Investimento lerInvestimento(ByteBuffer origem) {
+        verificarVersao(origem);
+        byte marcacao = origem.get();
+        String id = lerId(origem, marcacao);
+        TipoInvestimento tipo = TIPOS_INVESTIMENTO[origem.get()];
+        BigDecimal valor = lerValor(origem);
+        String titular = lerTexto(origem);
+        LocalDate dataAplicacao = LocalDate.ofEpochDay(origem.getInt());
+        LocalDate dataVencimento = LocalDate.ofEpochDay(origem.getInt());
+        String observacoes = lerTexto(origem);
+        return new Investimento(id, tipo, valor, titular, dataAplicacao, dataVencimento,
+                                (marcacao & ATIVO) != 0, observacoes);
+    }
+
+    public int getTamanhoDicionario() {
+        return textos.size();
+    }
+
+    // ================== CAMPOS ==================
+
+    private static void verificarVersao(ByteBuffer origem) {
+        byte versao = origem.get();
+        if (versao != VERSAO) {
+            throw new IllegalStateException("Versão de codificação não suportada: " + versao);
+        }
+    }
+
+    private void escreverId(ByteBuffer destino, UUID uuid, String id) {
+        if (uuid != null) {
+            destino.putLong(uuid.getMostSignificantBits());
+            destino.putLong(uuid.getLeastSignificantBits());
+        } else {
+            escreverTexto(destino, id);
+        }
+    }
+
+    private String lerId(ByteBuffer origem, byte marcacao) {
+        if ((marcacao & ID_UUID) != 0) {
+            return new UUID(origem.getLong(), origem.getLong()).toString();
+        }
+        return lerTexto(origem);
+    }
+
+    /**
+     * Centavos em long mais a escala original (0 a 2), para que o valor volte idêntico
+     */
+    private static void escreverValor(ByteBuffer destino, BigDecimal valor) {
+        if (valor.scale() < 0 || valor.scale() > 2) {
+            BigDecimal ajustado = valor.stripTrailingZeros();
+            if (ajustado.scale() > 2) {
+                throw new IllegalArgumentException("Valor com fração de centavo: " + valor);
+            }
+            valor = ajustado.setScale(Math.max(ajustado.scale(), 0));
+        }
+        long centavos;
+        try {
+            centavos = valor.scale() == 2 ? valor.unscaledValue().longValueExact()
+                                          : valor.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor fora da faixa de centavos: " + valor, e);
+        }
+        destino.putLong(centavos);
+        destino.put((byte) valor.scale());
+    }
+
+    private static BigDecimal lerValor(ByteBuffer origem) {
+        long centavos = origem.getLong();
+        int escala = origem.get();
+        BigDecimal valor = BigDecimal.valueOf(centavos, 2);
+        return escala == 2 ? valor : valor.setScale(escala);
+    }
+
+    private void escreverTextoDicionario(ByteBuffer destino, String texto) {
+        if (texto == null) {
+            escreverVarInt(destino, TEXTO_NULO);
+            return;
+        }
+        Integer codigo = codigos.get(texto);
+        if (codigo != null) {
+            escreverVarInt(destino, TEXTO_CODIGO + codigo);
+        } else if (textos.size() < TAMANHO_MAXIMO_DICIONARIO) {
+            escreverVarInt(destino, TEXTO_NOVO);
+            escreverBytes(destino, texto);
+            codigos.put(texto, textos.size());
+            textos.add(texto);
+        } else {
+            escreverVarInt(destino, TEXTO_EXTENSO);
+            escreverBytes(destino, texto);
+        }
+    }
+
+    private static void escreverTexto(ByteBuffer destino, String texto) {
+        if (texto == null) {
+            escreverVarInt(destino, TEXTO_NULO);
+        } else {
+            escreverVarInt(destino, TEXTO_EXTENSO);
+            escreverBytes(destino, texto);
+        }
+    }
+
+    private String lerTexto(ByteBuffer origem) {
+        int marcador = lerVarInt(origem);
+        switch (marcador) {
+            case TEXTO_NULO:
+                return null;
+            case TEXTO_EXTENSO:
+                return lerBytes(origem);
+            case TEXTO_NOVO: {
+                String texto = lerBytes(origem);
+                if (!codigos.containsKey(texto)) {
+                    codigos.put(texto, textos.size());
+                    textos.add(texto);
+                }
+                return textos.get(codigos.get(texto));
+            }
+            default:
+                return textos.get(marcador - TEXTO_CODIGO);
+        }
+    }
+
+    private static void escreverBytes(ByteBuffer destino, String texto) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverVarInt(destino, bytes.length);
+        destino.put(bytes);
+    }
+
+    private static String lerBytes(ByteBuffer origem) {
+        int tamanho = lerVarInt(origem);
+        String texto;
+        if (origem.hasArray()) {
+            texto = new String(origem.array(), origem.arrayOffset() + origem.position(), tamanho, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[tamanho];
+            origem.get(origem.position(), bytes);
+            texto = new String(bytes, StandardCharsets.UTF_8);
+        }
+        origem.position(origem.position() + tamanho);
+        return texto;
+    }
+
+    private static void escreverVarInt(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    private static int lerVarInt(ByteBuffer origem) {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            byte b = origem.get();
+            valor |= (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalStateException("Inteiro variável mal formado");
+    }
+
+    // ================== CONVERSÕES ==================
+
+    /**
+     * Id no formato canônico de UUID, ou null se o texto não for um UUID
+     */
+    static UUID comoUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        long alto = 0;
+        long baixo = 0;
+        int digitos = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int valor = c >= '0' && c <= '9' ? c - '0' : c >= 'a' && c <= 'f' ? c - 'a' + 10 : -1;
+            if (valor < 0) {
+                return null; // Maiúsculas também ficam de fora: o texto não voltaria idêntico
+            }
+            if (digitos++ < 16) {
+                alto = (alto << 4) | valor;
+            } else {
+                baixo = (baixo << 4) | valor;
+            }
+        }
+        return new UUID(alto, baixo);
+    }
+
+    static long paraMicros(LocalDateTime dataHora) {
+        return dataHora.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dataHora.getNano() / 1_000;
+    }
+
+    static LocalDateTime deMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                                           (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
\ No newline at end of file
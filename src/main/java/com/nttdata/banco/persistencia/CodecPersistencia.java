@@ -0,0 +1,102 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.model.Transacao;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Codificação binária compartilhada pelo journal e pelo snapshot
+ * Valores monetários e datas são gravados como texto para manter a escala e a precisão
+ */
+final class CodecPersistencia {
+
+    private CodecPersistencia() {
+    }
+
+    static void escreverCliente(DataOutput saida, Cliente cliente) throws IOException {
+        escreverTexto(saida, cliente.getNome());
+        escreverTexto(saida, cliente.getCpf());
+        escreverTexto(saida, cliente.getEmail());
+        escreverTexto(saida, cliente.getTelefone());
+        escreverTexto(saida, cliente.getDataNascimento() != null ? cliente.getDataNascimento().toString() : null);
+    }
+
+    static Cliente lerCliente(DataInput entrada) throws IOException {
+        String nome = lerTexto(entrada);
+        String cpf = lerTexto(entrada);
+        String email = lerTexto(entrada);
+        String telefone = lerTexto(entrada);
+        String dataNascimento = lerTexto(entrada);
+        return new Cliente(nome, cpf, email, telefone, dataNascimento != null ? LocalDate.parse(dataNascimento) : null);
+    }
+
+    static void escreverTransacao(DataOutput saida, Transacao transacao) throws IOException {
+        saida.writeUTF(transacao.getId());
+        saida.writeUTF(transacao.getTipo().name());
+        saida.writeUTF(transacao.getValor().toString());
+        saida.writeUTF(transacao.getDataHora().toString());
+        escreverTexto(saida, transacao.getDescricao());
+        escreverTexto(saida, transacao.getContaOrigem());
+        escreverTexto(saida, transacao.getContaDestino());
+        saida.writeBoolean(transacao.isSucesso());
+        escreverTexto(saida, transacao.getObservacoes());
+        escreverTexto(saida, transacao.getIdCorrelacao());
+    }
+
+    static Transacao lerTransacao(DataInput entrada) throws IOException {
+        String id = entrada.readUTF();
+        TipoTransacao tipo = TipoTransacao.valueOf(entrada.readUTF());
+        BigDecimal valor = new BigDecimal(entrada.readUTF());
+        LocalDateTime dataHora = LocalDateTime.parse(entrada.readUTF());
+        String descricao = lerTexto(entrada);
+        String contaOrigem = lerTexto(entrada);
+        String contaDestino = lerTexto(entrada);
+        boolean sucesso = entrada.readBoolean();
+        String observacoes = lerTexto(entrada);
+        String idCorrelacao = lerTexto(entrada);
+        return new Transacao(id, tipo, valor, dataHora, descricao, contaOrigem, contaDestino,
+                             sucesso, observacoes, idCorrelacao);
+    }
+
+    static void escreverInvestimento(DataOutput saida, Investimento investimento) throws IOException {
+        saida.writeUTF(investimento.getId());
+        saida.writeUTF(investimento.getTipo().name());
+        saida.writeUTF(investimento.getValor().toString());
+        saida.writeUTF(investimento.getTitular());
+        saida.writeUTF(investimento.getDataAplicacao().toString());
+        saida.writeUTF(investimento.getDataVencimento().toString());
+        saida.writeBoolean(investimento.isAtivo());
+        escreverTexto(saida, investimento.getObservacoes());
+    }
+
+    static Investimento lerInvestimento(DataInput entrada) throws IOException {
+        String id = entrada.readUTF();
+        TipoInvestimento tipo = TipoInvestimento.valueOf(entrada.readUTF());
+        BigDecimal valor = new BigDecimal(entrada.readUTF());
+        String titular = entrada.readUTF();
+        LocalDate dataAplicacao = LocalDate.parse(entrada.readUTF());
+        LocalDate dataVencimento = LocalDate.parse(entrada.readUTF());
+        boolean ativo = entrada.readBoolean();
+        String observacoes = lerTexto(entrada);
+        return new Investimento(id, tipo, valor, titular, dataAplicacao, dataVencimento, ativo, observacoes);
+    }
+
+    static void escreverTexto(DataOutput saida, String texto) throws IOException {
+        saida.writeBoolean(texto != null);
+        if (texto != null) {
+            saida.writeUTF(texto);
+        }
+    }
+
+    static String lerTexto(DataInput entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.nttdata.banco.persistencia;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dicionário de textos repetidos (descrições, chaves de conta), gravado em um arquivo
+ * somente de acréscimo. Cada texto novo recebe o próximo código; null é o código -1.
+ */
+class DicionarioTextos implements AutoCloseable {
+    static final int NULO = -1;
+
+    private final Path arquivo;
+    private final Map<String, Integer> codigos = new HashMap<>();
+    private final List<String> textos = new ArrayList<>();
+    private final DataOutputStream saida;
+
+    DicionarioTextos(Path arquivo) {
+        this.arquivo = arquivo;
+        try {
+            if (Files.exists(arquivo)) {
+                // Descarta um texto gravado pela metade em uma queda
+                long valido = carregar();
+                try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+                    canal.truncate(valido);
+                }
+            }
+            this.saida = new DataOutputStream(new FileOutputStream(arquivo.toFile(), true));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o dicionário " + arquivo, e);
+        }
+    }
+
+    synchronized int codigo(String texto) {
+        if (texto == null) {
+            return NULO;
+        }
+        Integer codigo = codigos.get(texto);
+        if (codigo != null) {
+            return codigo;
+        }
+        try {
+            saida.writeUTF(texto);
+            saida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o dicionário " + arquivo, e);
+        }
+        int novo = textos.size();
+        textos.add(texto);
+        codigos.put(texto, novo);
+        return novo;
+    }
+
+    synchronized String texto(int codigo) {
+        return codigo == NULO ? null : textos.get(codigo);
+    }
+
+    synchronized int getTamanho() {
+        return textos.size();
+    }
+
+    private long carregar() throws IOException {
+        long valido = 0;
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+            while (true) {
+                byte[] bytes;
+                try {
+                    int tamanho = entrada.readUnsignedShort();
+                    bytes = new byte[tamanho + 2];
+                    bytes[0] = (byte) (tamanho >>> 8);
+                    bytes[1] = (byte) tamanho;
+                    entrada.readFully(bytes, 2, tamanho);
+                } catch (EOFException e) {
+                    break;
+                }
+                String texto = new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+                codigos.put(texto, textos.size());
+                textos.add(texto);
+                valido += bytes.length;
+            }
+        }
+        return valido;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            saida.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar o dicionário " + arquivo, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.model.Transacao;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Efeito lido de um registro do journal, usado na restauração
+ * Cada efeito traz a sequência do registro e a chave da conta afetada (quando houver)
+ */
+public class EfeitoMutacao {
+
+    public enum Tipo {
+        CLIENTE, CONTA, SALDO, TRANSACAO, INVESTIMENTO, EXCLUSAO
+    }
+
+    private final Tipo tipo;
+    private final long sequencia;
+    private final String chaveConta;
+    private Cliente cliente;
+    private Transacao transacao;
+    private Investimento investimento;
+    private BigDecimal saldo;
+    private TipoConta tipoConta;
+    private String cpfTitular;
+    private LocalDateTime dataAbertura;
+    private boolean ativa;
+    private boolean saldoEmCentavos;
+
+    private EfeitoMutacao(Tipo tipo, long sequencia, String chaveConta) {
+        this.tipo = tipo;
+        this.sequencia = sequencia;
+        this.chaveConta = chaveConta;
+    }
+
+    static EfeitoMutacao cliente(long sequencia, Cliente cliente) {
+        EfeitoMutacao efeito = new EfeitoMutacao(Tipo.CLIENTE, sequencia, null);
+        efeito.cliente = cliente;
+        return efeito;
+    }
+
+    static EfeitoMutacao conta(long sequencia, String chaveConta, TipoConta tipoConta, String cpfTitular,
+                               LocalDateTime dataAbertura, boolean ativa, boolean saldoEmCentavos) {
+        EfeitoMutacao efeito = new EfeitoMutacao(Tipo.CONTA, sequencia, chaveConta);
+        efeito.tipoConta = tipoConta;
+        efeito.cpfTitular = cpfTitular;
+        efeito.dataAbertura = dataAbertura;
+        efeito.ativa = ativa;
+        efeito.saldoEmCentavos = saldoEmCentavos;
+        return efeito;
+    }
+
+    static EfeitoMutacao saldo(long sequencia, String chaveConta, BigDecimal saldo, boolean saldoEmCentavos) {
+        EfeitoMutacao efeito = new EfeitoMutacao(Tipo.SALDO, sequencia, chaveConta);
+        efeito.saldo = saldo;
+        efeito.saldoEmCentavos = saldoEmCentavos;
+        return efeito;
+    }
+
+    static EfeitoMutacao transacao(long sequencia, String chaveConta, Transacao transacao) {
+        EfeitoMutacao efeito = new EfeitoMutacao(Tipo.TRANSACAO, sequencia, chaveConta);
+        efeito.transacao = transacao;
+        return efeito;
+    }
+
+    static EfeitoMutacao investimento(long sequencia, String chaveConta, Investimento investimento) {
+        EfeitoMutacao efeito = new EfeitoMutacao(Tipo.INVESTIMENTO, sequencia, chaveConta);
+        efeito.investimento = investimento;
+        return efeito;
+    }
+
+    static EfeitoMutacao exclusao(long sequencia, String chaveConta) {
+        return new EfeitoMutacao(Tipo.EXCLUSAO, sequencia, chaveConta);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public String getChaveConta() {
+        return chaveConta;
+    }
+
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    public Transacao getTransacao() {
+        return transacao;
+    }
+
+    public Investimento getInvestimento() {
+        return investimento;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public TipoConta getTipoConta() {
+        return tipoConta;
+    }
+
+    public String getCpfTitular() {
+        return cpfTitular;
+    }
+
+    public LocalDateTime getDataAbertura() {
+        return dataAbertura;
+    }
+
+    public boolean isAtiva() {
+        return ativa;
+    }
+
+    public boolean isSaldoEmCentavos() {
+        return saldoEmCentavos;
+    }
+}
\ No newline at end of file
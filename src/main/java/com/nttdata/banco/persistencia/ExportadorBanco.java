@@ -0,0 +1,181 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.FormatoDados;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaInvestimento;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.RepositorioCliente;
+import com.nttdata.banco.repository.RepositorioConta;
+import com.nttdata.banco.repository.RepositorioInvestimento;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Exportação em massa de clientes, contas (com saldo) e investimentos em CSV ou NDJSON,
+ * no mesmo layout lido pelo ImportadorBanco (clientes, depois contas, depois investimentos)
+ *
+ * Os registros são formatados em lotes por um pool de threads e escritos na ordem, com
+ * poucos lotes formatados em memória por vez. O saldo de cada conta é o do momento em
+ * que ela é lida; para uma cópia consistente entre contas, exporte com o banco parado.
+ */
+public class ExportadorBanco {
+    public static final int REGISTROS_POR_LOTE_PADRAO = 5_000;
+
+    private final RepositorioCliente clientes;
+    private final RepositorioConta contas;
+    private final RepositorioInvestimento investimentos;
+    private final int threads;
+    private final int registrosPorLote;
+
+    public ExportadorBanco(RepositorioCliente clientes, RepositorioConta contas, RepositorioInvestimento investimentos) {
+        this(clientes, contas, investimentos, Runtime.getRuntime().availableProcessors(), REGISTROS_POR_LOTE_PADRAO);
+    }
+
+    public ExportadorBanco(RepositorioCliente clientes, RepositorioConta contas, RepositorioInvestimento investimentos,
+                           int threads, int registrosPorLote) {
+        if (threads <= 0 || registrosPorLote <= 0) {
+            throw new IllegalArgumentException("Threads e registros por lote devem ser positivos");
+        }
+        this.clientes = clientes;
+        this.contas = contas;
+        this.investimentos = investimentos;
+        this.threads = threads;
+        this.registrosPorLote = registrosPorLote;
+    }
+
+    public long exportar(Path arquivo) {
+        return exportar(arquivo, FormatoDados.deArquivo(arquivo));
+    }
+
+    /**
+     * Grava em um arquivo temporário e troca de forma atômica no fim
+     */
+    public long exportar(Path arquivo, FormatoDados formato) {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        long registros;
+        try (Writer escritor = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+            registros = exportar(escritor, formato);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o arquivo de exportação " + arquivo, e);
+        }
+        try {
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao publicar o arquivo de exportação " + arquivo, e);
+        }
+        return registros;
+    }
+
+    /**
+     * Escreve todos os registros e devolve quantos foram escritos
+     */
+    public long exportar(Writer escritor, FormatoDados formato) {
+        Writer saida = escritor instanceof BufferedWriter ? escritor : new BufferedWriter(escritor, 64 * 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "exportacao-dados");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long registros = escreverEmLotes(saida, executor, clientes.listarTodos(),
+                                             (destino, cliente) -> escreverCliente(destino, formato, cliente));
+
+            // Conta de cada investimento vinculado, preenchida ao formatar as contas
+            Map<String, String> contaDoInvestimento = new ConcurrentHashMap<>();
+            registros += escreverEmLotes(saida, executor, contas.listarTodas(), (destino, conta) -> {
+                escreverConta(destino, formato, conta);
+                if (conta instanceof ContaInvestimento contaInvestimento) {
+                    String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+                    contaInvestimento.getInvestimentos().forEach(i -> contaDoInvestimento.put(i.getId(), chave));
+                }
+            });
+            registros += escreverEmLotes(saida, executor, investimentos.listarTodos(), (destino, investimento) ->
+                    escreverInvestimento(destino, formato, investimento, contaDoInvestimento.get(investimento.getId())));
+            saida.flush();
+            return registros;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao escrever os dados de exportação", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> long escreverEmLotes(Writer saida, ExecutorService executor, List<T> itens,
+                                     BiConsumer<StringBuilder, T> formatar) throws IOException {
+        Deque<Future<StringBuilder>> emAndamento = new ArrayDeque<>();
+        for (int inicio = 0; inicio < itens.size(); inicio += registrosPorLote) {
+            List<T> lote = itens.subList(inicio, Math.min(inicio + registrosPorLote, itens.size()));
+            emAndamento.add(executor.submit(() -> {
+                StringBuilder destino = new StringBuilder(lote.size() * 128);
+                lote.forEach(item -> formatar.accept(destino, item));
+                return destino;
+            }));
+            if (emAndamento.size() >= threads * 2) {
+                saida.append(aguardar(emAndamento.pollFirst()));
+            }
+        }
+        while (!emAndamento.isEmpty()) {
+            saida.append(aguardar(emAndamento.pollFirst()));
+        }
+        return itens.size();
+    }
+
+    private static StringBuilder aguardar(Future<StringBuilder> tarefa) {
+        try {
+            return tarefa.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Exportação interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao formatar um lote da exportação", e.getCause());
+        }
+    }
+
+    // ================== REGISTROS ==================
+
+    private static void escreverCliente(StringBuilder destino, FormatoDados formato, Cliente cliente) {
+        LayoutDados.escrever(destino, formato, LayoutDados.Registro.CLIENTE, cliente.getNome(), cliente.getCpf(),
+                             cliente.getEmail(), cliente.getTelefone(), texto(cliente.getDataNascimento()));
+    }
+
+    private void escreverConta(StringBuilder destino, FormatoDados formato, Conta conta) {
+        // Saldo e situação lidos juntos, atomicamente com as gravações do repositório
+        String[] estado = contas.lerConta(conta.getAgencia(), conta.getNumero(), c -> new String[] {
+                c.getSaldo().toPlainString(), Boolean.toString(c.isAtiva())
+        }).orElse(new String[] {conta.getSaldo().toPlainString(), Boolean.toString(conta.isAtiva())});
+        LayoutDados.escrever(destino, formato, LayoutDados.Registro.CONTA, conta.getTipoConta().name(),
+                             conta.getAgencia(), conta.getNumero(), conta.getTitular().getCpf(), estado[0],
+                             texto(conta.getDataAbertura()), estado[1]);
+    }
+
+    private static void escreverInvestimento(StringBuilder destino, FormatoDados formato, Investimento investimento,
+                                             String conta) {
+        LayoutDados.escrever(destino, formato, LayoutDados.Registro.INVESTIMENTO, investimento.getId(),
+                             investimento.getTipo().name(), investimento.getValor().toPlainString(),
+                             investimento.getTitular(), texto(investimento.getDataAplicacao()),
+                             texto(investimento.getDataVencimento()), Boolean.toString(investimento.isAtivo()),
+                             investimento.getObservacoes(), conta);
+    }
+
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : null;
+    }
+}
\ No newline at end of file
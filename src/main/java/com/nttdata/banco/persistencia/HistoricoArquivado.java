@@ -0,0 +1,170 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.CursorTransacoes;
+import com.nttdata.banco.model.FiltroTransacoes;
+import com.nttdata.banco.model.HistoricoEmMemoria;
+import com.nttdata.banco.model.HistoricoTransacoes;
+import com.nttdata.banco.model.Transacao;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Histórico em duas camadas: gerações antigas em arquivos colunares (somente leitura)
+ * seguidas das transações recentes em memória, que recebem os novos registros
+ *
+ * Para quem lê (extrato, cursores, obter) a concatenação é transparente: os índices
+ * continuam contando desde a primeira transação da conta. As gerações nunca mudam;
+ * arquivar de novo cria um novo HistoricoArquivado com uma geração a mais.
+ */
+public class HistoricoArquivado implements HistoricoTransacoes {
+    private final List<ArquivoColunar> geracoes;
+    private final long quantidadeArquivada;
+    private final HistoricoEmMemoria recentes;
+
+    public HistoricoArquivado(List<ArquivoColunar> geracoes, List<Transacao> recentes) {
+        this.geracoes = List.copyOf(geracoes);
+        this.quantidadeArquivada = this.geracoes.stream().mapToLong(ArquivoColunar::getQuantidade).sum();
+        this.recentes = new HistoricoEmMemoria();
+        this.recentes.adicionarTodas(recentes);
+    }
+
+    @Override
+    public void adicionar(Transacao transacao) {
+        recentes.adicionar(transacao);
+    }
+
+    @Override
+    public void adicionarTodas(List<Transacao> transacoes) {
+        recentes.adicionarTodas(transacoes);
+    }
+
+    @Override
+    public long getQuantidade() {
+        return quantidadeArquivada + recentes.getQuantidade();
+    }
+
+    /**
+     * Só as transações recentes podem ser descartadas; as gerações arquivadas são imutáveis
+     */
+    @Override
+    public void descartarAPartirDe(long quantidade) {
+        if (quantidade < quantidadeArquivada) {
+            throw new IllegalStateException("Transações já arquivadas não podem ser descartadas");
+        }
+        recentes.descartarAPartirDe(quantidade - quantidadeArquivada);
+    }
+
+    @Override
+    public Transacao obter(long indice) {
+        long restante = indice;
+        for (ArquivoColunar geracao : geracoes) {
+            if (restante < geracao.getQuantidade()) {
+                return geracao.obter(restante);
+            }
+            restante -= geracao.getQuantidade();
+        }
+        return recentes.obter(restante);
+    }
+
+    @Override
+    public CursorTransacoes cursor() {
+        return new Cursor(recentes.getQuantidade());
+    }
+
+    /**
+     * Transações que atendem ao filtro, em ordem. Nas gerações arquivadas os blocos
+     * são pulados pelos mapas de zona; as recentes são percorridas uma a uma.
+     */
+    public List<Transacao> buscar(FiltroTransacoes filtro) {
+        List<Transacao> encontradas = new ArrayList<>();
+        for (ArquivoColunar geracao : geracoes) {
+            encontradas.addAll(geracao.buscar(filtro));
+        }
+        CursorTransacoes cursor = recentes.cursor();
+        while (cursor.avancar()) {
+            if (filtro.aceitaDataHora(cursor.getDataHora()) && filtro.aceitaTipo(cursor.getTipo())
+                    && filtro.aceitaValor(cursor.getValor())) {
+                encontradas.add(cursor.getTransacao());
+            }
+        }
+        return encontradas;
+    }
+
+    public List<ArquivoColunar> getGeracoes() {
+        return Collections.unmodifiableList(geracoes);
+    }
+
+    public long getQuantidadeArquivada() {
+        return quantidadeArquivada;
+    }
+
+    public HistoricoEmMemoria getRecentes() {
+        return recentes;
+    }
+
+    /**
+     * Percorre as gerações e depois as recentes existentes na criação do cursor
+     */
+    private class Cursor implements CursorTransacoes {
+        private final long limiteRecentes;
+        private int geracao;
+        private CursorTransacoes atual;
+        private boolean nasRecentes;
+        private long lidasRecentes;
+
+        Cursor(long limiteRecentes) {
+            this.limiteRecentes = limiteRecentes;
+            this.atual = geracoes.isEmpty() ? null : geracoes.get(0).cursor();
+        }
+
+        @Override
+        public boolean avancar() {
+            while (!nasRecentes) {
+                if (atual != null && atual.avancar()) {
+                    return true;
+                }
+                geracao++;
+                if (geracao < geracoes.size()) {
+                    atual = geracoes.get(geracao).cursor();
+                } else {
+                    atual = recentes.cursor();
+                    nasRecentes = true;
+                }
+            }
+            if (lidasRecentes >= limiteRecentes || !atual.avancar()) {
+                return false;
+            }
+            lidasRecentes++;
+            return true;
+        }
+
+        @Override
+        public TipoTransacao getTipo() {
+            return atual.getTipo();
+        }
+
+        @Override
+        public BigDecimal getValor() {
+            return atual.getValor();
+        }
+
+        @Override
+        public LocalDateTime getDataHora() {
+            return atual.getDataHora();
+        }
+
+        @Override
+        public boolean isSucesso() {
+            return atual.isSucesso();
+        }
+
+        @Override
+        public Transacao getTransacao() {
+            return atual.getTransacao();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,293 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.CursorTransacoes;
+import com.nttdata.banco.model.HistoricoTransacoes;
+import com.nttdata.banco.model.Transacao;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Histórico de transações fora do heap, em segmentos de arquivo mapeados em memória
+ *
+ * Cada transação ocupa um registro de tamanho fixo (64 bytes): id como dois longs,
+ * valor sem escala em long, data/hora em microssegundos da época e os textos como
+ * códigos de um dicionário. Os cursores leem os campos direto da região mapeada,
+ * então o heap usado não depende do tamanho do histórico.
+ *
+ * Os registros são acrescentados em ordem e o byte de marcação é o último gravado:
+ * ao reabrir, a quantidade é o primeiro registro sem marcação do último segmento.
+ */
+public class HistoricoMapeado implements HistoricoTransacoes, AutoCloseable {
+    public static final int TAMANHO_REGISTRO = 64;
+    public static final int REGISTROS_POR_SEGMENTO_PADRAO = 16_384;
+
+    private static final int POS_ID_ALTO = 0;
+    private static final int POS_ID_BAIXO = 8;
+    private static final int POS_VALOR = 16;
+    private static final int POS_MICROS = 24;
+    private static final int POS_MARCACAO = 32;
+    private static final int POS_TIPO = 33;
+    private static final int POS_ESCALA = 34;
+    private static final int POS_DESCRICAO = 36;
+    private static final int POS_ORIGEM = 40;
+    private static final int POS_DESTINO = 44;
+    private static final int POS_OBSERVACOES = 48;
+    private static final int POS_CORRELACAO = 52;
+
+    private static final byte PRESENTE = 1;
+    private static final byte SUCESSO = 2;
+    private static final byte ID_NO_DICIONARIO = 4;
+
+    private static final TipoTransacao[] TIPOS = TipoTransacao.values();
+
+    private final Path diretorio;
+    private final int registrosPorSegmento;
+    private final DicionarioTextos dicionario;
+    // Trocado por uma cópia maior a cada segmento novo; leitores usam a referência que pegaram
+    private volatile MappedByteBuffer[] segmentos;
+    private volatile long quantidade;
+
+    public HistoricoMapeado(Path diretorio) {
+        this(diretorio, REGISTROS_POR_SEGMENTO_PADRAO);
+    }
+
+    public HistoricoMapeado(Path diretorio, int registrosPorSegmento) {
+        if (registrosPorSegmento <= 0) {
+            throw new IllegalArgumentException("Registros por segmento deve ser positivo");
+        }
+        this.diretorio = diretorio;
+        this.registrosPorSegmento = registrosPorSegmento;
+        try {
+            Files.createDirectories(diretorio);
+            this.dicionario = new DicionarioTextos(diretorio.resolve("textos.dic"));
+            this.segmentos = abrirSegmentos();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o histórico em " + diretorio, e);
+        }
+        this.quantidade = contarRegistros();
+    }
+
+    // ================== ESCRITA ==================
+
+    @Override
+    public synchronized void adicionar(Transacao transacao) {
+        long indice = quantidade;
+        int segmento = (int) (indice / registrosPorSegmento);
+        if (segmento == segmentos.length) {
+            segmentos = Arrays.copyOf(segmentos, segmento + 1);
+            segmentos[segmento] = mapear(segmento);
+        }
+        MappedByteBuffer buffer = segmentos[segmento];
+        int base = (int) (indice % registrosPorSegmento) * TAMANHO_REGISTRO;
+
+        byte marcacao = PRESENTE;
+        UUID uuid = CodecBinario.comoUuid(transacao.getId());
+        if (uuid != null) {
+            buffer.putLong(base + POS_ID_ALTO, uuid.getMostSignificantBits());
+            buffer.putLong(base + POS_ID_BAIXO, uuid.getLeastSignificantBits());
+        } else {
+            buffer.putLong(base + POS_ID_ALTO, dicionario.codigo(transacao.getId()));
+            buffer.putLong(base + POS_ID_BAIXO, 0L);
+            marcacao |= ID_NO_DICIONARIO;
+        }
+        BigDecimal valor = transacao.getValor();
+        try {
+            buffer.putLong(base + POS_VALOR, valor.unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor fora da faixa do histórico mapeado: " + valor, e);
+        }
+        buffer.put(base + POS_ESCALA, (byte) valor.scale());
+        buffer.putLong(base + POS_MICROS, CodecBinario.paraMicros(transacao.getDataHora()));
+        buffer.put(base + POS_TIPO, (byte) transacao.getTipo().ordinal());
+        buffer.putInt(base + POS_DESCRICAO, dicionario.codigo(transacao.getDescricao()));
+        buffer.putInt(base + POS_ORIGEM, dicionario.codigo(transacao.getContaOrigem()));
+        buffer.putInt(base + POS_DESTINO, dicionario.codigo(transacao.getContaDestino()));
+        buffer.putInt(base + POS_OBSERVACOES, dicionario.codigo(transacao.getObservacoes()));
+        buffer.putInt(base + POS_CORRELACAO, dicionario.codigo(transacao.getIdCorrelacao()));
+        if (transacao.isSucesso()) {
+            marcacao |= SUCESSO;
+        }
+        // A marcação por último: um registro só conta depois de completo
+        buffer.put(base + POS_MARCACAO, marcacao);
+        quantidade = indice + 1;
+    }
+
+    /**
+     * Apaga a marcação dos registros descartados, do último para o primeiro, para que a
+     * contagem na reabertura (primeiro registro sem marcação) continue valendo
+     */
+    @Override
+    public synchronized void descartarAPartirDe(long novaQuantidade) {
+        if (novaQuantidade < 0 || novaQuantidade > quantidade) {
+            throw new IndexOutOfBoundsException("Posição " + novaQuantidade + " fora do histórico de " + quantidade);
+        }
+        for (long indice = quantidade - 1; indice >= novaQuantidade; indice--) {
+            MappedByteBuffer buffer = segmentos[(int) (indice / registrosPorSegmento)];
+            buffer.put((int) (indice % registrosPorSegmento) * TAMANHO_REGISTRO + POS_MARCACAO, (byte) 0);
+        }
+        quantidade = novaQuantidade;
+    }
+
+    /**
+     * Força para o disco as páginas alteradas de todos os segmentos
+     */
+    public synchronized void forcar() {
+        for (MappedByteBuffer segmento : segmentos) {
+            segmento.force();
+        }
+    }
+
+    // ================== LEITURA ==================
+
+    @Override
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    @Override
+    public Transacao obter(long indice) {
+        if (indice < 0 || indice >= quantidade) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fora do histórico de " + quantidade);
+        }
+        Cursor cursor = new Cursor(indice + 1);
+        cursor.posicionar(indice);
+        return cursor.getTransacao();
+    }
+
+    @Override
+    public CursorTransacoes cursor() {
+        return new Cursor(quantidade);
+    }
+
+    public Path getDiretorio() {
+        return diretorio;
+    }
+
+    /**
+     * As regiões mapeadas são liberadas pelo coletor; aqui só são gravadas em disco
+     */
+    @Override
+    public synchronized void close() {
+        forcar();
+        dicionario.close();
+    }
+
+    private class Cursor implements CursorTransacoes {
+        private final long limite;
+        private final MappedByteBuffer[] visiveis;
+        private long indice = -1;
+        private MappedByteBuffer buffer;
+        private int base;
+
+        Cursor(long limite) {
+            this.limite = limite;
+            this.visiveis = segmentos;
+        }
+
+        void posicionar(long novoIndice) {
+            indice = novoIndice;
+            buffer = visiveis[(int) (novoIndice / registrosPorSegmento)];
+            base = (int) (novoIndice % registrosPorSegmento) * TAMANHO_REGISTRO;
+        }
+
+        @Override
+        public boolean avancar() {
+            if (indice + 1 >= limite) {
+                return false;
+            }
+            posicionar(indice + 1);
+            return true;
+        }
+
+        @Override
+        public TipoTransacao getTipo() {
+            return TIPOS[buffer.get(base + POS_TIPO)];
+        }
+
+        @Override
+        public BigDecimal getValor() {
+            return BigDecimal.valueOf(buffer.getLong(base + POS_VALOR), buffer.get(base + POS_ESCALA));
+        }
+
+        @Override
+        public LocalDateTime getDataHora() {
+            return CodecBinario.deMicros(buffer.getLong(base + POS_MICROS));
+        }
+
+        @Override
+        public boolean isSucesso() {
+            return (buffer.get(base + POS_MARCACAO) & SUCESSO) != 0;
+        }
+
+        @Override
+        public Transacao getTransacao() {
+            String id = (buffer.get(base + POS_MARCACAO) & ID_NO_DICIONARIO) != 0
+                    ? dicionario.texto((int) buffer.getLong(base + POS_ID_ALTO))
+                    : new UUID(buffer.getLong(base + POS_ID_ALTO), buffer.getLong(base + POS_ID_BAIXO)).toString();
+            return new Transacao(id, getTipo(), getValor(), getDataHora(),
+                                 dicionario.texto(buffer.getInt(base + POS_DESCRICAO)),
+                                 dicionario.texto(buffer.getInt(base + POS_ORIGEM)),
+                                 dicionario.texto(buffer.getInt(base + POS_DESTINO)),
+                                 isSucesso(),
+                                 dicionario.texto(buffer.getInt(base + POS_OBSERVACOES)),
+                                 dicionario.texto(buffer.getInt(base + POS_CORRELACAO)));
+        }
+    }
+
+    // ================== SEGMENTOS ==================
+
+    private MappedByteBuffer[] abrirSegmentos() throws IOException {
+        long existentes;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            existentes = arquivos.filter(arquivo -> arquivo.getFileName().toString().startsWith("historico-")).count();
+        }
+        MappedByteBuffer[] abertos = new MappedByteBuffer[(int) existentes];
+        for (int i = 0; i < abertos.length; i++) {
+            abertos[i] = mapear(i);
+        }
+        return abertos;
+    }
+
+    private MappedByteBuffer mapear(int segmento) {
+        Path arquivo = diretorio.resolve(String.format("historico-%06d.seg", segmento));
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                  StandardOpenOption.WRITE)) {
+            // O mapeamento continua válido depois de fechar o canal
+            return canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) registrosPorSegmento * TAMANHO_REGISTRO);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível mapear o segmento " + arquivo, e);
+        }
+    }
+
+    /**
+     * Os registros são contíguos: busca binária pelo primeiro sem marcação no último segmento
+     */
+    private long contarRegistros() {
+        if (segmentos.length == 0) {
+            return 0;
+        }
+        MappedByteBuffer ultimo = segmentos[segmentos.length - 1];
+        int inicio = 0;
+        int fim = registrosPorSegmento;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if ((ultimo.get(meio * TAMANHO_REGISTRO + POS_MARCACAO) & PRESENTE) != 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return (long) (segmentos.length - 1) * registrosPorSegmento + inicio;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,378 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.FormatoDados;
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaInvestimento;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.RepositorioCliente;
+import com.nttdata.banco.repository.RepositorioConta;
+import com.nttdata.banco.repository.RepositorioInvestimento;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Importação em massa de clientes, contas (com saldo) e investimentos em CSV ou NDJSON
+ *
+ * A leitura é sequencial e em fluxo: os registros são agrupados em lotes do mesmo tipo
+ * e cada lote é interpretado, validado e gravado por uma thread do pool, dentro de uma
+ * transação do repositório de contas. Só alguns lotes ficam em memória por vez (a
+ * leitura espera quando todos os lugares estão ocupados).
+ *
+ * Quando o tipo de registro muda, a leitura espera os lotes anteriores terminarem:
+ * contas dependem dos clientes e investimentos das contas já gravados. Registros
+ * inválidos são recusados um a um (ResultadoImportacao) sem interromper a importação.
+ * Contas sem número recebem um do repositório; com número, os gerados depois ficam acima.
+ */
+public class ImportadorBanco {
+    public static final int REGISTROS_POR_LOTE_PADRAO = 5_000;
+
+    private final RepositorioCliente clientes;
+    private final RepositorioConta contas;
+    private final RepositorioInvestimento investimentos;
+    private final int threads;
+    private final int registrosPorLote;
+
+    public ImportadorBanco(RepositorioCliente clientes, RepositorioConta contas, RepositorioInvestimento investimentos) {
+        this(clientes, contas, investimentos, Runtime.getRuntime().availableProcessors(), REGISTROS_POR_LOTE_PADRAO);
+    }
+
+    public ImportadorBanco(RepositorioCliente clientes, RepositorioConta contas, RepositorioInvestimento investimentos,
+                           int threads, int registrosPorLote) {
+        if (threads <= 0 || registrosPorLote <= 0) {
+            throw new IllegalArgumentException("Threads e registros por lote devem ser positivos");
+        }
+        this.clientes = clientes;
+        this.contas = contas;
+        this.investimentos = investimentos;
+        this.threads = threads;
+        this.registrosPorLote = registrosPorLote;
+    }
+
+    public ResultadoImportacao importar(Path arquivo) {
+        return importar(arquivo, FormatoDados.deArquivo(arquivo));
+    }
+
+    public ResultadoImportacao importar(Path arquivo, FormatoDados formato) {
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            return importar(leitor, formato);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o arquivo de importação " + arquivo, e);
+        }
+    }
+
+    public ResultadoImportacao importar(Reader leitor, FormatoDados formato) {
+        long inicio = System.nanoTime();
+        Importacao importacao = new Importacao(formato);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "importacao-dados");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            importacao.ler(leitor instanceof BufferedReader buffer ? buffer : new BufferedReader(leitor, 64 * 1024),
+                           executor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler os dados de importação", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        importacao.maioresNumeros.forEach(contas::reservarNumerosAte);
+        importacao.resultado.concluir(System.nanoTime() - inicio);
+        return importacao.resultado;
+    }
+
+    /**
+     * Estado de uma chamada de importar: lotes em andamento e chaves já vistas no arquivo
+     */
+    private class Importacao {
+        final FormatoDados formato;
+        final ResultadoImportacao resultado = new ResultadoImportacao();
+        final Semaphore lugares = new Semaphore(threads * 2);
+        final Deque<Future<?>> emAndamento = new ArrayDeque<>();
+        final Set<String> vistos = ConcurrentHashMap.newKeySet();
+        final Map<String, Long> maioresNumeros = new ConcurrentHashMap<>();
+
+        Importacao(FormatoDados formato) {
+            this.formato = formato;
+        }
+
+        void ler(BufferedReader leitor, ExecutorService executor) throws IOException {
+            List<String> textos = new ArrayList<>(registrosPorLote);
+            List<Long> linhas = new ArrayList<>(registrosPorLote);
+            String registroDoLote = null;
+            StringBuilder registro = new StringBuilder();
+            long numeroLinha = 0;
+            long linhaDoRegistro = 0;
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (registro.length() == 0) {
+                    if (linha.isBlank()) {
+                        continue;
+                    }
+                    linhaDoRegistro = numeroLinha;
+                    registro.append(linha);
+                } else {
+                    registro.append('\n').append(linha);
+                }
+                if (formato == FormatoDados.CSV && !LayoutDados.registroCsvCompleto(registro)) {
+                    continue;
+                }
+                String texto = registro.toString();
+                registro.setLength(0);
+                String nome = LayoutDados.nomeRegistro(texto, formato);
+                if (!nome.equals(registroDoLote)) {
+                    if (!textos.isEmpty()) {
+                        submeter(executor, registroDoLote, textos, linhas);
+                        textos = new ArrayList<>(registrosPorLote);
+                        linhas = new ArrayList<>(registrosPorLote);
+                    }
+                    // Os registros seguintes podem depender dos anteriores
+                    aguardarTodos();
+                    registroDoLote = nome;
+                }
+                textos.add(texto);
+                linhas.add(linhaDoRegistro);
+                if (textos.size() == registrosPorLote) {
+                    submeter(executor, registroDoLote, textos, linhas);
+                    textos = new ArrayList<>(registrosPorLote);
+                    linhas = new ArrayList<>(registrosPorLote);
+                }
+            }
+            if (registro.length() > 0) {
+                resultado.recusar(linhaDoRegistro, "Aspas sem fechamento até o fim do arquivo");
+            }
+            if (!textos.isEmpty()) {
+                submeter(executor, registroDoLote, textos, linhas);
+            }
+            aguardarTodos();
+        }
+
+        private void submeter(ExecutorService executor, String nome, List<String> textos, List<Long> linhas) {
+            try {
+                lugares.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Importação interrompida", e);
+            }
+            emAndamento.add(executor.submit(() -> {
+                try {
+                    importarLote(nome, textos, linhas);
+                } finally {
+                    lugares.release();
+                }
+            }));
+            // Descarta as tarefas já concluídas para a fila não crescer com o arquivo
+            while (!emAndamento.isEmpty() && emAndamento.peekFirst().isDone()) {
+                aguardar(emAndamento.pollFirst());
+            }
+        }
+
+        private void aguardarTodos() {
+            while (!emAndamento.isEmpty()) {
+                aguardar(emAndamento.pollFirst());
+            }
+        }
+
+        private void aguardar(Future<?> tarefa) {
+            try {
+                tarefa.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Importação interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha ao gravar um lote da importação", e.getCause());
+            }
+        }
+
+        private void importarLote(String nome, List<String> textos, List<Long> linhas) {
+            LayoutDados.Registro registro;
+            try {
+                registro = LayoutDados.Registro.valueOf(nome);
+            } catch (IllegalArgumentException e) {
+                linhas.forEach(linha -> resultado.recusar(linha, "Tipo de registro desconhecido: '" + nome + "'"));
+                return;
+            }
+            contas.emTransacao(() -> {
+                for (int i = 0; i < textos.size(); i++) {
+                    try {
+                        String[] valores = LayoutDados.ler(textos.get(i), formato, registro);
+                        switch (registro) {
+                            case CLIENTE -> importarCliente(valores);
+                            case CONTA -> importarConta(valores);
+                            case INVESTIMENTO -> importarInvestimento(valores);
+                        }
+                        resultado.contar(registro);
+                    } catch (IllegalArgumentException e) {
+                        resultado.recusar(linhas.get(i), e.getMessage());
+                    }
+                }
+                return null;
+            });
+        }
+
+        // ================== REGISTROS ==================
+
+        private void importarCliente(String[] v) {
+            String nome = obrigatorio(v[0], "nome");
+            String cpf = obrigatorio(v[1], "cpf");
+            if (cpf.length() != 11 || !cpf.chars().allMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("CPF deve ter 11 dígitos: " + cpf);
+            }
+            LocalDate dataNascimento = data(v[4], "dataNascimento");
+            if (clientes.existe(cpf) || !vistos.add("C" + cpf)) {
+                throw new IllegalArgumentException("Cliente já cadastrado: " + cpf);
+            }
+            clientes.salvar(new Cliente(nome, cpf, v[2], v[3], dataNascimento));
+        }
+
+        private void importarConta(String[] v) {
+            TipoConta tipo = constante(TipoConta.class, obrigatorio(v[0], "tipo"));
+            String agencia = obrigatorio(v[1], "agencia");
+            String numero = v[2];
+            String cpf = obrigatorio(v[3], "cpfTitular");
+            Cliente titular = clientes.buscarPorCpf(cpf)
+                    .orElseThrow(() -> new IllegalArgumentException("Titular não encontrado: " + cpf));
+            BigDecimal saldo = v[4] != null ? valor(v[4], "saldo") : BigDecimal.ZERO;
+            LocalDateTime dataAbertura = v[5] != null ? dataHora(v[5]) : LocalDateTime.now();
+            boolean ativa = v[6] == null || booleano(v[6], "ativa");
+            if (numero != null) {
+                String chave = ContaRepository.gerarChave(agencia, numero);
+                if (contas.existe(agencia, numero) || !vistos.add("K" + chave)) {
+                    throw new IllegalArgumentException("Conta já cadastrada: " + chave);
+                }
+                try {
+                    maioresNumeros.merge(agencia, Long.parseLong(numero), Math::max);
+                } catch (NumberFormatException e) {
+                    // Número não numérico não concorre com os gerados
+                }
+            }
+            Conta conta = ArmazenamentoBanco.novaConta(tipo, agencia, numero, titular);
+            conta.restaurar(saldo, dataAbertura);
+            conta.setAtiva(ativa);
+            contas.salvar(conta);
+        }
+
+        private void importarInvestimento(String[] v) {
+            String id = v[0] != null ? v[0] : UUID.randomUUID().toString();
+            TipoInvestimento tipo = constante(TipoInvestimento.class, obrigatorio(v[1], "tipo"));
+            BigDecimal valor = valor(obrigatorio(v[2], "valor"), "valor");
+            if (valor.signum() <= 0) {
+                throw new IllegalArgumentException("Valor do investimento deve ser positivo: " + valor);
+            }
+            String titular = obrigatorio(v[3], "titular");
+            LocalDate dataAplicacao = v[4] != null ? data(v[4], "dataAplicacao") : LocalDate.now();
+            LocalDate dataVencimento = data(obrigatorio(v[5], "dataVencimento"), "dataVencimento");
+            boolean ativo = v[6] == null || booleano(v[6], "ativo");
+            ContaInvestimento conta = null;
+            if (v[8] != null) {
+                int separador = v[8].indexOf('-');
+                Conta encontrada = separador < 0 ? null
+                        : contas.buscarPorNumero(v[8].substring(0, separador), v[8].substring(separador + 1))
+                                .orElse(null);
+                if (!(encontrada instanceof ContaInvestimento contaInvestimento)) {
+                    throw new IllegalArgumentException("Conta de investimento não encontrada: " + v[8]);
+                }
+                conta = contaInvestimento;
+            }
+            if (investimentos.existe(id) || !vistos.add("I" + id)) {
+                throw new IllegalArgumentException("Investimento já cadastrado: " + id);
+            }
+            Investimento investimento = new Investimento(id, tipo, valor, titular, dataAplicacao, dataVencimento,
+                                                         ativo, v[7]);
+            investimentos.salvar(investimento);
+            if (conta != null) {
+                // Lotes diferentes podem vincular investimentos à mesma conta
+                synchronized (conta) {
+                    conta.adicionarInvestimento(investimento);
+                    contas.salvar(conta);
+                }
+            }
+        }
+    }
+
+    // ================== VALIDAÇÃO ==================
+
+    private static String obrigatorio(String valor, String campo) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Campo obrigatório ausente: " + campo);
+        }
+        return valor;
+    }
+
+    private static BigDecimal valor(String texto, String campo) {
+        BigDecimal valor;
+        try {
+            valor = new BigDecimal(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido em " + campo + ": " + texto);
+        }
+        if (valor.scale() > 2) {
+            throw new IllegalArgumentException("Valor com mais de 2 casas decimais em " + campo + ": " + texto);
+        }
+        return valor;
+    }
+
+    private static LocalDate data(String texto, String campo) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida em " + campo + ": " + texto);
+        }
+    }
+
+    private static LocalDateTime dataHora(String texto) {
+        try {
+            return texto.length() == 10 ? LocalDate.parse(texto).atStartOfDay() : LocalDateTime.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida em dataAbertura: " + texto);
+        }
+    }
+
+    private static boolean booleano(String texto, String campo) {
+        if (texto.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (texto.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Booleano inválido em " + campo + ": " + texto);
+    }
+
+    private static <E extends Enum<E>> E constante(Class<E> tipo, String texto) {
+        try {
+            return Enum.valueOf(tipo, texto);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(tipo.getSimpleName() + " desconhecido: " + texto);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,426 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.Durabilidade;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Journal de escrita antecipada (write-ahead) somente de acréscimo
+ *
+ * Cada registro é gravado como [tamanho][crc32][sequência][dados]. Os registros
+ * entram primeiro em um buffer em memória, na ordem das sequências, e vão para o
+ * disco em lotes: um único fsync confirma todas as operações acumuladas no lote.
+ *
+ * A confirmação depende da durabilidade pedida: SINCRONA grava e força na própria
+ * thread, GRUPO espera a thread de descarga (que aguarda uma pequena janela para
+ * juntar mais escritores) e ASSINCRONA não espera; a descarga periódica grava depois.
+ *
+ * Ao abrir um arquivo existente, um final incompleto ou corrompido (queda no meio
+ * de uma gravação) é descartado e a sequência continua do último registro válido.
+ *
+ * Se uma gravação falhar, o journal fica em estado de falha permanente: o lote não
+ * é descartado nem dado como durável, e anexar/aguardar passam a lançar a falha.
+ */
+public class Journal implements AutoCloseable {
+    public static final int TAMANHO_CABECALHO = 16;
+    public static final long JANELA_GRUPO_PADRAO_MICROS = 200;
+    private static final int TAMANHO_MAXIMO_REGISTRO = 16 * 1024 * 1024;
+    private static final long INTERVALO_DESCARGA_MS = 10;
+
+    // Trocados somente na rotação, com travaEscrita e o monitor do journal
+    private volatile Path arquivo;
+    private volatile FileChannel canal;
+    private final Durabilidade durabilidadePadrao;
+    private final long janelaGrupoNanos;
+    private final ReentrantLock travaEscrita = new ReentrantLock();
+    private final Object monitorDuravel = new Object();
+    private final Thread descarregador;
+    private final LongAdder registrosAnexados = new LongAdder();
+    private final LongAdder descargas = new LongAdder();
+
+    // Protegidos pelo monitor do journal
+    private ByteArrayOutputStream pendente = new ByteArrayOutputStream(64 * 1024);
+    private ByteArrayOutputStream reserva = new ByteArrayOutputStream(64 * 1024);
+    private long ultimaSequencia;
+    private boolean descargaSolicitada;
+
+    private volatile long sequenciaDuravel;
+    private volatile boolean aberto = true;
+    private volatile IOException falha;
+
+    public Journal(Path arquivo) {
+        this(arquivo, Durabilidade.GRUPO, JANELA_GRUPO_PADRAO_MICROS);
+    }
+
+    public Journal(Path arquivo, Durabilidade durabilidadePadrao) {
+        this(arquivo, durabilidadePadrao, JANELA_GRUPO_PADRAO_MICROS);
+    }
+
+    public Journal(Path arquivo, Durabilidade durabilidadePadrao, long janelaGrupoMicros) {
+        this(arquivo, durabilidadePadrao, janelaGrupoMicros, 0);
+    }
+
+    /**
+     * A sequência anterior é usada quando o arquivo é um segmento novo (vazio) de um journal já existente
+     */
+    public Journal(Path arquivo, Durabilidade durabilidadePadrao, long janelaGrupoMicros, long ultimaSequenciaAnterior) {
+        this.arquivo = arquivo;
+        this.durabilidadePadrao = durabilidadePadrao;
+        this.janelaGrupoNanos = TimeUnit.MICROSECONDS.toNanos(janelaGrupoMicros);
+        try {
+            long[] ultima = new long[1];
+            long tamanhoValido = ler(arquivo, (sequencia, dados) -> ultima[0] = sequencia);
+            this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                          StandardOpenOption.WRITE);
+            // Descarta o final incompleto deixado por uma queda
+            canal.truncate(tamanhoValido);
+            canal.position(tamanhoValido);
+            this.ultimaSequencia = Math.max(ultima[0], ultimaSequenciaAnterior);
+            this.sequenciaDuravel = this.ultimaSequencia;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o journal " + arquivo, e);
+        }
+        this.descarregador = new Thread(this::descarregarContinuamente, "journal-descarga");
+        this.descarregador.setDaemon(true);
+        this.descarregador.start();
+    }
+
+    // ================== ESCRITA ==================
+
+    /**
+     * Acrescenta o registro ao buffer e devolve a sequência atribuída.
+     * A codificação acontece aqui dentro, na mesma ordem das sequências.
+     */
+    public long anexar(RegistroMutacao registro) {
+        synchronized (this) {
+            if (!aberto) {
+                throw new IllegalStateException("Journal encerrado");
+            }
+            verificarFalha();
+            long sequencia = ++ultimaSequencia;
+            byte[] dados = registro.codificar();
+            escreverQuadro(new DataOutputStream(pendente), sequencia, dados);
+            registrosAnexados.increment();
+            return sequencia;
+        }
+    }
+
+    /**
+     * Espera a sequência ficar durável conforme a durabilidade pedida
+     */
+    public void aguardar(long sequencia, Durabilidade durabilidade) {
+        if (sequencia <= sequenciaDuravel) {
+            return;
+        }
+        // Depois de uma falha a sequência nunca ficará durável, nem mesmo na descarga periódica
+        verificarFalha();
+        switch (durabilidade) {
+            case ASSINCRONA -> {
+                // Fica para a descarga periódica
+            }
+            case SINCRONA -> descarregarAte(sequencia);
+            case GRUPO -> aguardarGrupo(sequencia);
+        }
+    }
+
+    public void aguardar(long sequencia) {
+        aguardar(sequencia, durabilidadePadrao);
+    }
+
+    /**
+     * Grava e força para o disco tudo o que já foi anexado
+     */
+    public void descarregar() {
+        long ate;
+        synchronized (this) {
+            ate = ultimaSequencia;
+        }
+        descarregarAte(ate);
+    }
+
+    /**
+     * Grava o que está pendente no arquivo atual e passa a escrever em um novo arquivo (segmento),
+     * cujo nome é obtido a partir da primeira sequência que ele vai receber.
+     * Devolve a última sequência gravada no arquivo anterior.
+     */
+    public long rotacionar(LongFunction<Path> nomeSegmento) {
+        Path novoArquivo = null;
+        travaEscrita.lock();
+        try {
+            synchronized (this) {
+                if (!aberto) {
+                    throw new IllegalStateException("Journal encerrado");
+                }
+                gravarPendentes();
+                novoArquivo = nomeSegmento.apply(ultimaSequencia + 1);
+                FileChannel novoCanal = FileChannel.open(novoArquivo, StandardOpenOption.CREATE_NEW,
+                                                         StandardOpenOption.READ, StandardOpenOption.WRITE);
+                canal.close();
+                canal = novoCanal;
+                arquivo = novoArquivo;
+                return ultimaSequencia;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao rotacionar o journal para " + novoArquivo, e);
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    private void aguardarGrupo(long sequencia) {
+        synchronized (this) {
+            descargaSolicitada = true;
+            notifyAll();
+        }
+        synchronized (monitorDuravel) {
+            while (sequenciaDuravel < sequencia) {
+                if (!aberto || falha != null) {
+                    break;
+                }
+                try {
+                    monitorDuravel.wait(INTERVALO_DESCARGA_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        if (sequenciaDuravel < sequencia) {
+            descarregarAte(sequencia);
+        }
+    }
+
+    private void descarregarAte(long sequencia) {
+        travaEscrita.lock();
+        try {
+            // Outra descarga pode já ter coberto esta sequência enquanto esperávamos
+            if (sequenciaDuravel < sequencia) {
+                gravarPendentes();
+            }
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    /**
+     * Chamado com travaEscrita: troca o buffer, grava o lote e força para o disco
+     */
+    private void gravarPendentes() {
+        verificarFalha();
+        ByteArrayOutputStream lote;
+        long ate;
+        synchronized (this) {
+            descargaSolicitada = false;
+            ate = ultimaSequencia;
+            if (pendente.size() == 0) {
+                lote = null;
+            } else {
+                lote = pendente;
+                pendente = reserva;
+                reserva = null;
+            }
+        }
+        if (lote != null) {
+            try {
+                lote.writeTo(Channels.newOutputStream(canal));
+                canal.force(false);
+                descargas.increment();
+            } catch (IOException e) {
+                // O lote pode ter sido gravado pela metade: nada dele é dado como durável
+                falha = e;
+                synchronized (monitorDuravel) {
+                    monitorDuravel.notifyAll();
+                }
+                throw new UncheckedIOException("Falha ao gravar o journal " + arquivo, e);
+            }
+            lote.reset();
+            synchronized (this) {
+                reserva = lote;
+            }
+        }
+        sequenciaDuravel = ate;
+        synchronized (monitorDuravel) {
+            monitorDuravel.notifyAll();
+        }
+    }
+
+    private void descarregarContinuamente() {
+        while (true) {
+            synchronized (this) {
+                if (aberto && !descargaSolicitada) {
+                    try {
+                        wait(INTERVALO_DESCARGA_MS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            boolean encerrando = !aberto;
+            if (!encerrando && descargaSolicitada && janelaGrupoNanos > 0) {
+                // Janela de grupo: junta mais escritores no mesmo fsync
+                LockSupport.parkNanos(janelaGrupoNanos);
+            }
+            travaEscrita.lock();
+            try {
+                gravarPendentes();
+            } catch (UncheckedIOException e) {
+                System.err.println("Erro na descarga do journal: " + e.getMessage());
+                return;
+            } finally {
+                travaEscrita.unlock();
+            }
+            if (encerrando) {
+                return;
+            }
+        }
+    }
+
+    // ================== CONSULTA ==================
+
+    public synchronized long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    public long getSequenciaDuravel() {
+        return sequenciaDuravel;
+    }
+
+    public boolean isFalhou() {
+        return falha != null;
+    }
+
+    public long getRegistrosAnexados() {
+        return registrosAnexados.sum();
+    }
+
+    /**
+     * Quantidade de fsyncs feitos; registros anexados / descargas mostra o tamanho médio do grupo
+     */
+    public long getDescargas() {
+        return descargas.sum();
+    }
+
+    public Durabilidade getDurabilidadePadrao() {
+        return durabilidadePadrao;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!aberto) {
+                return;
+            }
+            aberto = false;
+            notifyAll();
+        }
+        try {
+            descarregador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        travaEscrita.lock();
+        try {
+            if (falha == null) {
+                gravarPendentes();
+            }
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar o journal " + arquivo, e);
+        } finally {
+            travaEscrita.unlock();
+        }
+    }
+
+    private void verificarFalha() {
+        IOException causa = falha;
+        if (causa != null) {
+            throw new UncheckedIOException("Journal " + arquivo + " falhou e não aceita mais gravações", causa);
+        }
+    }
+
+    // ================== LEITURA ==================
+
+    public interface ConsumidorRegistro {
+        void aceitar(long sequencia, byte[] dados);
+    }
+
+    /**
+     * Lê os registros válidos em ordem e devolve o tamanho, em bytes, do trecho válido.
+     * A leitura para no primeiro registro incompleto, corrompido ou fora de sequência.
+     */
+    public static long ler(Path arquivo, ConsumidorRegistro consumidor) throws IOException {
+        if (!Files.exists(arquivo)) {
+            return 0;
+        }
+        long posicao = 0;
+        long ultimaSequencia = 0;
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(arquivo), 64 * 1024))) {
+            while (true) {
+                int tamanho;
+                int crcGravado;
+                long sequencia;
+                byte[] dados;
+                try {
+                    tamanho = entrada.readInt();
+                    crcGravado = entrada.readInt();
+                    sequencia = entrada.readLong();
+                    if (tamanho < 0 || tamanho > TAMANHO_MAXIMO_REGISTRO) {
+                        break;
+                    }
+                    dados = new byte[tamanho];
+                    entrada.readFully(dados);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (crcGravado != calcularCrc(sequencia, dados) || sequencia <= ultimaSequencia) {
+                    break;
+                }
+                consumidor.aceitar(sequencia, dados);
+                ultimaSequencia = sequencia;
+                posicao += TAMANHO_CABECALHO + tamanho;
+            }
+        }
+        return posicao;
+    }
+
+    private static void escreverQuadro(DataOutputStream saida, long sequencia, byte[] dados) {
+        try {
+            saida.writeInt(dados.length);
+            saida.writeInt(calcularCrc(sequencia, dados));
+            saida.writeLong(sequencia);
+            saida.write(dados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int calcularCrc(long sequencia, byte[] dados) {
+        CRC32 crc = new CRC32();
+        for (int deslocamento = 56; deslocamento >= 0; deslocamento -= 8) {
+            crc.update((int) (sequencia >>> deslocamento));
+        }
+        crc.update(dados);
+        return (int) crc.getValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,347 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.FormatoDados;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Layout dos registros da importação e exportação em massa, em CSV e NDJSON
+ *
+ * Cada registro é um cliente, uma conta ou um investimento, e o primeiro campo diz qual:
+ *
+ *   CLIENTE,nome,cpf,email,telefone,dataNascimento
+ *   CONTA,tipo,agencia,numero,cpfTitular,saldo,dataAbertura,ativa
+ *   INVESTIMENTO,id,tipo,valor,titular,dataAplicacao,dataVencimento,ativo,observacoes,conta
+ *
+ * Em CSV (RFC 4180) um campo entre aspas pode conter vírgulas, aspas duplicadas e quebras
+ * de linha. Em NDJSON cada linha é um objeto plano com a chave "registro" e os mesmos
+ * campos; saldo, valor, ativa e ativo são números e booleanos. Campos vazios ou ausentes
+ * valem null e as datas seguem o formato ISO.
+ */
+final class LayoutDados {
+    static final String CAMPO_REGISTRO = "registro";
+
+    // Campos gravados em JSON sem aspas
+    private static final Set<String> CAMPOS_LITERAIS = Set.of("saldo", "valor", "ativa", "ativo");
+
+    enum Registro {
+        CLIENTE("nome", "cpf", "email", "telefone", "dataNascimento"),
+        CONTA("tipo", "agencia", "numero", "cpfTitular", "saldo", "dataAbertura", "ativa"),
+        INVESTIMENTO("id", "tipo", "valor", "titular", "dataAplicacao", "dataVencimento", "ativo", "observacoes",
+                     "conta");
+
+        final String[] campos;
+
+        Registro(String... campos) {
+            this.campos = campos;
+        }
+
+        int indice(String campo) {
+            for (int i = 0; i < campos.length; i++) {
+                if (campos[i].equals(campo)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private LayoutDados() {
+    }
+
+    // ================== LEITURA ==================
+
+    /**
+     * Nome do registro sem interpretar o restante da linha (usado para agrupar os lotes)
+     */
+    static String nomeRegistro(String texto, FormatoDados formato) {
+        if (formato == FormatoDados.CSV) {
+            int virgula = texto.indexOf(',');
+            return (virgula < 0 ? texto : texto.substring(0, virgula)).trim();
+        }
+        int chave = texto.indexOf('"' + CAMPO_REGISTRO + '"');
+        if (chave < 0) {
+            return "";
+        }
+        int inicio = texto.indexOf('"', texto.indexOf(':', chave) + 1);
+        int fim = inicio < 0 ? -1 : texto.indexOf('"', inicio + 1);
+        return fim < 0 ? "" : texto.substring(inicio + 1, fim);
+    }
+
+    /**
+     * Valores do registro na ordem dos campos do layout
+     */
+    static String[] ler(String texto, FormatoDados formato, Registro registro) {
+        String[] valores = new String[registro.campos.length];
+        if (formato == FormatoDados.CSV) {
+            List<String> campos = dividirCsv(texto);
+            if (campos.size() - 1 > valores.length) {
+                throw new IllegalArgumentException("Registro " + registro + " com " + (campos.size() - 1)
+                                                   + " campos, esperados " + valores.length);
+            }
+            for (int i = 1; i < campos.size(); i++) {
+                valores[i - 1] = campos.get(i).isEmpty() ? null : campos.get(i);
+            }
+            return valores;
+        }
+        new LeitorJson(texto).lerObjeto((campo, valor) -> {
+            if (campo.equals(CAMPO_REGISTRO)) {
+                return;
+            }
+            int indice = registro.indice(campo);
+            if (indice < 0) {
+                throw new IllegalArgumentException("Campo desconhecido em " + registro + ": " + campo);
+            }
+            valores[indice] = valor == null || valor.isEmpty() ? null : valor;
+        });
+        return valores;
+    }
+
+    static List<String> dividirCsv(String texto) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        int i = 0;
+        while (true) {
+            if (i < texto.length() && texto.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= texto.length()) {
+                        throw new IllegalArgumentException("Aspas sem fechamento");
+                    }
+                    char c = texto.charAt(i++);
+                    if (c != '"') {
+                        campo.append(c);
+                    } else if (i < texto.length() && texto.charAt(i) == '"') {
+                        campo.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < texto.length() && texto.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Texto depois das aspas na coluna " + (campos.size() + 1));
+                }
+            } else {
+                int virgula = texto.indexOf(',', i);
+                int fim = virgula < 0 ? texto.length() : virgula;
+                campo.append(texto, i, fim);
+                i = fim;
+            }
+            campos.add(campo.toString());
+            campo.setLength(0);
+            if (i >= texto.length()) {
+                return campos;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Um registro CSV continua na próxima linha enquanto houver aspas abertas
+     */
+    static boolean registroCsvCompleto(CharSequence texto) {
+        int aspas = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                aspas++;
+            }
+        }
+        return aspas % 2 == 0;
+    }
+
+    // ================== ESCRITA ==================
+
+    static void escrever(StringBuilder destino, FormatoDados formato, Registro registro, String... valores) {
+        if (formato == FormatoDados.CSV) {
+            destino.append(registro.name());
+            for (String valor : valores) {
+                destino.append(',');
+                if (valor != null) {
+                    escreverCsv(destino, valor);
+                }
+            }
+        } else {
+            destino.append("{\"").append(CAMPO_REGISTRO).append("\":\"").append(registro.name()).append('"');
+            for (int i = 0; i < valores.length; i++) {
+                if (valores[i] == null) {
+                    continue;
+                }
+                destino.append(",\"").append(registro.campos[i]).append("\":");
+                if (CAMPOS_LITERAIS.contains(registro.campos[i])) {
+                    destino.append(valores[i]);
+                } else {
+                    escreverJson(destino, valores[i]);
+                }
+            }
+            destino.append('}');
+        }
+        destino.append('\n');
+    }
+
+    private static void escreverCsv(StringBuilder destino, String valor) {
+        boolean aspas = false;
+        for (int i = 0; i < valor.length() && !aspas; i++) {
+            char c = valor.charAt(i);
+            aspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!aspas) {
+            destino.append(valor);
+            return;
+        }
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                destino.append('"');
+            }
+            destino.append(c);
+        }
+        destino.append('"');
+    }
+
+    private static void escreverJson(StringBuilder destino, String valor) {
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"' -> destino.append("\\\"");
+                case '\\' -> destino.append("\\\\");
+                case '\n' -> destino.append("\\n");
+                case '\r' -> destino.append("\\r");
+                case '\t' -> destino.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.append(c);
+                    }
+                }
+            }
+        }
+        destino.append('"');
+    }
+
+    /**
+     * Leitor de um objeto JSON plano: valores texto, número, booleano ou null
+     */
+    private static final class LeitorJson {
+        private final String texto;
+        private int posicao;
+
+        LeitorJson(String texto) {
+            this.texto = texto;
+        }
+
+        void lerObjeto(CampoLido campoLido) {
+            esperar('{');
+            pularEspacos();
+            if (atual() == '}') {
+                posicao++;
+            } else {
+                while (true) {
+                    pularEspacos();
+                    String campo = lerTexto();
+                    esperar(':');
+                    pularEspacos();
+                    campoLido.aceitar(campo, atual() == '"' ? lerTexto() : lerLiteral());
+                    pularEspacos();
+                    char c = proximo();
+                    if (c == '}') {
+                        break;
+                    }
+                    if (c != ',') {
+                        throw erro("',' ou '}'");
+                    }
+                }
+            }
+            pularEspacos();
+            if (posicao < texto.length()) {
+                throw erro("fim da linha");
+            }
+        }
+
+        private String lerTexto() {
+            esperar('"');
+            StringBuilder valor = new StringBuilder();
+            while (true) {
+                char c = proximo();
+                if (c == '"') {
+                    return valor.toString();
+                }
+                if (c != '\\') {
+                    valor.append(c);
+                    continue;
+                }
+                char escape = proximo();
+                switch (escape) {
+                    case '"', '\\', '/' -> valor.append(escape);
+                    case 'b' -> valor.append('\b');
+                    case 'f' -> valor.append('\f');
+                    case 'n' -> valor.append('\n');
+                    case 'r' -> valor.append('\r');
+                    case 't' -> valor.append('\t');
+                    case 'u' -> {
+                        if (posicao + 4 > texto.length()) {
+                            throw erro("4 dígitos hexadecimais");
+                        }
+                        try {
+                            valor.append((char) Integer.parseInt(texto.substring(posicao, posicao + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw erro("4 dígitos hexadecimais");
+                        }
+                        posicao += 4;
+                    }
+                    default -> throw erro("escape válido");
+                }
+            }
+        }
+
+        private String lerLiteral() {
+            int inicio = posicao;
+            while (posicao < texto.length() && "{}[],:\" \t\r".indexOf(texto.charAt(posicao)) < 0) {
+                posicao++;
+            }
+            String literal = texto.substring(inicio, posicao);
+            if (literal.isEmpty()) {
+                throw erro("valor simples");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private void esperar(char esperado) {
+            pularEspacos();
+            if (proximo() != esperado) {
+                throw erro("'" + esperado + "'");
+            }
+        }
+
+        private void pularEspacos() {
+            while (posicao < texto.length() && Character.isWhitespace(texto.charAt(posicao))) {
+                posicao++;
+            }
+        }
+
+        private char atual() {
+            if (posicao >= texto.length()) {
+                throw erro("mais conteúdo");
+            }
+            return texto.charAt(posicao);
+        }
+
+        private char proximo() {
+            char c = atual();
+            posicao++;
+            return c;
+        }
+
+        private IllegalArgumentException erro(String esperado) {
+            return new IllegalArgumentException("JSON inválido na posição " + (posicao + 1) + ": esperado " + esperado);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CampoLido {
+        void aceitar(String campo, String valor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.nttdata.banco.persistencia;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Mapa de identidade dos repositórios persistentes (disco, JDBC)
+ *
+ * Enquanto alguém mantiver a referência de um objeto, buscas pela mesma chave devolvem a
+ * mesma instância. As referências são fracas: objetos sem uso são coletados e relidos do
+ * armazenamento na próxima busca. O carregamento acontece sob a trava da chave, o que
+ * impede duas instâncias vivas para o mesmo registro.
+ */
+final class MapaIdentidade<T> {
+    private static final int QUANTIDADE_TRAVAS = 64;
+
+    private final Map<String, Referencia<T>> objetos = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> coletadas = new ReferenceQueue<>();
+    private final Object[] travas = new Object[QUANTIDADE_TRAVAS];
+
+    MapaIdentidade() {
+        for (int i = 0; i < travas.length; i++) {
+            travas[i] = new Object();
+        }
+    }
+
+    Object trava(String chave) {
+        return travas[(chave.hashCode() & 0x7FFFFFFF) % travas.length];
+    }
+
+    /**
+     * Instância viva da chave ou, se não houver, a carregada (null se não existir)
+     */
+    T obter(String chave, Supplier<T> carregar) {
+        synchronized (trava(chave)) {
+            limparColetadas();
+            T objeto = vivo(chave);
+            if (objeto != null) {
+                return objeto;
+            }
+            objeto = carregar.get();
+            if (objeto != null) {
+                objetos.put(chave, new Referencia<>(chave, objeto, coletadas));
+            }
+            return objeto;
+        }
+    }
+
+    T vivo(String chave) {
+        Referencia<T> referencia = objetos.get(chave);
+        return referencia != null ? referencia.get() : null;
+    }
+
+    void registrar(String chave, T objeto) {
+        if (vivo(chave) != objeto) {
+            objetos.put(chave, new Referencia<>(chave, objeto, coletadas));
+        }
+    }
+
+    void remover(String chave) {
+        objetos.remove(chave);
+    }
+
+    void limpar() {
+        objetos.clear();
+    }
+
+    private void limparColetadas() {
+        Referencia<?> referencia;
+        while ((referencia = (Referencia<?>) coletadas.poll()) != null) {
+            objetos.remove(referencia.chave, referencia);
+        }
+    }
+
+    private static class Referencia<T> extends WeakReference<T> {
+        private final String chave;
+
+        Referencia(String chave, T objeto, ReferenceQueue<T> fila) {
+            super(objeto, fila);
+            this.chave = chave;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.model.SaldoCentavos;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Pontos da linha do tempo de saldos de uma conta (instante em microssegundos da época,
+ * saldo em centavos), na ordem em que foram registrados. É a forma gravada com a conta
+ * no snapshot e a reconstruída ao reaplicar o journal; o serviço a recarrega na abertura.
+ */
+public final class PontosSaldo {
+    private long[] instantes;
+    private long[] centavos;
+    private int quantidade;
+
+    public PontosSaldo() {
+        this(4);
+    }
+
+    public PontosSaldo(int capacidade) {
+        this.instantes = new long[capacidade];
+        this.centavos = new long[capacidade];
+    }
+
+    public void adicionar(long instante, long saldoCentavos) {
+        if (quantidade == instantes.length) {
+            int capacidade = Math.max(4, quantidade * 2);
+            instantes = Arrays.copyOf(instantes, capacidade);
+            centavos = Arrays.copyOf(centavos, capacidade);
+        }
+        instantes[quantidade] = instante;
+        centavos[quantidade] = saldoCentavos;
+        quantidade++;
+    }
+
+    public void adicionar(LocalDateTime instante, BigDecimal saldo) {
+        adicionar(instante.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + instante.getNano() / 1_000,
+                  SaldoCentavos.paraCentavos(saldo));
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public long getInstante(int posicao) {
+        return instantes[posicao];
+    }
+
+    public long getCentavos(int posicao) {
+        return centavos[posicao];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.nttdata.banco.persistencia;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool fixo de conexões JDBC, sem dependências externas
+ *
+ * As conexões são criadas sob demanda até o limite e reaproveitadas depois; quem pede
+ * uma conexão com o pool esgotado espera até o tempo limite. Conexões devolvidas
+ * fechadas ou inválidas são descartadas e abrem vaga para uma nova.
+ */
+public class PoolConexoes implements AutoCloseable {
+    public static final long ESPERA_MAXIMA_MS = 30_000;
+    private static final int VALIDACAO_SEGUNDOS = 2;
+
+    private final String url;
+    private final String usuario;
+    private final String senha;
+    private final int tamanhoMaximo;
+    private final BlockingQueue<Connection> livres;
+    private final AtomicInteger criadas = new AtomicInteger();
+    private volatile boolean fechado;
+
+    public PoolConexoes(String url, String usuario, String senha, int tamanhoMaximo) {
+        if (tamanhoMaximo <= 0) {
+            throw new IllegalArgumentException("Tamanho do pool deve ser positivo");
+        }
+        this.url = url;
+        this.usuario = usuario;
+        this.senha = senha;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.livres = new ArrayBlockingQueue<>(tamanhoMaximo);
+    }
+
+    public Connection obter() throws SQLException {
+        if (fechado) {
+            throw new SQLException("Pool de conexões fechado");
+        }
+        Connection conexao = livres.poll();
+        if (conexao != null) {
+            return conexao;
+        }
+        if (criadas.incrementAndGet() <= tamanhoMaximo) {
+            try {
+                return DriverManager.getConnection(url, usuario, senha);
+            } catch (SQLException e) {
+                criadas.decrementAndGet();
+                throw e;
+            }
+        }
+        criadas.decrementAndGet();
+        try {
+            conexao = livres.poll(ESPERA_MAXIMA_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando conexão", e);
+        }
+        if (conexao == null) {
+            throw new SQLException("Nenhuma conexão livre após " + ESPERA_MAXIMA_MS + " ms");
+        }
+        return conexao;
+    }
+
+    public void devolver(Connection conexao) {
+        boolean valida;
+        try {
+            valida = !fechado && !conexao.isClosed() && conexao.getAutoCommit()
+                    && conexao.isValid(VALIDACAO_SEGUNDOS);
+        } catch (SQLException e) {
+            valida = false;
+        }
+        if (valida && livres.offer(conexao)) {
+            return;
+        }
+        criadas.decrementAndGet();
+        fecharSilenciosamente(conexao);
+    }
+
+    public int getConexoesCriadas() {
+        return criadas.get();
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    @Override
+    public void close() {
+        fechado = true;
+        Connection conexao;
+        while ((conexao = livres.poll()) != null) {
+            criadas.decrementAndGet();
+            fecharSilenciosamente(conexao);
+        }
+    }
+
+    private static void fecharSilenciosamente(Connection conexao) {
+        try {
+            conexao.close();
+        } catch (SQLException e) {
+            // Conexão descartada: não há o que fazer
+        }
+    }
+}
\ No newline at end of file
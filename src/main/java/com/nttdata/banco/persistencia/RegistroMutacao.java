@@ -0,0 +1,208 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.model.Transacao;
+import com.nttdata.banco.repository.ContaRepository;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registro de uma mutação do BancoService para o journal
+ *
+ * Guarda os efeitos de uma operação (cliente ou conta criados, saldo resultante,
+ * transações e investimentos) e os codifica em um único registro, gravado ou
+ * perdido por inteiro. O saldo é lido na hora da codificação, dentro da trava do
+ * journal: o último registro de uma conta sempre traz o saldo mais recente dela.
+ *
+ * Desde a versão 2, os efeitos de conta e de saldo levam também o modo do saldo
+ * (centavos ou decimal); registros da versão 1 são lidos como saldo decimal.
+ */
+public class RegistroMutacao {
+    public static final byte VERSAO = 2;
+
+    static final byte EFEITO_CLIENTE = 1;
+    static final byte EFEITO_CONTA = 2;
+    static final byte EFEITO_SALDO = 3;
+    static final byte EFEITO_TRANSACAO = 4;
+    static final byte EFEITO_INVESTIMENTO = 5;
+    static final byte EFEITO_EXCLUSAO = 6;
+
+    private final List<Efeito> efeitos = new ArrayList<>(2);
+
+    public RegistroMutacao cliente(Cliente cliente) {
+        efeitos.add(new Efeito(EFEITO_CLIENTE, cliente, null, null));
+        return this;
+    }
+
+    public RegistroMutacao conta(Conta conta) {
+        efeitos.add(new Efeito(EFEITO_CONTA, conta, null, conta));
+        return this;
+    }
+
+    public RegistroMutacao saldo(Conta conta) {
+        efeitos.add(new Efeito(EFEITO_SALDO, conta, null, conta));
+        return this;
+    }
+
+    public RegistroMutacao transacao(Conta conta, Transacao transacao) {
+        efeitos.add(new Efeito(EFEITO_TRANSACAO, transacao, chaveDe(conta), conta));
+        return this;
+    }
+
+    /**
+     * Estado atual do investimento; a conta (opcional) é a conta de investimento que o mantém
+     */
+    public RegistroMutacao investimento(Investimento investimento, Conta conta) {
+        efeitos.add(new Efeito(EFEITO_INVESTIMENTO, investimento, conta != null ? chaveDe(conta) : null, conta));
+        return this;
+    }
+
+    /**
+     * Conta excluída: a restauração a remove do repositório
+     */
+    public RegistroMutacao exclusao(Conta conta) {
+        efeitos.add(new Efeito(EFEITO_EXCLUSAO, conta, chaveDe(conta), null));
+        return this;
+    }
+
+    public boolean isVazio() {
+        return efeitos.isEmpty();
+    }
+
+    public int getQuantidadeEfeitos() {
+        return efeitos.size();
+    }
+
+    public byte[] codificar() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeByte(VERSAO);
+            saida.writeShort(efeitos.size());
+            for (Efeito efeito : efeitos) {
+                saida.writeByte(efeito.tipo);
+                switch (efeito.tipo) {
+                    case EFEITO_CLIENTE -> CodecPersistencia.escreverCliente(saida, (Cliente) efeito.alvo);
+                    case EFEITO_CONTA -> escreverConta(saida, (Conta) efeito.alvo);
+                    case EFEITO_SALDO -> {
+                        Conta conta = (Conta) efeito.alvo;
+                        saida.writeUTF(chaveDe(conta));
+                        saida.writeUTF(conta.getSaldo().toString());
+                        saida.writeBoolean(conta.isSaldoEmCentavos());
+                    }
+                    case EFEITO_TRANSACAO -> {
+                        saida.writeUTF(efeito.chaveConta);
+                        CodecPersistencia.escreverTransacao(saida, (Transacao) efeito.alvo);
+                    }
+                    case EFEITO_INVESTIMENTO -> {
+                        CodecPersistencia.escreverTexto(saida, efeito.chaveConta);
+                        CodecPersistencia.escreverInvestimento(saida, (Investimento) efeito.alvo);
+                    }
+                    case EFEITO_EXCLUSAO -> saida.writeUTF(efeito.chaveConta);
+                    default -> throw new IllegalStateException("Efeito desconhecido: " + efeito.tipo);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Marca nas contas afetadas a sequência atribuída pelo journal a este registro
+     */
+    public void marcarSequencia(long sequencia) {
+        for (Efeito efeito : efeitos) {
+            if (efeito.conta != null) {
+                efeito.conta.setSequenciaJournal(sequencia);
+            }
+        }
+    }
+
+    /**
+     * Decodifica os efeitos de um registro lido do journal
+     */
+    public static List<EfeitoMutacao> decodificar(long sequencia, byte[] dados) {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados))) {
+            byte versao = entrada.readByte();
+            if (versao != 1 && versao != VERSAO) {
+                throw new IllegalStateException("Versão de registro não suportada: " + versao);
+            }
+            int quantidade = entrada.readUnsignedShort();
+            List<EfeitoMutacao> lidos = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                byte tipo = entrada.readByte();
+                switch (tipo) {
+                    case EFEITO_CLIENTE -> lidos.add(EfeitoMutacao.cliente(sequencia, CodecPersistencia.lerCliente(entrada)));
+                    case EFEITO_CONTA -> {
+                        TipoConta tipoConta = TipoConta.valueOf(entrada.readUTF());
+                        String chave = ContaRepository.gerarChave(entrada.readUTF(), entrada.readUTF());
+                        String cpf = entrada.readUTF();
+                        LocalDateTime dataAbertura = LocalDateTime.parse(entrada.readUTF());
+                        boolean ativa = entrada.readBoolean();
+                        boolean saldoEmCentavos = versao >= 2 && entrada.readBoolean();
+                        lidos.add(EfeitoMutacao.conta(sequencia, chave, tipoConta, cpf, dataAbertura, ativa,
+                                                      saldoEmCentavos));
+                    }
+                    case EFEITO_SALDO -> {
+                        String chave = entrada.readUTF();
+                        BigDecimal saldo = new BigDecimal(entrada.readUTF());
+                        boolean saldoEmCentavos = versao >= 2 && entrada.readBoolean();
+                        lidos.add(EfeitoMutacao.saldo(sequencia, chave, saldo, saldoEmCentavos));
+                    }
+                    case EFEITO_TRANSACAO -> lidos.add(EfeitoMutacao.transacao(sequencia, entrada.readUTF(),
+                                                                                CodecPersistencia.lerTransacao(entrada)));
+                    case EFEITO_INVESTIMENTO -> {
+                        String chave = CodecPersistencia.lerTexto(entrada);
+                        lidos.add(EfeitoMutacao.investimento(sequencia, chave, CodecPersistencia.lerInvestimento(entrada)));
+                    }
+                    case EFEITO_EXCLUSAO -> lidos.add(EfeitoMutacao.exclusao(sequencia, entrada.readUTF()));
+                    default -> throw new IllegalStateException("Efeito desconhecido: " + tipo);
+                }
+            }
+            return lidos;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ================== CODIFICAÇÃO ==================
+
+    private static void escreverConta(DataOutputStream saida, Conta conta) throws IOException {
+        saida.writeUTF(conta.getTipoConta().name());
+        saida.writeUTF(conta.getAgencia());
+        saida.writeUTF(conta.getNumero());
+        saida.writeUTF(conta.getTitular().getCpf());
+        saida.writeUTF(conta.getDataAbertura().toString());
+        saida.writeBoolean(conta.isAtiva());
+        saida.writeBoolean(conta.isSaldoEmCentavos());
+    }
+
+    private static String chaveDe(Conta conta) {
+        return ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+    }
+
+    private static class Efeito {
+        private final byte tipo;
+        private final Object alvo;
+        private final String chaveConta;
+        private final Conta conta;
+
+        Efeito(byte tipo, Object alvo, String chaveConta, Conta conta) {
+            this.tipo = tipo;
+            this.alvo = alvo;
+            this.chaveConta = chaveConta;
+            this.conta = conta;
+        }
+    }
+}
\ No newline at end of file
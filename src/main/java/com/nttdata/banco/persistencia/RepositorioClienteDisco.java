@@ -0,0 +1,96 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Endereco;
+import com.nttdata.banco.repository.RepositorioCliente;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository de clientes gravado em disco (arquivo clientes.dat do diretório)
+ */
+public class RepositorioClienteDisco extends RepositorioDisco<Cliente> implements RepositorioCliente {
+
+    public RepositorioClienteDisco(Path diretorio) {
+        this(diretorio, ArmazemRegistros.PAGINAS_EM_CACHE_PADRAO);
+    }
+
+    public RepositorioClienteDisco(Path diretorio, int paginasEmCache) {
+        super(diretorio.resolve("clientes.dat"), paginasEmCache);
+    }
+
+    @Override
+    public Cliente salvar(Cliente cliente) {
+        synchronized (trava(cliente.getCpf())) {
+            gravarRegistro(cliente.getCpf(), cliente);
+        }
+        return cliente;
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorCpf(String cpf) {
+        return Optional.ofNullable(obter(cpf));
+    }
+
+    @Override
+    public List<Cliente> listarTodos() {
+        return listarRegistros();
+    }
+
+    @Override
+    public boolean excluir(String cpf) {
+        return removerRegistro(cpf);
+    }
+
+    @Override
+    public boolean existe(String cpf) {
+        return contemRegistro(cpf);
+    }
+
+    @Override
+    public int getTotalClientes() {
+        return totalRegistros();
+    }
+
+    @Override
+    public void limpar() {
+        limparRegistros();
+    }
+
+    @Override
+    void codificar(DataOutputStream saida, Cliente cliente) throws IOException {
+        CodecPersistencia.escreverCliente(saida, cliente);
+        Endereco endereco = cliente.getEndereco();
+        saida.writeBoolean(endereco != null);
+        if (endereco != null) {
+            CodecPersistencia.escreverTexto(saida, endereco.getLogradouro());
+            CodecPersistencia.escreverTexto(saida, endereco.getNumero());
+            CodecPersistencia.escreverTexto(saida, endereco.getComplemento());
+            CodecPersistencia.escreverTexto(saida, endereco.getBairro());
+            CodecPersistencia.escreverTexto(saida, endereco.getCidade());
+            CodecPersistencia.escreverTexto(saida, endereco.getEstado());
+            CodecPersistencia.escreverTexto(saida, endereco.getCep());
+        }
+    }
+
+    @Override
+    Cliente decodificar(String chave, DataInputStream entrada) throws IOException {
+        Cliente cliente = CodecPersistencia.lerCliente(entrada);
+        if (entrada.readBoolean()) {
+            Endereco endereco = new Endereco();
+            endereco.setLogradouro(CodecPersistencia.lerTexto(entrada));
+            endereco.setNumero(CodecPersistencia.lerTexto(entrada));
+            endereco.setComplemento(CodecPersistencia.lerTexto(entrada));
+            endereco.setBairro(CodecPersistencia.lerTexto(entrada));
+            endereco.setCidade(CodecPersistencia.lerTexto(entrada));
+            endereco.setEstado(CodecPersistencia.lerTexto(entrada));
+            endereco.setCep(CodecPersistencia.lerTexto(entrada));
+            cliente.setEndereco(endereco);
+        }
+        return cliente;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Endereco;
+import com.nttdata.banco.repository.RepositorioCliente;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository de clientes na tabela clientes do BancoDadosJdbc (chave primária CPF)
+ */
+public class RepositorioClienteJdbc implements RepositorioCliente {
+    private static final BancoDadosJdbc.Tabela CLIENTES = new BancoDadosJdbc.Tabela("clientes", "cpf",
+            "nome", "email", "telefone", "data_nascimento", "logradouro", "numero_endereco", "complemento",
+            "bairro", "cidade", "estado", "cep");
+    private static final String COLUNAS = "cpf, nome, email, telefone, data_nascimento, logradouro, "
+            + "numero_endereco, complemento, bairro, cidade, estado, cep";
+
+    private final BancoDadosJdbc banco;
+    private final MapaIdentidade<Cliente> identidade = new MapaIdentidade<>();
+
+    public RepositorioClienteJdbc(BancoDadosJdbc banco) {
+        this.banco = banco;
+    }
+
+    @Override
+    public Cliente salvar(Cliente cliente) {
+        String cpf = cliente.getCpf();
+        return banco.emTransacao(() -> {
+            synchronized (identidade.trava(cpf)) {
+                Endereco endereco = cliente.getEndereco() != null ? cliente.getEndereco() : new Endereco();
+                banco.gravar(CLIENTES, cpf, cliente.getNome(), cliente.getEmail(), cliente.getTelefone(),
+                             cliente.getDataNascimento() != null ? cliente.getDataNascimento().toString() : null,
+                             endereco.getLogradouro(), endereco.getNumero(), endereco.getComplemento(),
+                             endereco.getBairro(), endereco.getCidade(), endereco.getEstado(), endereco.getCep());
+                identidade.registrar(cpf, cliente);
+                banco.aoDesfazer(() -> identidade.remover(cpf));
+                return cliente;
+            }
+        });
+    }
+
+    @Override
+    public Optional<Cliente> buscarPorCpf(String cpf) {
+        return Optional.ofNullable(banco.emTransacao(() -> identidade.obter(cpf, () -> {
+            List<Cliente> lidos = banco.consultar("SELECT " + COLUNAS + " FROM clientes WHERE cpf = ?",
+                                                  RepositorioClienteJdbc::ler, cpf);
+            return lidos.isEmpty() ? null : lidos.get(0);
+        })));
+    }
+
+    @Override
+    public List<Cliente> listarTodos() {
+        return banco.emTransacao(() -> banco.consultar("SELECT " + COLUNAS + " FROM clientes",
+                                                       RepositorioClienteJdbc::ler).stream()
+                .map(lido -> identidade.obter(lido.getCpf(), () -> lido))
+                .toList());
+    }
+
+    @Override
+    public List<Cliente> buscarPorNome(String nome) {
+        return banco.emTransacao(() -> banco.consultar("SELECT " + COLUNAS + " FROM clientes WHERE LOWER(nome) LIKE ?",
+                                                       RepositorioClienteJdbc::ler,
+                                                       "%" + nome.toLowerCase() + "%").stream()
+                .map(lido -> identidade.obter(lido.getCpf(), () -> lido))
+                .toList());
+    }
+
+    @Override
+    public boolean excluir(String cpf) {
+        return banco.emTransacao(() -> {
+            synchronized (identidade.trava(cpf)) {
+                identidade.remover(cpf);
+                return banco.executar("DELETE FROM clientes WHERE cpf = ?", cpf) > 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean existe(String cpf) {
+        return banco.contar("SELECT COUNT(*) FROM clientes WHERE cpf = ?", cpf) > 0;
+    }
+
+    @Override
+    public int getTotalClientes() {
+        return (int) banco.contar("SELECT COUNT(*) FROM clientes");
+    }
+
+    @Override
+    public void limpar() {
+        banco.emTransacao(() -> {
+            identidade.limpar();
+            return banco.executar("DELETE FROM clientes");
+        });
+    }
+
+    private static Cliente ler(ResultSet linha) throws SQLException {
+        String dataNascimento = linha.getString("data_nascimento");
+        Cliente cliente = new Cliente(linha.getString("nome"), linha.getString("cpf"), linha.getString("email"),
+                                      linha.getString("telefone"),
+                                      dataNascimento != null ? LocalDate.parse(dataNascimento) : null);
+        Endereco endereco = new Endereco();
+        endereco.setLogradouro(linha.getString("logradouro"));
+        endereco.setNumero(linha.getString("numero_endereco"));
+        endereco.setComplemento(linha.getString("complemento"));
+        endereco.setBairro(linha.getString("bairro"));
+        endereco.setCidade(linha.getString("cidade"));
+        endereco.setEstado(linha.getString("estado"));
+        endereco.setCep(linha.getString("cep"));
+        // Endereço todo vazio é gravado para clientes sem endereço
+        if (endereco.getLogradouro() != null || endereco.getCidade() != null || endereco.getCep() != null) {
+            cliente.setEndereco(endereco);
+        }
+        return cliente;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaInvestimento;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.GeradorNumeroConta;
+import com.nttdata.banco.repository.RepositorioCliente;
+import com.nttdata.banco.repository.RepositorioConta;
+import com.nttdata.banco.repository.RepositorioInvestimento;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Repository de contas gravado em disco
+ *
+ * O registro da conta (contas.dat) guarda a versão nos primeiros 8 bytes, então o
+ * compare-and-set de salvarSeVersao lê só a versão pelo cache de páginas, sem decodificar
+ * a conta. O histórico de cada conta fica em um HistoricoMapeado próprio
+ * (historicos/agencia-numero), criado na primeira gravação com transações, e a partir
+ * daí cresce direto em disco.
+ * Titular e investimentos são resolvidos nos repositórios informados.
+ */
+public class RepositorioContaDisco extends RepositorioDisco<Conta> implements RepositorioConta {
+    public static final int REGISTROS_POR_SEGMENTO_HISTORICO = 1024;
+
+    private final Path diretorioHistoricos;
+    private final RepositorioCliente clientes;
+    private final RepositorioInvestimento investimentos;
+    private final GeradorNumeroConta geradorNumero;
+    private final Map<String, HistoricoMapeado> historicos = new ConcurrentHashMap<>();
+
+    public RepositorioContaDisco(Path diretorio, RepositorioCliente clientes, RepositorioInvestimento investimentos) {
+        this(diretorio, clientes, investimentos, ArmazemRegistros.PAGINAS_EM_CACHE_PADRAO);
+    }
+
+    public RepositorioContaDisco(Path diretorio, RepositorioCliente clientes, RepositorioInvestimento investimentos,
+                                 int paginasEmCache) {
+        super(diretorio.resolve("contas.dat"), paginasEmCache);
+        this.diretorioHistoricos = diretorio.resolve("historicos");
+        this.clientes = clientes;
+        this.investimentos = investimentos;
+        this.geradorNumero = new GeradorNumeroConta(diretorio.resolve("numeros.properties"));
+    }
+
+    @Override
+    public Conta salvar(Conta conta) {
+        if (conta.getNumero() == null || conta.getNumero().isEmpty()) {
+            conta.setNumero(geradorNumero.proximoNumero(conta.getAgencia()));
+        }
+        String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+        synchronized (trava(chave)) {
+            long versaoAtual = versaoArmazenada(chave);
+            conta.setVersao((versaoAtual >= 0 ? versaoAtual : conta.getVersao()) + 1);
+            vincularHistorico(chave, conta);
+            gravarRegistro(chave, conta);
+        }
+        return conta;
+    }
+
+    @Override
+    public boolean salvarSeVersao(Conta conta, long versaoEsperada, Consumer<Conta> alteracao) {
+        String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+        synchronized (trava(chave)) {
+            if (Math.max(versaoArmazenada(chave), 0L) != versaoEsperada) {
+                return false;
+            }
+            if (alteracao != null) {
+                alteracao.accept(conta);
+            }
+            vincularHistorico(chave, conta);
+            conta.setVersao(versaoEsperada + 1);
+            gravarRegistro(chave, conta);
+            return true;
+        }
+    }
+
+    @Override
+    public <T> Optional<T> lerConta(String agencia, String numero, Function<Conta, T> leitura) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        synchronized (trava(chave)) {
+            Conta conta = obter(chave);
+            return conta != null ? Optional.ofNullable(leitura.apply(conta)) : Optional.empty();
+        }
+    }
+
+    @Override
+    public void reservarNumerosAte(String agencia, long numero) {
+        geradorNumero.reservarAte(agencia, numero);
+    }
+
+    @Override
+    public Optional<Conta> buscarPorNumero(String agencia, String numero) {
+        return Optional.ofNullable(obter(ContaRepository.gerarChave(agencia, numero)));
+    }
+
+    @Override
+    public List<Conta> listarTodas() {
+        return listarRegistros();
+    }
+
+    @Override
+    public boolean excluir(String agencia, String numero) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        synchronized (trava(chave)) {
+            boolean removida = removerRegistro(chave);
+            HistoricoMapeado historico = historicos.remove(chave);
+            if (historico != null) {
+                historico.close();
+            }
+            apagarDiretorio(diretorioHistoricos.resolve(chave));
+            return removida;
+        }
+    }
+
+    @Override
+    public boolean existe(String agencia, String numero) {
+        return contemRegistro(ContaRepository.gerarChave(agencia, numero));
+    }
+
+    @Override
+    public int getTotalContas() {
+        return totalRegistros();
+    }
+
+    @Override
+    public void forcar() {
+        super.forcar();
+        historicos.values().forEach(HistoricoMapeado::forcar);
+    }
+
+    @Override
+    public void close() {
+        historicos.values().forEach(HistoricoMapeado::close);
+        super.close();
+    }
+
+    // ================== CODIFICAÇÃO ==================
+
+    @Override
+    void codificar(DataOutputStream saida, Conta conta) throws IOException {
+        // A versão vem primeiro, em posição fixa (ver versaoArmazenada)
+        saida.writeLong(conta.getVersao());
+        saida.writeUTF(conta.getTipoConta().name());
+        saida.writeUTF(conta.getAgencia());
+        saida.writeUTF(conta.getNumero());
+        saida.writeUTF(conta.getTitular().getCpf());
+        saida.writeUTF(conta.getDataAbertura().toString());
+        saida.writeBoolean(conta.isAtiva());
+        saida.writeUTF(conta.getSaldo().toString());
+        saida.writeBoolean(conta.isSaldoEmCentavos());
+        saida.writeLong(conta.getSequenciaJournal());
+        List<Investimento> vinculados = conta instanceof ContaInvestimento contaInvestimento
+                ? contaInvestimento.getInvestimentos() : List.of();
+        saida.writeInt(vinculados.size());
+        for (Investimento investimento : vinculados) {
+            saida.writeUTF(investimento.getId());
+        }
+    }
+
+    @Override
+    Conta decodificar(String chave, DataInputStream entrada) throws IOException {
+        long versao = entrada.readLong();
+        TipoConta tipo = TipoConta.valueOf(entrada.readUTF());
+        String agencia = entrada.readUTF();
+        String numero = entrada.readUTF();
+        String cpf = entrada.readUTF();
+        LocalDateTime dataAbertura = LocalDateTime.parse(entrada.readUTF());
+        boolean ativa = entrada.readBoolean();
+        BigDecimal saldo = new BigDecimal(entrada.readUTF());
+        boolean saldoEmCentavos = entrada.readBoolean();
+        long sequenciaJournal = entrada.readLong();
+
+        Cliente titular = clientes.buscarPorCpf(cpf)
+                .orElseThrow(() -> new IllegalStateException("Titular da conta " + chave + " não encontrado: " + cpf));
+        Conta conta = ArmazenamentoBanco.novaConta(tipo, agencia, numero, titular);
+        conta.restaurar(saldo, dataAbertura);
+        if (saldoEmCentavos) {
+            conta.usarSaldoEmCentavos();
+        }
+        conta.setAtiva(ativa);
+        conta.setVersao(versao);
+        conta.setSequenciaJournal(sequenciaJournal);
+        int vinculos = entrada.readInt();
+        for (int i = 0; i < vinculos; i++) {
+            String id = entrada.readUTF();
+            investimentos.buscarPorId(id).ifPresent(((ContaInvestimento) conta)::adicionarInvestimento);
+        }
+        vincularHistorico(chave, conta);
+        return conta;
+    }
+
+    // ================== INTERNOS ==================
+
+    /**
+     * Versão gravada da conta ou -1 se não existir
+     */
+    private long versaoArmazenada(String chave) {
+        byte[] dados = lerBruto(chave);
+        return dados != null ? ByteBuffer.wrap(dados).getLong(0) : -1L;
+    }
+
+    /**
+     * Passa o histórico da conta para os arquivos da chave; contas sem transações
+     * só ganham arquivos na primeira gravação com histórico
+     */
+    private void vincularHistorico(String chave, Conta conta) {
+        HistoricoMapeado historico = historicos.get(chave);
+        if (historico == null) {
+            if (conta.getQuantidadeTransacoes() == 0 && !Files.exists(diretorioHistoricos.resolve(chave))) {
+                return;
+            }
+            historico = historicos.computeIfAbsent(chave, c ->
+                    new HistoricoMapeado(diretorioHistoricos.resolve(c), REGISTROS_POR_SEGMENTO_HISTORICO));
+        }
+        if (conta.getArmazenamentoHistorico() != historico) {
+            conta.usarHistorico(historico);
+        }
+    }
+
+    private static void apagarDiretorio(Path diretorio) {
+        if (!Files.exists(diretorio)) {
+            return;
+        }
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            for (Path arquivo : arquivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(arquivo);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível apagar o histórico em " + diretorio, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,384 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.RepositorioConta;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Repository de contas com escrita adiada (write-behind) sobre outro repositório
+ *
+ * salvar e salvarSeVersao confirmam em memória: a versão é controlada na própria
+ * instância da conta, sob o monitor dela, e a conta só é marcada como pendente.
+ * Vários salvamentos da mesma conta dentro da janela viram uma única gravação; a
+ * thread de gravação leva as pendentes ao repositório de destino em lotes, cada
+ * lote em uma transação dele (emTransacao).
+ *
+ * A fila guarda no máximo capacidade contas distintas: quem marca uma conta nova com
+ * a fila cheia espera a gravação abrir espaço. Contas novas (sem número) e exclusões
+ * vão direto ao destino. O repositório de destino reflete o último estado de cada
+ * conta; a consistência entre contas só é garantida depois de descarregar ou close,
+ * também chamado por um gancho de encerramento da JVM.
+ */
+public class RepositorioContaEscritaAdiada implements RepositorioConta, AutoCloseable {
+    public static final long JANELA_PADRAO_MS = 50;
+    public static final int CAPACIDADE_PADRAO = 10_000;
+
+    private final RepositorioConta destino;
+    private final long janelaNanos;
+    private final int capacidade;
+    private final Thread gravador;
+    private final Thread ganchoEncerramento;
+    private final LongAdder salvamentos = new LongAdder();
+    private final LongAdder gravacoes = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder esperasPorEspaco = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    // Protegidos pelo monitor do repositório
+    private final Map<String, Conta> pendentes = new LinkedHashMap<>();
+    private int lotesEmGravacao;
+    private boolean descargaSolicitada;
+    private boolean aberto = true;
+    private volatile RuntimeException ultimaFalha;
+
+    public RepositorioContaEscritaAdiada(RepositorioConta destino) {
+        this(destino, JANELA_PADRAO_MS, CAPACIDADE_PADRAO);
+    }
+
+    public RepositorioContaEscritaAdiada(RepositorioConta destino, long janelaMs, int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser positiva");
+        }
+        this.destino = destino;
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(janelaMs);
+        this.capacidade = capacidade;
+        this.gravador = new Thread(this::gravarContinuamente, "contas-escrita-adiada");
+        this.gravador.setDaemon(true);
+        this.gravador.start();
+        this.ganchoEncerramento = new Thread(this::close, "contas-escrita-adiada-encerramento");
+        Runtime.getRuntime().addShutdownHook(ganchoEncerramento);
+    }
+
+    // ================== ESCRITA ==================
+
+    @Override
+    public Conta salvar(Conta conta) {
+        if (conta.getNumero() == null || conta.getNumero().isEmpty()) {
+            // Conta nova: o destino gera o número
+            return destino.salvar(conta);
+        }
+        synchronized (conta) {
+            conta.setVersao(conta.getVersao() + 1);
+        }
+        marcarPendente(conta);
+        return conta;
+    }
+
+    @Override
+    public boolean salvarSeVersao(Conta conta, long versaoEsperada, Consumer<Conta> alteracao) {
+        synchronized (conta) {
+            if (conta.getVersao() != versaoEsperada) {
+                return false;
+            }
+            if (alteracao != null) {
+                alteracao.accept(conta);
+            }
+            conta.setVersao(versaoEsperada + 1);
+        }
+        marcarPendente(conta);
+        return true;
+    }
+
+    /**
+     * As gravações já são confirmadas em memória; a transação do destino é aberta por lote
+     */
+    @Override
+    public <T> T emTransacao(Supplier<T> operacao) {
+        return operacao.get();
+    }
+
+    @Override
+    public void reservarNumerosAte(String agencia, long numero) {
+        destino.reservarNumerosAte(agencia, numero);
+    }
+
+    @Override
+    public boolean excluir(String agencia, String numero) {
+        // Uma gravação em andamento não pode recriar a conta depois da exclusão
+        descarregar();
+        return destino.excluir(agencia, numero);
+    }
+
+    /**
+     * Marca a conta para gravação; com a fila cheia, espera até haver espaço
+     * (fora do monitor da conta, que a thread de gravação precisa)
+     */
+    private void marcarPendente(Conta conta) {
+        String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+        synchronized (this) {
+            if (!aberto) {
+                throw new IllegalStateException("Repositório com escrita adiada encerrado");
+            }
+            salvamentos.increment();
+            if (pendentes.containsKey(chave)) {
+                return;
+            }
+            boolean interrompida = false;
+            if (pendentes.size() >= capacidade) {
+                esperasPorEspaco.increment();
+                notifyAll();
+                while (pendentes.size() >= capacidade && aberto && !interrompida) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // A alteração já foi aplicada: a conta entra na fila mesmo acima do limite
+                        interrompida = true;
+                    }
+                }
+            }
+            pendentes.put(chave, conta);
+            if (pendentes.size() >= capacidade / 2) {
+                notifyAll();
+            }
+            if (interrompida) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Grava no destino tudo o que estiver pendente e espera as gravações em andamento
+     */
+    public void descarregar() {
+        synchronized (this) {
+            long falhasAntes = falhas.sum();
+            descargaSolicitada = true;
+            notifyAll();
+            while ((!pendentes.isEmpty() || lotesEmGravacao > 0) && gravador.isAlive()) {
+                if (falhas.sum() != falhasAntes) {
+                    throw new IllegalStateException("Falha ao gravar contas pendentes", ultimaFalha);
+                }
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // ================== LEITURA ==================
+
+    @Override
+    public <T> Optional<T> lerConta(String agencia, String numero, Function<Conta, T> leitura) {
+        return buscarPorNumero(agencia, numero).flatMap(conta -> {
+            synchronized (conta) {
+                return Optional.ofNullable(leitura.apply(conta));
+            }
+        });
+    }
+
+    @Override
+    public Optional<Conta> buscarPorNumero(String agencia, String numero) {
+        Conta pendente;
+        synchronized (this) {
+            pendente = pendentes.get(ContaRepository.gerarChave(agencia, numero));
+        }
+        return pendente != null ? Optional.of(pendente) : destino.buscarPorNumero(agencia, numero);
+    }
+
+    @Override
+    public List<Conta> listarTodas() {
+        return destino.listarTodas();
+    }
+
+    @Override
+    public List<Conta> buscarPorTitular(Cliente titular) {
+        return destino.buscarPorTitular(titular);
+    }
+
+    @Override
+    public List<Conta> buscarPorCpf(String cpf) {
+        return destino.buscarPorCpf(cpf);
+    }
+
+    @Override
+    public boolean existe(String agencia, String numero) {
+        return buscarPorNumero(agencia, numero).isPresent();
+    }
+
+    @Override
+    public int getTotalContas() {
+        return destino.getTotalContas();
+    }
+
+    // ================== GRAVAÇÃO ==================
+
+    private void gravarContinuamente() {
+        while (true) {
+            List<Conta> lote;
+            synchronized (this) {
+                try {
+                    while (aberto && pendentes.isEmpty()) {
+                        wait();
+                    }
+                    // Janela de coalescência: salvamentos da mesma conta viram uma gravação
+                    long limite = System.nanoTime() + janelaNanos;
+                    long restante = janelaNanos;
+                    while (aberto && !descargaSolicitada && pendentes.size() < capacidade / 2 && restante > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(this, restante);
+                        restante = limite - System.nanoTime();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (pendentes.isEmpty()) {
+                    if (!aberto) {
+                        return;
+                    }
+                    continue;
+                }
+                lote = new ArrayList<>(pendentes.values());
+                pendentes.clear();
+                descargaSolicitada = false;
+                lotesEmGravacao++;
+                notifyAll();
+            }
+            boolean gravado = false;
+            try {
+                gravarLote(lote);
+                gravado = true;
+            } catch (RuntimeException e) {
+                ultimaFalha = e;
+                falhas.increment();
+                System.err.println("Erro ao gravar contas pendentes: " + e.getMessage());
+            } finally {
+                synchronized (this) {
+                    if (!gravado) {
+                        // Volta para a fila, sem substituir marcações mais novas
+                        for (Conta conta : lote) {
+                            pendentes.putIfAbsent(ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero()),
+                                                  conta);
+                        }
+                    }
+                    lotesEmGravacao--;
+                    notifyAll();
+                    if (!gravado && !aberto) {
+                        // Encerrando com o destino falhando: desiste em vez de repetir para sempre
+                        return;
+                    }
+                }
+            }
+            if (!gravado) {
+                esperar(janelaNanos);
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em uma transação do destino. A versão da conta é controlada aqui,
+     * então a que o destino atribuir na gravação é descartada.
+     */
+    private void gravarLote(List<Conta> lote) {
+        destino.emTransacao(() -> {
+            for (Conta conta : lote) {
+                synchronized (conta) {
+                    long versao = conta.getVersao();
+                    destino.salvar(conta);
+                    conta.setVersao(versao);
+                }
+            }
+            return null;
+        });
+        gravacoes.add(lote.size());
+        lotes.increment();
+    }
+
+    private void esperar(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(Math.max(nanos, TimeUnit.MILLISECONDS.toNanos(1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encerra a thread de gravação depois de gravar tudo o que estiver pendente
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!aberto) {
+                return;
+            }
+            aberto = false;
+            notifyAll();
+        }
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Thread.currentThread() != ganchoEncerramento) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(ganchoEncerramento);
+            } catch (IllegalStateException e) {
+                // JVM já em encerramento: o gancho está rodando ou já rodou
+            }
+        }
+        synchronized (this) {
+            if (!pendentes.isEmpty()) {
+                throw new IllegalStateException(pendentes.size() + " contas pendentes não foram gravadas",
+                                                ultimaFalha);
+            }
+        }
+    }
+
+    // ================== MÉTRICAS ==================
+
+    public RepositorioConta getDestino() {
+        return destino;
+    }
+
+    /**
+     * Salvamentos confirmados em memória
+     */
+    public long getSalvamentos() {
+        return salvamentos.sum();
+    }
+
+    /**
+     * Contas efetivamente gravadas no destino (salvamentos menos os coalescidos)
+     */
+    public long getGravacoes() {
+        return gravacoes.sum();
+    }
+
+    public long getLotes() {
+        return lotes.sum();
+    }
+
+    public long getEsperasPorEspaco() {
+        return esperasPorEspaco.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    public synchronized int getQuantidadePendentes() {
+        return pendentes.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,303 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaInvestimento;
+import com.nttdata.banco.model.HistoricoTransacoes;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.model.Transacao;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.GeradorNumeroConta;
+import com.nttdata.banco.repository.RepositorioCliente;
+import com.nttdata.banco.repository.RepositorioConta;
+import com.nttdata.banco.repository.RepositorioInvestimento;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Repository de contas nas tabelas contas e transacoes do BancoDadosJdbc
+ *
+ * A versão e a quantidade de transações já gravadas de cada conta ficam em memória
+ * (o arquivo do banco embutido pertence a um único processo), então o compare-and-set
+ * de salvarSeVersao não consulta o banco. Cada salvar grava a linha da conta e só as
+ * transações novas do histórico, tudo no lote da transação atual.
+ *
+ * emTransacao agrupa as gravações dos três repositórios JDBC que usam o mesmo banco em
+ * uma única transação; se ela for desfeita, as contas envolvidas são relidas do banco
+ * na próxima busca.
+ */
+public class RepositorioContaJdbc implements RepositorioConta {
+    private static final BancoDadosJdbc.Tabela CONTAS = new BancoDadosJdbc.Tabela("contas", "chave",
+            "tipo", "agencia", "numero", "cpf_titular", "data_abertura", "ativa", "saldo", "saldo_em_centavos",
+            "versao", "sequencia_journal", "investimentos");
+    private static final String SELECAO = "SELECT chave, tipo, agencia, numero, cpf_titular, data_abertura, ativa, "
+            + "saldo, saldo_em_centavos, versao, sequencia_journal, investimentos FROM contas";
+    private static final String INSERIR_TRANSACAO = "INSERT INTO transacoes (chave_conta, sequencia, id, tipo, valor, "
+            + "data_hora, descricao, conta_origem, conta_destino, sucesso, observacoes, id_correlacao) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final BancoDadosJdbc banco;
+    private final RepositorioCliente clientes;
+    private final RepositorioInvestimento investimentos;
+    private final GeradorNumeroConta geradorNumero;
+    private final MapaIdentidade<Conta> identidade = new MapaIdentidade<>();
+    // {versão, transações gravadas} das contas já lidas ou gravadas
+    private final Map<String, long[]> estados = new ConcurrentHashMap<>();
+
+    public RepositorioContaJdbc(BancoDadosJdbc banco, RepositorioCliente clientes,
+                                RepositorioInvestimento investimentos) {
+        this(banco, clientes, investimentos, new GeradorNumeroConta());
+    }
+
+    public RepositorioContaJdbc(BancoDadosJdbc banco, RepositorioCliente clientes,
+                                RepositorioInvestimento investimentos, GeradorNumeroConta geradorNumero) {
+        this.banco = banco;
+        this.clientes = clientes;
+        this.investimentos = investimentos;
+        this.geradorNumero = geradorNumero;
+    }
+
+    @Override
+    public <T> T emTransacao(Supplier<T> operacao) {
+        return banco.emTransacao(operacao);
+    }
+
+    @Override
+    public Conta salvar(Conta conta) {
+        if (conta.getNumero() == null || conta.getNumero().isEmpty()) {
+            conta.setNumero(geradorNumero.proximoNumero(conta.getAgencia()));
+        }
+        String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+        return banco.emTransacao(() -> {
+            synchronized (identidade.trava(chave)) {
+                long[] estado = estado(chave);
+                conta.setVersao((estado != null ? estado[0] : conta.getVersao()) + 1);
+                gravar(chave, conta, estado);
+                return conta;
+            }
+        });
+    }
+
+    @Override
+    public boolean salvarSeVersao(Conta conta, long versaoEsperada, Consumer<Conta> alteracao) {
+        String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+        return banco.emTransacao(() -> {
+            synchronized (identidade.trava(chave)) {
+                long[] estado = estado(chave);
+                if ((estado != null ? estado[0] : 0L) != versaoEsperada) {
+                    return false;
+                }
+                if (alteracao != null) {
+                    alteracao.accept(conta);
+                }
+                conta.setVersao(versaoEsperada + 1);
+                gravar(chave, conta, estado);
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public <T> Optional<T> lerConta(String agencia, String numero, Function<Conta, T> leitura) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return banco.emTransacao(() -> {
+            synchronized (identidade.trava(chave)) {
+                Conta conta = obter(chave);
+                return conta != null ? Optional.ofNullable(leitura.apply(conta)) : Optional.empty();
+            }
+        });
+    }
+
+    @Override
+    public void reservarNumerosAte(String agencia, long numero) {
+        geradorNumero.reservarAte(agencia, numero);
+    }
+
+    @Override
+    public Optional<Conta> buscarPorNumero(String agencia, String numero) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return Optional.ofNullable(banco.emTransacao(() -> obter(chave)));
+    }
+
+    @Override
+    public List<Conta> listarTodas() {
+        return selecionar(SELECAO);
+    }
+
+    @Override
+    public List<Conta> buscarPorCpf(String cpf) {
+        return selecionar(SELECAO + " WHERE cpf_titular = ?", cpf);
+    }
+
+    @Override
+    public List<Conta> buscarPorTitular(Cliente titular) {
+        return buscarPorCpf(titular.getCpf());
+    }
+
+    @Override
+    public List<Conta> listarAtivas() {
+        return selecionar(SELECAO + " WHERE ativa = ?", true);
+    }
+
+    @Override
+    public boolean excluir(String agencia, String numero) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return banco.emTransacao(() -> {
+            synchronized (identidade.trava(chave)) {
+                identidade.remover(chave);
+                estados.remove(chave);
+                banco.executar("DELETE FROM transacoes WHERE chave_conta = ?", chave);
+                return banco.executar("DELETE FROM contas WHERE chave = ?", chave) > 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean existe(String agencia, String numero) {
+        return banco.contar("SELECT COUNT(*) FROM contas WHERE chave = ?",
+                            ContaRepository.gerarChave(agencia, numero)) > 0;
+    }
+
+    @Override
+    public int getTotalContas() {
+        return (int) banco.contar("SELECT COUNT(*) FROM contas");
+    }
+
+    @Override
+    public int getTotalContasAtivas() {
+        return (int) banco.contar("SELECT COUNT(*) FROM contas WHERE ativa = ?", true);
+    }
+
+    // ================== GRAVAÇÃO ==================
+
+    private void gravar(String chave, Conta conta, long[] estado) {
+        String vinculados = conta instanceof ContaInvestimento contaInvestimento
+                ? contaInvestimento.getInvestimentos().stream().map(Investimento::getId).collect(Collectors.joining(","))
+                : "";
+        banco.gravar(CONTAS, chave, conta.getTipoConta().name(), conta.getAgencia(), conta.getNumero(),
+                     conta.getTitular().getCpf(), conta.getDataAbertura().toString(), conta.isAtiva(),
+                     conta.getSaldo(), conta.isSaldoEmCentavos(), conta.getVersao(),
+                     conta.getSequenciaJournal(), vinculados);
+
+        // Só as transações acrescentadas desde a última gravação
+        HistoricoTransacoes historico = conta.getArmazenamentoHistorico();
+        long gravadas = estado != null ? estado[1] : 0L;
+        long quantidade = historico.getQuantidade();
+        for (long i = gravadas; i < quantidade; i++) {
+            Transacao t = historico.obter(i);
+            banco.inserir(INSERIR_TRANSACAO, chave, i, t.getId(), t.getTipo().name(), t.getValor(),
+                          t.getDataHora().toString(), t.getDescricao(), t.getContaOrigem(), t.getContaDestino(),
+                          t.isSucesso(), t.getObservacoes(), t.getIdCorrelacao());
+        }
+        estados.put(chave, new long[] {conta.getVersao(), Math.max(gravadas, quantidade)});
+        identidade.registrar(chave, conta);
+        banco.aoDesfazer(() -> {
+            identidade.remover(chave);
+            estados.remove(chave);
+        });
+    }
+
+    /**
+     * Versão e transações gravadas da conta, lendo a conta do banco se ainda não conhecida
+     */
+    private long[] estado(String chave) {
+        long[] estado = estados.get(chave);
+        if (estado == null && obter(chave) != null) {
+            estado = estados.get(chave);
+        }
+        return estado;
+    }
+
+    // ================== LEITURA ==================
+
+    private Conta obter(String chave) {
+        return identidade.obter(chave, () -> {
+            List<LinhaConta> linhas = banco.consultar(SELECAO + " WHERE chave = ?", LinhaConta::new, chave);
+            return linhas.isEmpty() ? null : montar(linhas.get(0));
+        });
+    }
+
+    private List<Conta> selecionar(String sql, Object... parametros) {
+        return banco.emTransacao(() -> banco.consultar(sql, LinhaConta::new, parametros).stream()
+                .map(linha -> identidade.obter(linha.chave, () -> montar(linha)))
+                .toList());
+    }
+
+    private Conta montar(LinhaConta linha) {
+        Cliente titular = clientes.buscarPorCpf(linha.cpfTitular).orElseThrow(() ->
+                new IllegalStateException("Titular da conta " + linha.chave + " não encontrado: " + linha.cpfTitular));
+        Conta conta = ArmazenamentoBanco.novaConta(linha.tipo, linha.agencia, linha.numero, titular);
+        conta.restaurar(linha.saldo, linha.dataAbertura);
+        if (linha.saldoEmCentavos) {
+            conta.usarSaldoEmCentavos();
+        }
+        conta.setAtiva(linha.ativa);
+        conta.setVersao(linha.versao);
+        conta.setSequenciaJournal(linha.sequenciaJournal);
+        if (linha.investimentos != null && !linha.investimentos.isEmpty()) {
+            for (String id : linha.investimentos.split(",")) {
+                investimentos.buscarPorId(id).ifPresent(((ContaInvestimento) conta)::adicionarInvestimento);
+            }
+        }
+        List<Transacao> historico = banco.consultar(
+                "SELECT id, tipo, valor, data_hora, descricao, conta_origem, conta_destino, sucesso, observacoes, "
+                        + "id_correlacao FROM transacoes WHERE chave_conta = ? ORDER BY sequencia",
+                RepositorioContaJdbc::lerTransacao, linha.chave);
+        conta.adicionarTransacoes(historico);
+        estados.put(linha.chave, new long[] {linha.versao, historico.size()});
+        return conta;
+    }
+
+    private static Transacao lerTransacao(ResultSet linha) throws SQLException {
+        return new Transacao(linha.getString("id"), TipoTransacao.valueOf(linha.getString("tipo")),
+                             linha.getBigDecimal("valor"), LocalDateTime.parse(linha.getString("data_hora")),
+                             linha.getString("descricao"), linha.getString("conta_origem"),
+                             linha.getString("conta_destino"), linha.getBoolean("sucesso"),
+                             linha.getString("observacoes"), linha.getString("id_correlacao"));
+    }
+
+    /**
+     * Colunas da conta copiadas do ResultSet antes de montar o objeto
+     */
+    private static final class LinhaConta {
+        private final String chave;
+        private final TipoConta tipo;
+        private final String agencia;
+        private final String numero;
+        private final String cpfTitular;
+        private final LocalDateTime dataAbertura;
+        private final boolean ativa;
+        private final BigDecimal saldo;
+        private final boolean saldoEmCentavos;
+        private final long versao;
+        private final long sequenciaJournal;
+        private final String investimentos;
+
+        LinhaConta(ResultSet linha) throws SQLException {
+            this.chave = linha.getString("chave");
+            this.tipo = TipoConta.valueOf(linha.getString("tipo"));
+            this.agencia = linha.getString("agencia");
+            this.numero = linha.getString("numero");
+            this.cpfTitular = linha.getString("cpf_titular");
+            this.dataAbertura = LocalDateTime.parse(linha.getString("data_abertura"));
+            this.ativa = linha.getBoolean("ativa");
+            this.saldo = linha.getBigDecimal("saldo");
+            this.saldoEmCentavos = linha.getBoolean("saldo_em_centavos");
+            this.versao = linha.getLong("versao");
+            this.sequenciaJournal = linha.getLong("sequencia_journal");
+            this.investimentos = linha.getString("investimentos");
+        }
+    }
+}
\ No newline at end of file
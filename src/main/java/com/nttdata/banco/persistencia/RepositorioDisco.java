@@ -0,0 +1,121 @@
+package com.nttdata.banco.persistencia;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base dos repositórios em disco: registros no ArmazemRegistros e mapa de identidade
+ *
+ * Enquanto alguém mantiver a referência de um objeto, buscas pela mesma chave devolvem a
+ * mesma instância (ver MapaIdentidade); alterações só são garantidas depois de salvar.
+ */
+abstract class RepositorioDisco<T> implements AutoCloseable {
+    private final ArmazemRegistros armazem;
+    private final MapaIdentidade<T> identidade = new MapaIdentidade<>();
+
+    RepositorioDisco(Path arquivo, int paginasEmCache) {
+        this.armazem = new ArmazemRegistros(arquivo, paginasEmCache);
+    }
+
+    abstract void codificar(DataOutputStream saida, T objeto) throws IOException;
+
+    abstract T decodificar(String chave, DataInputStream entrada) throws IOException;
+
+    // ================== REGISTROS ==================
+
+    final Object trava(String chave) {
+        return identidade.trava(chave);
+    }
+
+    /**
+     * Instância viva da chave ou, se não houver, o registro decodificado do disco
+     */
+    final T obter(String chave) {
+        return identidade.obter(chave, () -> {
+            byte[] dados = armazem.ler(chave);
+            if (dados == null) {
+                return null;
+            }
+            try {
+                return decodificar(chave, new DataInputStream(new ByteArrayInputStream(dados)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Registro ilegível: " + chave, e);
+            }
+        });
+    }
+
+    /**
+     * Grava o objeto; deve ser chamado sob a trava da chave
+     */
+    final void gravarRegistro(String chave, T objeto) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            codificar(saida, objeto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        armazem.gravar(chave, bytes.toByteArray());
+        identidade.registrar(chave, objeto);
+    }
+
+    final byte[] lerBruto(String chave) {
+        return armazem.ler(chave);
+    }
+
+    final boolean removerRegistro(String chave) {
+        synchronized (trava(chave)) {
+            identidade.remover(chave);
+            return armazem.remover(chave);
+        }
+    }
+
+    final List<T> listarRegistros() {
+        List<String> chaves = armazem.chaves();
+        List<T> objetos = new ArrayList<>(chaves.size());
+        for (String chave : chaves) {
+            T objeto = obter(chave);
+            if (objeto != null) {
+                objetos.add(objeto);
+            }
+        }
+        return objetos;
+    }
+
+    final boolean contemRegistro(String chave) {
+        return armazem.contem(chave);
+    }
+
+    final int totalRegistros() {
+        return armazem.getTamanho();
+    }
+
+    void limparRegistros() {
+        synchronized (armazem) {
+            identidade.limpar();
+            armazem.limpar();
+        }
+    }
+
+    public ArmazemRegistros getArmazem() {
+        return armazem;
+    }
+
+    /**
+     * Grava em disco os registros pendentes no cache do sistema operacional
+     */
+    public void forcar() {
+        armazem.forcar();
+    }
+
+    @Override
+    public void close() {
+        armazem.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.repository.RepositorioInvestimento;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository de investimentos gravado em disco (arquivo investimentos.dat do diretório)
+ */
+public class RepositorioInvestimentoDisco extends RepositorioDisco<Investimento> implements RepositorioInvestimento {
+
+    public RepositorioInvestimentoDisco(Path diretorio) {
+        this(diretorio, ArmazemRegistros.PAGINAS_EM_CACHE_PADRAO);
+    }
+
+    public RepositorioInvestimentoDisco(Path diretorio, int paginasEmCache) {
+        super(diretorio.resolve("investimentos.dat"), paginasEmCache);
+    }
+
+    @Override
+    public Investimento salvar(Investimento investimento) {
+        synchronized (trava(investimento.getId())) {
+            gravarRegistro(investimento.getId(), investimento);
+        }
+        return investimento;
+    }
+
+    @Override
+    public Optional<Investimento> buscarPorId(String id) {
+        return Optional.ofNullable(obter(id));
+    }
+
+    @Override
+    public List<Investimento> listarTodos() {
+        return listarRegistros();
+    }
+
+    @Override
+    public boolean excluir(String id) {
+        return removerRegistro(id);
+    }
+
+    @Override
+    public boolean existe(String id) {
+        return contemRegistro(id);
+    }
+
+    @Override
+    public int getTotalInvestimentos() {
+        return totalRegistros();
+    }
+
+    @Override
+    public void limpar() {
+        limparRegistros();
+    }
+
+    @Override
+    void codificar(DataOutputStream saida, Investimento investimento) throws IOException {
+        CodecPersistencia.escreverInvestimento(saida, investimento);
+    }
+
+    @Override
+    Investimento decodificar(String chave, DataInputStream entrada) throws IOException {
+        return CodecPersistencia.lerInvestimento(entrada);
+    }
+}
\ No newline at end of file
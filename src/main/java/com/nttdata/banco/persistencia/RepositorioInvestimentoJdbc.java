@@ -0,0 +1,116 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.repository.RepositorioInvestimento;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository de investimentos na tabela investimentos do BancoDadosJdbc
+ * As buscas por titular e por vencimento usam os índices dessas colunas
+ */
+public class RepositorioInvestimentoJdbc implements RepositorioInvestimento {
+    private static final BancoDadosJdbc.Tabela INVESTIMENTOS = new BancoDadosJdbc.Tabela("investimentos", "id",
+            "tipo", "valor", "titular", "data_aplicacao", "data_vencimento", "ativo", "observacoes");
+    private static final String SELECAO = "SELECT id, tipo, valor, titular, data_aplicacao, data_vencimento, ativo, "
+            + "observacoes FROM investimentos";
+
+    private final BancoDadosJdbc banco;
+    private final MapaIdentidade<Investimento> identidade = new MapaIdentidade<>();
+
+    public RepositorioInvestimentoJdbc(BancoDadosJdbc banco) {
+        this.banco = banco;
+    }
+
+    @Override
+    public Investimento salvar(Investimento investimento) {
+        String id = investimento.getId();
+        return banco.emTransacao(() -> {
+            synchronized (identidade.trava(id)) {
+                banco.gravar(INVESTIMENTOS, id, investimento.getTipo().name(), investimento.getValor(),
+                             investimento.getTitular(), investimento.getDataAplicacao().toString(),
+                             investimento.getDataVencimento().toString(), investimento.isAtivo(),
+                             investimento.getObservacoes());
+                identidade.registrar(id, investimento);
+                banco.aoDesfazer(() -> identidade.remover(id));
+                return investimento;
+            }
+        });
+    }
+
+    @Override
+    public Optional<Investimento> buscarPorId(String id) {
+        return Optional.ofNullable(banco.emTransacao(() -> identidade.obter(id, () -> {
+            List<Investimento> lidos = banco.consultar(SELECAO + " WHERE id = ?", RepositorioInvestimentoJdbc::ler, id);
+            return lidos.isEmpty() ? null : lidos.get(0);
+        })));
+    }
+
+    @Override
+    public List<Investimento> listarTodos() {
+        return selecionar(SELECAO);
+    }
+
+    @Override
+    public List<Investimento> buscarPorTitular(String titular) {
+        return selecionar(SELECAO + " WHERE titular = ?", titular);
+    }
+
+    @Override
+    public List<Investimento> buscarVencendoEm(int dias) {
+        // Datas em texto ISO: a ordem do texto é a ordem das datas
+        return selecionar(SELECAO + " WHERE ativo = ? AND data_vencimento <= ?", true,
+                          LocalDate.now().plusDays(dias).toString());
+    }
+
+    @Override
+    public List<Investimento> buscarVencidos() {
+        return selecionar(SELECAO + " WHERE ativo = ? AND data_vencimento < ?", true, LocalDate.now().toString());
+    }
+
+    @Override
+    public boolean excluir(String id) {
+        return banco.emTransacao(() -> {
+            synchronized (identidade.trava(id)) {
+                identidade.remover(id);
+                return banco.executar("DELETE FROM investimentos WHERE id = ?", id) > 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean existe(String id) {
+        return banco.contar("SELECT COUNT(*) FROM investimentos WHERE id = ?", id) > 0;
+    }
+
+    @Override
+    public int getTotalInvestimentos() {
+        return (int) banco.contar("SELECT COUNT(*) FROM investimentos");
+    }
+
+    @Override
+    public void limpar() {
+        banco.emTransacao(() -> {
+            identidade.limpar();
+            return banco.executar("DELETE FROM investimentos");
+        });
+    }
+
+    private List<Investimento> selecionar(String sql, Object... parametros) {
+        return banco.emTransacao(() -> banco.consultar(sql, RepositorioInvestimentoJdbc::ler, parametros).stream()
+                .map(lido -> identidade.obter(lido.getId(), () -> lido))
+                .toList());
+    }
+
+    private static Investimento ler(ResultSet linha) throws SQLException {
+        return new Investimento(linha.getString("id"), TipoInvestimento.valueOf(linha.getString("tipo")),
+                                linha.getBigDecimal("valor"), linha.getString("titular"),
+                                LocalDate.parse(linha.getString("data_aplicacao")),
+                                LocalDate.parse(linha.getString("data_vencimento")),
+                                linha.getBoolean("ativo"), linha.getString("observacoes"));
+    }
+}
\ No newline at end of file
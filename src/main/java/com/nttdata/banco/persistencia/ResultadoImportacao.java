@@ -0,0 +1,87 @@
+package com.nttdata.banco.persistencia;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resultado de uma importação em massa: registros importados por tipo, registros
+ * recusados na validação e as primeiras mensagens de erro (com a linha de cada um)
+ */
+public class ResultadoImportacao {
+    public static final int MAXIMO_ERROS_GUARDADOS = 100;
+
+    private final LongAdder clientes = new LongAdder();
+    private final LongAdder contas = new LongAdder();
+    private final LongAdder investimentos = new LongAdder();
+    private final LongAdder recusados = new LongAdder();
+    private final List<String> erros = new ArrayList<>();
+    private volatile long duracaoNanos;
+
+    void contar(LayoutDados.Registro registro) {
+        switch (registro) {
+            case CLIENTE -> clientes.increment();
+            case CONTA -> contas.increment();
+            case INVESTIMENTO -> investimentos.increment();
+        }
+    }
+
+    void recusar(long linha, String motivo) {
+        recusados.increment();
+        synchronized (erros) {
+            if (erros.size() < MAXIMO_ERROS_GUARDADOS) {
+                erros.add("Linha " + linha + ": " + motivo);
+            }
+        }
+    }
+
+    void concluir(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    public long getClientes() {
+        return clientes.sum();
+    }
+
+    public long getContas() {
+        return contas.sum();
+    }
+
+    public long getInvestimentos() {
+        return investimentos.sum();
+    }
+
+    public long getImportados() {
+        return getClientes() + getContas() + getInvestimentos();
+    }
+
+    public long getRecusados() {
+        return recusados.sum();
+    }
+
+    /**
+     * Até MAXIMO_ERROS_GUARDADOS mensagens, na ordem em que os lotes terminaram
+     */
+    public List<String> getErros() {
+        synchronized (erros) {
+            return List.copyOf(erros);
+        }
+    }
+
+    public long getDuracaoNanos() {
+        return duracaoNanos;
+    }
+
+    /**
+     * Registros lidos (importados e recusados) por minuto
+     */
+    public double getRegistrosPorMinuto() {
+        return duracaoNanos == 0 ? 0 : (getImportados() + getRecusados()) * 60e9 / duracaoNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Importação: %d clientes, %d contas, %d investimentos, %d recusados (%.0f registros/min)",
+                             getClientes(), getContas(), getInvestimentos(), getRecusados(), getRegistrosPorMinuto());
+    }
+}
\ No newline at end of file
@@ -2,20 +2,20 @@ package com.nttdata.banco.repository;
 
 import com.nttdata.banco.model.Cliente;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Repository para gerenciar os clientes
  * Simula um banco de dados em memória
  */
-public class ClienteRepository {
+public class ClienteRepository implements RepositorioCliente {
     private final Map<String, Cliente> clientes;
 
     public ClienteRepository() {
-        this.clientes = new HashMap<>();
+        this.clientes = new ConcurrentHashMap<>();
     }
 
     public Cliente salvar(Cliente cliente) {
@@ -3,34 +3,96 @@ package com.nttdata.banco.repository;
 import com.nttdata.banco.model.Conta;
 import com.nttdata.banco.model.Cliente;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Repository para gerenciar as contas
  * Simula um banco de dados em memória
  */
-public class ContaRepository {
+public class ContaRepository implements RepositorioConta {
     private final Map<String, Conta> contas;
-    private int proximoNumero;
+    private final GeradorNumeroConta geradorNumero;
 
     public ContaRepository() {
-        this.contas = new HashMap<>();
-        this.proximoNumero = 1001;
+        this(new GeradorNumeroConta());
+    }
+
+    public ContaRepository(GeradorNumeroConta geradorNumero) {
+        this.contas = new ConcurrentHashMap<>();
+        this.geradorNumero = geradorNumero;
     }
 
     public Conta salvar(Conta conta) {
         if (conta.getNumero() == null || conta.getNumero().isEmpty()) {
-            conta.setNumero(gerarNumero());
+            conta.setNumero(gerarNumero(conta.getAgencia()));
         }
         
         String chave = gerarChave(conta.getAgencia(), conta.getNumero());
-        contas.put(chave, conta);
+        contas.compute(chave, (k, atual) -> {
+            long versaoAtual = atual != null ? atual.getVersao() : conta.getVersao();
+            conta.setVersao(versaoAtual + 1);
+            return conta;
+        });
         return conta;
     }
 
+    /**
+     * Grava a conta somente se a versão armazenada ainda for a esperada (compare-and-set).
+     * Retorna false em caso de conflito, sem alterar o repositório.
+     */
+    public boolean salvarSeVersao(Conta conta, long versaoEsperada) {
+        return salvarSeVersao(conta, versaoEsperada, null);
+    }
+
+    /**
+     * Como salvarSeVersao, mas aplica a alteração na conta antes de gravar, de forma
+     * atômica com a verificação da versão. Em caso de conflito a alteração não é aplicada,
+     * então quem chama pode buscar a conta de novo e repetir com segurança.
+     * A alteração não deve acessar este repositório.
+     */
+    public boolean salvarSeVersao(Conta conta, long versaoEsperada, Consumer<Conta> alteracao) {
+        String chave = gerarChave(conta.getAgencia(), conta.getNumero());
+        boolean[] gravou = new boolean[1];
+        contas.compute(chave, (k, atual) -> {
+            long versaoAtual = atual != null ? atual.getVersao() : 0L;
+            if (versaoAtual != versaoEsperada) {
+                return atual;
+            }
+            if (alteracao != null) {
+                alteracao.accept(conta);
+            }
+            conta.setVersao(versaoEsperada + 1);
+            gravou[0] = true;
+            return conta;
+        });
+        return gravou[0];
+    }
+
+    /**
+     * Lê a conta de forma atômica com as gravações do repositório (inclusive salvarSeVersao).
+     * A leitura não deve acessar este repositório.
+     */
+    public <T> Optional<T> lerConta(String agencia, String numero, Function<Conta, T> leitura) {
+        String chave = gerarChave(agencia, numero);
+        Object[] resultado = new Object[1];
+        contas.computeIfPresent(chave, (k, conta) -> {
+            resultado[0] = leitura.apply(conta);
+            return conta;
+        });
+        @SuppressWarnings("unchecked")
+        T valor = (T) resultado[0];
+        return Optional.ofNullable(valor);
+    }
+
+    public void reservarNumerosAte(String agencia, long numero) {
+        geradorNumero.reservarAte(agencia, numero);
+    }
+
     public Optional<Conta> buscarPorNumero(String agencia, String numero) {
         String chave = gerarChave(agencia, numero);
         return Optional.ofNullable(contas.get(chave));
@@ -76,11 +138,11 @@ public class ContaRepository {
         return (int) contas.values().stream().filter(Conta::isAtiva).count();
     }
 
-    private String gerarNumero() {
-        return String.format("%06d", proximoNumero++);
+    private String gerarNumero(String agencia) {
+        return geradorNumero.proximoNumero(agencia);
     }
 
-    private String gerarChave(String agencia, String numero) {
+    public static String gerarChave(String agencia, String numero) {
         return agencia + "-" + numero;
     }
 }
\ No newline at end of file
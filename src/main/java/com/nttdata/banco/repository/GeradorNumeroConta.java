@@ -0,0 +1,194 @@
+package com.nttdata.banco.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Gerador de números de conta por agência com reserva de blocos (hi/lo)
+ *
+ * Cada agência tem sua própria sequência. O gerador reserva um bloco de números
+ * de uma vez, grava a nova marca d'água (o próximo número ainda não reservado)
+ * e só então entrega os números do bloco, sem travas, por incremento atômico.
+ * Se o processo cair, os números não usados do bloco são pulados, nunca reutilizados.
+ *
+ * Quando há arquivo de marcas, a reserva é protegida por FileLock, então várias
+ * instâncias (no mesmo processo ou em processos diferentes) podem usar o mesmo
+ * arquivo sem gerar números repetidos.
+ */
+public class GeradorNumeroConta {
+    public static final long PRIMEIRO_NUMERO_PADRAO = 1001;
+    public static final int TAMANHO_BLOCO_PADRAO = 100;
+
+    // FileLock é por processo: instâncias da mesma JVM também precisam se coordenar entre si
+    private static final Map<Path, Object> TRAVAS_ARQUIVO = new ConcurrentHashMap<>();
+
+    private final Path arquivoMarcas;
+    private final long primeiroNumero;
+    private final int tamanhoBloco;
+    private final Map<String, Sequencia> sequencias = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> marcasEmMemoria = new ConcurrentHashMap<>();
+
+    /**
+     * Gerador somente em memória (a sequência recomeça a cada execução)
+     */
+    public GeradorNumeroConta() {
+        this(null, PRIMEIRO_NUMERO_PADRAO, TAMANHO_BLOCO_PADRAO);
+    }
+
+    public GeradorNumeroConta(Path arquivoMarcas) {
+        this(arquivoMarcas, PRIMEIRO_NUMERO_PADRAO, TAMANHO_BLOCO_PADRAO);
+    }
+
+    public GeradorNumeroConta(Path arquivoMarcas, long primeiroNumero, int tamanhoBloco) {
+        if (primeiroNumero < 0 || tamanhoBloco <= 0) {
+            throw new IllegalArgumentException("Primeiro número e tamanho do bloco inválidos");
+        }
+        this.arquivoMarcas = arquivoMarcas != null ? arquivoMarcas.toAbsolutePath().normalize() : null;
+        this.primeiroNumero = primeiroNumero;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    public String proximoNumero(String agencia) {
+        String chave = agencia != null ? agencia : "";
+        return formatar(sequencias.computeIfAbsent(chave, Sequencia::new).proximo());
+    }
+
+    /**
+     * Garante que os próximos números gerados para a agência sejam maiores que numero
+     * (contas gravadas com número vindo de fora, como em uma importação). Não deve
+     * concorrer com a geração de números da mesma agência.
+     */
+    public void reservarAte(String agencia, long numero) {
+        String chave = agencia != null ? agencia : "";
+        sequencias.computeIfAbsent(chave, Sequencia::new).reservarAte(numero);
+    }
+
+    public static String formatar(long numero) {
+        // Acima de 999999 o número simplesmente ganha mais dígitos
+        return String.format("%06d", numero);
+    }
+
+    public boolean isPersistente() {
+        return arquivoMarcas != null;
+    }
+
+    public int getTamanhoBloco() {
+        return tamanhoBloco;
+    }
+
+    // ================== RESERVA DE BLOCOS ==================
+
+    private long reservarBloco(String agencia) {
+        return atualizarMarca(agencia, inicio -> inicio + tamanhoBloco);
+    }
+
+    /**
+     * Troca a marca d'água da agência pelo resultado da função e devolve a anterior
+     */
+    private long atualizarMarca(String agencia, LongUnaryOperator novaMarca) {
+        if (arquivoMarcas == null) {
+            return marcasEmMemoria.computeIfAbsent(agencia, a -> new AtomicLong(primeiroNumero))
+                    .getAndUpdate(novaMarca);
+        }
+
+        Object travaLocal = TRAVAS_ARQUIVO.computeIfAbsent(arquivoMarcas, p -> new Object());
+        synchronized (travaLocal) {
+            Path arquivoTrava = arquivoMarcas.resolveSibling(arquivoMarcas.getFileName() + ".lock");
+            try (FileChannel canal = FileChannel.open(arquivoTrava, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // A trava do arquivo é liberada quando o canal é fechado
+                canal.lock();
+                Properties marcas = lerMarcas();
+                long inicio = Long.parseLong(marcas.getProperty(agencia, Long.toString(primeiroNumero)));
+                marcas.setProperty(agencia, Long.toString(novaMarca.applyAsLong(inicio)));
+                gravarMarcas(marcas);
+                return inicio;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível atualizar a marca de números", e);
+            }
+        }
+    }
+
+    private Properties lerMarcas() throws IOException {
+        Properties marcas = new Properties();
+        if (Files.exists(arquivoMarcas)) {
+            try (var leitor = Files.newBufferedReader(arquivoMarcas, StandardCharsets.UTF_8)) {
+                marcas.load(leitor);
+            }
+        }
+        return marcas;
+    }
+
+    private void gravarMarcas(Properties marcas) throws IOException {
+        // Grava em arquivo temporário, força para o disco e troca de forma atômica
+        Path temporario = arquivoMarcas.resolveSibling(arquivoMarcas.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            StringBuilder conteudo = new StringBuilder();
+            for (String agencia : marcas.stringPropertyNames()) {
+                conteudo.append(agencia).append('=').append(marcas.getProperty(agencia)).append('\n');
+            }
+            canal.write(StandardCharsets.UTF_8.encode(conteudo.toString()));
+            canal.force(true);
+        }
+        Files.move(temporario, arquivoMarcas, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ================== SEQUÊNCIA POR AGÊNCIA ==================
+
+    private static class Bloco {
+        private final AtomicLong proximo;
+        private final long fim;
+
+        Bloco(long inicio, long fim) {
+            this.proximo = new AtomicLong(inicio);
+            this.fim = fim;
+        }
+    }
+
+    private class Sequencia {
+        private final String agencia;
+        private volatile Bloco bloco = new Bloco(0, 0);
+
+        Sequencia(String agencia) {
+            this.agencia = agencia;
+        }
+
+        long proximo() {
+            while (true) {
+                Bloco atual = bloco;
+                long numero = atual.proximo.getAndIncrement();
+                if (numero < atual.fim) {
+                    return numero;
+                }
+                // Bloco esgotado: só uma thread reserva o próximo
+                synchronized (this) {
+                    if (bloco == atual) {
+                        long inicio = reservarBloco(agencia);
+                        bloco = new Bloco(inicio, inicio + tamanhoBloco);
+                    }
+                }
+            }
+        }
+
+        synchronized void reservarAte(long numero) {
+            long proximo = bloco.proximo.get();
+            if (proximo > numero && proximo < bloco.fim) {
+                return;
+            }
+            // Descarta o restante do bloco: o próximo começa acima do número
+            atualizarMarca(agencia, marca -> Math.max(marca, numero + 1));
+            bloco = new Bloco(0, 0);
+        }
+    }
+}
\ No newline at end of file
@@ -5,20 +5,20 @@ import com.nttdata.banco.enums.TipoInvestimento;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Repository para gerenciar os investimentos
  * Simula um banco de dados em memória
  */
-public class InvestimentoRepository {
+public class InvestimentoRepository implements RepositorioInvestimento {
     private final Map<String, Investimento> investimentos;
 
     public InvestimentoRepository() {
-        this.investimentos = new HashMap<>();
+        this.investimentos = new ConcurrentHashMap<>();
     }
 
     public Investimento salvar(Investimento investimento) {
@@ -0,0 +1,41 @@
+package com.nttdata.banco.repository;
+
+import com.nttdata.banco.model.Cliente;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Contrato dos repositórios de clientes
+ * Permite trocar o armazenamento (memória, disco) sem alterar o BancoService
+ */
+public interface RepositorioCliente {
+
+    Cliente salvar(Cliente cliente);
+
+    Optional<Cliente> buscarPorCpf(String cpf);
+
+    List<Cliente> listarTodos();
+
+    boolean excluir(String cpf);
+
+    int getTotalClientes();
+
+    void limpar();
+
+    default List<Cliente> buscarPorNome(String nome) {
+        return listarTodos().stream()
+                .filter(cliente -> cliente.getNome().toLowerCase()
+                        .contains(nome.toLowerCase()))
+                .toList();
+    }
+
+    default Optional<Cliente> buscarPorEmail(String email) {
+        return listarTodos().stream()
+                .filter(cliente -> cliente.getEmail().equalsIgnoreCase(email))
+                .findFirst();
+    }
+
+    default boolean existe(String cpf) {
+        return buscarPorCpf(cpf).isPresent();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.nttdata.banco.repository;
+
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Contrato dos repositórios de contas
+ * Permite trocar o armazenamento (memória, disco) sem alterar o BancoService
+ *
+ * Enquanto alguém mantiver a referência de uma conta, buscas pela mesma chave devem
+ * devolver a mesma instância; alterações na conta só são garantidas depois de salvar.
+ */
+public interface RepositorioConta {
+
+    /**
+     * Grava a conta (gerando o número quando ausente) e incrementa a versão
+     */
+    Conta salvar(Conta conta);
+
+    /**
+     * Grava a conta somente se a versão armazenada ainda for a esperada (compare-and-set).
+     * Retorna false em caso de conflito, sem alterar o repositório.
+     */
+    default boolean salvarSeVersao(Conta conta, long versaoEsperada) {
+        return salvarSeVersao(conta, versaoEsperada, null);
+    }
+
+    /**
+     * Como salvarSeVersao, mas aplica a alteração na conta antes de gravar, de forma
+     * atômica com a verificação da versão. A alteração não deve acessar este repositório.
+     */
+    boolean salvarSeVersao(Conta conta, long versaoEsperada, Consumer<Conta> alteracao);
+
+    /**
+     * Lê a conta de forma atômica com as gravações do repositório.
+     * A leitura não deve acessar este repositório.
+     */
+    <T> Optional<T> lerConta(String agencia, String numero, Function<Conta, T> leitura);
+
+    /**
+     * Executa a operação como uma unidade de gravação: em repositórios com banco de dados,
+     * todas as gravações feitas dentro dela (inclusive nos repositórios de clientes e
+     * investimentos do mesmo banco) são confirmadas ou desfeitas juntas.
+     */
+    default <T> T emTransacao(Supplier<T> operacao) {
+        return operacao.get();
+    }
+
+    /**
+     * Garante que os números gerados depois sejam maiores que numero, para contas
+     * gravadas com número vindo de fora (importação)
+     */
+    default void reservarNumerosAte(String agencia, long numero) {
+    }
+
+    Optional<Conta> buscarPorNumero(String agencia, String numero);
+
+    List<Conta> listarTodas();
+
+    boolean excluir(String agencia, String numero);
+
+    int getTotalContas();
+
+    default List<Conta> buscarPorTitular(Cliente titular) {
+        return listarTodas().stream()
+                .filter(conta -> conta.getTitular().equals(titular))
+                .toList();
+    }
+
+    default List<Conta> buscarPorCpf(String cpf) {
+        return listarTodas().stream()
+                .filter(conta -> conta.getTitular().getCpf().equals(cpf))
+                .toList();
+    }
+
+    default List<Conta> listarAtivas() {
+        return listarTodas().stream()
+                .filter(Conta::isAtiva)
+                .toList();
+    }
+
+    default boolean existe(String agencia, String numero) {
+        return buscarPorNumero(agencia, numero).isPresent();
+    }
+
+    default int getTotalContasAtivas() {
+        return (int) listarTodas().stream().filter(Conta::isAtiva).count();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.nttdata.banco.repository;
+
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.model.Investimento;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Contrato dos repositórios de investimentos
+ * Permite trocar o armazenamento (memória, disco) sem alterar o BancoService
+ */
+public interface RepositorioInvestimento {
+
+    Investimento salvar(Investimento investimento);
+
+    Optional<Investimento> buscarPorId(String id);
+
+    List<Investimento> listarTodos();
+
+    boolean excluir(String id);
+
+    int getTotalInvestimentos();
+
+    void limpar();
+
+    default List<Investimento> buscarPorTitular(String titular) {
+        return listarTodos().stream()
+                .filter(inv -> inv.getTitular().equals(titular))
+                .toList();
+    }
+
+    default List<Investimento> buscarPorTipo(TipoInvestimento tipo) {
+        return listarTodos().stream()
+                .filter(inv -> inv.getTipo().equals(tipo))
+                .toList();
+    }
+
+    default List<Investimento> buscarAtivos() {
+        return listarTodos().stream()
+                .filter(Investimento::isAtivo)
+                .toList();
+    }
+
+    default List<Investimento> buscarVencendoEm(int dias) {
+        return listarTodos().stream()
+                .filter(Investimento::isAtivo)
+                .filter(inv -> inv.getDiasParaVencimento() <= dias)
+                .toList();
+    }
+
+    default List<Investimento> buscarVencidos() {
+        return listarTodos().stream()
+                .filter(Investimento::isAtivo)
+                .filter(inv -> inv.getDiasParaVencimento() < 0)
+                .toList();
+    }
+
+    default boolean existe(String id) {
+        return buscarPorId(id).isPresent();
+    }
+
+    default int getTotalInvestimentosAtivos() {
+        return (int) listarTodos().stream()
+                .filter(Investimento::isAtivo)
+                .count();
+    }
+
+    default BigDecimal getValorTotalInvestido() {
+        return listarTodos().stream()
+                .filter(Investimento::isAtivo)
+                .map(Investimento::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    default BigDecimal getValorTotalAtual() {
+        return listarTodos().stream()
+                .filter(Investimento::isAtivo)
+                .map(Investimento::calcularValorAtual)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
\ No newline at end of file
@@ -1,33 +1,147 @@
 package com.nttdata.banco.service;
 
+import com.nttdata.banco.enums.Durabilidade;
+import com.nttdata.banco.enums.ModoLote;
+import com.nttdata.banco.enums.ResultadoPix;
 import com.nttdata.banco.enums.TipoConta;
 import com.nttdata.banco.enums.TipoInvestimento;
 import com.nttdata.banco.enums.TipoTransacao;
 import com.nttdata.banco.model.*;
+import com.nttdata.banco.persistencia.ArmazenamentoBanco;
+import com.nttdata.banco.persistencia.ArquivadorTransacoes;
+import com.nttdata.banco.persistencia.ExportadorBanco;
+import com.nttdata.banco.persistencia.HistoricoArquivado;
+import com.nttdata.banco.persistencia.ImportadorBanco;
+import com.nttdata.banco.persistencia.Journal;
+import com.nttdata.banco.persistencia.RegistroMutacao;
+import com.nttdata.banco.persistencia.ResultadoImportacao;
 import com.nttdata.banco.repository.ClienteRepository;
 import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.GeradorNumeroConta;
 import com.nttdata.banco.repository.InvestimentoRepository;
+import com.nttdata.banco.repository.RepositorioCliente;
+import com.nttdata.banco.repository.RepositorioConta;
+import com.nttdata.banco.repository.RepositorioInvestimento;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Serviço principal do banco que coordena todas as operações
  * Demonstra reuso de código e separação de responsabilidades
  */
-public class BancoService {
-    private final ClienteRepository clienteRepository;
-    private final ContaRepository contaRepository;
-    private final InvestimentoRepository investimentoRepository;
+public class BancoService implements AutoCloseable {
+    private final RepositorioCliente clienteRepository;
+    private final RepositorioConta contaRepository;
+    private final RepositorioInvestimento investimentoRepository;
+    private final TravasContas travas;
+    private final TabelaIdempotencia idempotencia;
+    private final MetricasConcorrencia metricasConcorrencia;
+    private final ControleAdmissaoPix controleAdmissaoPix;
+    private final LinhaDoTempoSaldos linhaDoTempo;
+    private final IndiceTemporalTransacoes indiceTemporal;
+    private final IndiceTransacoes indiceTransacoes;
+    private final Journal journal;
+    private final ArmazenamentoBanco armazenamento;
+    private final Object travaSnapshot = new Object();
+    private ScheduledExecutorService agendadorSnapshots;
+    private volatile boolean saldoEmCentavos;
+    // Sequência do journal ainda não confirmada pela thread e durabilidade escolhida para a operação
+    private final ThreadLocal<long[]> sequenciaPendente = ThreadLocal.withInitial(() -> new long[1]);
+    private final ThreadLocal<Durabilidade> durabilidadeDaOperacao = new ThreadLocal<>();
     private static final String AGENCIA_PADRAO = "0001";
+    private static final int TENTATIVAS_ANTES_DE_CEDER = 8;
+    private static final int TRANSACOES_POR_EXTRATO = 10;
 
     public BancoService() {
-        this.clienteRepository = new ClienteRepository();
-        this.contaRepository = new ContaRepository();
-        this.investimentoRepository = new InvestimentoRepository();
-        carregarDadosIniciais();
+        this(null);
+    }
+
+    /**
+     * Com journal, cada mutação é registrada nele e só é confirmada a quem chamou
+     * depois de durável, conforme a durabilidade padrão do journal
+     */
+    public BancoService(Journal journal) {
+        this(new ClienteRepository(), new ContaRepository(), new InvestimentoRepository(), journal);
+    }
+
+    /**
+     * Usa os repositórios informados (em memória, em disco...). Os dados iniciais só são
+     * carregados quando o repositório de clientes está vazio.
+     */
+    public BancoService(RepositorioCliente clienteRepository, RepositorioConta contaRepository,
+                        RepositorioInvestimento investimentoRepository, Journal journal) {
+        this(clienteRepository, contaRepository, investimentoRepository, journal, null);
+        if (clienteRepository.getTotalClientes() == 0) {
+            carregarDadosIniciais();
+        }
+    }
+
+    private BancoService(RepositorioCliente clienteRepository, RepositorioConta contaRepository,
+                         RepositorioInvestimento investimentoRepository, Journal journal,
+                         ArmazenamentoBanco armazenamento) {
+        this.clienteRepository = clienteRepository;
+        DonosRepositorio.registrar(contaRepository, BancoService.class);
+        this.contaRepository = contaRepository;
+        this.investimentoRepository = investimentoRepository;
+        this.travas = new TravasContas();
+        this.idempotencia = new TabelaIdempotencia();
+        this.metricasConcorrencia = new MetricasConcorrencia();
+        this.controleAdmissaoPix = new ControleAdmissaoPix();
+        this.linhaDoTempo = new LinhaDoTempoSaldos();
+        this.indiceTemporal = new IndiceTemporalTransacoes();
+        this.indiceTransacoes = new IndiceTransacoes();
+        this.journal = journal;
+        this.armazenamento = armazenamento;
+    }
+
+    /**
+     * Abre o banco gravado no diretório: carrega o último snapshot e reaplica somente o
+     * final do journal. Com o diretório vazio, começa com os dados iniciais.
+     */
+    public static BancoService abrir(Path diretorio) {
+        return abrir(diretorio, Durabilidade.GRUPO, Duration.ofMinutes(5));
+    }
+
+    /**
+     * Como abrir(diretorio), com a durabilidade padrão do journal e o intervalo entre
+     * snapshots automáticos (null ou zero desliga os snapshots em segundo plano)
+     */
+    public static BancoService abrir(Path diretorio, Durabilidade durabilidade, Duration intervaloSnapshot) {
+        ArmazenamentoBanco armazenamento = new ArmazenamentoBanco(diretorio);
+        ClienteRepository clientes = new ClienteRepository();
+        ContaRepository contas = new ContaRepository(new GeradorNumeroConta(armazenamento.getArquivoNumeros()));
+        InvestimentoRepository investimentos = new InvestimentoRepository();
+        armazenamento.restaurar(clientes, contas, investimentos);
+        Journal journal = armazenamento.abrirJournal(durabilidade);
+
+        BancoService banco = new BancoService(clientes, contas, investimentos, journal, armazenamento);
+        armazenamento.extrairPontosSaldo().forEach(banco.linhaDoTempo::carregar);
+        // usarSaldoEmCentavos converte todas as contas: se alguma voltou em centavos, a chave estava ligada
+        banco.saldoEmCentavos = contas.listarTodas().stream().anyMatch(Conta::isSaldoEmCentavos);
+        if (clientes.getTotalClientes() == 0) {
+            banco.carregarDadosIniciais();
+        }
+        if (intervaloSnapshot != null && !intervaloSnapshot.isZero() && !intervaloSnapshot.isNegative()) {
+            banco.agendarSnapshots(intervaloSnapshot);
+        }
+        return banco;
     }
 
     // ================== OPERAÇÕES DE CLIENTE ==================
@@ -38,7 +152,9 @@ public class BancoService {
         }
         
         Cliente cliente = new Cliente(nome, cpf, email, telefone, dataNascimento);
-        return clienteRepository.salvar(cliente);
+        clienteRepository.salvar(cliente);
+        registrarNoJournal(new RegistroMutacao().cliente(cliente));
+        return confirmarDurabilidade(cliente);
     }
 
     public Optional<Cliente> buscarClientePorCpf(String cpf) {
@@ -60,15 +176,48 @@ public class BancoService {
         Cliente cliente = clienteOpt.get();
         Conta conta = criarContaPorTipo(tipoConta, cliente);
         
-        return contaRepository.salvar(conta);
+        contaRepository.salvar(conta);
+        linhaDoTempo.iniciar(ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero()),
+                             conta.getDataAbertura(), conta.getSaldo());
+        registrarNoJournal(new RegistroMutacao().conta(conta));
+        return confirmarDurabilidade(conta);
     }
 
     private Conta criarContaPorTipo(TipoConta tipoConta, Cliente cliente) {
-        return switch (tipoConta) {
+        Conta conta = switch (tipoConta) {
             case CORRENTE -> new ContaCorrente(null, AGENCIA_PADRAO, cliente);
             case POUPANCA -> new ContaPoupanca(null, AGENCIA_PADRAO, cliente);
             case INVESTIMENTO -> new ContaInvestimento(null, AGENCIA_PADRAO, cliente);
         };
+        if (saldoEmCentavos) {
+            conta.usarSaldoEmCentavos();
+        }
+        return conta;
+    }
+
+    /**
+     * Passa a guardar os saldos em centavos (long atualizado por CAS): as contas existentes
+     * são convertidas e gravadas, cada uma sob a sua trava, e as novas já nascem assim.
+     * A troca de cada conta vai para o journal (efeito de saldo com o modo), e o modo é
+     * gravado com a conta nos snapshots e repositórios em disco, então sobrevive ao reabrir.
+     */
+    public void usarSaldoEmCentavos() {
+        saldoEmCentavos = true;
+        for (Conta conta : contaRepository.listarTodas()) {
+            travas.executar(ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero()), () -> {
+                if (!conta.isSaldoEmCentavos()) {
+                    conta.usarSaldoEmCentavos();
+                    contaRepository.salvar(conta);
+                    registrarNoJournal(new RegistroMutacao().saldo(conta));
+                }
+                return null;
+            });
+        }
+        confirmarDurabilidade(null);
+    }
+
+    public boolean isSaldoEmCentavos() {
+        return saldoEmCentavos;
     }
 
     public Optional<Conta> buscarConta(String agencia, String numero) {
@@ -83,54 +232,160 @@ public class BancoService {
         return contaRepository.listarTodas();
     }
 
+    /**
+     * Exclui a conta zerada e sem investimentos: sai do repositório, dos índices e da
+     * linha do tempo, e a exclusão vai para o journal
+     */
+    public boolean excluirConta(String agencia, String numero) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return confirmarDurabilidade(travas.executar(chave, () -> {
+            Optional<Conta> contaOpt = contaRepository.buscarPorNumero(agencia, numero);
+            if (contaOpt.isEmpty() || contaOpt.get().getSaldo().signum() != 0) {
+                return false;
+            }
+            Conta conta = contaOpt.get();
+            if (conta instanceof ContaInvestimento contaInv && !contaInv.getInvestimentos().isEmpty()) {
+                return false;
+            }
+            contaRepository.excluir(agencia, numero);
+            indiceTransacoes.remover(chave);
+            indiceTemporal.remover(chave);
+            linhaDoTempo.remover(chave);
+            registrarNoJournal(new RegistroMutacao().exclusao(conta));
+            return true;
+        }));
+    }
+
     // ================== OPERAÇÕES BANCÁRIAS ==================
     
     public boolean depositar(String agencia, String numero, BigDecimal valor) {
-        Optional<Conta> contaOpt = buscarConta(agencia, numero);
-        if (contaOpt.isEmpty()) {
-            return false;
-        }
-        
-        Conta conta = contaOpt.get();
-        try {
-            conta.depositar(valor);
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return confirmarDurabilidade(executarComRetentativa(agencia, numero, conta -> {
+            try {
+                conta.depositar(valor);
+            } catch (Exception e) {
+                return false;
+            }
             
             Transacao transacao = new Transacao(
                 TipoTransacao.DEPOSITO, 
                 valor, 
                 "Depósito em conta", 
-                agencia + "-" + numero, 
+                chave, 
                 true
             );
-            conta.adicionarTransacao(transacao);
-            
-            contaRepository.salvar(conta);
+            registrarTransacao(conta, transacao);
+            registrarNoJournal(new RegistroMutacao().saldo(conta).transacao(conta, transacao));
             return true;
-        } catch (Exception e) {
-            return false;
-        }
+        }));
     }
 
     public boolean sacar(String agencia, String numero, BigDecimal valor) {
-        Optional<Conta> contaOpt = buscarConta(agencia, numero);
-        if (contaOpt.isEmpty()) {
-            return false;
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return confirmarDurabilidade(executarComRetentativa(agencia, numero, conta -> {
+            boolean sucesso = conta.sacar(valor);
+            
+            Transacao transacao = new Transacao(
+                TipoTransacao.SAQUE, 
+                valor, 
+                "Saque em conta", 
+                chave, 
+                sucesso
+            );
+            registrarTransacao(conta, transacao);
+            registrarNoJournal(new RegistroMutacao().saldo(conta).transacao(conta, transacao));
+            return sucesso;
+        }));
+    }
+
+    /**
+     * Depósito com o valor em centavos: com o saldo em centavos, a conta é creditada sem
+     * converter BigDecimal (o valor só vira BigDecimal no registro da transação)
+     */
+    public boolean depositarCentavos(String agencia, String numero, long centavos) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return confirmarDurabilidade(executarComRetentativa(agencia, numero, conta -> {
+            try {
+                conta.depositarCentavos(centavos);
+            } catch (Exception e) {
+                return false;
+            }
+
+            Transacao transacao = new Transacao(
+                TipoTransacao.DEPOSITO,
+                BigDecimal.valueOf(centavos, 2),
+                "Depósito em conta",
+                chave,
+                true
+            );
+            registrarTransacao(conta, transacao);
+            registrarNoJournal(new RegistroMutacao().saldo(conta).transacao(conta, transacao));
+            return true;
+        }));
+    }
+
+    public boolean sacarCentavos(String agencia, String numero, long centavos) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return confirmarDurabilidade(executarComRetentativa(agencia, numero, conta -> {
+            boolean sucesso = conta.sacarCentavos(centavos);
+
+            Transacao transacao = new Transacao(
+                TipoTransacao.SAQUE,
+                BigDecimal.valueOf(centavos, 2),
+                "Saque em conta",
+                chave,
+                sucesso
+            );
+            registrarTransacao(conta, transacao);
+            registrarNoJournal(new RegistroMutacao().saldo(conta).transacao(conta, transacao));
+            return sucesso;
+        }));
+    }
+
+    /**
+     * Executa uma operação de conta única com controle otimista de versão.
+     * A operação é aplicada junto com o compare-and-set da versão no repositório, sob a
+     * trava particionada da conta: assim ela é mutuamente exclusiva com as operações de
+     * várias contas (transferências, lotes, PIX, investimentos), que usam as mesmas travas.
+     * Se uma gravação de fora do serviço mudou a versão nesse meio tempo, nada é aplicado
+     * e a conta é buscada de novo. A operação não deve acessar o ContaRepository.
+     * Se ela lançar uma exceção (o journal recusou o registro, por exemplo), saldo e
+     * histórico da conta voltam ao que eram e nada é gravado.
+     */
+    public boolean executarComRetentativa(String agencia, String numero, Predicate<Conta> operacao) {
+        metricasConcorrencia.registrarOperacao();
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        for (int tentativa = 1; ; tentativa++) {
+            Optional<Conta> contaOpt = buscarConta(agencia, numero);
+            if (contaOpt.isEmpty()) {
+                return false;
+            }
+            
+            Conta conta = contaOpt.get();
+            boolean[] resultado = new boolean[1];
+            metricasConcorrencia.registrarTentativa();
+            boolean gravado = travas.executar(chave, () -> {
+                long versao = conta.getVersao();
+                return contaRepository.salvarSeVersao(conta, versao, c -> {
+                    List<EstadoAnterior> anteriores = estadoAnterior(List.of(c));
+                    iniciarLinhaDoTempo(c);
+                    try {
+                        resultado[0] = operacao.test(c);
+                    } catch (RuntimeException e) {
+                        desfazer(anteriores);
+                        throw e;
+                    }
+                });
+            });
+            if (gravado) {
+                return resultado[0];
+            }
+            
+            metricasConcorrencia.registrarConflito();
+            if (tentativa % TENTATIVAS_ANTES_DE_CEDER == 0) {
+                Thread.yield();
+            }
         }
-        
-        Conta conta = contaOpt.get();
-        boolean sucesso = conta.sacar(valor);
-        
-        Transacao transacao = new Transacao(
-            TipoTransacao.SAQUE, 
-            valor, 
-            "Saque em conta", 
-            agencia + "-" + numero, 
-            sucesso
-        );
-        conta.adicionarTransacao(transacao);
-        
-        contaRepository.salvar(conta);
-        return sucesso;
     }
 
     public boolean transferir(String agenciaOrigem, String numeroOrigem, 
@@ -145,37 +400,49 @@ public class BancoService {
         
         Conta contaOrigem = contaOrigemOpt.get();
         Conta contaDestino = contaDestinoOpt.get();
+        String chaveOrigem = ContaRepository.gerarChave(agenciaOrigem, numeroOrigem);
+        String chaveDestino = ContaRepository.gerarChave(agenciaDestino, numeroDestino);
         
-        boolean sucesso = contaOrigem.transferir(valor, contaDestino);
-        
-        // Registra transação na conta origem
-        Transacao transacaoOrigem = new Transacao(
-            TipoTransacao.TRANSFERENCIA, 
-            valor, 
-            "Transferência enviada", 
-            agenciaOrigem + "-" + numeroOrigem,
-            agenciaDestino + "-" + numeroDestino,
-            sucesso
-        );
-        contaOrigem.adicionarTransacao(transacaoOrigem);
-        
-        if (sucesso) {
-            // Registra transação na conta destino
-            Transacao transacaoDestino = new Transacao(
+        return confirmarDurabilidade(travas.executar(chaveOrigem, chaveDestino,
+                () -> contaRepository.emTransacao(() -> {
+            List<EstadoAnterior> anteriores = estadoAnterior(List.of(contaOrigem, contaDestino));
+            iniciarLinhaDoTempo(List.of(contaOrigem, contaDestino));
+            boolean sucesso = contaOrigem.transferir(valor, contaDestino);
+            
+            // Registra transação na conta origem
+            Transacao transacaoOrigem = new Transacao(
                 TipoTransacao.TRANSFERENCIA, 
                 valor, 
-                "Transferência recebida", 
-                agenciaOrigem + "-" + numeroOrigem,
-                agenciaDestino + "-" + numeroDestino,
-                true
+                "Transferência enviada", 
+                chaveOrigem,
+                chaveDestino,
+                sucesso
             );
-            contaDestino.adicionarTransacao(transacaoDestino);
+            registrarTransacao(contaOrigem, transacaoOrigem);
+            RegistroMutacao registro = new RegistroMutacao().saldo(contaOrigem).transacao(contaOrigem, transacaoOrigem);
             
-            contaRepository.salvar(contaDestino);
-        }
-        
-        contaRepository.salvar(contaOrigem);
-        return sucesso;
+            if (sucesso) {
+                // Registra transação na conta destino
+                Transacao transacaoDestino = new Transacao(
+                    TipoTransacao.TRANSFERENCIA, 
+                    valor, 
+                    "Transferência recebida", 
+                    chaveOrigem,
+                    chaveDestino,
+                    true
+                );
+                registrarTransacao(contaDestino, transacaoDestino);
+                registro.saldo(contaDestino).transacao(contaDestino, transacaoDestino);
+            }
+            
+            // O journal antes do repositório: se ele recusar, nada foi gravado
+            registrarNoJournal(registro, anteriores);
+            if (sucesso) {
+                contaRepository.salvar(contaDestino);
+            }
+            contaRepository.salvar(contaOrigem);
+            return sucesso;
+        })));
     }
 
     public boolean pix(String agenciaOrigem, String numeroOrigem, 
@@ -194,37 +461,330 @@ public class BancoService {
         
         Conta contaOrigem = contaOrigemOpt.get();
         Conta contaDestino = contasDestino.get(0); // Pega a primeira conta encontrada
+        String chaveOrigem = ContaRepository.gerarChave(agenciaOrigem, numeroOrigem);
+        String chaveDestino = ContaRepository.gerarChave(contaDestino.getAgencia(), contaDestino.getNumero());
         
-        boolean sucesso = contaOrigem.transferir(valor, contaDestino);
-        
-        // Registra PIX na conta origem
-        Transacao pixOrigem = new Transacao(
-            TipoTransacao.PIX, 
-            valor, 
-            "PIX enviado para " + chavePixDestino, 
-            agenciaOrigem + "-" + numeroOrigem,
-            contaDestino.getAgencia() + "-" + contaDestino.getNumero(),
-            sucesso
-        );
-        contaOrigem.adicionarTransacao(pixOrigem);
-        
-        if (sucesso) {
-            // Registra PIX na conta destino
-            Transacao pixDestino = new Transacao(
+        return confirmarDurabilidade(travas.executar(chaveOrigem, chaveDestino,
+                () -> contaRepository.emTransacao(() -> {
+            List<EstadoAnterior> anteriores = estadoAnterior(List.of(contaOrigem, contaDestino));
+            iniciarLinhaDoTempo(List.of(contaOrigem, contaDestino));
+            boolean sucesso = contaOrigem.transferir(valor, contaDestino);
+            
+            // Registra PIX na conta origem
+            Transacao pixOrigem = new Transacao(
                 TipoTransacao.PIX, 
                 valor, 
-                "PIX recebido de " + contaOrigem.getTitular().getNome(), 
-                agenciaOrigem + "-" + numeroOrigem,
-                contaDestino.getAgencia() + "-" + contaDestino.getNumero(),
-                true
+                "PIX enviado para " + chavePixDestino, 
+                chaveOrigem,
+                chaveDestino,
+                sucesso
             );
-            contaDestino.adicionarTransacao(pixDestino);
+            registrarTransacao(contaOrigem, pixOrigem);
+            RegistroMutacao registro = new RegistroMutacao().saldo(contaOrigem).transacao(contaOrigem, pixOrigem);
+            
+            if (sucesso) {
+                // Registra PIX na conta destino
+                Transacao pixDestino = new Transacao(
+                    TipoTransacao.PIX, 
+                    valor, 
+                    "PIX recebido de " + contaOrigem.getTitular().getNome(), 
+                    chaveOrigem,
+                    chaveDestino,
+                    true
+                );
+                registrarTransacao(contaDestino, pixDestino);
+                registro.saldo(contaDestino).transacao(contaDestino, pixDestino);
+            }
             
-            contaRepository.salvar(contaDestino);
+            registrarNoJournal(registro, anteriores);
+            if (sucesso) {
+                contaRepository.salvar(contaDestino);
+            }
+            contaRepository.salvar(contaOrigem);
+            return sucesso;
+        })));
+    }
+
+    /**
+     * PIX com controle de admissão por conta de origem, por CPF do titular e global.
+     * Quando algum limite de taxa é excedido o PIX não é executado e o resultado
+     * indica qual limite rejeitou a chamada.
+     */
+    public ResultadoPix pixComAdmissao(String agenciaOrigem, String numeroOrigem,
+                                       String chavePixDestino, BigDecimal valor) {
+        Optional<Conta> contaOrigemOpt = buscarConta(agenciaOrigem, numeroOrigem);
+        if (contaOrigemOpt.isEmpty()) {
+            return ResultadoPix.FALHOU;
         }
         
-        contaRepository.salvar(contaOrigem);
-        return sucesso;
+        String chaveOrigem = ContaRepository.gerarChave(agenciaOrigem, numeroOrigem);
+        String cpf = contaOrigemOpt.get().getTitular().getCpf();
+        return controleAdmissaoPix.executar(chaveOrigem, cpf,
+                () -> pix(agenciaOrigem, numeroOrigem, chavePixDestino, valor));
+    }
+
+    /**
+     * Transfere de uma conta origem para vários destinos em uma única passada:
+     * uma busca por conta, uma aquisição de travas, um salvar por conta alterada
+     * e as transações registradas em bloco.
+     * Em TUDO_OU_NADA qualquer item recusado desfaz o lote inteiro.
+     */
+    public ResultadoLote transferirLote(String agenciaOrigem, String numeroOrigem,
+                                        List<ItemTransferencia> itens, ModoLote modo) {
+        boolean[] resultados = new boolean[itens.size()];
+        Optional<Conta> contaOrigemOpt = buscarConta(agenciaOrigem, numeroOrigem);
+        if (contaOrigemOpt.isEmpty() || itens.isEmpty()) {
+            return new ResultadoLote(modo, resultados);
+        }
+
+        Conta contaOrigem = contaOrigemOpt.get();
+        String chaveOrigem = ContaRepository.gerarChave(agenciaOrigem, numeroOrigem);
+
+        // Resolve cada destino uma única vez, mesmo que se repita no lote
+        Map<String, Conta> contas = new LinkedHashMap<>();
+        contas.put(chaveOrigem, contaOrigem);
+        Conta[] destinos = new Conta[itens.size()];
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        for (int i = 0; i < itens.size(); i++) {
+            ItemTransferencia item = itens.get(i);
+            String chaveDestino = ContaRepository.gerarChave(item.getAgenciaDestino(), item.getNumeroDestino());
+            destinos[i] = contas.computeIfAbsent(chaveDestino, chave ->
+                    buscarConta(item.getAgenciaDestino(), item.getNumeroDestino()).orElse(null));
+            if (destinos[i] == null || item.getValor() == null || item.getValor().compareTo(BigDecimal.ZERO) <= 0) {
+                if (modo == ModoLote.TUDO_OU_NADA) {
+                    return new ResultadoLote(modo, resultados);
+                }
+                continue;
+            }
+            valorTotal = valorTotal.add(item.getValor());
+        }
+        final BigDecimal valorTotalLote = valorTotal;
+
+        return confirmarDurabilidade(travas.executar(contas.keySet(), () -> contaRepository.emTransacao(() -> {
+            List<EstadoAnterior> anteriores = estadoAnterior(contas.values());
+            iniciarLinhaDoTempo(contas.values());
+            // Validação única de fundos para o lote inteiro (tarifas são conferidas item a item)
+            if (modo == ModoLote.TUDO_OU_NADA
+                    && valorTotalLote.compareTo(contaOrigem.getSaldoDisponivel()) > 0) {
+                return new ResultadoLote(modo, resultados);
+            }
+
+            // Soma do que este lote debitou de fato (valor + tarifa de cada saque aplicado)
+            BigDecimal debitado = BigDecimal.ZERO;
+            for (int i = 0; i < itens.size(); i++) {
+                resultados[i] = destinos[i] != null
+                        && itens.get(i).getValor() != null
+                        && contaOrigem.sacar(itens.get(i).getValor());
+                if (resultados[i]) {
+                    debitado = debitado.add(itens.get(i).getValor()).add(contaOrigem.getTarifaPorSaque());
+                } else if (modo == ModoLote.TUDO_OU_NADA) {
+                    // Devolve exatamente os débitos (e tarifas) já aplicados neste lote
+                    if (debitado.compareTo(BigDecimal.ZERO) > 0) {
+                        contaOrigem.depositar(debitado);
+                    }
+                    Arrays.fill(resultados, false);
+                    return new ResultadoLote(modo, resultados);
+                }
+            }
+
+            // Créditos e registro das transações em bloco
+            Map<Conta, List<Transacao>> transacoes = new HashMap<>();
+            for (int i = 0; i < itens.size(); i++) {
+                ItemTransferencia item = itens.get(i);
+                if (destinos[i] == null) {
+                    continue;
+                }
+                String chaveDestino = ContaRepository.gerarChave(item.getAgenciaDestino(), item.getNumeroDestino());
+                transacoes.computeIfAbsent(contaOrigem, c -> new ArrayList<>()).add(new Transacao(
+                    TipoTransacao.TRANSFERENCIA,
+                    item.getValor(),
+                    "Transferência enviada",
+                    chaveOrigem,
+                    chaveDestino,
+                    resultados[i]
+                ));
+                if (resultados[i]) {
+                    destinos[i].depositar(item.getValor());
+                    transacoes.computeIfAbsent(destinos[i], c -> new ArrayList<>()).add(new Transacao(
+                        TipoTransacao.TRANSFERENCIA,
+                        item.getValor(),
+                        "Transferência recebida",
+                        chaveOrigem,
+                        chaveDestino,
+                        true
+                    ));
+                }
+            }
+            transacoes.forEach(this::registrarTransacoes);
+            registrarNoJournal(registroDe(transacoes), anteriores);
+
+            // Um único salvar por conta envolvida
+            transacoes.keySet().forEach(contaRepository::salvar);
+            return new ResultadoLote(modo, resultados);
+        })));
+    }
+
+    /**
+     * Transferência múltipla atômica (pagamento dividido, rateio de conta):
+     * debita as contas de débito e credita as de crédito como uma única unidade.
+     * A soma dos débitos deve ser igual à soma dos créditos. Todas as contas são travadas
+     * na ordem global das travas; se qualquer perna falhar, nenhuma é aplicada.
+     * As transações registradas compartilham o mesmo id de correlação.
+     */
+    public boolean transferirMultiplasPernas(List<PernaTransferencia> debitos, List<PernaTransferencia> creditos) {
+        BigDecimal totalDebitos = somarPernas(debitos);
+        BigDecimal totalCreditos = somarPernas(creditos);
+        if (debitos.isEmpty() || creditos.isEmpty() || totalDebitos == null || totalCreditos == null
+                || totalDebitos.compareTo(totalCreditos) != 0) {
+            return false;
+        }
+
+        // Resolve cada conta uma única vez, mesmo que apareça em várias pernas
+        Map<String, Conta> contas = new LinkedHashMap<>();
+        Map<Conta, BigDecimal> totalDebitoPorConta = new LinkedHashMap<>();
+        for (PernaTransferencia perna : debitos) {
+            Conta conta = resolverConta(contas, perna);
+            if (conta == null) {
+                return false;
+            }
+            totalDebitoPorConta.merge(conta, perna.getValor(), BigDecimal::add);
+        }
+        for (PernaTransferencia perna : creditos) {
+            if (resolverConta(contas, perna) == null) {
+                return false;
+            }
+        }
+
+        String idCorrelacao = UUID.randomUUID().toString();
+        String chaveContraparteDebito = creditos.size() == 1 ? chaveDe(creditos.get(0)) : null;
+        String chaveContraparteCredito = debitos.size() == 1 ? chaveDe(debitos.get(0)) : null;
+        String observacoes = String.format("Correlação %s (%d débito(s), %d crédito(s))",
+                                           idCorrelacao, debitos.size(), creditos.size());
+
+        return confirmarDurabilidade(travas.executar(contas.keySet(), () -> contaRepository.emTransacao(() -> {
+            List<EstadoAnterior> anteriores = estadoAnterior(contas.values());
+            iniciarLinhaDoTempo(contas.values());
+            // Validação de fundos por conta antes de tocar em qualquer saldo
+            for (Map.Entry<Conta, BigDecimal> total : totalDebitoPorConta.entrySet()) {
+                if (total.getValue().compareTo(total.getKey().getSaldoDisponivel()) > 0) {
+                    return false;
+                }
+            }
+
+            // O que cada perna aplicada debitou de fato (valor + tarifa), para o desfazimento
+            Map<Conta, BigDecimal> debitadoPorConta = new LinkedHashMap<>();
+            for (PernaTransferencia perna : debitos) {
+                Conta conta = contas.get(chaveDe(perna));
+                if (!conta.sacar(perna.getValor())) {
+                    // Devolve exatamente os débitos (e tarifas) já aplicados nesta operação
+                    debitadoPorConta.forEach(Conta::depositar);
+                    return false;
+                }
+                debitadoPorConta.merge(conta, perna.getValor().add(conta.getTarifaPorSaque()), BigDecimal::add);
+            }
+
+            Map<Conta, List<Transacao>> transacoes = new LinkedHashMap<>();
+            for (PernaTransferencia perna : debitos) {
+                String chave = chaveDe(perna);
+                transacoes.computeIfAbsent(contas.get(chave), c -> new ArrayList<>()).add(new Transacao(
+                    TipoTransacao.TRANSFERENCIA,
+                    perna.getValor(),
+                    "Transferência múltipla enviada",
+                    chave,
+                    chaveContraparteDebito,
+                    true,
+                    observacoes,
+                    idCorrelacao
+                ));
+            }
+            for (PernaTransferencia perna : creditos) {
+                String chave = chaveDe(perna);
+                Conta conta = contas.get(chave);
+                conta.depositar(perna.getValor());
+                // Com várias contas de débito a perna é registrada como lançamento da própria conta
+                transacoes.computeIfAbsent(conta, c -> new ArrayList<>()).add(new Transacao(
+                    TipoTransacao.TRANSFERENCIA,
+                    perna.getValor(),
+                    "Transferência múltipla recebida",
+                    chaveContraparteCredito != null ? chaveContraparteCredito : chave,
+                    chaveContraparteCredito != null ? chave : null,
+                    true,
+                    observacoes,
+                    idCorrelacao
+                ));
+            }
+            transacoes.forEach(this::registrarTransacoes);
+            registrarNoJournal(registroDe(transacoes), anteriores);
+
+            // Um único salvar por conta envolvida
+            transacoes.keySet().forEach(contaRepository::salvar);
+            return true;
+        })));
+    }
+
+    private Conta resolverConta(Map<String, Conta> contas, PernaTransferencia perna) {
+        if (perna.getValor() == null || perna.getValor().compareTo(BigDecimal.ZERO) <= 0) {
+            return null;
+        }
+        return contas.computeIfAbsent(chaveDe(perna), chave ->
+                buscarConta(perna.getAgencia(), perna.getNumero()).orElse(null));
+    }
+
+    private static String chaveDe(PernaTransferencia perna) {
+        return ContaRepository.gerarChave(perna.getAgencia(), perna.getNumero());
+    }
+
+    private static BigDecimal somarPernas(List<PernaTransferencia> pernas) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (PernaTransferencia perna : pernas) {
+            if (perna.getValor() == null) {
+                return null;
+            }
+            total = total.add(perna.getValor());
+        }
+        return total;
+    }
+
+    // ================== OPERAÇÕES IDEMPOTENTES ==================
+    // Uma nova tentativa com a mesma chave devolve o resultado já obtido, sem repetir a operação
+    
+    // A mesma chave com outra operação ou outros argumentos lança IllegalArgumentException
+
+    public boolean depositar(String chaveIdempotencia, String agencia, String numero, BigDecimal valor) {
+        return idempotencia.executar(chaveIdempotencia, impressao("depositar", agencia, numero, valor),
+                                     () -> depositar(agencia, numero, valor));
+    }
+
+    public boolean sacar(String chaveIdempotencia, String agencia, String numero, BigDecimal valor) {
+        return idempotencia.executar(chaveIdempotencia, impressao("sacar", agencia, numero, valor),
+                                     () -> sacar(agencia, numero, valor));
+    }
+
+    public boolean transferir(String chaveIdempotencia, String agenciaOrigem, String numeroOrigem,
+                             String agenciaDestino, String numeroDestino, BigDecimal valor) {
+        return idempotencia.executar(chaveIdempotencia,
+                impressao("transferir", agenciaOrigem, numeroOrigem, agenciaDestino, numeroDestino, valor),
+                () -> transferir(agenciaOrigem, numeroOrigem, agenciaDestino, numeroDestino, valor));
+    }
+
+    public boolean pix(String chaveIdempotencia, String agenciaOrigem, String numeroOrigem,
+                      String chavePixDestino, BigDecimal valor) {
+        return idempotencia.executar(chaveIdempotencia,
+                impressao("pix", agenciaOrigem, numeroOrigem, chavePixDestino, valor),
+                () -> pix(agenciaOrigem, numeroOrigem, chavePixDestino, valor));
+    }
+
+    /**
+     * Operação e argumentos guardados com a chave de idempotência; valores iguais em
+     * escalas diferentes (10.0 e 10.00) dão a mesma impressão
+     */
+    private static String impressao(String operacao, Object... argumentos) {
+        StringBuilder impressao = new StringBuilder(operacao);
+        for (Object argumento : argumentos) {
+            impressao.append('|').append(argumento instanceof BigDecimal valor
+                    ? valor.stripTrailingZeros().toPlainString() : argumento);
+        }
+        return impressao.toString();
     }
 
     // ================== OPERAÇÕES DE INVESTIMENTO ==================
@@ -236,38 +796,53 @@ public class BancoService {
         }
         
         Conta conta = contaOpt.get();
-        
-        // Verifica se tem saldo suficiente
-        if (conta.getSaldo().compareTo(valor) < 0) {
-            return false;
-        }
-        
-        // Debita da conta
-        if (!conta.sacar(valor)) {
-            return false;
-        }
-        
-        // Cria o investimento
-        Investimento investimento = new Investimento(tipo, valor, conta.getTitular().getCpf());
-        investimentoRepository.salvar(investimento);
-        
-        // Adiciona à conta de investimento se for do tipo
-        if (conta instanceof ContaInvestimento contaInv) {
-            contaInv.adicionarInvestimento(investimento);
-        }
-        
-        // Registra transação
-        Transacao transacao = new Transacao(
-            TipoTransacao.INVESTIMENTO, 
-            valor, 
-            "Investimento em " + tipo.getNome(), 
-            agencia + "-" + numero, 
-            true
-        );
-        conta.adicionarTransacao(transacao);
-        
-        contaRepository.salvar(conta);
-        return true;
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return confirmarDurabilidade(travas.executar(chave, () -> contaRepository.emTransacao(() -> {
+            List<EstadoAnterior> anteriores = estadoAnterior(List.of(conta));
+            iniciarLinhaDoTempo(conta);
+            // Verifica se tem saldo suficiente
+            if (conta.getSaldo().compareTo(valor) < 0) {
+                return false;
+            }
+            
+            // Debita da conta
+            if (!conta.sacar(valor)) {
+                return false;
+            }
+            
+            // Cria o investimento (gravado só depois do journal)
+            Investimento investimento = new Investimento(tipo, valor, conta.getTitular().getCpf());
+            
+            // Adiciona à conta de investimento se for do tipo
+            if (conta instanceof ContaInvestimento contaInv) {
+                contaInv.adicionarInvestimento(investimento);
+            }
+            
+            // Registra transação
+            Transacao transacao = new Transacao(
+                TipoTransacao.INVESTIMENTO, 
+                valor, 
+                "Investimento em " + tipo.getNome(), 
+                chave, 
+                true
+            );
+            registrarTransacao(conta, transacao);
+            try {
+                registrarNoJournal(new RegistroMutacao()
+                        .saldo(conta)
+                        .transacao(conta, transacao)
+                        .investimento(investimento, conta instanceof ContaInvestimento ? conta : null), anteriores);
+            } catch (RuntimeException e) {
+                if (conta instanceof ContaInvestimento contaInv) {
+                    contaInv.removerInvestimento(investimento);
+                }
+                throw e;
+            }
+            
+            investimentoRepository.salvar(investimento);
+            contaRepository.salvar(conta);
+            return true;
+        })));
     }
 
     public boolean resgatarInvestimento(String investimentoId, String agencia, String numero) {
@@ -280,32 +855,48 @@ public class BancoService {
         
         Investimento investimento = investimentoOpt.get();
         Conta conta = contaOpt.get();
+        String chave = ContaRepository.gerarChave(agencia, numero);
         
-        if (!investimento.podeResgatar()) {
-            return false;
-        }
-        
-        BigDecimal valorResgate = investimento.resgatar();
-        conta.depositar(valorResgate);
-        
-        // Remove da conta de investimento se for do tipo
-        if (conta instanceof ContaInvestimento contaInv) {
-            contaInv.removerInvestimento(investimento);
-        }
-        
-        // Registra transação
-        Transacao transacao = new Transacao(
-            TipoTransacao.RESGATE_INVESTIMENTO, 
-            valorResgate, 
-            "Resgate de investimento " + investimento.getTipo().getNome(), 
-            agencia + "-" + numero, 
-            true
-        );
-        conta.adicionarTransacao(transacao);
-        
-        investimentoRepository.salvar(investimento);
-        contaRepository.salvar(conta);
-        return true;
+        // Trava também o investimento, para que dois resgates simultâneos não creditem duas vezes
+        return confirmarDurabilidade(travas.executar(chave, investimentoId, () -> contaRepository.emTransacao(() -> {
+            List<EstadoAnterior> anteriores = estadoAnterior(List.of(conta));
+            iniciarLinhaDoTempo(conta);
+            if (!investimento.podeResgatar()) {
+                return false;
+            }
+            
+            BigDecimal valorResgate = investimento.resgatar();
+            conta.depositar(valorResgate);
+            
+            // Remove da conta de investimento se for do tipo
+            boolean removido = conta instanceof ContaInvestimento contaInv && contaInv.removerInvestimento(investimento);
+            
+            // Registra transação
+            Transacao transacao = new Transacao(
+                TipoTransacao.RESGATE_INVESTIMENTO, 
+                valorResgate, 
+                "Resgate de investimento " + investimento.getTipo().getNome(), 
+                chave, 
+                true
+            );
+            registrarTransacao(conta, transacao);
+            try {
+                registrarNoJournal(new RegistroMutacao()
+                        .saldo(conta)
+                        .transacao(conta, transacao)
+                        .investimento(investimento, conta instanceof ContaInvestimento ? conta : null), anteriores);
+            } catch (RuntimeException e) {
+                investimento.setAtivo(true);
+                if (removido) {
+                    ((ContaInvestimento) conta).adicionarInvestimento(investimento);
+                }
+                throw e;
+            }
+            
+            investimentoRepository.salvar(investimento);
+            contaRepository.salvar(conta);
+            return true;
+        })));
     }
 
     public List<Investimento> listarInvestimentosPorCpf(String cpf) {
@@ -333,22 +924,256 @@ public class BancoService {
         System.out.println("Titular: " + conta.getTitular().getNome());
         System.out.println("=".repeat(60));
         
-        List<Transacao> historico = conta.getHistorico();
-        if (historico.isEmpty()) {
+        // Só as transações exibidas são lidas, não o histórico inteiro
+        PaginaTransacoes pagina = conta.getPaginaHistorico(0, TRANSACOES_POR_EXTRATO);
+        if (pagina.isVazia()) {
             System.out.println("Nenhuma transação encontrada.");
         } else {
-            System.out.println("HISTÓRICO DE TRANSAÇÕES:");
+            System.out.println("HISTÓRICO DE TRANSAÇÕES (" + pagina.getTransacoes().size() + " de "
+                               + pagina.getTotal() + "):");
             System.out.println("-".repeat(60));
             
-            historico.stream()
-                    .sorted((t1, t2) -> t2.getDataHora().compareTo(t1.getDataHora()))
-                    .limit(10)
-                    .forEach(transacao -> {
-                        System.out.println(transacao);
-                        System.out.println("-".repeat(60));
-                    });
+            pagina.getTransacoes().forEach(transacao -> {
+                System.out.println(transacao);
+                System.out.println("-".repeat(60));
+            });
+        }
+        System.out.println("=".repeat(60));
+    }
+
+    /**
+     * Extrato por período: transações com data/hora em [de, ate), em ordem, com o saldo
+     * após cada uma. Usa o índice temporal da conta (duas buscas binárias) e um trecho da
+     * linha do tempo como checkpoint do saldo de abertura, avançado transação a
+     * transação; o custo é O(log n + transações do período).
+     * Contas restauradas de um diretório trazem a linha do tempo do snapshot e do journal,
+     * então períodos anteriores à abertura também têm saldos; só contas carregadas sem
+     * ela (repositórios em disco ou JDBC, snapshot anterior à versão 3) ficam sem saldo
+     * antes da carga, mostrado como "não disponível".
+     */
+    public Optional<ExtratoPeriodo> extrato(String agencia, String numero, LocalDateTime de, LocalDateTime ate) {
+        Optional<Conta> contaOpt = buscarConta(agencia, numero);
+        if (contaOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        Conta conta = contaOpt.get();
+        iniciarLinhaDoTempo(conta);
+        List<Transacao> transacoes = indiceTemporal.buscar(conta, de, ate);
+        LinhaDoTempoSaldos.Trecho trecho = linhaDoTempo.trecho(ContaRepository.gerarChave(agencia, numero), de, ate);
+        List<BigDecimal> saldos = new ArrayList<>(transacoes.size());
+        for (Transacao transacao : transacoes) {
+            saldos.add(trecho.saldoEm(transacao.getDataHora()));
         }
+        return Optional.of(new ExtratoPeriodo(de, ate, transacoes, saldos, trecho.getSaldoInicial(),
+                                              trecho.getSaldoFinal()));
+    }
+
+    /**
+     * Exibe o extrato dos dias de de a ate, inclusive
+     */
+    public void exibirExtratoPeriodo(String agencia, String numero, LocalDate de, LocalDate ate) {
+        Optional<ExtratoPeriodo> extratoOpt = extrato(agencia, numero, de.atStartOfDay(),
+                                                      ate.plusDays(1).atStartOfDay());
+        if (extratoOpt.isEmpty()) {
+            System.out.println("Conta não encontrada!");
+            return;
+        }
+        
+        ExtratoPeriodo extrato = extratoOpt.get();
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("              EXTRATO DE " + de + " A " + ate);
         System.out.println("=".repeat(60));
+        System.out.println("Saldo anterior: " + formatarSaldo(extrato.getSaldoInicial()));
+        System.out.println("-".repeat(60));
+        if (extrato.isVazio()) {
+            System.out.println("Nenhuma transação no período.");
+        }
+        for (int i = 0; i < extrato.getTransacoes().size(); i++) {
+            System.out.println(extrato.getTransacoes().get(i));
+            System.out.println("Saldo: " + formatarSaldo(extrato.getSaldoApos(i)));
+            System.out.println("-".repeat(60));
+        }
+        System.out.println("Saldo no fim do período: " + formatarSaldo(extrato.getSaldoFinal()));
+        System.out.println("=".repeat(60));
+    }
+
+    private static String formatarSaldo(BigDecimal saldo) {
+        return saldo == null ? "não disponível" : String.format("R$ %.2f", saldo);
+    }
+
+    /**
+     * Página do histórico da conta, da transação mais nova para a mais antiga
+     */
+    public Optional<PaginaTransacoes> consultarHistorico(String agencia, String numero, int pagina, int tamanho) {
+        return buscarConta(agencia, numero).map(conta -> conta.getPaginaHistorico(pagina, tamanho));
+    }
+
+    /**
+     * Saldo da conta no instante informado, pela linha do tempo de saldos (busca binária,
+     * sem reprocessar o histórico). Vazio se a conta não existe ou se o instante é anterior
+     * ao primeiro saldo conhecido dela: a abertura, ou a carga da conta nesta execução
+     * quando ela veio de um repositório ou snapshot sem linha do tempo.
+     */
+    public Optional<BigDecimal> saldoEm(String agencia, String numero, LocalDateTime instante) {
+        Optional<Conta> contaOpt = buscarConta(agencia, numero);
+        if (contaOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        iniciarLinhaDoTempo(contaOpt.get());
+        return linhaDoTempo.saldoEm(ContaRepository.gerarChave(agencia, numero), instante);
+    }
+
+    /**
+     * Retrato do banco no instante informado (para relatórios): saldo de cada conta
+     * com saldo conhecido naquele instante, por chave "agencia-numero"
+     */
+    public Map<String, BigDecimal> saldosEm(LocalDateTime instante) {
+        Map<String, BigDecimal> saldos = new LinkedHashMap<>();
+        for (Conta conta : listarContas()) {
+            iniciarLinhaDoTempo(conta);
+            String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+            linhaDoTempo.saldoEm(chave, instante).ifPresent(saldo -> saldos.put(chave, saldo));
+        }
+        return saldos;
+    }
+
+    /**
+     * Move para arquivos colunares em diretorio as transações com mais de meses meses
+     * de cada conta (armazenamento frio). O extrato continua mostrando as arquivadas.
+     * Retorna o total de transações arquivadas.
+     */
+    public int arquivarTransacoesAntigas(Path diretorio, int meses) {
+        ArquivadorTransacoes arquivador = new ArquivadorTransacoes(diretorio);
+        LocalDateTime limite = LocalDateTime.now().minusMonths(meses);
+        int arquivadas = 0;
+        for (Conta conta : listarContas()) {
+            arquivadas += arquivador.arquivar(conta, limite);
+        }
+        return arquivadas;
+    }
+
+    /**
+     * Transações da conta que atendem ao filtro (auditoria); nas arquivadas, os blocos
+     * fora do período, dos tipos ou da faixa de valor não são lidos
+     */
+    public List<Transacao> buscarTransacoes(String agencia, String numero, FiltroTransacoes filtro) {
+        Optional<Conta> contaOpt = buscarConta(agencia, numero);
+        if (contaOpt.isEmpty()) {
+            return List.of();
+        }
+        if (contaOpt.get().getArmazenamentoHistorico() instanceof HistoricoArquivado arquivado) {
+            return arquivado.buscar(filtro);
+        }
+        return contaOpt.get().getHistoricoSomenteLeitura().stream().filter(filtro::aceita).toList();
+    }
+
+    // ================== BUSCA DE TRANSAÇÕES ==================
+
+    /**
+     * Transação pelo id, em qualquer conta, pelo índice do banco (sem percorrer históricos)
+     */
+    public Optional<Transacao> buscarTransacao(String id) {
+        return indice().localizar(id)
+                .flatMap(referencia -> resolver(referencia, transacao -> transacao.getId().equals(id)));
+    }
+
+    /**
+     * Conta em cujo histórico a transação foi registrada (para contestação e estorno)
+     */
+    public Optional<Conta> buscarContaDaTransacao(String id) {
+        return indice().localizar(id)
+                .filter(referencia -> resolver(referencia, transacao -> transacao.getId().equals(id)).isPresent())
+                .flatMap(referencia -> contaDaChave(referencia.getConta()));
+    }
+
+    /**
+     * Transações com a conta como origem, registradas em qualquer histórico
+     */
+    public List<Transacao> buscarTransacoesPorOrigem(String agencia, String numero) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return resolver(indice().comOrigem(chave), transacao -> chave.equals(transacao.getContaOrigem()));
+    }
+
+    /**
+     * Transações com a conta como destino, registradas em qualquer histórico
+     */
+    public List<Transacao> buscarTransacoesPorDestino(String agencia, String numero) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        return resolver(indice().comDestino(chave), transacao -> chave.equals(transacao.getContaDestino()));
+    }
+
+    /**
+     * Créditos recebidos pelas outras contas com origem na conta informada
+     * (o lado de quem recebeu cada transferência ou PIX bem-sucedido)
+     */
+    public List<Transacao> buscarTransferenciasRecebidasDe(String agencia, String numero) {
+        String chave = ContaRepository.gerarChave(agencia, numero);
+        List<IndiceTransacoes.Referencia> recebidas = indice().comOrigem(chave).stream()
+                .filter(referencia -> !referencia.getConta().equals(chave))
+                .toList();
+        return resolver(recebidas, transacao -> chave.equals(transacao.getContaOrigem()));
+    }
+
+    public List<Transacao> buscarTransacoesPorTipo(TipoTransacao tipo) {
+        return resolver(indice().doTipo(tipo), transacao -> transacao.getTipo() == tipo);
+    }
+
+    /**
+     * Lê as transações referenciadas; as que não conferem mais (conta excluída e recriada
+     * com o mesmo número) são descartadas
+     */
+    private List<Transacao> resolver(List<IndiceTransacoes.Referencia> referencias, Predicate<Transacao> confere) {
+        Map<String, Optional<Conta>> contas = new HashMap<>();
+        List<Transacao> transacoes = new ArrayList<>(referencias.size());
+        for (IndiceTransacoes.Referencia referencia : referencias) {
+            contas.computeIfAbsent(referencia.getConta(), this::contaDaChave)
+                    .filter(conta -> referencia.getPosicao() < conta.getQuantidadeTransacoes())
+                    .map(conta -> conta.getArmazenamentoHistorico().obter(referencia.getPosicao()))
+                    .filter(confere)
+                    .ifPresent(transacoes::add);
+        }
+        return transacoes;
+    }
+
+    private Optional<Transacao> resolver(IndiceTransacoes.Referencia referencia, Predicate<Transacao> confere) {
+        List<Transacao> transacoes = resolver(List.of(referencia), confere);
+        return transacoes.isEmpty() ? Optional.empty() : Optional.of(transacoes.get(0));
+    }
+
+    /**
+     * Índice de transações, construído na primeira consulta a partir dos históricos já existentes
+     */
+    private IndiceTransacoes indice() {
+        indiceTransacoes.construir(contaRepository::listarTodas);
+        return indiceTransacoes;
+    }
+
+    private Optional<Conta> contaDaChave(String chave) {
+        int separador = chave.indexOf('-');
+        return buscarConta(chave.substring(0, separador), chave.substring(separador + 1));
+    }
+
+    // ================== IMPORTAÇÃO E EXPORTAÇÃO ==================
+
+    /**
+     * Importa clientes, contas e investimentos do arquivo (CSV ou NDJSON, pela extensão)
+     * em lotes paralelos. Com diretório de persistência, grava um snapshot no fim, já
+     * que os registros importados não passam pelo journal.
+     */
+    public ResultadoImportacao importar(Path arquivo) {
+        ResultadoImportacao resultado = new ImportadorBanco(clienteRepository, contaRepository, investimentoRepository)
+                .importar(arquivo);
+        if (armazenamento != null) {
+            gravarSnapshot();
+        }
+        return resultado;
+    }
+
+    /**
+     * Exporta clientes, contas (com saldo) e investimentos no layout lido por importar
+     */
+    public long exportar(Path arquivo) {
+        return new ExportadorBanco(clienteRepository, contaRepository, investimentoRepository).exportar(arquivo);
     }
 
     // ================== DADOS INICIAIS ==================
@@ -377,17 +1202,263 @@ public class BancoService {
         System.out.println("   - Ag: 0001, Conta: " + contaInvestimento1.getNumero() + " (Investimento - Maria)");
     }
 
+    // ================== JOURNAL ==================
+
+    /**
+     * Executa a operação com a durabilidade indicada em vez da padrão do journal
+     */
+    public <T> T executarComDurabilidade(Durabilidade durabilidade, Supplier<T> operacao) {
+        Durabilidade anterior = durabilidadeDaOperacao.get();
+        durabilidadeDaOperacao.set(durabilidade);
+        try {
+            return operacao.get();
+        } finally {
+            if (anterior != null) {
+                durabilidadeDaOperacao.set(anterior);
+            } else {
+                durabilidadeDaOperacao.remove();
+            }
+        }
+    }
+
+    /**
+     * Anexa o registro ao journal (sem esperar o disco). Deve ser chamado dentro da
+     * trava ou do compare-and-set da operação, para manter a ordem por conta.
+     */
+    private void registrarNoJournal(RegistroMutacao registro) {
+        if (journal != null && !registro.isVazio()) {
+            long[] pendente = sequenciaPendente.get();
+            long sequencia = journal.anexar(registro);
+            registro.marcarSequencia(sequencia);
+            pendente[0] = Math.max(pendente[0], sequencia);
+        }
+    }
+
+    /**
+     * Como registrarNoJournal, para operações que já alteraram as contas: se o journal
+     * recusar o registro (encerrado, com falha de gravação ou erro ao codificar), as
+     * contas voltam ao estado anterior antes de a exceção seguir, e quem chama ainda não
+     * gravou nada no repositório. Assim o estado em memória nunca tem o que o journal não tem.
+     */
+    private void registrarNoJournal(RegistroMutacao registro, List<EstadoAnterior> anteriores) {
+        try {
+            registrarNoJournal(registro);
+        } catch (RuntimeException e) {
+            desfazer(anteriores);
+            throw e;
+        }
+    }
+
+    /**
+     * Estado das contas no início de uma operação, tomado dentro das travas dela; sem
+     * journal não há o que desfazer e nada é guardado
+     */
+    private List<EstadoAnterior> estadoAnterior(Collection<Conta> contas) {
+        if (journal == null) {
+            return List.of();
+        }
+        List<EstadoAnterior> anteriores = new ArrayList<>(contas.size());
+        for (Conta conta : contas) {
+            anteriores.add(new EstadoAnterior(conta, conta.getSaldo(), conta.getQuantidadeTransacoes(),
+                    linhaDoTempo.getQuantidadePontos(ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero()))));
+        }
+        return anteriores;
+    }
+
+    /**
+     * Devolve as contas ao estado anterior: o índice é recuado antes de o histórico perder
+     * as transações, e o índice temporal recomeça na próxima consulta
+     */
+    private void desfazer(List<EstadoAnterior> anteriores) {
+        for (EstadoAnterior anterior : anteriores) {
+            String chave = ContaRepository.gerarChave(anterior.conta.getAgencia(), anterior.conta.getNumero());
+            indiceTransacoes.recuar(anterior.conta, anterior.transacoes);
+            indiceTemporal.remover(chave);
+            anterior.conta.desfazer(anterior.saldo, anterior.transacoes);
+            linhaDoTempo.desfazer(chave, anterior.pontos, anterior.saldo);
+        }
+    }
+
+    private static final class EstadoAnterior {
+        final Conta conta;
+        final BigDecimal saldo;
+        final long transacoes;
+        final int pontos;
+
+        EstadoAnterior(Conta conta, BigDecimal saldo, long transacoes, int pontos) {
+            this.conta = conta;
+            this.saldo = saldo;
+            this.transacoes = transacoes;
+            this.pontos = pontos;
+        }
+    }
+
+    /**
+     * Fora das travas: espera a última sequência registrada pela thread ficar durável
+     */
+    private <T> T confirmarDurabilidade(T resultado) {
+        if (journal != null) {
+            long[] pendente = sequenciaPendente.get();
+            if (pendente[0] > 0) {
+                long sequencia = pendente[0];
+                pendente[0] = 0;
+                Durabilidade durabilidade = durabilidadeDaOperacao.get();
+                journal.aguardar(sequencia, durabilidade != null ? durabilidade : journal.getDurabilidadePadrao());
+            }
+        }
+        return resultado;
+    }
+
+    // ================== SNAPSHOT ==================
+
+    /**
+     * Grava um snapshot consistente sem parar as operações: o journal passa para um novo
+     * segmento e cada conta é copiada dentro da própria trava, com a sequência da última
+     * alteração; a restauração ignora os registros que já estão na cópia.
+     */
+    public void gravarSnapshot() {
+        if (armazenamento == null) {
+            throw new IllegalStateException("Banco aberto sem diretório de persistência");
+        }
+        synchronized (travaSnapshot) {
+            long sequencia = armazenamento.rotacionarJournal(journal);
+            armazenamento.gravarSnapshot(sequencia,
+                                         clienteRepository.listarTodos(),
+                                         investimentoRepository.listarTodos(),
+                                         contaRepository.listarTodas(),
+                                         this::copiarConta);
+        }
+    }
+
+    private Optional<byte[]> copiarConta(Conta conta) {
+        String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+        return travas.executar(chave, () -> contaRepository.lerConta(conta.getAgencia(), conta.getNumero(),
+                c -> ArmazenamentoBanco.codificarConta(c, linhaDoTempo.exportar(chave))));
+    }
+
+    private void agendarSnapshots(Duration intervalo) {
+        agendadorSnapshots = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "banco-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long milis = intervalo.toMillis();
+        agendadorSnapshots.scheduleWithFixedDelay(() -> {
+            try {
+                gravarSnapshot();
+            } catch (RuntimeException e) {
+                System.err.println("Erro ao gravar snapshot: " + e.getMessage());
+            }
+        }, milis, milis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Encerra os snapshots automáticos e fecha o journal (gravando o que estiver pendente)
+     */
+    @Override
+    public void close() {
+        if (agendadorSnapshots != null) {
+            agendadorSnapshots.shutdown();
+            try {
+                agendadorSnapshots.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Ponto único de registro de transações: adiciona ao histórico da conta, ao índice
+     * de transações do banco (se já construído) e marca o saldo resultante na linha do tempo. Deve ser chamado dentro da trava da operação.
+     */
+    private void registrarTransacao(Conta conta, Transacao transacao) {
+        conta.adicionarTransacao(transacao);
+        indiceTransacoes.acompanharSeConstruido(conta);
+        linhaDoTempo.registrar(ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero()),
+                               transacao.getDataHora(), conta.getSaldo());
+    }
+
+    /**
+     * Como registrarTransacao para um bloco da mesma conta: o saldo final é marcado
+     * no instante da última transação
+     */
+    private void registrarTransacoes(Conta conta, List<Transacao> transacoes) {
+        conta.adicionarTransacoes(transacoes);
+        indiceTransacoes.acompanharSeConstruido(conta);
+        linhaDoTempo.registrar(ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero()),
+                               transacoes.get(transacoes.size() - 1).getDataHora(), conta.getSaldo());
+    }
+
+    /**
+     * Contas carregadas de um repositório ainda não têm linha do tempo: o saldo atual
+     * passa a ser o primeiro conhecido. Chamado antes de alterar o saldo.
+     */
+    private void iniciarLinhaDoTempo(Conta conta) {
+        String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+        if (!linhaDoTempo.contem(chave)) {
+            linhaDoTempo.iniciar(chave, LocalDateTime.now(), conta.getSaldo());
+        }
+    }
+
+    private void iniciarLinhaDoTempo(Collection<Conta> contas) {
+        contas.forEach(this::iniciarLinhaDoTempo);
+    }
+
+    private static RegistroMutacao registroDe(Map<Conta, List<Transacao>> transacoes) {
+        RegistroMutacao registro = new RegistroMutacao();
+        transacoes.forEach((conta, lista) -> {
+            registro.saldo(conta);
+            lista.forEach(transacao -> registro.transacao(conta, transacao));
+        });
+        return registro;
+    }
+
     // ================== GETTERS ==================
     
-    public ClienteRepository getClienteRepository() {
+    public RepositorioCliente getClienteRepository() {
         return clienteRepository;
     }
 
-    public ContaRepository getContaRepository() {
+    public RepositorioConta getContaRepository() {
         return contaRepository;
     }
 
-    public InvestimentoRepository getInvestimentoRepository() {
+    public RepositorioInvestimento getInvestimentoRepository() {
         return investimentoRepository;
     }
+
+    public TabelaIdempotencia getTabelaIdempotencia() {
+        return idempotencia;
+    }
+
+    public MetricasConcorrencia getMetricasConcorrencia() {
+        return metricasConcorrencia;
+    }
+
+    public ControleAdmissaoPix getControleAdmissaoPix() {
+        return controleAdmissaoPix;
+    }
+
+    public LinhaDoTempoSaldos getLinhaDoTempo() {
+        return linhaDoTempo;
+    }
+
+    public IndiceTemporalTransacoes getIndiceTemporal() {
+        return indiceTemporal;
+    }
+
+    public IndiceTransacoes getIndiceTransacoes() {
+        return indice();
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public ArmazenamentoBanco getArmazenamento() {
+        return armazenamento;
+    }
 }
\ No newline at end of file
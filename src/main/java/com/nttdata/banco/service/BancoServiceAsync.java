@@ -0,0 +1,138 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.enums.TipoInvestimento;
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Fachada assíncrona do BancoService
+ * Cada operação roda no executor e devolve um CompletableFuture com o mesmo resultado
+ * booleano da versão síncrona. O executor padrão é um pool fixo de threads de plataforma
+ * do tamanho do limite de concorrência (o build é para Java 17, sem threads virtuais).
+ *
+ * O número de operações em andamento (na fila do executor ou executando) é limitado
+ * por um semáforo, para que milhares de chamadas simultâneas não disputem as mesmas
+ * travas de conta. Quem chama nunca é bloqueado: com o limite atingido, a operação não
+ * é enviada e o futuro já volta falho com RejectedExecutionException (contrapressão
+ * por recusa; quem chama decide se espera uma operação terminar e tenta de novo).
+ * O futuro devolvido só completa depois de a permissão da operação ser liberada.
+ */
+public class BancoServiceAsync implements AutoCloseable {
+    public static final int LIMITE_CONCORRENCIA_PADRAO = 256;
+
+    private final BancoService bancoService;
+    private final ExecutorService executor;
+    private final Semaphore permissoes;
+    private final int limiteConcorrencia;
+
+    public BancoServiceAsync(BancoService bancoService) {
+        this(bancoService, LIMITE_CONCORRENCIA_PADRAO);
+    }
+
+    public BancoServiceAsync(BancoService bancoService, int limiteConcorrencia) {
+        this(bancoService, criarExecutorPadrao(limiteConcorrencia), limiteConcorrencia);
+    }
+
+    public BancoServiceAsync(BancoService bancoService, ExecutorService executor, int limiteConcorrencia) {
+        if (limiteConcorrencia <= 0) {
+            throw new IllegalArgumentException("Limite de concorrência deve ser positivo");
+        }
+        this.bancoService = bancoService;
+        this.executor = executor;
+        this.limiteConcorrencia = limiteConcorrencia;
+        this.permissoes = new Semaphore(limiteConcorrencia);
+    }
+
+    // ================== OPERAÇÕES BANCÁRIAS ==================
+
+    public CompletableFuture<Boolean> depositar(String agencia, String numero, BigDecimal valor) {
+        return executar(() -> bancoService.depositar(agencia, numero, valor));
+    }
+
+    public CompletableFuture<Boolean> sacar(String agencia, String numero, BigDecimal valor) {
+        return executar(() -> bancoService.sacar(agencia, numero, valor));
+    }
+
+    public CompletableFuture<Boolean> transferir(String agenciaOrigem, String numeroOrigem,
+                                                 String agenciaDestino, String numeroDestino,
+                                                 BigDecimal valor) {
+        return executar(() -> bancoService.transferir(agenciaOrigem, numeroOrigem,
+                                                      agenciaDestino, numeroDestino, valor));
+    }
+
+    public CompletableFuture<Boolean> pix(String agenciaOrigem, String numeroOrigem,
+                                          String chavePixDestino, BigDecimal valor) {
+        return executar(() -> bancoService.pix(agenciaOrigem, numeroOrigem, chavePixDestino, valor));
+    }
+
+    // ================== OPERAÇÕES DE INVESTIMENTO ==================
+
+    public CompletableFuture<Boolean> investir(String agencia, String numero, TipoInvestimento tipo, BigDecimal valor) {
+        return executar(() -> bancoService.investir(agencia, numero, tipo, valor));
+    }
+
+    public CompletableFuture<Boolean> resgatarInvestimento(String investimentoId, String agencia, String numero) {
+        return executar(() -> bancoService.resgatarInvestimento(investimentoId, agencia, numero));
+    }
+
+    // ================== CONTROLE ==================
+
+    public int getLimiteConcorrencia() {
+        return limiteConcorrencia;
+    }
+
+    public int getOperacoesEmExecucao() {
+        return limiteConcorrencia - permissoes.availablePermits();
+    }
+
+    public BancoService getBancoService() {
+        return bancoService;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Boolean> executar(Supplier<Boolean> operacao) {
+        if (!permissoes.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Limite de " + limiteConcorrencia + " operações simultâneas atingido"));
+        }
+        CompletableFuture<Boolean> futuro;
+        try {
+            futuro = CompletableFuture.supplyAsync(operacao, executor);
+        } catch (RuntimeException e) {
+            // Executor recusou a tarefa (encerrado): a permissão não será liberada por ela
+            permissoes.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return futuro.whenComplete((resultado, erro) -> permissoes.release());
+    }
+
+    /**
+     * Pool fixo com uma thread (daemon) por permissão: como nenhuma tarefa entra sem
+     * permissão, as tarefas nunca esperam na fila do pool
+     */
+    public static ExecutorService criarExecutorPadrao(int limiteConcorrencia) {
+        return Executors.newFixedThreadPool(limiteConcorrencia, tarefa -> {
+            Thread thread = new Thread(tarefa, "banco-async");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.enums.ResultadoPix;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Controle de admissão (token bucket) para o PIX
+ *
+ * Cada PIX consome uma ficha de três baldes: o da conta de origem, o do CPF do
+ * titular e o global. Se algum deles estiver vazio a chamada é rejeitada com um
+ * ResultadoPix próprio, e as fichas já retiradas dos outros baldes são devolvidas.
+ *
+ * O balde guarda um único long (o "instante teórico de chegada" do algoritmo GCRA,
+ * equivalente ao token bucket), atualizado por compare-and-set: a contabilidade
+ * não aloca nada por chamada. Baldes ociosos equivalem a baldes cheios e são
+ * removidos aos poucos, por quem passar primeiro depois do intervalo de limpeza.
+ */
+public class ControleAdmissaoPix {
+    public static final double TAXA_CONTA_PADRAO = 10;
+    public static final int RAJADA_CONTA_PADRAO = 20;
+    public static final double TAXA_CPF_PADRAO = 20;
+    public static final int RAJADA_CPF_PADRAO = 40;
+    public static final double TAXA_GLOBAL_PADRAO = 5_000;
+    public static final int RAJADA_GLOBAL_PADRAO = 10_000;
+    private static final long INTERVALO_LIMPEZA_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final String CHAVE_GLOBAL = "*";
+
+    private final Baldes porConta;
+    private final Baldes porCpf;
+    private final Baldes global;
+    private final LongSupplier relogio;
+    private final AtomicLong proximaLimpeza;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final LongAdder admitidos = new LongAdder();
+    private final LongAdder rejeitadosConta = new LongAdder();
+    private final LongAdder rejeitadosCpf = new LongAdder();
+    private final LongAdder rejeitadosGlobal = new LongAdder();
+
+    public ControleAdmissaoPix() {
+        this(TAXA_CONTA_PADRAO, RAJADA_CONTA_PADRAO, TAXA_CPF_PADRAO, RAJADA_CPF_PADRAO,
+             TAXA_GLOBAL_PADRAO, RAJADA_GLOBAL_PADRAO, System::nanoTime);
+    }
+
+    /**
+     * Cada limite é dado pela taxa de reposição (fichas por segundo) e pela rajada (capacidade do balde)
+     */
+    public ControleAdmissaoPix(double taxaConta, int rajadaConta, double taxaCpf, int rajadaCpf,
+                               double taxaGlobal, int rajadaGlobal, LongSupplier relogioNanos) {
+        this.porConta = new Baldes(taxaConta, rajadaConta);
+        this.porCpf = new Baldes(taxaCpf, rajadaCpf);
+        this.global = new Baldes(taxaGlobal, rajadaGlobal);
+        this.relogio = relogioNanos;
+        this.proximaLimpeza = new AtomicLong(relogioNanos.getAsLong() + INTERVALO_LIMPEZA_NANOS);
+    }
+
+    /**
+     * Executa a operação se houver fichas nos três baldes; caso contrário devolve a rejeição
+     * sem executar. Enquanto a operação roda ela conta em getPixEmAndamento.
+     */
+    public ResultadoPix executar(String chaveConta, String cpf, Supplier<Boolean> operacao) {
+        long agora = relogio.getAsLong();
+        limparSeNecessario(agora);
+
+        if (!porConta.consumir(chaveConta, agora)) {
+            rejeitadosConta.increment();
+            return ResultadoPix.REJEITADO_LIMITE_CONTA;
+        }
+        if (!porCpf.consumir(cpf, agora)) {
+            porConta.devolver(chaveConta);
+            rejeitadosCpf.increment();
+            return ResultadoPix.REJEITADO_LIMITE_CPF;
+        }
+        if (!global.consumir(CHAVE_GLOBAL, agora)) {
+            porConta.devolver(chaveConta);
+            porCpf.devolver(cpf);
+            rejeitadosGlobal.increment();
+            return ResultadoPix.REJEITADO_LIMITE_GLOBAL;
+        }
+
+        admitidos.increment();
+        emAndamento.incrementAndGet();
+        try {
+            return operacao.get() ? ResultadoPix.SUCESSO : ResultadoPix.FALHOU;
+        } finally {
+            emAndamento.decrementAndGet();
+        }
+    }
+
+    public int getPixEmAndamento() {
+        return emAndamento.get();
+    }
+
+    public long getAdmitidos() {
+        return admitidos.sum();
+    }
+
+    public long getRejeitadosConta() {
+        return rejeitadosConta.sum();
+    }
+
+    public long getRejeitadosCpf() {
+        return rejeitadosCpf.sum();
+    }
+
+    public long getRejeitadosGlobal() {
+        return rejeitadosGlobal.sum();
+    }
+
+    public long getTotalRejeitados() {
+        return getRejeitadosConta() + getRejeitadosCpf() + getRejeitadosGlobal();
+    }
+
+    /**
+     * Quantidade de baldes de conta e de CPF ainda em memória
+     */
+    public int getTotalBaldes() {
+        return porConta.baldes.size() + porCpf.baldes.size();
+    }
+
+    /**
+     * Remove agora os baldes ociosos, sem esperar o intervalo de limpeza
+     */
+    public void limparBaldesOciosos() {
+        long agora = relogio.getAsLong();
+        porConta.removerOciosos(agora);
+        porCpf.removerOciosos(agora);
+    }
+
+    private void limparSeNecessario(long agora) {
+        long prevista = proximaLimpeza.get();
+        // Só a thread que vencer o compare-and-set faz a limpeza
+        if (agora - prevista >= 0 && proximaLimpeza.compareAndSet(prevista, agora + INTERVALO_LIMPEZA_NANOS)) {
+            porConta.removerOciosos(agora);
+            porCpf.removerOciosos(agora);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Admitidos: %d | Rejeitados conta/CPF/global: %d/%d/%d | Em andamento: %d",
+                             getAdmitidos(), getRejeitadosConta(), getRejeitadosCpf(),
+                             getRejeitadosGlobal(), getPixEmAndamento());
+    }
+
+    // ================== BALDES ==================
+
+    private static class Baldes {
+        // Marca de balde removido: quem encontrar busca (ou cria) o balde novo
+        private static final long REMOVIDO = Long.MIN_VALUE;
+
+        private final Map<String, AtomicLong> baldes = new ConcurrentHashMap<>();
+        private final long intervaloNanos;
+        private final long toleranciaNanos;
+
+        Baldes(double taxaPorSegundo, int rajada) {
+            if (taxaPorSegundo <= 0 || rajada <= 0) {
+                throw new IllegalArgumentException("Taxa e rajada devem ser positivas");
+            }
+            this.intervaloNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / taxaPorSegundo));
+            this.toleranciaNanos = intervaloNanos * rajada;
+        }
+
+        boolean consumir(String chave, long agora) {
+            while (true) {
+                // get antes de computeIfAbsent: o lambda que captura agora só é criado quando falta o balde
+                AtomicLong balde = baldes.get(chave);
+                if (balde == null) {
+                    balde = baldes.computeIfAbsent(chave, c -> new AtomicLong(agora));
+                }
+                long chegada = balde.get();
+                if (chegada == REMOVIDO) {
+                    baldes.remove(chave, balde);
+                    continue;
+                }
+                // Cada ficha empurra o instante teórico de chegada um intervalo para frente
+                long novaChegada = Math.max(chegada, agora) + intervaloNanos;
+                if (novaChegada - agora > toleranciaNanos) {
+                    return false;
+                }
+                if (balde.compareAndSet(chegada, novaChegada)) {
+                    return true;
+                }
+            }
+        }
+
+        void devolver(String chave) {
+            AtomicLong balde = baldes.get(chave);
+            if (balde == null) {
+                return;
+            }
+            long chegada;
+            do {
+                chegada = balde.get();
+                if (chegada == REMOVIDO) {
+                    return;
+                }
+            } while (!balde.compareAndSet(chegada, chegada - intervaloNanos));
+        }
+
+        void removerOciosos(long agora) {
+            Iterator<Map.Entry<String, AtomicLong>> iterator = baldes.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, AtomicLong> entrada = iterator.next();
+                AtomicLong balde = entrada.getValue();
+                long chegada = balde.get();
+                // Instante de chegada já passou: o balde está cheio, igual a um balde novo
+                if (chegada != REMOVIDO && chegada - agora <= 0 && balde.compareAndSet(chegada, REMOVIDO)) {
+                    baldes.remove(entrada.getKey(), balde);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
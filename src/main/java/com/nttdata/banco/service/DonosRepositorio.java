@@ -0,0 +1,33 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.repository.RepositorioConta;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Qual componente escreve em cada repositório de contas: BancoService (com journal,
+ * índices e linha do tempo) ou LedgerParticionado (escritor único por partição, sem eles).
+ * Vários BancoService podem dividir um repositório; um ledger não divide com ninguém.
+ * As chaves são fracas: repositórios descartados saem sozinhos.
+ */
+final class DonosRepositorio {
+    private static final Map<RepositorioConta, Class<?>> DONOS = new WeakHashMap<>();
+
+    private DonosRepositorio() {
+    }
+
+    static synchronized void registrar(RepositorioConta repositorio, Class<?> dono) {
+        Class<?> atual = DONOS.get(repositorio);
+        if (atual != null && !(atual == BancoService.class && dono == BancoService.class)) {
+            throw new IllegalArgumentException("Repositório de contas já usado por " + atual.getSimpleName()
+                    + ": o ledger e o BancoService não podem dividir um repositório");
+        }
+        DONOS.put(repositorio, dono);
+    }
+
+    static synchronized void liberar(RepositorioConta repositorio, Class<?> dono) {
+        if (DONOS.get(repositorio) == dono) {
+            DONOS.remove(repositorio);
+        }
+    }
+}
\ No newline at end of file
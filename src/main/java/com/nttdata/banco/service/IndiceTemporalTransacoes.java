@@ -0,0 +1,149 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.HistoricoTransacoes;
+import com.nttdata.banco.model.Transacao;
+import com.nttdata.banco.repository.ContaRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice por data/hora do histórico de cada conta, para extratos por período
+ * Guarda pares (instante em microssegundos, posição no histórico) ordenados pelo instante;
+ * buscar faz duas buscas binárias e lê só as transações do período, em O(log n + k)
+ *
+ * O índice acompanha o histórico de forma incremental: a cada consulta, as transações
+ * registradas desde a anterior são inseridas (quase sempre no fim, já que chegam em
+ * ordem). As posições continuam válidas quando o histórico é arquivado, porque os
+ * índices contam desde a primeira transação da conta.
+ */
+public class IndiceTemporalTransacoes {
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private final ConcurrentHashMap<String, Indice> indices = new ConcurrentHashMap<>();
+
+    /**
+     * Transações da conta com data/hora em [de, ate), em ordem de data/hora (empates na
+     * ordem do histórico)
+     */
+    public List<Transacao> buscar(Conta conta, LocalDateTime de, LocalDateTime ate) {
+        HistoricoTransacoes historico = conta.getArmazenamentoHistorico();
+        long[] posicoes = indiceDe(conta).posicoesEntre(historico, micros(de), micros(ate));
+        List<Transacao> transacoes = new ArrayList<>(posicoes.length);
+        for (long posicao : posicoes) {
+            transacoes.add(historico.obter(posicao));
+        }
+        return transacoes;
+    }
+
+    public int getQuantidadeIndexada(String chave) {
+        Indice indice = indices.get(chave);
+        return indice == null ? 0 : indice.tamanho();
+    }
+
+    public void remover(String chave) {
+        indices.remove(chave);
+    }
+
+    public void limpar() {
+        indices.clear();
+    }
+
+    /**
+     * Índice da conta; uma instância nova com a mesma chave (conta recarregada) recomeça do zero
+     */
+    private Indice indiceDe(Conta conta) {
+        String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+        return indices.compute(chave, (k, atual) -> atual != null && atual.conta == conta ? atual : new Indice(conta));
+    }
+
+    private static long micros(LocalDateTime instante) {
+        return instante.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + instante.getNano() / 1_000;
+    }
+
+    /**
+     * Pares ordenados em dois arrays paralelos de long (sem um objeto por transação)
+     */
+    private static final class Indice {
+        private final Conta conta;
+        private long[] instantes = new long[CAPACIDADE_INICIAL];
+        private long[] posicoes = new long[CAPACIDADE_INICIAL];
+        private int tamanho;
+        private long indexadas;
+
+        Indice(Conta conta) {
+            this.conta = conta;
+        }
+
+        synchronized long[] posicoesEntre(HistoricoTransacoes historico, long de, long ate) {
+            atualizar(historico);
+            int inicio = primeiroAPartirDe(de);
+            int fim = Math.max(primeiroAPartirDe(ate), inicio);
+            return Arrays.copyOfRange(posicoes, inicio, fim);
+        }
+
+        private void atualizar(HistoricoTransacoes historico) {
+            long quantidade = historico.getQuantidade();
+            for (long posicao = indexadas; posicao < quantidade; posicao++) {
+                inserir(micros(historico.obter(posicao).getDataHora()), posicao);
+            }
+            indexadas = Math.max(indexadas, quantidade);
+        }
+
+        private void inserir(long instante, long posicao) {
+            if (tamanho == instantes.length) {
+                instantes = Arrays.copyOf(instantes, tamanho * 2);
+                posicoes = Arrays.copyOf(posicoes, tamanho * 2);
+            }
+            // No caso comum (em ordem) vai para o fim; senão, depois dos de mesmo instante
+            int destino = tamanho == 0 || instantes[tamanho - 1] <= instante ? tamanho : primeiroDepoisDe(instante);
+            System.arraycopy(instantes, destino, instantes, destino + 1, tamanho - destino);
+            System.arraycopy(posicoes, destino, posicoes, destino + 1, tamanho - destino);
+            instantes[destino] = instante;
+            posicoes[destino] = posicao;
+            tamanho++;
+        }
+
+        /**
+         * Primeira posição com instante >= o informado
+         */
+        private int primeiroAPartirDe(long instante) {
+            int baixo = 0;
+            int alto = tamanho;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (instantes[meio] < instante) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+
+        /**
+         * Primeira posição com instante > o informado
+         */
+        private int primeiroDepoisDe(long instante) {
+            int baixo = 0;
+            int alto = tamanho;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (instantes[meio] <= instante) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+
+        synchronized int tamanho() {
+            return tamanho;
+        }
+    }
+}
\ No newline at end of file
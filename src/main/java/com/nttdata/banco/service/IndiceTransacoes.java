@@ -0,0 +1,417 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.HistoricoTransacoes;
+import com.nttdata.banco.model.Transacao;
+import com.nttdata.banco.repository.ContaRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Índice de todas as transações do banco: por id, por conta de origem, por conta de
+ * destino e por tipo. Cada transação é guardada como uma referência (conta em cujo
+ * histórico foi registrada e posição nele), não como o objeto: transações arquivadas
+ * ou mapeadas fora do heap continuam fora dele e são lidas só quando consultadas.
+ *
+ * As referências ficam compactadas em um long (número interno da conta nos bits altos,
+ * posição nos 40 bits baixos) e o mapa por id usa as duas metades do UUID como chave,
+ * sem String nem objeto por transação; Referencia só é montada no resultado das consultas.
+ *
+ * O índice acompanha o histórico de cada conta a partir da última posição indexada.
+ * O BancoService o constrói na primeira consulta (construir) e, depois disso, chama
+ * acompanhar ao registrar transações; transações adicionadas por outros caminhos
+ * entram na próxima vez.
+ */
+public class IndiceTransacoes {
+    private static final int BITS_POSICAO = 40;
+    private static final long MASCARA_POSICAO = (1L << BITS_POSICAO) - 1;
+    // Referências nunca negativas: -1 marca ausência
+    private static final int MAXIMO_CONTAS = 1 << (63 - BITS_POSICAO);
+    private static final long SEM_REFERENCIA = -1;
+
+    private final MapaIds porId = new MapaIds();
+    private final ConcurrentHashMap<String, Long> porIdTexto = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Referencias> porOrigem = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Referencias> porDestino = new ConcurrentHashMap<>();
+    private final Map<TipoTransacao, Referencias> porTipo = new EnumMap<>(TipoTransacao.class);
+    private final ConcurrentHashMap<String, Acompanhamento> contas = new ConcurrentHashMap<>();
+    // Chave de cada número interno de conta; null quando a conta foi removida
+    private final List<String> chaves = new ArrayList<>();
+    private volatile boolean construido;
+
+    public IndiceTransacoes() {
+        for (TipoTransacao tipo : TipoTransacao.values()) {
+            porTipo.put(tipo, new Referencias());
+        }
+    }
+
+    /**
+     * Na primeira chamada, indexa os históricos das contas informadas; as seguintes não
+     * fazem nada. Marca o índice como construído antes de percorrer as contas, então as
+     * transações registradas durante a construção também entram (acompanharSeConstruido).
+     */
+    public void construir(Supplier<? extends Collection<Conta>> todasAsContas) {
+        if (construido) {
+            return;
+        }
+        synchronized (this) {
+            if (!construido) {
+                construido = true;
+                acompanhar(todasAsContas.get());
+            }
+        }
+    }
+
+    public boolean isConstruido() {
+        return construido;
+    }
+
+    /**
+     * Acompanha a conta só se o índice já foi construído; antes disso a construção a inclui
+     */
+    public void acompanharSeConstruido(Conta conta) {
+        if (construido) {
+            acompanhar(conta);
+        }
+    }
+
+    /**
+     * Indexa as transações da conta registradas desde a última chamada
+     */
+    public void acompanhar(Conta conta) {
+        String chave = ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero());
+        Acompanhamento acompanhamento = contas.computeIfAbsent(chave, this::numerar);
+        synchronized (acompanhamento) {
+            HistoricoTransacoes historico = conta.getArmazenamentoHistorico();
+            long quantidade = historico.getQuantidade();
+            long base = (long) acompanhamento.numero << BITS_POSICAO;
+            for (long posicao = acompanhamento.indexadas; posicao < quantidade; posicao++) {
+                indexar(historico.obter(posicao), base | (posicao & MASCARA_POSICAO));
+            }
+            acompanhamento.indexadas = Math.max(acompanhamento.indexadas, quantidade);
+        }
+    }
+
+    public void acompanhar(Collection<Conta> contas) {
+        contas.forEach(this::acompanhar);
+    }
+
+    /**
+     * Tira do índice as transações da conta a partir da posição informada. Chamado antes
+     * de elas serem descartadas do histórico (operação desfeita), enquanto ainda podem ser lidas.
+     */
+    public void recuar(Conta conta, long quantidade) {
+        Acompanhamento acompanhamento = contas.get(ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero()));
+        if (acompanhamento == null) {
+            return;
+        }
+        synchronized (acompanhamento) {
+            HistoricoTransacoes historico = conta.getArmazenamentoHistorico();
+            long base = (long) acompanhamento.numero << BITS_POSICAO;
+            for (long posicao = acompanhamento.indexadas - 1; posicao >= quantidade; posicao--) {
+                desindexar(historico.obter(posicao), base | (posicao & MASCARA_POSICAO));
+            }
+            acompanhamento.indexadas = Math.min(acompanhamento.indexadas, quantidade);
+        }
+    }
+
+    private Acompanhamento numerar(String chave) {
+        synchronized (chaves) {
+            if (chaves.size() >= MAXIMO_CONTAS) {
+                throw new IllegalStateException("Limite de contas do índice de transações atingido");
+            }
+            chaves.add(chave);
+            return new Acompanhamento(chaves.size() - 1);
+        }
+    }
+
+    private void indexar(Transacao transacao, long referencia) {
+        if (transacao.isIdCompacto()) {
+            porId.colocar(transacao.getIdAlto(), transacao.getIdBaixo(), referencia);
+        } else {
+            porIdTexto.put(transacao.getId(), referencia);
+        }
+        if (transacao.getContaOrigem() != null) {
+            porOrigem.computeIfAbsent(transacao.getContaOrigem(), k -> new Referencias()).adicionar(referencia);
+        }
+        if (transacao.getContaDestino() != null) {
+            porDestino.computeIfAbsent(transacao.getContaDestino(), k -> new Referencias()).adicionar(referencia);
+        }
+        porTipo.get(transacao.getTipo()).adicionar(referencia);
+    }
+
+    private void desindexar(Transacao transacao, long referencia) {
+        if (transacao.isIdCompacto()) {
+            porId.remover(transacao.getIdAlto(), transacao.getIdBaixo(), referencia);
+        } else {
+            porIdTexto.remove(transacao.getId(), referencia);
+        }
+        if (transacao.getContaOrigem() != null) {
+            Referencias referencias = porOrigem.get(transacao.getContaOrigem());
+            if (referencias != null) {
+                referencias.remover(referencia);
+            }
+        }
+        if (transacao.getContaDestino() != null) {
+            Referencias referencias = porDestino.get(transacao.getContaDestino());
+            if (referencias != null) {
+                referencias.remover(referencia);
+            }
+        }
+        porTipo.get(transacao.getTipo()).remover(referencia);
+    }
+
+    // ================== CONSULTAS ==================
+
+    public Optional<Referencia> localizar(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        UUID uuid = Transacao.comoUuid(id);
+        long referencia;
+        if (uuid != null) {
+            referencia = porId.obter(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        } else {
+            referencia = porIdTexto.getOrDefault(id, SEM_REFERENCIA);
+        }
+        if (referencia == SEM_REFERENCIA) {
+            return Optional.empty();
+        }
+        synchronized (chaves) {
+            return Optional.ofNullable(materializar(referencia));
+        }
+    }
+
+    /**
+     * Transações com a conta ("agencia-numero") como origem, em qualquer histórico
+     */
+    public List<Referencia> comOrigem(String chaveConta) {
+        Referencias referencias = porOrigem.get(chaveConta);
+        return referencias == null ? List.of() : materializar(referencias.copiar());
+    }
+
+    /**
+     * Transações com a conta ("agencia-numero") como destino, em qualquer histórico
+     */
+    public List<Referencia> comDestino(String chaveConta) {
+        Referencias referencias = porDestino.get(chaveConta);
+        return referencias == null ? List.of() : materializar(referencias.copiar());
+    }
+
+    public List<Referencia> doTipo(TipoTransacao tipo) {
+        return materializar(porTipo.get(tipo).copiar());
+    }
+
+    /**
+     * Transações indexadas, incluindo as de contas já removidas
+     */
+    public int getQuantidade() {
+        return porId.tamanho() + porIdTexto.size();
+    }
+
+    /**
+     * Esquece a conta excluída: as referências ao histórico dela deixam de aparecer nas
+     * consultas, mesmo que outra conta seja aberta depois com o mesmo número
+     */
+    public void remover(String chaveConta) {
+        Acompanhamento acompanhamento = contas.remove(chaveConta);
+        if (acompanhamento != null) {
+            synchronized (chaves) {
+                chaves.set(acompanhamento.numero, null);
+            }
+        }
+    }
+
+    private List<Referencia> materializar(long[] referencias) {
+        List<Referencia> resultado = new ArrayList<>(referencias.length);
+        synchronized (chaves) {
+            for (long referencia : referencias) {
+                Referencia materializada = materializar(referencia);
+                if (materializada != null) {
+                    resultado.add(materializada);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    // Chamado com a trava de chaves
+    private Referencia materializar(long referencia) {
+        String chave = chaves.get((int) (referencia >>> BITS_POSICAO));
+        return chave == null ? null : new Referencia(chave, referencia & MASCARA_POSICAO);
+    }
+
+    /**
+     * Posição de uma transação: conta ("agencia-numero") em cujo histórico está e o
+     * índice nele (estável, contado desde a primeira transação da conta)
+     */
+    public static final class Referencia {
+        private final String conta;
+        private final long posicao;
+
+        Referencia(String conta, long posicao) {
+            this.conta = conta;
+            this.posicao = posicao;
+        }
+
+        public String getConta() {
+            return conta;
+        }
+
+        public long getPosicao() {
+            return posicao;
+        }
+    }
+
+    /**
+     * Lista de referências compactas na ordem em que foram indexadas; remover só é usado
+     * ao desfazer uma operação, então procura a partir do fim
+     */
+    private static final class Referencias {
+        private long[] itens = new long[4];
+        private int quantidade;
+
+        synchronized void adicionar(long referencia) {
+            if (quantidade == itens.length) {
+                itens = Arrays.copyOf(itens, quantidade * 2);
+            }
+            itens[quantidade++] = referencia;
+        }
+
+        synchronized void remover(long referencia) {
+            for (int i = quantidade - 1; i >= 0; i--) {
+                if (itens[i] == referencia) {
+                    System.arraycopy(itens, i + 1, itens, i, quantidade - i - 1);
+                    quantidade--;
+                    return;
+                }
+            }
+        }
+
+        synchronized long[] copiar() {
+            return Arrays.copyOf(itens, quantidade);
+        }
+    }
+
+    /**
+     * Mapa de endereçamento aberto das transações com id UUID: metades do id e
+     * referência em três arrays de long paralelos, sem objeto por entrada
+     */
+    private static final class MapaIds {
+        private long[] altos = new long[1_024];
+        private long[] baixos = new long[1_024];
+        private long[] referencias = vazias(1_024);
+        private int quantidade;
+
+        synchronized void colocar(long alto, long baixo, long referencia) {
+            if ((quantidade + 1) * 2 > referencias.length) {
+                crescer();
+            }
+            if (inserir(altos, baixos, referencias, alto, baixo, referencia)) {
+                quantidade++;
+            }
+        }
+
+        synchronized long obter(long alto, long baixo) {
+            int mascara = referencias.length - 1;
+            for (int i = posicao(alto, baixo, mascara); referencias[i] != SEM_REFERENCIA; i = (i + 1) & mascara) {
+                if (altos[i] == alto && baixos[i] == baixo) {
+                    return referencias[i];
+                }
+            }
+            return SEM_REFERENCIA;
+        }
+
+        /**
+         * Remove o id se ainda apontar para a referência; as entradas seguintes do mesmo
+         * agrupamento são reinseridas, já que a sondagem linear não usa marcas de remoção
+         */
+        synchronized void remover(long alto, long baixo, long referencia) {
+            int mascara = referencias.length - 1;
+            for (int i = posicao(alto, baixo, mascara); referencias[i] != SEM_REFERENCIA; i = (i + 1) & mascara) {
+                if (altos[i] == alto && baixos[i] == baixo) {
+                    if (referencias[i] != referencia) {
+                        return;
+                    }
+                    referencias[i] = SEM_REFERENCIA;
+                    quantidade--;
+                    for (int j = (i + 1) & mascara; referencias[j] != SEM_REFERENCIA; j = (j + 1) & mascara) {
+                        long movida = referencias[j];
+                        referencias[j] = SEM_REFERENCIA;
+                        inserir(altos, baixos, referencias, altos[j], baixos[j], movida);
+                    }
+                    return;
+                }
+            }
+        }
+
+        synchronized int tamanho() {
+            return quantidade;
+        }
+
+        private void crescer() {
+            int capacidade = referencias.length * 2;
+            long[] novosAltos = new long[capacidade];
+            long[] novosBaixos = new long[capacidade];
+            long[] novasReferencias = vazias(capacidade);
+            for (int i = 0; i < referencias.length; i++) {
+                if (referencias[i] != SEM_REFERENCIA) {
+                    inserir(novosAltos, novosBaixos, novasReferencias, altos[i], baixos[i], referencias[i]);
+                }
+            }
+            altos = novosAltos;
+            baixos = novosBaixos;
+            referencias = novasReferencias;
+        }
+
+        // Devolve se a entrada é nova (false quando só substituiu a referência do mesmo id)
+        private static boolean inserir(long[] altos, long[] baixos, long[] referencias,
+                                       long alto, long baixo, long referencia) {
+            int mascara = referencias.length - 1;
+            int i = posicao(alto, baixo, mascara);
+            while (referencias[i] != SEM_REFERENCIA) {
+                if (altos[i] == alto && baixos[i] == baixo) {
+                    referencias[i] = referencia;
+                    return false;
+                }
+                i = (i + 1) & mascara;
+            }
+            altos[i] = alto;
+            baixos[i] = baixo;
+            referencias[i] = referencia;
+            return true;
+        }
+
+        private static int posicao(long alto, long baixo, int mascara) {
+            long hash = (alto ^ baixo) * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mascara;
+        }
+
+        private static long[] vazias(int capacidade) {
+            long[] referencias = new long[capacidade];
+            Arrays.fill(referencias, SEM_REFERENCIA);
+            return referencias;
+        }
+    }
+
+    /**
+     * Número interno da conta e até que posição o histórico dela já foi indexado
+     */
+    private static final class Acompanhamento {
+        final int numero;
+        long indexadas;
+
+        Acompanhamento(int numero) {
+            this.numero = numero;
+        }
+    }
+}
\ No newline at end of file
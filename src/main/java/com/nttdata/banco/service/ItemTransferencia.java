@@ -0,0 +1,35 @@
+package com.nttdata.banco.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Item de um lote de transferências: conta destino e valor
+ */
+public class ItemTransferencia {
+    private final String agenciaDestino;
+    private final String numeroDestino;
+    private final BigDecimal valor;
+
+    public ItemTransferencia(String agenciaDestino, String numeroDestino, BigDecimal valor) {
+        this.agenciaDestino = agenciaDestino;
+        this.numeroDestino = numeroDestino;
+        this.valor = valor;
+    }
+
+    public String getAgenciaDestino() {
+        return agenciaDestino;
+    }
+
+    public String getNumeroDestino() {
+        return numeroDestino;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Destino: %s-%s, Valor: R$ %.2f", agenciaDestino, numeroDestino, valor);
+    }
+}
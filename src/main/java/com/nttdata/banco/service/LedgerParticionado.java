@@ -0,0 +1,447 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.Transacao;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.RepositorioConta;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Motor opcional de escrita única (single writer) particionado por conta
+ *
+ * Os comandos (depósito, saque e as pernas de transferência) entram em uma fila
+ * circular limitada por partição. A partição é escolhida pelo hash da chave
+ * "agencia-numero" de ContaRepository.gerarChave, e cada partição é drenada por
+ * uma única thread escritora, que aplica os comandos em lotes sem usar travas.
+ *
+ * Transferências entre partições usam duas pernas: o débito é aplicado primeiro
+ * na partição de origem e só então o crédito é enviado à partição de destino.
+ * O crédito nunca é descartado, e o futuro só é concluído depois dele: se o destino
+ * tiver sido excluído entre as pernas, um estorno (valor + tarifa) volta à origem
+ * e o futuro é concluído com false. Se nem a origem existir mais, ou se uma perna falhar
+ * com exceção depois do débito, o valor fica em suspenso (getValoresEmSuspenso) em vez
+ * de sumir. Uma exceção em um comando conclui só o futuro dele; a thread segue.
+ *
+ * O ledger grava as contas direto no repositório, sem journal, índice de transações
+ * nem linha do tempo do BancoService. Por isso os dois não podem dividir um repositório:
+ * o construtor recusa um repositório em uso por um BancoService, e o BancoService
+ * recusa um em uso por um ledger aberto.
+ */
+public class LedgerParticionado implements AutoCloseable {
+    public static final int CAPACIDADE_FILA_PADRAO = 4096;
+    private static final int TAMANHO_MAXIMO_LOTE = 256;
+
+    private final RepositorioConta contaRepository;
+    private final Particao[] particoes;
+    private final AtomicLong comandosProcessados = new AtomicLong();
+    private final AtomicLong lotesProcessados = new AtomicLong();
+    private final AtomicLong creditosEmTransito = new AtomicLong();
+    private final Queue<ValorEmSuspenso> suspensos = new ConcurrentLinkedQueue<>();
+    private volatile boolean ativo = true;
+
+    public LedgerParticionado(RepositorioConta contaRepository) {
+        this(contaRepository, Runtime.getRuntime().availableProcessors(), CAPACIDADE_FILA_PADRAO);
+    }
+
+    public LedgerParticionado(RepositorioConta contaRepository, int numeroParticoes, int capacidadeFila) {
+        if (numeroParticoes <= 0 || capacidadeFila <= 0) {
+            throw new IllegalArgumentException("Partições e capacidade devem ser positivas");
+        }
+        DonosRepositorio.registrar(contaRepository, LedgerParticionado.class);
+        this.contaRepository = contaRepository;
+        this.particoes = new Particao[numeroParticoes];
+        for (int i = 0; i < numeroParticoes; i++) {
+            particoes[i] = new Particao(i, capacidadeFila);
+            particoes[i].escritor.start();
+        }
+    }
+
+    // ================== OPERAÇÕES ==================
+
+    public CompletableFuture<Boolean> depositar(String agencia, String numero, BigDecimal valor) {
+        return enviar(new Comando(TipoComando.DEPOSITO, ContaRepository.gerarChave(agencia, numero), null, valor));
+    }
+
+    public CompletableFuture<Boolean> sacar(String agencia, String numero, BigDecimal valor) {
+        return enviar(new Comando(TipoComando.SAQUE, ContaRepository.gerarChave(agencia, numero), null, valor));
+    }
+
+    public CompletableFuture<Boolean> transferir(String agenciaOrigem, String numeroOrigem,
+                                                 String agenciaDestino, String numeroDestino,
+                                                 BigDecimal valor) {
+        String chaveOrigem = ContaRepository.gerarChave(agenciaOrigem, numeroOrigem);
+        String chaveDestino = ContaRepository.gerarChave(agenciaDestino, numeroDestino);
+
+        // Valida o destino antes de debitar, para que a perna de crédito sempre tenha onde cair
+        if (!contaRepository.existe(agenciaDestino, numeroDestino)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return enviar(new Comando(TipoComando.DEBITO_TRANSFERENCIA, chaveOrigem, chaveDestino, valor));
+    }
+
+    public int particaoDe(String chave) {
+        return Math.floorMod(chave.hashCode(), particoes.length);
+    }
+
+    public int getNumeroParticoes() {
+        return particoes.length;
+    }
+
+    public long getComandosProcessados() {
+        return comandosProcessados.get();
+    }
+
+    public long getLotesProcessados() {
+        return lotesProcessados.get();
+    }
+
+    /**
+     * Valores debitados de uma conta que não chegaram a nenhuma, para conciliação manual
+     */
+    public List<ValorEmSuspenso> getValoresEmSuspenso() {
+        return new ArrayList<>(suspensos);
+    }
+
+    public BigDecimal getTotalEmSuspenso() {
+        return suspensos.stream().map(ValorEmSuspenso::getValor).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Para de aceitar comandos, espera as filas (inclusive créditos pendentes) serem drenadas
+     * e encerra as threads escritoras.
+     */
+    @Override
+    public void close() {
+        ativo = false;
+        for (Particao particao : particoes) {
+            particao.acordar();
+        }
+        for (Particao particao : particoes) {
+            try {
+                particao.escritor.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        DonosRepositorio.liberar(contaRepository, LedgerParticionado.class);
+    }
+
+    private CompletableFuture<Boolean> enviar(Comando comando) {
+        if (!ativo) {
+            throw new IllegalStateException("Ledger encerrado");
+        }
+        if (comando.valor == null || comando.valor.compareTo(BigDecimal.ZERO) <= 0) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (comando.tipo == TipoComando.DEBITO_TRANSFERENCIA) {
+            // Contada desde o envio até o crédito, para o encerramento não perder a segunda perna
+            creditosEmTransito.incrementAndGet();
+        }
+        try {
+            // put bloqueia quando a fila está cheia: é a contrapressão sobre quem envia
+            particoes[particaoDe(comando.chave)].fila.put(comando);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (comando.tipo == TipoComando.DEBITO_TRANSFERENCIA) {
+                creditosEmTransito.decrementAndGet();
+            }
+            comando.resultado.completeExceptionally(e);
+        }
+        return comando.resultado;
+    }
+
+    // ================== PARTIÇÃO ==================
+
+    private enum TipoComando {
+        DEPOSITO, SAQUE, DEBITO_TRANSFERENCIA, CREDITO_TRANSFERENCIA, ESTORNO_TRANSFERENCIA, ACORDAR
+    }
+
+    private static class Comando {
+        private static final Comando ACORDAR = new Comando(TipoComando.ACORDAR, null, null, null);
+
+        private final TipoComando tipo;
+        private final String chave;
+        private final String chaveDestino;
+        private final BigDecimal valor;
+        private final CompletableFuture<Boolean> resultado;
+        // Estado das pernas, visto só pelas threads escritoras (a fila publica entre elas):
+        // tarifa cobrada no débito, devolvida com o valor no estorno, e se o dinheiro já
+        // mudou de conta quando o comando falhou
+        private BigDecimal tarifa;
+        private boolean valorMovido;
+
+        Comando(TipoComando tipo, String chave, String chaveDestino, BigDecimal valor) {
+            this(tipo, chave, chaveDestino, valor, BigDecimal.ZERO, new CompletableFuture<>());
+        }
+
+        Comando(TipoComando tipo, String chave, String chaveDestino, BigDecimal valor, BigDecimal tarifa,
+                CompletableFuture<Boolean> resultado) {
+            this.tipo = tipo;
+            this.chave = chave;
+            this.chaveDestino = chaveDestino;
+            this.valor = valor;
+            this.tarifa = tarifa;
+            this.resultado = resultado;
+        }
+
+        boolean isPernaDeTransferencia() {
+            return tipo == TipoComando.DEBITO_TRANSFERENCIA || tipo == TipoComando.CREDITO_TRANSFERENCIA
+                    || tipo == TipoComando.ESTORNO_TRANSFERENCIA;
+        }
+    }
+
+    /**
+     * O que saiu da origem em uma transferência (valor + tarifa) e não pôde ser entregue
+     * nem devolvido
+     */
+    public static final class ValorEmSuspenso {
+        private final String contaOrigem;
+        private final String contaDestino;
+        private final BigDecimal valor;
+        private final String motivo;
+
+        ValorEmSuspenso(String contaOrigem, String contaDestino, BigDecimal valor, String motivo) {
+            this.contaOrigem = contaOrigem;
+            this.contaDestino = contaDestino;
+            this.valor = valor;
+            this.motivo = motivo;
+        }
+
+        public String getContaOrigem() {
+            return contaOrigem;
+        }
+
+        public String getContaDestino() {
+            return contaDestino;
+        }
+
+        public BigDecimal getValor() {
+            return valor;
+        }
+
+        public String getMotivo() {
+            return motivo;
+        }
+    }
+
+    private class Particao implements Runnable {
+        private final BlockingQueue<Comando> fila;
+        // Créditos vindos de outras partições não têm limite: nunca podem ser recusados
+        private final Queue<Comando> creditos = new ConcurrentLinkedQueue<>();
+        private final Thread escritor;
+        // Estado confinado à thread escritora
+        private final List<Comando> lote = new ArrayList<>(TAMANHO_MAXIMO_LOTE);
+        private final Map<String, Conta> alteradas = new HashMap<>();
+
+        Particao(int indice, int capacidade) {
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+            this.escritor = new Thread(this, "ledger-particao-" + indice);
+            this.escritor.setDaemon(true);
+        }
+
+        void receberCredito(Comando credito) {
+            creditos.add(credito);
+            acordar();
+        }
+
+        void acordar() {
+            // Se a fila estiver cheia o escritor está ocupado e verá o crédito no próximo ciclo
+            fila.offer(Comando.ACORDAR);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Comando credito;
+                while ((credito = creditos.poll()) != null) {
+                    lote.add(credito);
+                }
+                fila.drainTo(lote, TAMANHO_MAXIMO_LOTE);
+
+                if (lote.isEmpty()) {
+                    try {
+                        if (ativo) {
+                            lote.add(fila.take());
+                        } else if (semCreditosEmTransito() && creditos.isEmpty() && fila.isEmpty()) {
+                            return;
+                        } else {
+                            // Encerrando: ainda pode chegar crédito de outra partição
+                            Comando comando = fila.poll(1, TimeUnit.MILLISECONDS);
+                            if (comando != null) {
+                                lote.add(comando);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                processarLote();
+            }
+        }
+
+        private void processarLote() {
+            for (Comando comando : lote) {
+                if (comando.tipo != TipoComando.ACORDAR) {
+                    aplicarProtegido(comando);
+                    comandosProcessados.incrementAndGet();
+                }
+            }
+            // Um único salvar por conta alterada no lote; uma falha não impede as demais
+            for (Conta conta : alteradas.values()) {
+                try {
+                    contaRepository.salvar(conta);
+                } catch (RuntimeException e) {
+                    System.err.println("Erro ao salvar a conta " + conta.getNumero() + " no ledger: " + e.getMessage());
+                }
+            }
+            alteradas.clear();
+            lote.clear();
+            lotesProcessados.incrementAndGet();
+        }
+
+        /**
+         * Aplica o comando; uma exceção conclui o futuro dele com a falha e, se o valor
+         * de uma transferência já tinha saído da origem, o deixa em suspenso
+         */
+        private void aplicarProtegido(Comando comando) {
+            try {
+                aplicar(comando);
+            } catch (RuntimeException e) {
+                if (comando.isPernaDeTransferencia()) {
+                    if (comando.tipo == TipoComando.DEBITO_TRANSFERENCIA ? comando.valorMovido : !comando.valorMovido) {
+                        suspender(comando, "Falha na perna " + comando.tipo + ": " + e.getMessage());
+                    } else {
+                        creditosEmTransito.decrementAndGet();
+                    }
+                }
+                comando.resultado.completeExceptionally(e);
+            }
+        }
+
+        private void aplicar(Comando comando) {
+            Optional<Conta> contaOpt = buscar(comando.chave);
+            if (contaOpt.isEmpty()) {
+                if (comando.tipo == TipoComando.CREDITO_TRANSFERENCIA) {
+                    // Destino excluído depois do débito: o valor volta à origem (continua em trânsito)
+                    encaminhar(new Comando(TipoComando.ESTORNO_TRANSFERENCIA, comando.chaveDestino,
+                                           comando.chave, comando.valor, comando.tarifa, comando.resultado));
+                    return;
+                }
+                if (comando.tipo == TipoComando.ESTORNO_TRANSFERENCIA) {
+                    // Origem e destino excluídos: o valor não tem para onde ir
+                    suspender(comando, "Origem e destino excluídos antes do estorno");
+                } else if (comando.tipo == TipoComando.DEBITO_TRANSFERENCIA) {
+                    creditosEmTransito.decrementAndGet();
+                }
+                comando.resultado.complete(false);
+                return;
+            }
+            Conta conta = contaOpt.get();
+
+            switch (comando.tipo) {
+                case DEPOSITO -> {
+                    conta.depositar(comando.valor);
+                    conta.adicionarTransacao(new Transacao(TipoTransacao.DEPOSITO, comando.valor,
+                                                           "Depósito em conta", comando.chave, true));
+                    alteradas.put(comando.chave, conta);
+                    comando.resultado.complete(true);
+                }
+                case SAQUE -> {
+                    boolean sucesso = conta.sacar(comando.valor);
+                    conta.adicionarTransacao(new Transacao(TipoTransacao.SAQUE, comando.valor,
+                                                           "Saque em conta", comando.chave, sucesso));
+                    alteradas.put(comando.chave, conta);
+                    comando.resultado.complete(sucesso);
+                }
+                case DEBITO_TRANSFERENCIA -> {
+                    // Perna 1: débito na partição de origem
+                    comando.tarifa = conta.getTarifaPorSaque();
+                    boolean sucesso = conta.sacar(comando.valor);
+                    comando.valorMovido = sucesso;
+                    conta.adicionarTransacao(new Transacao(TipoTransacao.TRANSFERENCIA, comando.valor,
+                                                           "Transferência enviada", comando.chave,
+                                                           comando.chaveDestino, sucesso));
+                    alteradas.put(comando.chave, conta);
+                    if (!sucesso) {
+                        creditosEmTransito.decrementAndGet();
+                        comando.resultado.complete(false);
+                        return;
+                    }
+                    // Perna 2: crédito, só depois do débito aplicado
+                    encaminhar(new Comando(TipoComando.CREDITO_TRANSFERENCIA, comando.chaveDestino,
+                                           comando.chave, comando.valor, comando.tarifa, comando.resultado));
+                }
+                case CREDITO_TRANSFERENCIA -> {
+                    conta.depositar(comando.valor);
+                    comando.valorMovido = true;
+                    conta.adicionarTransacao(new Transacao(TipoTransacao.TRANSFERENCIA, comando.valor,
+                                                           "Transferência recebida", comando.chaveDestino,
+                                                           comando.chave, true));
+                    alteradas.put(comando.chave, conta);
+                    creditosEmTransito.decrementAndGet();
+                    comando.resultado.complete(true);
+                }
+                case ESTORNO_TRANSFERENCIA -> {
+                    // Devolve exatamente o que a perna de débito tirou da origem
+                    BigDecimal estorno = comando.valor.add(comando.tarifa);
+                    conta.depositar(estorno);
+                    comando.valorMovido = true;
+                    conta.adicionarTransacao(new Transacao(TipoTransacao.TRANSFERENCIA, estorno,
+                                                           "Transferência estornada", comando.chaveDestino,
+                                                           comando.chave, true));
+                    alteradas.put(comando.chave, conta);
+                    creditosEmTransito.decrementAndGet();
+                    comando.resultado.complete(false);
+                }
+                default -> comando.resultado.complete(false);
+            }
+        }
+
+        /**
+         * Aplica o comando aqui se a conta for desta partição; senão o entrega à partição dela
+         */
+        private void encaminhar(Comando comando) {
+            Particao particao = particoes[particaoDe(comando.chave)];
+            if (particao == this) {
+                aplicarProtegido(comando);
+            } else {
+                particao.receberCredito(comando);
+            }
+        }
+
+        private Optional<Conta> buscar(String chave) {
+            int separador = chave.indexOf('-');
+            return contaRepository.buscarPorNumero(chave.substring(0, separador), chave.substring(separador + 1));
+        }
+    }
+
+    /**
+     * Tira o valor de trânsito e o guarda em suspenso. Só a perna de crédito tem a chave
+     * do destino em chave; nas de débito e estorno, chave é a origem.
+     */
+    private void suspender(Comando comando, String motivo) {
+        boolean credito = comando.tipo == TipoComando.CREDITO_TRANSFERENCIA;
+        String origem = credito ? comando.chaveDestino : comando.chave;
+        String destino = credito ? comando.chave : comando.chaveDestino;
+        suspensos.add(new ValorEmSuspenso(origem, destino, comando.valor.add(comando.tarifa), motivo));
+        creditosEmTransito.decrementAndGet();
+    }
+
+    private boolean semCreditosEmTransito() {
+        return creditosEmTransito.get() == 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,255 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.model.SaldoCentavos;
+import com.nttdata.banco.persistencia.PontosSaldo;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice temporal dos saldos ("viagem no tempo" pelo razão)
+ * Para cada conta guarda a sequência (instante em microssegundos, saldo em centavos)
+ * registrada após cada transação que mudou o saldo; saldoEm faz uma busca binária
+ * nessa sequência, em O(log n), em vez de reprocessar o histórico
+ *
+ * A sequência começa no primeiro saldo conhecido da conta (abertura ou primeira
+ * operação desde que a conta foi carregada); antes dele o saldo é desconhecido.
+ * Com persistência, a sequência vai para o snapshot (exportar) e volta na abertura
+ * (carregar), completada pelos registros do journal posteriores a ele.
+ */
+public class LinhaDoTempoSaldos {
+    private static final int CAPACIDADE_INICIAL = 4;
+
+    private final ConcurrentHashMap<String, Serie> series = new ConcurrentHashMap<>();
+
+    /**
+     * Registra o primeiro saldo conhecido da conta, se ela ainda não tiver sequência
+     */
+    public void iniciar(String chave, LocalDateTime instante, BigDecimal saldo) {
+        series.computeIfAbsent(chave, k -> new Serie(micros(instante), SaldoCentavos.paraCentavos(saldo)));
+    }
+
+    /**
+     * Registra o saldo da conta após uma transação. Instantes fora de ordem (relógios de
+     * threads diferentes) são ajustados para o último instante registrado.
+     */
+    public void registrar(String chave, LocalDateTime instante, BigDecimal saldo) {
+        long micros = micros(instante);
+        long centavos = SaldoCentavos.paraCentavos(saldo);
+        Serie serie = series.computeIfAbsent(chave, k -> new Serie(micros, centavos));
+        serie.adicionar(micros, centavos);
+    }
+
+    /**
+     * Substitui a sequência da conta pelos pontos restaurados, na ordem gravada
+     */
+    public void carregar(String chave, PontosSaldo pontos) {
+        if (pontos.getQuantidade() == 0) {
+            return;
+        }
+        Serie serie = new Serie(pontos.getInstante(0), pontos.getCentavos(0));
+        for (int i = 1; i < pontos.getQuantidade(); i++) {
+            serie.adicionar(pontos.getInstante(i), pontos.getCentavos(i));
+        }
+        series.put(chave, serie);
+    }
+
+    /**
+     * Cópia da sequência da conta para o snapshot; sem pontos se a conta não tem sequência
+     */
+    public PontosSaldo exportar(String chave) {
+        Serie serie = series.get(chave);
+        return serie == null ? new PontosSaldo(0) : serie.exportar();
+    }
+
+    /**
+     * Saldo da conta no instante informado; vazio se a conta não tem sequência ou se o
+     * instante é anterior ao primeiro saldo conhecido
+     */
+    public Optional<BigDecimal> saldoEm(String chave, LocalDateTime instante) {
+        Serie serie = series.get(chave);
+        if (serie == null) {
+            return Optional.empty();
+        }
+        long centavos = serie.centavosEm(micros(instante));
+        return centavos == Long.MIN_VALUE ? Optional.empty() : Optional.of(BigDecimal.valueOf(centavos, 2));
+    }
+
+    /**
+     * Trecho da sequência para o período [de, ate): o último ponto antes de de (saldo de
+     * abertura do período) e os pontos dentro dele, copiados em O(log n + pontos no trecho).
+     * Serve de checkpoint para calcular saldos corridos sem uma busca por transação.
+     */
+    public Trecho trecho(String chave, LocalDateTime de, LocalDateTime ate) {
+        Serie serie = series.get(chave);
+        if (serie == null) {
+            return new Trecho(new long[0], new long[0], false);
+        }
+        return serie.trecho(micros(de), micros(ate));
+    }
+
+    public boolean contem(String chave) {
+        return series.containsKey(chave);
+    }
+
+    public int getQuantidadePontos(String chave) {
+        Serie serie = series.get(chave);
+        return serie == null ? 0 : serie.tamanho();
+    }
+
+    /**
+     * Volta a sequência da conta aos pontos que tinha antes de uma operação desfeita; o
+     * último deles recebe de novo o saldo anterior, caso a operação o tenha sobrescrito.
+     * Sem pontos anteriores, a sequência é removida e recomeça na próxima operação.
+     */
+    public void desfazer(String chave, int pontos, BigDecimal saldoAnterior) {
+        if (pontos == 0) {
+            series.remove(chave);
+            return;
+        }
+        Serie serie = series.get(chave);
+        if (serie != null) {
+            serie.descartarAPartirDe(pontos, SaldoCentavos.paraCentavos(saldoAnterior));
+        }
+    }
+
+    public void remover(String chave) {
+        series.remove(chave);
+    }
+
+    public void limpar() {
+        series.clear();
+    }
+
+    private static long micros(LocalDateTime instante) {
+        return instante.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + instante.getNano() / 1_000;
+    }
+
+    /**
+     * Cópia de parte da sequência de uma conta, lida em ordem pelo extrato: saldoEm avança
+     * a partir do último ponto consultado, então percorrer o período custa O(pontos)
+     */
+    public static final class Trecho {
+        private final long[] instantes;
+        private final long[] centavos;
+        private final boolean saldoAnteriorConhecido;
+        private int posicao;
+
+        private Trecho(long[] instantes, long[] centavos, boolean saldoAnteriorConhecido) {
+            this.instantes = instantes;
+            this.centavos = centavos;
+            this.saldoAnteriorConhecido = saldoAnteriorConhecido;
+            this.posicao = saldoAnteriorConhecido ? 0 : -1;
+        }
+
+        /**
+         * Saldo antes do início do período; null se a sequência começa depois dele
+         */
+        public BigDecimal getSaldoInicial() {
+            return saldoAnteriorConhecido ? BigDecimal.valueOf(centavos[0], 2) : null;
+        }
+
+        /**
+         * Saldo no fim do período (último ponto antes de ate); null se desconhecido
+         */
+        public BigDecimal getSaldoFinal() {
+            return instantes.length == 0 ? null : BigDecimal.valueOf(centavos[instantes.length - 1], 2);
+        }
+
+        /**
+         * Saldo no instante (último ponto com instante <= o informado); null se desconhecido
+         */
+        public BigDecimal saldoEm(LocalDateTime instante) {
+            long alvo = micros(instante);
+            if (posicao >= 0 && instantes[posicao] > alvo) {
+                // Consulta fora de ordem: volta pela busca binária
+                int encontrada = Arrays.binarySearch(instantes, alvo);
+                posicao = encontrada >= 0 ? encontrada : -encontrada - 2;
+            }
+            while (posicao + 1 < instantes.length && instantes[posicao + 1] <= alvo) {
+                posicao++;
+            }
+            return posicao < 0 ? null : BigDecimal.valueOf(centavos[posicao], 2);
+        }
+    }
+
+    /**
+     * Sequência de uma conta em dois arrays paralelos de long (sem um objeto por ponto)
+     */
+    private static final class Serie {
+        private long[] instantes = new long[CAPACIDADE_INICIAL];
+        private long[] centavos = new long[CAPACIDADE_INICIAL];
+        private int tamanho;
+
+        Serie(long instante, long saldo) {
+            instantes[0] = instante;
+            centavos[0] = saldo;
+            tamanho = 1;
+        }
+
+        synchronized void adicionar(long instante, long saldo) {
+            int ultimo = tamanho - 1;
+            if (centavos[ultimo] == saldo) {
+                // Saldo inalterado (operação recusada): o ponto anterior já responde
+                return;
+            }
+            long ajustado = Math.max(instante, instantes[ultimo]);
+            if (ajustado == instantes[ultimo]) {
+                // Várias transações no mesmo instante: vale o saldo após a última
+                centavos[ultimo] = saldo;
+                return;
+            }
+            if (tamanho == instantes.length) {
+                instantes = Arrays.copyOf(instantes, tamanho * 2);
+                centavos = Arrays.copyOf(centavos, tamanho * 2);
+            }
+            instantes[tamanho] = ajustado;
+            centavos[tamanho] = saldo;
+            tamanho++;
+        }
+
+        /**
+         * Saldo do último ponto com instante <= o informado, ou Long.MIN_VALUE se não houver
+         */
+        synchronized long centavosEm(long instante) {
+            int posicao = Arrays.binarySearch(instantes, 0, tamanho, instante);
+            if (posicao < 0) {
+                posicao = -posicao - 2;
+            }
+            return posicao < 0 ? Long.MIN_VALUE : centavos[posicao];
+        }
+
+        synchronized Trecho trecho(long de, long ate) {
+            int inicio = primeiroAPartirDe(de) - 1;
+            int fim = Math.max(primeiroAPartirDe(ate), inicio + 1);
+            int copiarDe = Math.max(inicio, 0);
+            return new Trecho(Arrays.copyOfRange(instantes, copiarDe, fim),
+                              Arrays.copyOfRange(centavos, copiarDe, fim), inicio >= 0);
+        }
+
+        private int primeiroAPartirDe(long instante) {
+            int posicao = Arrays.binarySearch(instantes, 0, tamanho, instante);
+            return posicao >= 0 ? posicao : -posicao - 1;
+        }
+
+        synchronized int tamanho() {
+            return tamanho;
+        }
+
+        synchronized void descartarAPartirDe(int pontos, long saldo) {
+            tamanho = Math.min(tamanho, pontos);
+            centavos[tamanho - 1] = saldo;
+        }
+
+        synchronized PontosSaldo exportar() {
+            PontosSaldo pontos = new PontosSaldo(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                pontos.adicionar(instantes[i], centavos[i]);
+            }
+            return pontos;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.nttdata.banco.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas do controle otimista de concorrência do BancoService
+ * Conta operações, tentativas e conflitos de versão (gravações recusadas por compare-and-set)
+ */
+public class MetricasConcorrencia {
+    private final LongAdder operacoes = new LongAdder();
+    private final LongAdder tentativas = new LongAdder();
+    private final LongAdder conflitos = new LongAdder();
+
+    void registrarOperacao() {
+        operacoes.increment();
+    }
+
+    void registrarTentativa() {
+        tentativas.increment();
+    }
+
+    void registrarConflito() {
+        conflitos.increment();
+    }
+
+    public long getOperacoes() {
+        return operacoes.sum();
+    }
+
+    public long getTentativas() {
+        return tentativas.sum();
+    }
+
+    public long getConflitos() {
+        return conflitos.sum();
+    }
+
+    /**
+     * Proporção de tentativas extras (retentativas) por operação
+     */
+    public double getTaxaRetentativa() {
+        long totalOperacoes = getOperacoes();
+        if (totalOperacoes == 0) {
+            return 0.0;
+        }
+        return (double) (getTentativas() - totalOperacoes) / totalOperacoes;
+    }
+
+    /**
+     * Proporção de tentativas que encontraram conflito de versão
+     */
+    public double getTaxaConflito() {
+        long totalTentativas = getTentativas();
+        if (totalTentativas == 0) {
+            return 0.0;
+        }
+        return (double) getConflitos() / totalTentativas;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Operações: %d | Tentativas: %d | Conflitos: %d (%.2f%%)",
+                             getOperacoes(), getTentativas(), getConflitos(), getTaxaConflito() * 100);
+    }
+}
@@ -0,0 +1,35 @@
+package com.nttdata.banco.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Perna de uma transferência múltipla: conta debitada ou creditada e valor
+ */
+public class PernaTransferencia {
+    private final String agencia;
+    private final String numero;
+    private final BigDecimal valor;
+
+    public PernaTransferencia(String agencia, String numero, BigDecimal valor) {
+        this.agencia = agencia;
+        this.numero = numero;
+        this.valor = valor;
+    }
+
+    public String getAgencia() {
+        return agencia;
+    }
+
+    public String getNumero() {
+        return numero;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Conta: %s-%s, Valor: R$ %.2f", agencia, numero, valor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.enums.ModoLote;
+import java.util.Arrays;
+
+/**
+ * Resultado de um lote de transferências, com uma posição por item enviado
+ */
+public class ResultadoLote {
+    private final ModoLote modo;
+    private final boolean[] resultados;
+
+    public ResultadoLote(ModoLote modo, boolean[] resultados) {
+        this.modo = modo;
+        this.resultados = resultados;
+    }
+
+    public ModoLote getModo() {
+        return modo;
+    }
+
+    public boolean isSucesso(int indice) {
+        return resultados[indice];
+    }
+
+    public boolean[] getResultados() {
+        return Arrays.copyOf(resultados, resultados.length);
+    }
+
+    public int getTotalItens() {
+        return resultados.length;
+    }
+
+    public int getQuantidadeSucesso() {
+        int total = 0;
+        for (boolean resultado : resultados) {
+            if (resultado) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    public boolean isSucessoTotal() {
+        return getQuantidadeSucesso() == resultados.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Lote (%s): %d de %d transferências realizadas",
+                             modo.getDescricao(), getQuantidadeSucesso(), resultados.length);
+    }
+}
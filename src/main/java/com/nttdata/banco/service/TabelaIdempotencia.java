@@ -0,0 +1,184 @@
+package com.nttdata.banco.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Tabela de deduplicação por chave de idempotência
+ *
+ * Guarda o resultado de cada operação monetária pela chave enviada pelo cliente.
+ * Uma nova tentativa com a mesma chave devolve o resultado guardado sem executar
+ * de novo; se a primeira execução ainda estiver em andamento, a tentativa espera por ela.
+ * Cada chave guarda também a impressão da operação (tipo e argumentos): a mesma chave
+ * enviada com outra operação é recusada, em vez de devolver o resultado de outra.
+ *
+ * A tabela é dividida em segmentos com trava própria (lock striping) e tem
+ * capacidade fixa: cada segmento descarta as entradas concluídas mais antigas quando
+ * enche, e entradas vencidas (TTL) são removidas ao serem encontradas. Entradas em
+ * andamento nunca são descartadas; enquanto existirem, o segmento pode passar da
+ * capacidade por no máximo o número de operações simultâneas.
+ */
+public class TabelaIdempotencia {
+    public static final int CAPACIDADE_PADRAO = 100_000;
+    public static final long VALIDADE_PADRAO_SEGUNDOS = 24 * 60 * 60;
+    private static final int NUMERO_SEGMENTOS = 64;
+
+    private final Segmento[] segmentos;
+    private final long validadeNanos;
+    private final LongSupplier relogio;
+    private final LongAdder execucoes = new LongAdder();
+    private final LongAdder repeticoes = new LongAdder();
+    private final LongAdder descartes = new LongAdder();
+
+    public TabelaIdempotencia() {
+        this(CAPACIDADE_PADRAO, VALIDADE_PADRAO_SEGUNDOS, TimeUnit.SECONDS);
+    }
+
+    public TabelaIdempotencia(int capacidade, long validade, TimeUnit unidade) {
+        this(capacidade, validade, unidade, System::nanoTime);
+    }
+
+    public TabelaIdempotencia(int capacidade, long validade, TimeUnit unidade, LongSupplier relogioNanos) {
+        if (capacidade <= 0 || validade <= 0) {
+            throw new IllegalArgumentException("Capacidade e validade devem ser positivas");
+        }
+        int numeroSegmentos = Math.min(NUMERO_SEGMENTOS, capacidade);
+        int capacidadePorSegmento = Math.max(1, capacidade / numeroSegmentos);
+        this.segmentos = new Segmento[numeroSegmentos];
+        for (int i = 0; i < numeroSegmentos; i++) {
+            segmentos[i] = new Segmento(capacidadePorSegmento);
+        }
+        this.validadeNanos = unidade.toNanos(validade);
+        this.relogio = relogioNanos;
+    }
+
+    /**
+     * Executa a operação uma única vez por chave dentro da validade.
+     * Se a operação lançar exceção a chave é liberada, permitindo nova tentativa.
+     */
+    public boolean executar(String chave, Supplier<Boolean> operacao) {
+        return executar(chave, "", operacao);
+    }
+
+    /**
+     * Como executar(chave, operacao), conferindo a impressão: uma chave já usada com outra
+     * impressão lança IllegalArgumentException sem executar nada
+     */
+    public boolean executar(String chave, String impressao, Supplier<Boolean> operacao) {
+        if (chave == null || chave.isEmpty()) {
+            throw new IllegalArgumentException("Chave de idempotência é obrigatória");
+        }
+
+        Segmento segmento = segmentos[(chave.hashCode() & 0x7fffffff) % segmentos.length];
+        long agora = relogio.getAsLong();
+        CompletableFuture<Boolean> novo = new CompletableFuture<>();
+        CompletableFuture<Boolean> existente;
+
+        synchronized (segmento) {
+            Registro registro = segmento.registros.get(chave);
+            if (registro != null && (!registro.resultado.isDone() || agora - registro.criadoEm < validadeNanos)) {
+                if (!registro.impressao.equals(impressao)) {
+                    throw new IllegalArgumentException("Chave de idempotência já usada em outra operação: " + chave);
+                }
+                existente = registro.resultado;
+            } else {
+                existente = null;
+                segmento.registros.remove(chave);
+                segmento.removerVencidos(agora);
+                segmento.registros.put(chave, new Registro(novo, agora, impressao));
+                segmento.descartarExcedentes();
+            }
+        }
+
+        if (existente != null) {
+            repeticoes.increment();
+            return existente.join();
+        }
+
+        execucoes.increment();
+        try {
+            boolean resultado = operacao.get();
+            novo.complete(resultado);
+            return resultado;
+        } catch (RuntimeException e) {
+            synchronized (segmento) {
+                segmento.registros.remove(chave);
+            }
+            novo.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public long getExecucoes() {
+        return execucoes.sum();
+    }
+
+    public long getRepeticoes() {
+        return repeticoes.sum();
+    }
+
+    public long getDescartes() {
+        return descartes.sum();
+    }
+
+    public int getTamanho() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.registros.size();
+            }
+        }
+        return total;
+    }
+
+    private static class Registro {
+        private final CompletableFuture<Boolean> resultado;
+        private final long criadoEm;
+        private final String impressao;
+
+        Registro(CompletableFuture<Boolean> resultado, long criadoEm, String impressao) {
+            this.resultado = resultado;
+            this.criadoEm = criadoEm;
+            this.impressao = impressao;
+        }
+    }
+
+    private class Segmento {
+        // Ordem de inserção: a entrada concluída mais antiga é a primeira a ser descartada
+        private final LinkedHashMap<String, Registro> registros;
+        private final int capacidade;
+
+        Segmento(int capacidade) {
+            this.registros = new LinkedHashMap<>(capacidade * 2);
+            this.capacidade = capacidade;
+        }
+
+        void descartarExcedentes() {
+            Iterator<Registro> iterator = registros.values().iterator();
+            while (registros.size() > capacidade && iterator.hasNext()) {
+                if (iterator.next().resultado.isDone()) {
+                    iterator.remove();
+                    descartes.increment();
+                }
+            }
+        }
+
+        void removerVencidos(long agora) {
+            Iterator<Registro> iterator = registros.values().iterator();
+            while (iterator.hasNext()) {
+                Registro registro = iterator.next();
+                if (agora - registro.criadoEm < validadeNanos) {
+                    break;
+                }
+                if (registro.resultado.isDone()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
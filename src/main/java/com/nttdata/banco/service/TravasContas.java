@@ -0,0 +1,106 @@
+package com.nttdata.banco.service;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Conjunto de travas particionadas (lock striping) para as contas
+ * Cada chave "agencia-numero" é mapeada para uma trava fixa, e operações
+ * com duas contas adquirem as travas sempre em ordem crescente de índice,
+ * o que evita deadlock entre transferências cruzadas
+ */
+public class TravasContas {
+    private static final int NUMERO_TRAVAS_PADRAO = 1024;
+
+    private final ReentrantLock[] travas;
+    private final int mascara;
+
+    public TravasContas() {
+        this(NUMERO_TRAVAS_PADRAO);
+    }
+
+    public TravasContas(int numeroTravas) {
+        if (numeroTravas <= 0) {
+            throw new IllegalArgumentException("Número de travas deve ser positivo");
+        }
+        // Arredonda para potência de dois para usar máscara em vez de módulo
+        int tamanho = Integer.highestOneBit(numeroTravas - 1) << 1;
+        if (numeroTravas == 1) {
+            tamanho = 1;
+        }
+        this.travas = new ReentrantLock[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            this.travas[i] = new ReentrantLock();
+        }
+        this.mascara = tamanho - 1;
+    }
+
+    public <T> T executar(String chave, Supplier<T> operacao) {
+        ReentrantLock trava = travas[indice(chave)];
+        trava.lock();
+        try {
+            return operacao.get();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public <T> T executar(String chaveA, String chaveB, Supplier<T> operacao) {
+        int indiceA = indice(chaveA);
+        int indiceB = indice(chaveB);
+        if (indiceA == indiceB) {
+            return executar(chaveA, operacao);
+        }
+
+        // Ordem global de aquisição: sempre o menor índice primeiro
+        ReentrantLock primeira = travas[Math.min(indiceA, indiceB)];
+        ReentrantLock segunda = travas[Math.max(indiceA, indiceB)];
+        primeira.lock();
+        try {
+            segunda.lock();
+            try {
+                return operacao.get();
+            } finally {
+                segunda.unlock();
+            }
+        } finally {
+            primeira.unlock();
+        }
+    }
+
+    /**
+     * Adquire as travas de todas as chaves (sem repetir partições) em ordem crescente de índice
+     */
+    public <T> T executar(Collection<String> chaves, Supplier<T> operacao) {
+        BitSet indices = new BitSet(travas.length);
+        for (String chave : chaves) {
+            indices.set(indice(chave));
+        }
+
+        int adquiridas = 0;
+        try {
+            for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+                travas[i].lock();
+                adquiridas++;
+            }
+            return operacao.get();
+        } finally {
+            for (int i = indices.nextSetBit(0); i >= 0 && adquiridas > 0; i = indices.nextSetBit(i + 1)) {
+                travas[i].unlock();
+                adquiridas--;
+            }
+        }
+    }
+
+    public int getNumeroTravas() {
+        return travas.length;
+    }
+
+    int indice(String chave) {
+        int h = chave.hashCode();
+        // Espalha os bits altos, como faz o HashMap
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
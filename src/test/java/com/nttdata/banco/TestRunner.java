@@ -1,6 +1,7 @@
 package com.nttdata.banco;
 
 import com.nttdata.banco.model.*;
+import com.nttdata.banco.persistencia.*;
 import com.nttdata.banco.service.*;
 import com.nttdata.banco.repository.*;
 
@@ -47,14 +48,37 @@ public class TestRunner {
         runTestClass(new ContaInvestimentoTest());
         runTestClass(new TransacaoTest());
         runTestClass(new InvestimentoTest());
+        runTestClass(new SaldoCentavosTest());
         
         // Testes de Repository
         runTestClass(new ClienteRepositoryTest());
         runTestClass(new ContaRepositoryTest());
+        runTestClass(new GeradorNumeroContaTest());
         runTestClass(new InvestimentoRepositoryTest());
+        runTestClass(new ContratoRepositoriosTest());
         
         // Testes de Service (Integração)
         runTestClass(new BancoServiceTest());
+        runTestClass(new BancoServiceConcorrenciaTest());
+        runTestClass(new BancoServiceAsyncTest());
+        runTestClass(new LedgerParticionadoTest());
+        runTestClass(new TabelaIdempotenciaTest());
+        runTestClass(new ControleAdmissaoPixTest());
+        runTestClass(new LinhaDoTempoSaldosTest());
+        runTestClass(new IndiceTemporalTransacoesTest());
+        runTestClass(new IndiceTransacoesTest());
+        
+        // Testes de Persistência
+        runTestClass(new JournalTest());
+        runTestClass(new ArmazenamentoBancoTest());
+        runTestClass(new HistoricoMapeadoTest());
+        runTestClass(new CodecBinarioTest());
+        runTestClass(new ArmazemRegistrosTest());
+        runTestClass(new RepositorioJdbcTest());
+        runTestClass(new SimuladorQuedasTest());
+        runTestClass(new ArquivoColunarTest());
+        runTestClass(new RepositorioContaEscritaAdiadaTest());
+        runTestClass(new ImportadorBancoTest());
     }
 
     private static void runTestClass(Object testInstance) {
@@ -145,4 +169,4 @@ public class TestRunner {
             throw new AssertionError(message + " - Esperado: " + expected + ", Atual: " + actual);
         }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.service.BancoService;
+import com.nttdata.banco.service.BancoServiceAsync;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Benchmark da fachada assíncrona: executor padrão (uma thread por permissão)
+ * comparado com um pool fixo menor, de duas threads por processador. Operações recusadas
+ * pelo limite esperam a mais antiga em andamento e são enviadas de novo.
+ *
+ * Execução: java -cp out com.nttdata.banco.benchmark.BancoServiceAsyncBenchmark [operacoes]
+ */
+public class BancoServiceAsyncBenchmark {
+    private static final int CONTAS = 64;
+
+    public static void main(String[] args) throws Exception {
+        int operacoes = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int threadsPlataforma = Runtime.getRuntime().availableProcessors() * 2;
+
+        int limite = BancoServiceAsync.LIMITE_CONCORRENCIA_PADRAO;
+        for (int rodada = 1; rodada <= 3; rodada++) {
+            medir("Pool por permissão (" + limite + ")", BancoServiceAsync.criarExecutorPadrao(limite), operacoes);
+            medir("Pool fixo (" + threadsPlataforma + ")", Executors.newFixedThreadPool(threadsPlataforma), operacoes);
+        }
+    }
+
+    private static void medir(String nome, ExecutorService executor, int operacoes) throws Exception {
+        BancoService bancoService = new BancoService();
+        List<Conta> contas = criarContas(bancoService);
+
+        try (BancoServiceAsync async = new BancoServiceAsync(bancoService, executor,
+                                                             BancoServiceAsync.LIMITE_CONCORRENCIA_PADRAO)) {
+            long inicio = System.nanoTime();
+            List<CompletableFuture<Boolean>> futuros = new ArrayList<>(operacoes);
+            int concluidas = 0;
+            for (int i = 0; i < operacoes; i++) {
+                Conta origem = contas.get(i % CONTAS);
+                Conta destino = contas.get((i * 7 + 1) % CONTAS);
+                CompletableFuture<Boolean> futuro;
+                while ((futuro = async.transferir(origem.getAgencia(), origem.getNumero(),
+                        destino.getAgencia(), destino.getNumero(), BigDecimal.ONE)).isCompletedExceptionally()) {
+                    futuros.get(concluidas++).join();
+                }
+                futuros.add(futuro);
+            }
+            CompletableFuture.allOf(futuros.toArray(new CompletableFuture<?>[0])).join();
+            long nanos = System.nanoTime() - inicio;
+
+            System.out.printf("%-25s %,10d ops em %6d ms -> %,12.0f ops/s%n",
+                              nome, operacoes, nanos / 1_000_000, operacoes * 1e9 / nanos);
+        }
+    }
+
+    private static List<Conta> criarContas(BancoService bancoService) {
+        List<Conta> contas = new ArrayList<>();
+        for (int i = 0; i < CONTAS; i++) {
+            String cpf = String.format("5%010d", i);
+            bancoService.criarCliente("Benchmark " + i, cpf, "bench" + i + "@email.com", "11900000000",
+                                      LocalDate.of(1990, 1, 1));
+            Conta conta = bancoService.criarConta(cpf, TipoConta.POUPANCA);
+            bancoService.depositar(conta.getAgencia(), conta.getNumero(), new BigDecimal("1000000.00"));
+            contas.add(conta);
+        }
+        return contas;
+    }
+}
\ No newline at end of file
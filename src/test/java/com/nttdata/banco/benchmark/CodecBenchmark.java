@@ -0,0 +1,222 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Transacao;
+import com.nttdata.banco.persistencia.CodecBinario;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de codificação de transações: CodecBinario x serialização Java x JSON
+ * Mede o tamanho médio por transação e a vazão de ida e volta (codificar + decodificar)
+ * de um lote, com aquecimento antes de cada medição
+ *
+ * Execução: java -cp out com.nttdata.banco.benchmark.CodecBenchmark [transacoes] [rodadas]
+ */
+public class CodecBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        List<Transacao> transacoes = gerarTransacoes(quantidade);
+        System.out.printf("%d transações por lote, %d rodadas%n", quantidade, rodadas);
+        medir("CodecBinario", transacoes, rodadas, CodecBenchmark::binario);
+        medir("Serialização Java", transacoes, rodadas, CodecBenchmark::serializacaoJava);
+        medir("JSON", transacoes, rodadas, CodecBenchmark::json);
+    }
+
+    private interface Formato {
+        int idaEVolta(List<Transacao> transacoes) throws Exception;
+    }
+
+    private static void medir(String nome, List<Transacao> transacoes, int rodadas, Formato formato) throws Exception {
+        int bytes = 0;
+        for (int i = 0; i < rodadas; i++) {
+            bytes = formato.idaEVolta(transacoes);
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < rodadas; i++) {
+            formato.idaEVolta(transacoes);
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        double porSegundo = (double) transacoes.size() * rodadas / segundos;
+        System.out.printf("%-18s %6.1f bytes/transação | %,12.0f transações/s%n", nome,
+                          (double) bytes / transacoes.size(), porSegundo);
+    }
+
+    private static int binario(List<Transacao> transacoes) {
+        ByteBuffer buffer = ByteBuffer.allocate(transacoes.size() * 256);
+        CodecBinario codificador = new CodecBinario();
+        for (Transacao transacao : transacoes) {
+            codificador.escreverTransacao(buffer, transacao);
+        }
+        int tamanho = buffer.position();
+        buffer.flip();
+        CodecBinario decodificador = new CodecBinario();
+        for (int i = 0; i < transacoes.size(); i++) {
+            conferir(decodificador.lerTransacao(buffer));
+        }
+        return tamanho;
+    }
+
+    private static int serializacaoJava(List<Transacao> transacoes) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(transacoes.size() * 512);
+        try (ObjectOutputStream saida = new ObjectOutputStream(bytes)) {
+            for (Transacao transacao : transacoes) {
+                saida.writeObject(new TransacaoSerializavel(transacao));
+            }
+        }
+        try (ObjectInputStream entrada = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            for (int i = 0; i < transacoes.size(); i++) {
+                conferir(((TransacaoSerializavel) entrada.readObject()).paraTransacao());
+            }
+        }
+        return bytes.size();
+    }
+
+    private static int json(List<Transacao> transacoes) {
+        StringBuilder texto = new StringBuilder(transacoes.size() * 320);
+        for (Transacao transacao : transacoes) {
+            escreverJson(texto, transacao);
+            texto.append('\n');
+        }
+        byte[] bytes = texto.toString().getBytes(StandardCharsets.UTF_8);
+        String lido = new String(bytes, StandardCharsets.UTF_8);
+        int inicio = 0;
+        for (int i = 0; i < transacoes.size(); i++) {
+            int fim = lido.indexOf('\n', inicio);
+            conferir(lerJson(lido.substring(inicio, fim)));
+            inicio = fim + 1;
+        }
+        return bytes.length;
+    }
+
+    private static void conferir(Transacao transacao) {
+        if (transacao.getValor().signum() <= 0) {
+            throw new IllegalStateException("Transação decodificada inválida");
+        }
+    }
+
+    // ================== JSON ESCRITO À MÃO ==================
+
+    private static void escreverJson(StringBuilder texto, Transacao t) {
+        texto.append('{');
+        campo(texto, "id", t.getId()).append(',');
+        campo(texto, "tipo", t.getTipo().name()).append(',');
+        texto.append("\"valor\":").append(t.getValor().toPlainString()).append(',');
+        campo(texto, "dataHora", t.getDataHora().toString()).append(',');
+        campo(texto, "descricao", t.getDescricao()).append(',');
+        campo(texto, "contaOrigem", t.getContaOrigem()).append(',');
+        campo(texto, "contaDestino", t.getContaDestino()).append(',');
+        texto.append("\"sucesso\":").append(t.isSucesso()).append(',');
+        campo(texto, "observacoes", t.getObservacoes()).append(',');
+        campo(texto, "idCorrelacao", t.getIdCorrelacao());
+        texto.append('}');
+    }
+
+    private static StringBuilder campo(StringBuilder texto, String nome, String valor) {
+        texto.append('"').append(nome).append("\":");
+        if (valor == null) {
+            return texto.append("null");
+        }
+        texto.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"' || c == '\\') {
+                texto.append('\\');
+            }
+            texto.append(c);
+        }
+        return texto.append('"');
+    }
+
+    private static Transacao lerJson(String json) {
+        String[] valores = new String[10];
+        int posicao = 1;
+        for (int campo = 0; campo < valores.length; campo++) {
+            int doisPontos = json.indexOf("\":", posicao);
+            int inicio = doisPontos + 2;
+            if (json.charAt(inicio) == '"') {
+                StringBuilder valor = new StringBuilder();
+                int i = inicio + 1;
+                for (; json.charAt(i) != '"'; i++) {
+                    if (json.charAt(i) == '\\') {
+                        i++;
+                    }
+                    valor.append(json.charAt(i));
+                }
+                valores[campo] = valor.toString();
+                posicao = i + 2;
+            } else {
+                int fim = inicio;
+                while (json.charAt(fim) != ',' && json.charAt(fim) != '}') {
+                    fim++;
+                }
+                String bruto = json.substring(inicio, fim);
+                valores[campo] = bruto.equals("null") ? null : bruto;
+                posicao = fim + 1;
+            }
+        }
+        return new Transacao(valores[0], TipoTransacao.valueOf(valores[1]), new BigDecimal(valores[2]),
+                             LocalDateTime.parse(valores[3]), valores[4], valores[5], valores[6],
+                             Boolean.parseBoolean(valores[7]), valores[8], valores[9]);
+    }
+
+    // ================== SERIALIZAÇÃO JAVA ==================
+
+    private static class TransacaoSerializavel implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String id;
+        private final TipoTransacao tipo;
+        private final BigDecimal valor;
+        private final LocalDateTime dataHora;
+        private final String descricao;
+        private final String contaOrigem;
+        private final String contaDestino;
+        private final boolean sucesso;
+        private final String observacoes;
+        private final String idCorrelacao;
+
+        TransacaoSerializavel(Transacao t) {
+            this.id = t.getId();
+            this.tipo = t.getTipo();
+            this.valor = t.getValor();
+            this.dataHora = t.getDataHora();
+            this.descricao = t.getDescricao();
+            this.contaOrigem = t.getContaOrigem();
+            this.contaDestino = t.getContaDestino();
+            this.sucesso = t.isSucesso();
+            this.observacoes = t.getObservacoes();
+            this.idCorrelacao = t.getIdCorrelacao();
+        }
+
+        Transacao paraTransacao() {
+            return new Transacao(id, tipo, valor, dataHora, descricao, contaOrigem, contaDestino,
+                                 sucesso, observacoes, idCorrelacao);
+        }
+    }
+
+    private static List<Transacao> gerarTransacoes(int quantidade) {
+        List<Transacao> transacoes = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            String origem = String.format("0001-%06d", 1001 + i % 500);
+            String destino = String.format("0001-%06d", 1001 + (i * 7) % 500);
+            BigDecimal valor = BigDecimal.valueOf(100 + i % 10_000, 2);
+            transacoes.add(i % 3 == 0
+                    ? new Transacao(TipoTransacao.DEPOSITO, valor, "Depósito em dinheiro", origem, true)
+                    : new Transacao(TipoTransacao.TRANSFERENCIA, valor, "Transferência para " + destino,
+                                    origem, destino, true));
+        }
+        return transacoes;
+    }
+}
\ No newline at end of file
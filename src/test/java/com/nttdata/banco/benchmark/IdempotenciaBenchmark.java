@@ -0,0 +1,49 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.service.BancoService;
+import java.math.BigDecimal;
+
+/**
+ * Benchmark do custo extra por operação das chaves de idempotência
+ * Compara depositar sem chave e com chave nova a cada chamada
+ *
+ * Execução: java -cp out com.nttdata.banco.benchmark.IdempotenciaBenchmark [operacoes]
+ */
+public class IdempotenciaBenchmark {
+
+    public static void main(String[] args) {
+        int operacoes = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        BancoService bancoService = new BancoService();
+        BigDecimal valor = new BigDecimal("1.00");
+
+        // Chaves geradas antes, para medir só a tabela
+        String[] chaves = new String[operacoes];
+        for (int i = 0; i < operacoes; i++) {
+            chaves[i] = "req-" + i;
+        }
+
+        for (int rodada = 1; rodada <= 3; rodada++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < operacoes; i++) {
+                bancoService.depositar("0001", "001002", valor);
+            }
+            long semChave = System.nanoTime() - inicio;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < operacoes; i++) {
+                bancoService.depositar(chaves[i] + "-" + rodada, "0001", "001002", valor);
+            }
+            long comChave = System.nanoTime() - inicio;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < operacoes; i++) {
+                bancoService.depositar(chaves[operacoes - 1] + "-" + rodada, "0001", "001002", valor);
+            }
+            long repeticao = System.nanoTime() - inicio;
+
+            System.out.printf("Rodada %d: sem chave %,6.0f ns/op | chave nova %,6.0f ns/op (+%,.0f) | repetição %,6.0f ns/op%n",
+                              rodada, (double) semChave / operacoes, (double) comChave / operacoes,
+                              (double) (comChave - semChave) / operacoes, (double) repeticao / operacoes);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.enums.FormatoDados;
+import com.nttdata.banco.persistencia.ExportadorBanco;
+import com.nttdata.banco.persistencia.ImportadorBanco;
+import com.nttdata.banco.persistencia.ResultadoImportacao;
+import com.nttdata.banco.repository.ClienteRepository;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.InvestimentoRepository;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Benchmark da importação e exportação em massa (meta: 1M de registros por minuto)
+ * Gera um arquivo CSV com um quarto de clientes, metade de contas e um quarto de
+ * investimentos, importa em repositórios em memória e exporta em NDJSON, que é
+ * importado e exportado de volta em CSV
+ *
+ * Execução: java -cp out com.nttdata.banco.benchmark.ImportacaoBenchmark [registros]
+ */
+public class ImportacaoBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int registros = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path diretorio = Files.createTempDirectory("importacao-benchmark");
+        Path csv = diretorio.resolve("banco.csv");
+        gerar(csv, registros / 4);
+        System.out.printf("%,d registros, %d threads%n", registros, Runtime.getRuntime().availableProcessors());
+
+        Path entrada = csv;
+        for (FormatoDados formato : FormatoDados.values()) {
+            ClienteRepository clientes = new ClienteRepository();
+            ContaRepository contas = new ContaRepository();
+            InvestimentoRepository investimentos = new InvestimentoRepository();
+            ResultadoImportacao resultado = new ImportadorBanco(clientes, contas, investimentos)
+                    .importar(entrada, formato);
+            System.out.printf("importação em %-6s %,12.0f registros/min (%d recusados)%n", formato.name(),
+                              resultado.getRegistrosPorMinuto(), resultado.getRecusados());
+
+            // O próximo formato importa o que este exportar
+            FormatoDados seguinte = formato == FormatoDados.CSV ? FormatoDados.NDJSON : FormatoDados.CSV;
+            Path saida = diretorio.resolve("exportado." + (seguinte == FormatoDados.CSV ? "csv" : "ndjson"));
+            long inicio = System.nanoTime();
+            long escritos = new ExportadorBanco(clientes, contas, investimentos).exportar(saida, seguinte);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            System.out.printf("exportação em %-6s %,12.0f registros/min (%,d MB)%n", seguinte.name(),
+                              escritos * 60 / segundos, Files.size(saida) / (1024 * 1024));
+            entrada = saida;
+        }
+    }
+
+    private static void gerar(Path arquivo, int clientes) throws Exception {
+        try (BufferedWriter escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < clientes; i++) {
+                escritor.write(String.format("CLIENTE,Cliente %d,%011d,cliente%d@email.com,11900000000,1980-01-01%n",
+                                             i, i, i));
+            }
+            for (int i = 0; i < clientes * 2; i++) {
+                String tipo = i % 2 == 0 ? "CORRENTE" : "INVESTIMENTO";
+                escritor.write(String.format("CONTA,%s,0001,%07d,%011d,%d.%02d,2020-01-01T09:00,true%n",
+                                             tipo, i, i / 2, i % 10_000, i % 100));
+            }
+            for (int i = 0; i < clientes; i++) {
+                escritor.write(String.format("INVESTIMENTO,inv-%d,CDB,1000.00,%011d,2024-01-01,2025-01-01,true,,0001-%07d%n",
+                                             i, i, i * 2 + 1));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.enums.Durabilidade;
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.service.BancoService;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark do tempo de abertura do banco: reaplicando o journal inteiro
+ * e a partir de um snapshot seguido de um final curto do journal
+ *
+ * Execução: java -cp out com.nttdata.banco.benchmark.InicializacaoBenchmark [contas] [depositos]
+ */
+public class InicializacaoBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int quantidadeContas = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int depositos = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        Path diretorio = Files.createTempDirectory("inicializacao-benchmark");
+        try (BancoService banco = BancoService.abrir(diretorio, Durabilidade.ASSINCRONA, null)) {
+            List<Conta> contas = new ArrayList<>();
+            for (int i = 0; i < quantidadeContas; i++) {
+                String cpf = String.format("7%010d", i);
+                banco.criarCliente("Benchmark " + i, cpf, "bench@email.com", "11999999999", LocalDate.of(1990, 1, 1));
+                contas.add(banco.criarConta(cpf, TipoConta.POUPANCA));
+            }
+            BigDecimal valor = new BigDecimal("1.00");
+            for (int i = 0; i < depositos; i++) {
+                Conta conta = contas.get(i % quantidadeContas);
+                banco.depositar(conta.getAgencia(), conta.getNumero(), valor);
+            }
+        }
+        System.out.printf("%d contas, %d depósitos%n", quantidadeContas, depositos);
+        medir("Journal inteiro", diretorio);
+
+        try (BancoService banco = BancoService.abrir(diretorio, Durabilidade.ASSINCRONA, null)) {
+            banco.gravarSnapshot();
+            Conta conta = banco.listarContas().get(0);
+            for (int i = 0; i < 1_000; i++) {
+                banco.depositar(conta.getAgencia(), conta.getNumero(), BigDecimal.ONE);
+            }
+        }
+        medir("Snapshot + final", diretorio);
+    }
+
+    private static void medir(String nome, Path diretorio) {
+        long inicio = System.nanoTime();
+        try (BancoService banco = BancoService.abrir(diretorio, Durabilidade.ASSINCRONA, null)) {
+            long milis = (System.nanoTime() - inicio) / 1_000_000;
+            System.out.printf("%-18s %6d ms | %d registros reaplicados | %d contas%n", nome, milis,
+                              banco.getArmazenamento().getRegistrosReaplicados(),
+                              banco.getContaRepository().getTotalContas());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.enums.Durabilidade;
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.persistencia.Journal;
+import com.nttdata.banco.service.BancoService;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de vazão dos depósitos com journal em cada nível de durabilidade
+ * Cada thread deposita em sua própria conta; sem journal serve de referência
+ *
+ * Execução: java -cp out com.nttdata.banco.benchmark.JournalBenchmark [threads] [segundos]
+ */
+public class JournalBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        System.out.printf("%d threads, %d s por medição%n", threads, segundos);
+        medir("Sem journal", null, threads, segundos);
+        for (Durabilidade durabilidade : Durabilidade.values()) {
+            medir(durabilidade.name(), durabilidade, threads, segundos);
+        }
+    }
+
+    private static void medir(String nome, Durabilidade durabilidade, int threads, int segundos) throws Exception {
+        Path diretorio = Files.createTempDirectory("journal-benchmark");
+        Journal journal = durabilidade != null ? new Journal(diretorio.resolve("banco.journal"), durabilidade) : null;
+        BancoService bancoService = new BancoService(journal);
+
+        List<Conta> contas = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String cpf = String.format("8%010d", i);
+            bancoService.criarCliente("Benchmark " + i, cpf, "bench@email.com", "11999999999", LocalDate.of(1990, 1, 1));
+            contas.add(bancoService.criarConta(cpf, TipoConta.POUPANCA));
+        }
+
+        BigDecimal valor = new BigDecimal("1.00");
+        long fim = System.nanoTime() + segundos * 1_000_000_000L;
+        long[] operacoes = new long[threads];
+        List<Thread> trabalhadores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int indice = t;
+            Conta conta = contas.get(t);
+            trabalhadores.add(new Thread(() -> {
+                while (System.nanoTime() < fim) {
+                    bancoService.depositar(conta.getAgencia(), conta.getNumero(), valor);
+                    operacoes[indice]++;
+                }
+            }));
+        }
+        long inicio = System.nanoTime();
+        trabalhadores.forEach(Thread::start);
+        for (Thread trabalhador : trabalhadores) {
+            trabalhador.join();
+        }
+        long decorrido = System.nanoTime() - inicio;
+
+        long total = 0;
+        for (long quantidade : operacoes) {
+            total += quantidade;
+        }
+        String fsyncs = "";
+        if (journal != null) {
+            fsyncs = String.format(" | %,d fsyncs (%.1f registros/fsync)", journal.getDescargas(),
+                                   (double) journal.getRegistrosAnexados() / Math.max(1, journal.getDescargas()));
+            journal.close();
+        }
+        System.out.printf("%-12s %,12.0f ops/s%s%n", nome, total * 1e9 / decorrido, fsyncs);
+    }
+}
@@ -0,0 +1,107 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaPoupanca;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.RepositorioConta;
+import com.nttdata.banco.service.BancoService;
+import com.nttdata.banco.service.LedgerParticionado;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de contas "quentes": poucas contas recebendo muitas transferências
+ * Compara o LedgerParticionado (escritor único) com as travas do BancoService
+ *
+ * Execução: java -cp out com.nttdata.banco.benchmark.LedgerParticionadoBenchmark [operacoes]
+ */
+public class LedgerParticionadoBenchmark {
+    private static final int CONTAS_QUENTES = 4;
+    private static final int PRODUTORES = 4;
+
+    public static void main(String[] args) throws Exception {
+        int operacoes = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        for (int rodada = 1; rodada <= 3; rodada++) {
+            medirLedger(operacoes);
+            medirTravas(operacoes);
+        }
+    }
+
+    private static void medirLedger(int operacoes) throws Exception {
+        ContaRepository repository = new ContaRepository();
+        List<Conta> contas = criarContas(repository);
+        try (LedgerParticionado ledger = new LedgerParticionado(repository)) {
+            long inicio = System.nanoTime();
+            executarProdutores(operacoes, (i) -> {
+                Conta origem = contas.get(i % CONTAS_QUENTES);
+                Conta destino = contas.get((i + 1) % CONTAS_QUENTES);
+                return ledger.transferir(origem.getAgencia(), origem.getNumero(),
+                                         destino.getAgencia(), destino.getNumero(), BigDecimal.ONE);
+            });
+            imprimir("LedgerParticionado", operacoes, System.nanoTime() - inicio);
+        }
+    }
+
+    private static void medirTravas(int operacoes) throws Exception {
+        BancoService bancoService = new BancoService();
+        List<Conta> contas = criarContas(bancoService.getContaRepository());
+        long inicio = System.nanoTime();
+        executarProdutores(operacoes, (i) -> {
+            Conta origem = contas.get(i % CONTAS_QUENTES);
+            Conta destino = contas.get((i + 1) % CONTAS_QUENTES);
+            return CompletableFuture.completedFuture(bancoService.transferir(origem.getAgencia(), origem.getNumero(),
+                                                                             destino.getAgencia(), destino.getNumero(),
+                                                                             BigDecimal.ONE));
+        });
+        imprimir("BancoService (travas)", operacoes, System.nanoTime() - inicio);
+    }
+
+    private interface Operacao {
+        CompletableFuture<Boolean> executar(int indice);
+    }
+
+    private static void executarProdutores(int operacoes, Operacao operacao) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUTORES);
+        int porProdutor = operacoes / PRODUTORES;
+        List<CompletableFuture<Void>> produtores = new ArrayList<>();
+        for (int p = 0; p < PRODUTORES; p++) {
+            final int base = p * porProdutor;
+            produtores.add(CompletableFuture.runAsync(() -> {
+                CompletableFuture<Boolean> ultimo = null;
+                for (int i = 0; i < porProdutor; i++) {
+                    ultimo = operacao.executar(base + i);
+                }
+                if (ultimo != null) {
+                    ultimo.join();
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(produtores.toArray(new CompletableFuture<?>[0])).join();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private static List<Conta> criarContas(RepositorioConta repository) {
+        List<Conta> contas = new ArrayList<>();
+        for (int i = 0; i < CONTAS_QUENTES; i++) {
+            Cliente cliente = new Cliente("Quente " + i, "4000000000" + i, "q" + i + "@email.com",
+                                          "11900000000", LocalDate.of(1990, 1, 1));
+            Conta conta = repository.salvar(new ContaPoupanca(String.format("%06d", 9000 + i), "0001", cliente));
+            conta.depositar(new BigDecimal("100000000.00"));
+            contas.add(conta);
+        }
+        return contas;
+    }
+
+    private static void imprimir(String nome, int operacoes, long nanos) {
+        System.out.printf("%-25s %,10d ops em %6d ms -> %,12.0f ops/s%n",
+                          nome, operacoes, nanos / 1_000_000, operacoes * 1e9 / nanos);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaCorrente;
+import com.nttdata.banco.persistencia.RepositorioClienteDisco;
+import com.nttdata.banco.persistencia.RepositorioContaDisco;
+import com.nttdata.banco.persistencia.RepositorioInvestimentoDisco;
+import com.nttdata.banco.repository.ClienteRepository;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.RepositorioConta;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark dos repositórios de contas: memória x disco com cache de páginas
+ * Mede gravações (salvarSeVersao) e buscas aleatórias; no disco, as buscas são feitas
+ * depois de soltar as instâncias, então passam pela decodificação e pelo cache
+ *
+ * Execução: java -cp out com.nttdata.banco.benchmark.RepositorioBenchmark [contas] [operacoes]
+ */
+public class RepositorioBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int contas = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int operacoes = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        System.out.printf("%d contas, %d operações%n", contas, operacoes);
+
+        ClienteRepository clientesMemoria = new ClienteRepository();
+        medir("Memória", new ContaRepository(), clientesMemoria.salvar(titular()), contas, operacoes);
+
+        Path diretorio = Files.createTempDirectory("benchmark-repositorio");
+        try (RepositorioClienteDisco clientes = new RepositorioClienteDisco(diretorio);
+             RepositorioInvestimentoDisco investimentos = new RepositorioInvestimentoDisco(diretorio);
+             RepositorioContaDisco repositorio = new RepositorioContaDisco(diretorio, clientes, investimentos)) {
+            medir("Disco", repositorio, clientes.salvar(titular()), contas, operacoes);
+            System.out.printf("Disco: %,d acertos de cache, %,d leituras de página%n",
+                              repositorio.getArmazem().getAcertosCache(), repositorio.getArmazem().getLeiturasDisco());
+        }
+    }
+
+    private static void medir(String nome, RepositorioConta repositorio, Cliente titular, int quantidade,
+                              int operacoes) {
+        List<String> numeros = new ArrayList<>(quantidade);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < quantidade; i++) {
+            Conta conta = new ContaCorrente(String.format("%06d", i), "0001", titular);
+            repositorio.salvar(conta);
+            numeros.add(conta.getNumero());
+        }
+        double criacao = (System.nanoTime() - inicio) / 1e9;
+
+        Random aleatorio = new Random(42);
+        inicio = System.nanoTime();
+        for (int i = 0; i < operacoes; i++) {
+            String numero = numeros.get(aleatorio.nextInt(quantidade));
+            Conta conta = repositorio.buscarPorNumero("0001", numero).orElseThrow();
+            repositorio.salvarSeVersao(conta, conta.getVersao(), c -> c.depositar(BigDecimal.ONE));
+        }
+        double atualizacao = (System.nanoTime() - inicio) / 1e9;
+
+        // Sem referências vivas, as buscas no disco decodificam o registro a partir do cache
+        System.gc();
+        inicio = System.nanoTime();
+        for (int i = 0; i < operacoes; i++) {
+            repositorio.buscarPorNumero("0001", numeros.get(aleatorio.nextInt(quantidade))).orElseThrow();
+        }
+        double leitura = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("%-8s criação %,10.0f/s | atualização %,10.0f/s | busca %,12.0f/s%n", nome,
+                          quantidade / criacao, operacoes / atualizacao, operacoes / leitura);
+    }
+
+    private static Cliente titular() {
+        return new Cliente("Titular Benchmark", "00000000191", "benchmark@email.com", "11900000000",
+                           LocalDate.of(1980, 1, 1));
+    }
+}
\ No newline at end of file
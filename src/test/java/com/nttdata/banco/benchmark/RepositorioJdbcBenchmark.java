@@ -0,0 +1,95 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaCorrente;
+import com.nttdata.banco.persistencia.BancoDadosJdbc;
+import com.nttdata.banco.persistencia.RepositorioClienteJdbc;
+import com.nttdata.banco.persistencia.RepositorioContaJdbc;
+import com.nttdata.banco.persistencia.RepositorioInvestimentoJdbc;
+import com.nttdata.banco.repository.ClienteRepository;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.InvestimentoRepository;
+import com.nttdata.banco.repository.RepositorioCliente;
+import com.nttdata.banco.repository.RepositorioConta;
+import com.nttdata.banco.repository.RepositorioInvestimento;
+import com.nttdata.banco.service.BancoService;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Benchmark dos repositórios JDBC (H2 em arquivo) x memória com 1M de contas
+ * Mede a carga inicial (em transações de 10.000 contas), transferências pelo BancoService
+ * (uma transação do banco por transferência) e buscas aleatórias
+ *
+ * Execução: java -cp out:h2.jar com.nttdata.banco.benchmark.RepositorioJdbcBenchmark [contas] [operacoes]
+ */
+public class RepositorioJdbcBenchmark {
+    private static final int CONTAS_POR_TRANSACAO = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int contas = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int operacoes = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        System.out.printf("%,d contas, %,d operações%n", contas, operacoes);
+
+        ClienteRepository clientesMemoria = new ClienteRepository();
+        InvestimentoRepository investimentosMemoria = new InvestimentoRepository();
+        medir("Memória", clientesMemoria, new ContaRepository(), investimentosMemoria, contas, operacoes);
+
+        String url = "jdbc:h2:file:" + Files.createTempDirectory("benchmark-jdbc").resolve("banco").toAbsolutePath();
+        if (!BancoDadosJdbc.driverDisponivel(url)) {
+            System.out.println("Driver H2 ausente no classpath: medição JDBC ignorada");
+            return;
+        }
+        try (BancoDadosJdbc banco = new BancoDadosJdbc(url)) {
+            RepositorioClienteJdbc clientes = new RepositorioClienteJdbc(banco);
+            RepositorioInvestimentoJdbc investimentos = new RepositorioInvestimentoJdbc(banco);
+            medir("JDBC", clientes, new RepositorioContaJdbc(banco, clientes, investimentos), investimentos,
+                  contas, operacoes);
+        }
+    }
+
+    private static void medir(String nome, RepositorioCliente clientes, RepositorioConta repositorio,
+                              RepositorioInvestimento investimentos, int quantidade, int operacoes) {
+        Cliente titular = clientes.salvar(new Cliente("Titular Benchmark", "00000000191", "benchmark@email.com",
+                                                      "11900000000", LocalDate.of(1980, 1, 1)));
+        long inicio = System.nanoTime();
+        for (int lote = 0; lote < quantidade; lote += CONTAS_POR_TRANSACAO) {
+            int primeiro = lote;
+            repositorio.emTransacao(() -> {
+                for (int i = primeiro; i < Math.min(primeiro + CONTAS_POR_TRANSACAO, quantidade); i++) {
+                    Conta conta = new ContaCorrente(numero(i), "0001", titular);
+                    conta.depositar(new BigDecimal("1000.00"));
+                    repositorio.salvar(conta);
+                }
+                return null;
+            });
+        }
+        double carga = (System.nanoTime() - inicio) / 1e9;
+
+        BancoService banco = new BancoService(clientes, repositorio, investimentos, null);
+        Random aleatorio = new Random(42);
+        inicio = System.nanoTime();
+        for (int i = 0; i < operacoes; i++) {
+            banco.transferir("0001", numero(aleatorio.nextInt(quantidade)), "0001",
+                             numero(aleatorio.nextInt(quantidade)), BigDecimal.ONE);
+        }
+        double transferencias = (System.nanoTime() - inicio) / 1e9;
+
+        System.gc();
+        inicio = System.nanoTime();
+        for (int i = 0; i < operacoes; i++) {
+            repositorio.buscarPorNumero("0001", numero(aleatorio.nextInt(quantidade))).orElseThrow();
+        }
+        double buscas = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("%-8s carga %,10.0f contas/s | transferência %,9.0f/s | busca %,10.0f/s%n", nome,
+                          quantidade / carga, operacoes / transferencias, operacoes / buscas);
+    }
+
+    private static String numero(int i) {
+        return String.format("%07d", i);
+    }
+}
\ No newline at end of file
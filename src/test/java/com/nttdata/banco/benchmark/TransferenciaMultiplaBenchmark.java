@@ -0,0 +1,57 @@
+package com.nttdata.banco.benchmark;
+
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.service.BancoService;
+import com.nttdata.banco.service.PernaTransferencia;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de vazão da transferência múltipla atômica com 2, 10 e 100 pernas
+ * Cada operação debita uma conta e credita as demais (pagamento dividido)
+ *
+ * Execução: java -cp out com.nttdata.banco.benchmark.TransferenciaMultiplaBenchmark [operacoes]
+ */
+public class TransferenciaMultiplaBenchmark {
+
+    public static void main(String[] args) {
+        int operacoes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int[] quantidadesPernas = {2, 10, 100};
+
+        BancoService bancoService = new BancoService();
+        bancoService.criarCliente("Benchmark", "70000000001", "bench@email.com", "11999999999", LocalDate.of(1990, 1, 1));
+        Conta pagadora = bancoService.criarConta("70000000001", TipoConta.POUPANCA);
+        bancoService.depositar(pagadora.getAgencia(), pagadora.getNumero(), new BigDecimal("1000000000.00"));
+        List<Conta> recebedoras = new ArrayList<>();
+        for (int i = 0; i < 99; i++) {
+            recebedoras.add(bancoService.criarConta("70000000001", TipoConta.POUPANCA));
+        }
+
+        BigDecimal valorPorPerna = new BigDecimal("0.01");
+        for (int rodada = 1; rodada <= 3; rodada++) {
+            for (int pernas : quantidadesPernas) {
+                List<PernaTransferencia> creditos = new ArrayList<>();
+                for (int i = 0; i < pernas - 1; i++) {
+                    Conta recebedora = recebedoras.get(i);
+                    creditos.add(new PernaTransferencia(recebedora.getAgencia(), recebedora.getNumero(), valorPorPerna));
+                }
+                List<PernaTransferencia> debitos = List.of(new PernaTransferencia(pagadora.getAgencia(), pagadora.getNumero(),
+                        valorPorPerna.multiply(BigDecimal.valueOf(pernas - 1))));
+
+                int execucoes = Math.max(1, operacoes * 2 / pernas);
+                long inicio = System.nanoTime();
+                for (int i = 0; i < execucoes; i++) {
+                    bancoService.transferirMultiplasPernas(debitos, creditos);
+                }
+                long decorrido = System.nanoTime() - inicio;
+
+                System.out.printf("Rodada %d: %3d pernas | %,10.0f ops/s | %,8.0f ns/op | %,6.0f ns/perna%n",
+                                  rodada, pernas, execucoes * 1e9 / decorrido, (double) decorrido / execucoes,
+                                  (double) decorrido / execucoes / pernas);
+            }
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.nttdata.banco.model;
 
 import com.nttdata.banco.TestRunner;
 import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.enums.TipoTransacao;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Testes automatizados para a classe ContaCorrente
@@ -163,4 +166,132 @@ public class ContaCorrenteTest {
         TestRunner.assertTrue(resultado, "Transferência deve ser bem-sucedida");
         TestRunner.assertEquals(valorTransferencia, contaDestino.getSaldo(), "Conta destino deve receber o valor");
     }
-}
+
+    public void testTarifaPorSaqueEhODebitadoAlemDoValor() {
+        // Arrange
+        Cliente cliente = new Cliente("João", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        ContaCorrente conta = new ContaCorrente("001001", "0001", cliente);
+        conta.depositar(new BigDecimal("100.00"));
+
+        // Act
+        conta.sacar(new BigDecimal("40.00"));
+
+        // Assert
+        TestRunner.assertEquals(0, new BigDecimal("100.00").subtract(new BigDecimal("40.00"))
+                                       .subtract(conta.getTarifaPorSaque()).compareTo(conta.getSaldo()),
+                                "Saque deve debitar o valor mais a tarifa por saque");
+        TestRunner.assertEquals(0, new BigDecimal("2.50").compareTo(conta.getTarifaPorSaque()),
+                                "Tarifa por saque da conta corrente");
+    }
+
+    public void testPaginaHistoricoDaMaisNovaParaMaisAntiga() {
+        // Arrange
+        Cliente cliente = new Cliente("João", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        ContaCorrente conta = new ContaCorrente("001001", "0001", cliente);
+        for (int i = 1; i <= 25; i++) {
+            conta.adicionarTransacao(deposito(new BigDecimal(i)));
+        }
+
+        // Act
+        PaginaTransacoes primeira = conta.getPaginaHistorico(0, 10);
+        PaginaTransacoes ultima = conta.getPaginaHistorico(2, 10);
+        PaginaTransacoes alem = conta.getPaginaHistorico(3, 10);
+
+        // Assert
+        TestRunner.assertEquals(25L, primeira.getTotal(), "Total deve contar todo o histórico");
+        TestRunner.assertEquals(3L, primeira.getTotalPaginas(), "25 transações em páginas de 10 são 3 páginas");
+        TestRunner.assertEquals(new BigDecimal(25), primeira.getTransacoes().get(0).getValor(),
+                                "Página 0 deve começar pela mais nova");
+        TestRunner.assertEquals(new BigDecimal(16), primeira.getTransacoes().get(9).getValor(),
+                                "Página 0 deve terminar na décima mais nova");
+        TestRunner.assertTrue(primeira.temProxima(), "Primeira página deve ter próxima");
+        TestRunner.assertEquals(5, ultima.getTransacoes().size(), "Última página deve ter o restante");
+        TestRunner.assertEquals(new BigDecimal(1), ultima.getTransacoes().get(4).getValor(),
+                                "Última página deve terminar na mais antiga");
+        TestRunner.assertFalse(ultima.temProxima(), "Última página não deve ter próxima");
+        TestRunner.assertTrue(alem.isVazia(), "Página além do fim deve vir vazia");
+    }
+
+    public void testCursorRecenteRespeitaLimite() {
+        // Arrange
+        Cliente cliente = new Cliente("João", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        ContaCorrente conta = new ContaCorrente("001001", "0001", cliente);
+        for (int i = 1; i <= 5; i++) {
+            conta.adicionarTransacao(deposito(new BigDecimal(i)));
+        }
+
+        // Act
+        CursorTransacoes cursor = conta.percorrerHistoricoRecente(3);
+        List<BigDecimal> valores = new ArrayList<>();
+        while (cursor.avancar()) {
+            valores.add(cursor.getValor());
+        }
+        conta.adicionarTransacao(deposito(new BigDecimal(6)));
+
+        // Assert
+        TestRunner.assertEquals(List.of(new BigDecimal(5), new BigDecimal(4), new BigDecimal(3)), valores,
+                                "Cursor deve trazer as 3 mais novas, da mais nova para a mais antiga");
+        TestRunner.assertEquals(2, conta.getTransacoesRecentes(2).size(), "Limite deve ser respeitado");
+        TestRunner.assertEquals(6L, conta.getQuantidadeTransacoes(), "Quantidade deve incluir a nova transação");
+    }
+
+    public void testHistoricoSomenteLeitura() {
+        // Arrange
+        Cliente cliente = new Cliente("João", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        ContaCorrente conta = new ContaCorrente("001001", "0001", cliente);
+        conta.adicionarTransacao(deposito(new BigDecimal("10.00")));
+        conta.adicionarTransacao(deposito(new BigDecimal("20.00")));
+
+        // Act
+        List<Transacao> visao = conta.getHistoricoSomenteLeitura();
+        conta.adicionarTransacao(deposito(new BigDecimal("30.00")));
+        boolean alterou;
+        try {
+            visao.add(visao.get(0));
+            alterou = true;
+        } catch (UnsupportedOperationException e) {
+            alterou = false;
+        }
+
+        // Assert
+        TestRunner.assertEquals(2, visao.size(), "Visão deve ter as transações existentes na criação");
+        TestRunner.assertEquals(new BigDecimal("20.00"), visao.get(1).getValor(), "Visão deve ler em ordem");
+        TestRunner.assertFalse(alterou, "Visão não deve aceitar alterações");
+    }
+
+    public void testOperacoesEmCentavosRespeitamTarifaELimite() {
+        // Arrange
+        ContaCorrente conta = new ContaCorrente();
+        conta.usarSaldoEmCentavos();
+        conta.depositarCentavos(10000);
+        conta.setLimite(new BigDecimal("50.00"));
+
+        // Act
+        boolean acimaDoLimite = conta.sacarCentavos(14800);
+        boolean dentroDoLimite = conta.sacarCentavos(14750);
+
+        // Assert
+        TestRunner.assertTrue(conta.isSaldoEmCentavos(), "Saldo deve estar em centavos");
+        TestRunner.assertFalse(acimaDoLimite, "Valor + tarifa acima de saldo + limite deve ser recusado");
+        TestRunner.assertTrue(dentroDoLimite, "Valor + tarifa até saldo + novo limite deve ser aceito");
+        TestRunner.assertEquals(new BigDecimal("-50.00"), conta.getSaldo(), "Tarifa de 2,50 deve ser debitada");
+    }
+
+    public void testOperacoesEmCentavosComSaldoDecimal() {
+        // Arrange
+        ContaCorrente conta = new ContaCorrente();
+
+        // Act
+        conta.depositarCentavos(10000);
+        boolean saque = conta.sacarCentavos(1000);
+
+        // Assert
+        TestRunner.assertFalse(conta.isSaldoEmCentavos(), "Saldo deve continuar decimal");
+        TestRunner.assertTrue(saque, "Saque deve ser aceito");
+        TestRunner.assertEquals(0, new BigDecimal("87.50").compareTo(conta.getSaldo()), "Mesmo resultado da versão decimal");
+    }
+
+    private static Transacao deposito(BigDecimal valor) {
+        return new Transacao(TipoTransacao.DEPOSITO, valor, "Depósito", "0001-001001", true);
+    }
+}
\ No newline at end of file
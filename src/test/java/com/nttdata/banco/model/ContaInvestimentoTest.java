@@ -79,6 +79,22 @@ public class ContaInvestimentoTest {
         TestRunner.assertEquals(saldoInicial, conta.getSaldo(), "Saldo deve permanecer inalterado");
     }
 
+    public void testSaqueMenorQueMinimoComSaldoEmCentavos() {
+        // Arrange
+        ContaInvestimento conta = new ContaInvestimento();
+        conta.usarSaldoEmCentavos();
+        conta.depositarCentavos(500000);
+
+        // Act
+        boolean abaixoDoMinimo = conta.sacarCentavos(5000);
+        boolean noMinimo = conta.sacarCentavos(10000);
+
+        // Assert
+        TestRunner.assertFalse(abaixoDoMinimo, "Saque em centavos abaixo do mínimo deve ser negado");
+        TestRunner.assertTrue(noMinimo, "Saque em centavos no valor mínimo deve ser aceito");
+        TestRunner.assertEquals(new BigDecimal("4900.00"), conta.getSaldo(), "Só o saque permitido deve ser debitado");
+    }
+
     public void testSaqueSemSaldoSuficiente() {
         // Arrange
         ContaInvestimento conta = new ContaInvestimento();
@@ -198,4 +214,4 @@ public class ContaInvestimentoTest {
         TestRunner.assertTrue(detalhes.contains("100,00"), "Detalhes devem mostrar saque mínimo");
         TestRunner.assertTrue(detalhes.contains("Investimentos"), "Detalhes devem mencionar 'Investimentos'");
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.nttdata.banco.model;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Estimativa do tamanho profundo de objetos no heap, no layout da HotSpot de 64 bits com
+ * referências comprimidas (cabeçalho de 12 bytes, referências de 4, alinhamento de 8)
+ *
+ * Objetos já visitados não são contados de novo, então medir várias raízes com o mesmo
+ * medidor conta os compartilhados (textos internados, enums) uma vez só. Os tipos do JDK
+ * usados pelas transações são medidos pela API pública, sem abrir o módulo java.base.
+ */
+class MedidorMemoria {
+    private static final int CABECALHO_OBJETO = 12;
+    private static final int CABECALHO_ARRAY = 16;
+    private static final int REFERENCIA = 4;
+
+    private final Set<Object> visitados = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    long medir(Object objeto) {
+        if (objeto == null || objeto instanceof Enum<?> || !visitados.add(objeto)) {
+            return 0;
+        }
+        Class<?> classe = objeto.getClass();
+        if (objeto instanceof String texto) {
+            boolean latin1 = texto.chars().allMatch(c -> c < 256);
+            return raso(String.class) + alinhar(CABECALHO_ARRAY + (long) texto.length() * (latin1 ? 1 : 2));
+        }
+        if (objeto instanceof BigDecimal valor) {
+            int bits = valor.unscaledValue().bitLength();
+            // Acima de 63 bits o valor sem escala fica em um BigInteger com um int[]
+            return raso(BigDecimal.class) + (bits < 64 ? 0 : raso(BigInteger.class)
+                                                             + alinhar(CABECALHO_ARRAY + 4L * ((bits + 31) / 32)));
+        }
+        if (objeto instanceof LocalDateTime) {
+            return raso(LocalDateTime.class) + raso(LocalDate.class) + raso(LocalTime.class);
+        }
+        if (classe.getName().startsWith("java.")) {
+            throw new IllegalArgumentException("Tipo do JDK sem estimativa: " + classe.getName());
+        }
+        if (classe.isArray()) {
+            int tamanho = Array.getLength(objeto);
+            Class<?> componente = classe.getComponentType();
+            long total = alinhar(CABECALHO_ARRAY + (long) tamanho * tamanhoCampo(componente));
+            if (!componente.isPrimitive()) {
+                for (int i = 0; i < tamanho; i++) {
+                    total += medir(Array.get(objeto, i));
+                }
+            }
+            return total;
+        }
+        long total = raso(classe);
+        for (Class<?> c = classe; c != null; c = c.getSuperclass()) {
+            for (Field campo : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(campo.getModifiers()) && !campo.getType().isPrimitive()) {
+                    campo.setAccessible(true);
+                    try {
+                        total += medir(campo.get(objeto));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Tamanho da instância sem seguir as referências
+     */
+    static long raso(Class<?> classe) {
+        long total = CABECALHO_OBJETO;
+        for (Class<?> c = classe; c != null; c = c.getSuperclass()) {
+            for (Field campo : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(campo.getModifiers())) {
+                    total += tamanhoCampo(campo.getType());
+                }
+            }
+        }
+        return alinhar(total);
+    }
+
+    private static int tamanhoCampo(Class<?> tipo) {
+        if (tipo == long.class || tipo == double.class) {
+            return 8;
+        }
+        if (tipo == int.class || tipo == float.class) {
+            return 4;
+        }
+        if (tipo == short.class || tipo == char.class) {
+            return 2;
+        }
+        if (tipo == byte.class || tipo == boolean.class) {
+            return 1;
+        }
+        return REFERENCIA;
+    }
+
+    private static long alinhar(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.nttdata.banco.model;
+
+import com.nttdata.banco.TestRunner;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes automatizados para o armazenamento de saldo em centavos
+ * Verifica conversões, regras de limite/tarifa e atomicidade do CAS
+ */
+public class SaldoCentavosTest {
+
+    public void testConversaoParaCentavos() {
+        // Arrange & Act
+        SaldoCentavos saldo = new SaldoCentavos(new BigDecimal("1234.56"));
+
+        // Assert
+        TestRunner.assertEquals(123456L, saldo.getCentavos(), "Saldo deve ser guardado em centavos");
+        TestRunner.assertEquals(new BigDecimal("1234.56"), saldo.getValor(), "getValor deve devolver BigDecimal com 2 casas");
+    }
+
+    public void testDebitoRespeitaLimiteETarifa() {
+        // Arrange
+        SaldoCentavos saldo = new SaldoCentavos(new BigDecimal("100.00"));
+
+        // Act
+        boolean dentroDoLimite = saldo.debitar(new BigDecimal("1097.50"), new BigDecimal("2.50"), new BigDecimal("1000.00"));
+        boolean acimaDoLimite = saldo.debitar(new BigDecimal("0.01"), BigDecimal.ZERO, new BigDecimal("1000.00"));
+
+        // Assert
+        TestRunner.assertTrue(dentroDoLimite, "Débito que usa exatamente o limite deve ser aceito");
+        TestRunner.assertFalse(acimaDoLimite, "Débito acima do limite deve ser recusado");
+        TestRunner.assertEquals(new BigDecimal("-1000.00"), saldo.getValor(), "Saldo deve refletir valor + tarifa");
+    }
+
+    public void testContaCorrenteComSaldoEmCentavos() {
+        // Arrange
+        Cliente cliente = new Cliente("João Silva", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        ContaCorrente conta = new ContaCorrente("001001", "0001", cliente);
+        conta.depositar(new BigDecimal("500.00"));
+        conta.usarSaldoEmCentavos();
+
+        // Act
+        boolean saque = conta.sacar(new BigDecimal("200.00"));
+        boolean saqueAlemDoLimite = conta.sacar(new BigDecimal("1500.00"));
+
+        // Assert
+        TestRunner.assertTrue(conta.isSaldoEmCentavos(), "Conta deve usar armazenamento em centavos");
+        TestRunner.assertTrue(saque, "Saque deve ser bem-sucedido");
+        TestRunner.assertFalse(saqueAlemDoLimite, "Saque além do limite deve falhar");
+        TestRunner.assertEquals(new BigDecimal("297.50"), conta.getSaldo(), "Saldo deve descontar valor + tarifa");
+    }
+
+    public void testRendimentoPoupancaArredondaCentavos() {
+        // Arrange
+        ContaPoupanca conta = new ContaPoupanca();
+        conta.usarSaldoEmCentavos();
+        conta.depositar(new BigDecimal("100.01"));
+
+        // Act - 0,5% de 100,01 = 0,50005
+        conta.aplicarRendimento();
+
+        // Assert
+        TestRunner.assertEquals(new BigDecimal("100.51"), conta.getSaldo(), "Rendimento deve ser arredondado para centavos");
+    }
+
+    public void testDebitosConcorrentesNaoUltrapassamSaldo() throws InterruptedException {
+        // Arrange - 1000 centavos e 8 threads tentando sacar 1 centavo 500 vezes cada
+        SaldoCentavos saldo = new SaldoCentavos(1000L);
+        int[] aceitos = new int[8];
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < aceitos.length; t++) {
+            final int indice = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (saldo.debitarCentavos(1L, 0L, 0L)) {
+                        aceitos[indice]++;
+                    }
+                }
+            }));
+        }
+
+        // Act
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        int totalAceitos = 0;
+        for (int aceito : aceitos) {
+            totalAceitos += aceito;
+        }
+        TestRunner.assertEquals(1000, totalAceitos, "Exatamente o saldo disponível deve ser debitado");
+        TestRunner.assertEquals(0L, saldo.getCentavos(), "Saldo final deve ser zero, nunca negativo");
+    }
+}
@@ -4,6 +4,8 @@ import com.nttdata.banco.TestRunner;
 import com.nttdata.banco.enums.TipoTransacao;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 /**
  * Testes automatizados para a classe Transacao
@@ -204,4 +206,151 @@ public class TransacaoTest {
         // Assert
         TestRunner.assertEquals("", transacao.getObservacoes(), "Observações null devem virar string vazia");
     }
-}
+
+    public void testFormaCompactaDevolveOsMesmosValores() {
+        // Arrange
+        LocalDateTime comNanos = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789);
+        BigDecimal grande = new BigDecimal("123456789012345678901234567890.12");
+        String idMaiusculo = "3F1C2A9E-0B7D-4C55-9A41-2F6D8E1B7C30";
+
+        // Act
+        Transacao legado = new Transacao("legado-42", TipoTransacao.PIX, grande, comNanos, "PIX",
+                                         "0001-001001", "0001-001002", true, "Aluguel", "corr-9");
+        Transacao maiusculo = new Transacao(idMaiusculo, TipoTransacao.SAQUE, new BigDecimal("20"),
+                                            LocalDateTime.of(1969, 12, 31, 23, 0, 0, 1_000), "Saque",
+                                            "0001-001001", null, false, null, null);
+        Transacao nova = new Transacao(TipoTransacao.DEPOSITO, new BigDecimal("-0.05"), "Depósito",
+                                       "0001-001001", true);
+
+        // Assert
+        TestRunner.assertEquals("legado-42", legado.getId(), "Id fora do formato UUID deve ser mantido");
+        TestRunner.assertEquals(grande, legado.getValor(), "Valor acima de 64 bits deve ser mantido");
+        TestRunner.assertEquals(comNanos, legado.getDataHora(), "Nanossegundos devem ser mantidos");
+        TestRunner.assertEquals("Aluguel", legado.getObservacoes(), "Observações devem ser mantidas");
+        TestRunner.assertEquals("corr-9", legado.getIdCorrelacao(), "Correlação deve ser mantida");
+        TestRunner.assertEquals(idMaiusculo, maiusculo.getId(), "Id maiúsculo deve voltar igual");
+        TestRunner.assertEquals(new BigDecimal("20"), maiusculo.getValor(), "Escala deve ser mantida");
+        TestRunner.assertEquals(LocalDateTime.of(1969, 12, 31, 23, 0, 0, 1_000), maiusculo.getDataHora(),
+                                "Data anterior a 1970 deve ser mantida");
+        TestRunner.assertEquals(36, nova.getId().length(), "Id gerado deve ser um UUID");
+        TestRunner.assertEquals(nova.getId(), nova.getId(), "Id deve ser estável entre leituras");
+        TestRunner.assertEquals(new BigDecimal("-0.05"), nova.getValor(), "Valor negativo deve ser mantido");
+        TestRunner.assertEquals(TipoTransacao.DEPOSITO, nova.getTipo(), "Tipo deve ser mantido");
+    }
+
+    public void testFormaCompactaOcupaAoMenosQuatroVezesMenos() {
+        // Arrange: mesmas entradas no layout anterior (todos os campos como objetos) e no compacto
+        int quantidade = 10_000;
+        MedidorMemoria medidorAnterior = new MedidorMemoria();
+        MedidorMemoria medidorCompacto = new MedidorMemoria();
+        long bytesAnterior = 0;
+        long bytesCompacto = 0;
+
+        // Act
+        for (int i = 0; i < quantidade; i++) {
+            boolean transferencia = i % 2 == 0;
+            String id = UUID.randomUUID().toString();
+            BigDecimal valor = new BigDecimal(String.valueOf(i + 1)).movePointLeft(2);
+            LocalDateTime dataHora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            // Chaves "agencia-numero" montadas a cada operação, como no BancoService
+            String origem = "0001" + "-" + String.format("%06d", 1000 + i % 100);
+            String destino = transferencia ? "0001" + "-" + String.format("%06d", 1000 + (i + 1) % 100) : null;
+            String descricao = transferencia ? "Transferência enviada" : "Depósito em conta";
+
+            bytesAnterior += medidorAnterior.medir(new TransacaoLayoutAnterior(id, TipoTransacao.DEPOSITO, valor,
+                    dataHora, descricao, origem, destino, true, "", null));
+            bytesCompacto += medidorCompacto.medir(new Transacao(id, TipoTransacao.DEPOSITO, valor, dataHora,
+                    descricao, origem, destino, true, "", null));
+        }
+
+        // Assert
+        double reducao = (double) bytesAnterior / bytesCompacto;
+        TestRunner.assertTrue(reducao >= 4.0, String.format("Redução deve ser de ao menos 4x: %d -> %d bytes por "
+                + "transação (%.1fx)", bytesAnterior / quantidade, bytesCompacto / quantidade, reducao));
+    }
+
+    public void testTipoNuloRecusado() {
+        // Arrange
+        boolean recusado = false;
+
+        // Act
+        try {
+            new Transacao(null, BigDecimal.ONE, "Depósito", "0001-001001", true);
+        } catch (IllegalArgumentException e) {
+            recusado = true;
+        }
+
+        // Assert
+        TestRunner.assertTrue(recusado, "Transação sem tipo deve ser recusada com IllegalArgumentException");
+    }
+
+    public void testInternadorCompartilhaAteOLimite() {
+        // Arrange - 16 partições de uma entrada cada
+        InternadorTextos internador = new InternadorTextos(16);
+        String primeiro = new String("0001-001001");
+        internador.internar(primeiro);
+
+        // Act
+        String repetido = internador.internar(new String("0001-001001"));
+        String[] novos = new String[64];
+        for (int i = 0; i < novos.length; i++) {
+            novos[i] = internador.internar("0001-" + (2000 + i));
+        }
+
+        // Assert
+        TestRunner.assertTrue(repetido == primeiro, "Texto repetido deve devolver a instância guardada");
+        TestRunner.assertTrue(internador.getQuantidade() <= 16, "Limite de entradas vivas respeitado");
+        TestRunner.assertEquals("0001-2063", novos[63], "Além do limite o texto volta como veio");
+    }
+
+    public void testInternadorLiberaTextosSemUso() throws InterruptedException {
+        // Arrange
+        InternadorTextos internador = new InternadorTextos(1 << 20);
+        for (int i = 0; i < 1_000; i++) {
+            internador.internar("0001-" + (100_000 + i));
+        }
+        String emUso = internador.internar(new String("0001-999999"));
+
+        // Act - nenhum texto além de emUso é referenciado fora do internador
+        for (int tentativa = 0; tentativa < 50 && internador.getQuantidade() > 1; tentativa++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // Assert
+        TestRunner.assertEquals(1, internador.getQuantidade(), "Só o texto ainda em uso deve continuar no internador");
+        TestRunner.assertTrue(internador.internar(new String("0001-999999")) == emUso, "Texto em uso segue compartilhado");
+    }
+
+    /**
+     * Campos da Transacao antes da forma compacta, para comparar o consumo de memória
+     */
+    @SuppressWarnings("unused")
+    private static final class TransacaoLayoutAnterior {
+        private final String id;
+        private final TipoTransacao tipo;
+        private final BigDecimal valor;
+        private final LocalDateTime dataHora;
+        private final String descricao;
+        private final String contaOrigem;
+        private final String contaDestino;
+        private final boolean sucesso;
+        private final String observacoes;
+        private final String idCorrelacao;
+
+        TransacaoLayoutAnterior(String id, TipoTransacao tipo, BigDecimal valor, LocalDateTime dataHora,
+                                String descricao, String contaOrigem, String contaDestino, boolean sucesso,
+                                String observacoes, String idCorrelacao) {
+            this.id = id;
+            this.tipo = tipo;
+            this.valor = valor;
+            this.dataHora = dataHora;
+            this.descricao = descricao;
+            this.contaOrigem = contaOrigem;
+            this.contaDestino = contaDestino;
+            this.sucesso = sucesso;
+            this.observacoes = observacoes;
+            this.idCorrelacao = idCorrelacao;
+        }
+    }
+}
\ No newline at end of file
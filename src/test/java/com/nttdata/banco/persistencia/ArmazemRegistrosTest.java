@@ -0,0 +1,89 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Testes automatizados para o ArmazemRegistros
+ * Verifica leitura pelo cache de páginas, reabertura com final incompleto e compactação
+ */
+public class ArmazemRegistrosTest {
+
+    public void testLeiturasRepetidasUsamCacheDePaginas() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("armazem").resolve("registros.dat");
+        try (ArmazemRegistros armazem = new ArmazemRegistros(arquivo)) {
+            armazem.gravar("a", texto("primeiro"));
+            armazem.gravar("b", texto("segundo"));
+
+            // Act
+            armazem.ler("a");
+            armazem.ler("b");
+            String lido = new String(armazem.ler("a"), StandardCharsets.UTF_8);
+
+            // Assert
+            TestRunner.assertEquals("primeiro", lido, "Valor deve ser lido");
+            TestRunner.assertEquals(1L, armazem.getLeiturasDisco(), "Só a primeira leitura vai ao disco");
+            TestRunner.assertEquals(2L, armazem.getAcertosCache(), "Demais leituras vêm do cache");
+        }
+    }
+
+    public void testReabrirDescartaFinalIncompleto() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("armazem").resolve("registros.dat");
+        try (ArmazemRegistros armazem = new ArmazemRegistros(arquivo)) {
+            armazem.gravar("a", texto("valor antigo"));
+            armazem.gravar("a", texto("valor novo"));
+            armazem.gravar("b", texto("removido"));
+            armazem.remover("b");
+            armazem.gravar("c", texto("incompleto"));
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3);
+        }
+
+        // Act
+        try (ArmazemRegistros armazem = new ArmazemRegistros(arquivo)) {
+
+            // Assert
+            TestRunner.assertEquals("valor novo", new String(armazem.ler("a"), StandardCharsets.UTF_8),
+                                    "Última versão deve prevalecer");
+            TestRunner.assertFalse(armazem.contem("b"), "Lápide deve remover a chave");
+            TestRunner.assertFalse(armazem.contem("c"), "Registro incompleto deve ser descartado");
+            armazem.gravar("c", texto("regravado"));
+            TestRunner.assertEquals("regravado", new String(armazem.ler("c"), StandardCharsets.UTF_8),
+                                    "Gravação após o descarte deve funcionar");
+        }
+    }
+
+    public void testCompactarMantemSoVersoesAtuais() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("armazem").resolve("registros.dat");
+        try (ArmazemRegistros armazem = new ArmazemRegistros(arquivo, 2)) {
+            for (int i = 0; i < 100; i++) {
+                armazem.gravar("chave-" + (i % 10), texto("valor-" + i));
+            }
+            long antes = armazem.getTamanhoArquivo();
+
+            // Act
+            armazem.compactar();
+
+            // Assert
+            TestRunner.assertTrue(armazem.getTamanhoArquivo() < antes / 5, "Versões antigas devem ser descartadas");
+            TestRunner.assertEquals(10, armazem.getTamanho(), "Todas as chaves devem ser mantidas");
+            TestRunner.assertEquals("valor-97", new String(armazem.ler("chave-7"), StandardCharsets.UTF_8),
+                                    "Versão atual deve ser mantida");
+        }
+        try (ArmazemRegistros reaberto = new ArmazemRegistros(arquivo)) {
+            TestRunner.assertEquals(10, reaberto.getTamanho(), "Arquivo compactado deve ser relido");
+        }
+    }
+
+    private static byte[] texto(String valor) {
+        return valor.getBytes(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
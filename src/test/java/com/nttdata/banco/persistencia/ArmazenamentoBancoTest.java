@@ -0,0 +1,348 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.Durabilidade;
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaInvestimento;
+import com.nttdata.banco.model.ExtratoPeriodo;
+import com.nttdata.banco.service.BancoService;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Testes automatizados para o ArmazenamentoBanco
+ * Verifica a restauração por snapshot + final do journal, sem duplicar transações
+ */
+public class ArmazenamentoBancoTest {
+
+    public void testReabrirSemSnapshotReaplicaJournal() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("banco");
+        try (BancoService banco = abrir(diretorio)) {
+            banco.depositar("0001", "001001", new BigDecimal("100.00"));
+            banco.sacar("0001", "001002", new BigDecimal("50.00"));
+        }
+
+        // Act
+        try (BancoService banco = abrir(diretorio)) {
+            Conta corrente = banco.buscarConta("0001", "001001").orElseThrow();
+            Conta poupanca = banco.buscarConta("0001", "001002").orElseThrow();
+
+            // Assert
+            TestRunner.assertEquals(2, banco.getClienteRepository().getTotalClientes(), "Dados iniciais não devem ser recriados");
+            TestRunner.assertEquals(3, banco.getContaRepository().getTotalContas(), "Contas devem ser restauradas");
+            TestRunner.assertEquals(0, new BigDecimal("5100.00").compareTo(corrente.getSaldo()), "Saldo deve ser restaurado");
+            TestRunner.assertEquals(2, corrente.getHistorico().size(), "Histórico deve ser restaurado");
+            TestRunner.assertEquals(0, new BigDecimal("9950.00").compareTo(poupanca.getSaldo()), "Saque deve ser restaurado");
+        }
+    }
+
+    public void testSnapshotMaisFinalDoJournalNaoDuplicaTransacoes() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("banco");
+        try (BancoService banco = abrir(diretorio)) {
+            banco.depositar("0001", "001001", new BigDecimal("100.00"));
+            banco.gravarSnapshot();
+            banco.depositar("0001", "001001", new BigDecimal("200.00"));
+            banco.transferir("0001", "001001", "0001", "001002", new BigDecimal("300.00"));
+        }
+
+        // Act
+        try (BancoService banco = abrir(diretorio)) {
+            Conta corrente = banco.buscarConta("0001", "001001").orElseThrow();
+            Conta poupanca = banco.buscarConta("0001", "001002").orElseThrow();
+
+            // Assert
+            TestRunner.assertEquals(0, new BigDecimal("4997.50").compareTo(corrente.getSaldo()), "Saldo após snapshot e journal (com tarifa)");
+            TestRunner.assertEquals(0, new BigDecimal("10300.00").compareTo(poupanca.getSaldo()), "Crédito da transferência");
+            TestRunner.assertEquals(4, corrente.getHistorico().size(), "Transações não devem ser duplicadas");
+            TestRunner.assertEquals(2L, banco.getArmazenamento().getRegistrosReaplicados(), "Somente o final do journal é reaplicado");
+        }
+    }
+
+    public void testSaldoEmCentavosSobreviveAReabertura() throws Exception {
+        // Arrange - a chave é ligada e registrada só no journal; depois vem um snapshot
+        Path soJournal = Files.createTempDirectory("banco");
+        Path comSnapshot = Files.createTempDirectory("banco");
+        for (Path diretorio : List.of(soJournal, comSnapshot)) {
+            try (BancoService banco = abrir(diretorio)) {
+                banco.usarSaldoEmCentavos();
+                banco.depositarCentavos("0001", "001001", 1234);
+                if (diretorio.equals(comSnapshot)) {
+                    banco.gravarSnapshot();
+                }
+            }
+        }
+
+        for (Path diretorio : List.of(soJournal, comSnapshot)) {
+            // Act
+            try (BancoService banco = abrir(diretorio)) {
+                Conta corrente = banco.buscarConta("0001", "001001").orElseThrow();
+                Conta poupanca = banco.buscarConta("0001", "001002").orElseThrow();
+                Conta nova = banco.criarConta("12345678901", TipoConta.POUPANCA);
+
+                // Assert
+                String origem = diretorio.equals(soJournal) ? " (journal)" : " (snapshot)";
+                TestRunner.assertTrue(corrente.isSaldoEmCentavos(), "Conta movimentada deve voltar em centavos" + origem);
+                TestRunner.assertTrue(poupanca.isSaldoEmCentavos(), "Conta só convertida deve voltar em centavos" + origem);
+                TestRunner.assertTrue(banco.isSaldoEmCentavos(), "Chave do serviço deve voltar ligada" + origem);
+                TestRunner.assertTrue(nova.isSaldoEmCentavos(), "Conta nova deve nascer em centavos" + origem);
+                TestRunner.assertEquals(0, new BigDecimal("5012.34").compareTo(corrente.getSaldo()), "Saldo restaurado" + origem);
+            }
+        }
+    }
+
+    public void testSnapshotApagaSegmentosAnteriores() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("banco");
+        try (BancoService banco = abrir(diretorio)) {
+            banco.depositar("0001", "001001", new BigDecimal("10.00"));
+            banco.gravarSnapshot();
+            banco.depositar("0001", "001001", new BigDecimal("10.00"));
+            banco.gravarSnapshot();
+
+            // Act
+            List<Path> segmentos = banco.getArmazenamento().listarSegmentos();
+
+            // Assert
+            TestRunner.assertEquals(1, segmentos.size(), "Somente o segmento atual deve restar");
+            TestRunner.assertEquals(segmentos.get(0), banco.getJournal().getArquivo(), "Segmento restante é o do journal");
+        }
+    }
+
+    public void testInvestimentosERestauradosNaContaDeInvestimento() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("banco");
+        String resgatado;
+        try (BancoService banco = abrir(diretorio)) {
+            banco.investir("0001", "001003", TipoInvestimento.CDB, new BigDecimal("1000.00"));
+            banco.gravarSnapshot();
+            banco.investir("0001", "001003", TipoInvestimento.LCI, new BigDecimal("2000.00"));
+            resgatado = banco.listarTodosInvestimentos().get(0).getId();
+            banco.getInvestimentoRepository().buscarPorId(resgatado).orElseThrow()
+                 .setDataVencimento(LocalDate.now().minusDays(1));
+            banco.resgatarInvestimento(resgatado, "0001", "001003");
+        }
+
+        // Act
+        try (BancoService banco = abrir(diretorio)) {
+            ContaInvestimento conta = (ContaInvestimento) banco.buscarConta("0001", "001003").orElseThrow();
+
+            // Assert
+            TestRunner.assertEquals(2, banco.listarTodosInvestimentos().size(), "Investimentos devem ser restaurados");
+            TestRunner.assertEquals(1, conta.getInvestimentos().size(), "Investimento resgatado não fica na conta");
+            TestRunner.assertFalse(banco.getInvestimentoRepository().buscarPorId(resgatado).orElseThrow().isAtivo(),
+                                   "Resgate deve ser restaurado");
+        }
+    }
+
+    public void testNovasContasNaoRepetemNumerosAposReabrir() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("banco");
+        String primeira;
+        try (BancoService banco = abrir(diretorio)) {
+            primeira = banco.criarConta("12345678901", TipoConta.CORRENTE).getNumero();
+        }
+
+        // Act
+        String segunda;
+        try (BancoService banco = abrir(diretorio)) {
+            segunda = banco.criarConta("12345678901", TipoConta.CORRENTE).getNumero();
+
+            // Assert
+            TestRunner.assertTrue(banco.buscarConta("0001", primeira).isPresent(), "Conta criada deve ser restaurada");
+            TestRunner.assertFalse(primeira.equals(segunda), "Número não deve ser repetido");
+            TestRunner.assertEquals(5, banco.getContaRepository().getTotalContas(), "Contas antigas e nova");
+        }
+    }
+
+    public void testSnapshotDuranteEscritasConcorrentes() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("banco");
+        BigDecimal saldoFinal;
+        int transacoesFinais;
+        try (BancoService banco = abrir(diretorio)) {
+            AtomicBoolean parar = new AtomicBoolean();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread thread = new Thread(() -> {
+                    while (!parar.get()) {
+                        banco.depositar("0001", "001001", new BigDecimal("1.00"));
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+
+            // Act
+            for (int i = 0; i < 5; i++) {
+                banco.gravarSnapshot();
+            }
+            parar.set(true);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            Conta conta = banco.buscarConta("0001", "001001").orElseThrow();
+            saldoFinal = conta.getSaldo();
+            transacoesFinais = conta.getHistorico().size();
+        }
+
+        try (BancoService banco = abrir(diretorio)) {
+            Conta conta = banco.buscarConta("0001", "001001").orElseThrow();
+
+            // Assert
+            TestRunner.assertEquals(0, saldoFinal.compareTo(conta.getSaldo()), "Saldo deve ser o mesmo após reabrir");
+            TestRunner.assertEquals(transacoesFinais, conta.getHistorico().size(), "Histórico não deve perder nem duplicar");
+        }
+    }
+
+    public void testContaExcluidaNaoVoltaNaReabertura() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("banco");
+        String numero;
+        try (BancoService banco = abrir(diretorio)) {
+            numero = banco.criarConta("12345678901", TipoConta.POUPANCA).getNumero();
+            banco.gravarSnapshot();
+            banco.excluirConta("0001", numero);
+        }
+
+        // Act
+        try (BancoService banco = abrir(diretorio)) {
+            // Assert
+            TestRunner.assertTrue(banco.buscarConta("0001", numero).isEmpty(), "Exclusão reaplicada do journal");
+            TestRunner.assertTrue(banco.buscarConta("0001", "001001").isPresent(), "Demais contas restauradas");
+        }
+    }
+
+    public void testLinhaDoTempoDeSaldosSobreviveAReabertura() throws Exception {
+        // Arrange - um diretório só com journal e outro com snapshot entre os depósitos
+        Path soJournal = Files.createTempDirectory("banco");
+        Path comSnapshot = Files.createTempDirectory("banco");
+        Map<Path, LocalDateTime[]> instantes = new HashMap<>();
+        for (Path diretorio : List.of(soJournal, comSnapshot)) {
+            try (BancoService banco = abrir(diretorio)) {
+                LocalDateTime antes = depoisDeUmInstante();
+                banco.depositar("0001", "001001", new BigDecimal("100.00"));
+                LocalDateTime meio = depoisDeUmInstante();
+                if (diretorio.equals(comSnapshot)) {
+                    banco.gravarSnapshot();
+                }
+                banco.depositar("0001", "001001", new BigDecimal("50.00"));
+                instantes.put(diretorio, new LocalDateTime[] {antes, meio});
+            }
+        }
+
+        for (Path diretorio : List.of(soJournal, comSnapshot)) {
+            // Act
+            try (BancoService banco = abrir(diretorio)) {
+                LocalDateTime antes = instantes.get(diretorio)[0];
+                LocalDateTime meio = instantes.get(diretorio)[1];
+
+                // Assert
+                String origem = diretorio.equals(soJournal) ? " (journal)" : " (snapshot)";
+                TestRunner.assertEquals(new BigDecimal("5000.00"), banco.saldoEm("0001", "001001", antes).orElse(null),
+                                        "Saldo antes dos depósitos" + origem);
+                TestRunner.assertEquals(new BigDecimal("5100.00"), banco.saldoEm("0001", "001001", meio).orElse(null),
+                                        "Saldo entre os depósitos" + origem);
+                TestRunner.assertEquals(new BigDecimal("5100.00"), banco.saldosEm(meio).get("0001-001001"),
+                                        "Retrato do banco entre os depósitos" + origem);
+                TestRunner.assertEquals(new BigDecimal("5150.00"), banco.buscarConta("0001", "001001").get().getSaldo(),
+                                        "Saldo atual" + origem);
+            }
+        }
+    }
+
+    public void testExtratoDePeriodoAnteriorAReabertura() throws Exception {
+        // Arrange - período inteiro antes de fechar o banco, metade coberta pelo snapshot
+        Path diretorio = Files.createTempDirectory("banco");
+        LocalDateTime de;
+        LocalDateTime ate;
+        try (BancoService banco = abrir(diretorio)) {
+            de = depoisDeUmInstante();
+            banco.depositar("0001", "001001", new BigDecimal("100.00"));
+            banco.gravarSnapshot();
+            banco.sacar("0001", "001001", new BigDecimal("30.00"));
+            ate = depoisDeUmInstante();
+            banco.depositar("0001", "001001", new BigDecimal("1.00"));
+        }
+
+        // Act
+        ExtratoPeriodo extrato;
+        try (BancoService banco = abrir(diretorio)) {
+            extrato = banco.extrato("0001", "001001", de, ate).orElseThrow();
+        }
+
+        // Assert
+        TestRunner.assertEquals(2, extrato.getTransacoes().size(), "Depósito e saque do período");
+        TestRunner.assertEquals(new BigDecimal("5000.00"), extrato.getSaldoInicial(), "Saldo de abertura conhecido");
+        TestRunner.assertEquals(new BigDecimal("5100.00"), extrato.getSaldoApos(0), "Saldo após o depósito");
+        TestRunner.assertEquals(new BigDecimal("5067.50"), extrato.getSaldoApos(1), "Saldo após o saque e a tarifa");
+        TestRunner.assertEquals(new BigDecimal("5067.50"), extrato.getSaldoFinal(), "Saldo no fim do período");
+    }
+
+    public void testOperacaoRecusadaPeloJournalNaoAlteraAsContas() throws Exception {
+        // Arrange - journal encerrado por baixo do serviço: todo anexar falha
+        Path diretorio = Files.createTempDirectory("banco");
+        try (BancoService banco = abrir(diretorio)) {
+            banco.depositar("0001", "001001", new BigDecimal("100.00"));
+            int indexadas = banco.getIndiceTransacoes().getQuantidade();
+            int historicoOrigem = banco.buscarConta("0001", "001001").orElseThrow().getHistorico().size();
+            int historicoDestino = banco.buscarConta("0001", "001002").orElseThrow().getHistorico().size();
+            banco.getJournal().close();
+
+            // Act
+            List<String> recusadas = new ArrayList<>();
+            executarRecusando(recusadas, "depósito", () -> banco.depositar("0001", "001001", new BigDecimal("10.00")));
+            executarRecusando(recusadas, "saque", () -> banco.sacarCentavos("0001", "001001", 1_000));
+            executarRecusando(recusadas, "transferência",
+                    () -> banco.transferir("0001", "001001", "0001", "001002", new BigDecimal("10.00")));
+            executarRecusando(recusadas, "investimento",
+                    () -> banco.investir("0001", "001003", TipoInvestimento.CDB, new BigDecimal("1000.00")));
+
+            // Assert
+            Conta corrente = banco.buscarConta("0001", "001001").orElseThrow();
+            Conta poupanca = banco.buscarConta("0001", "001002").orElseThrow();
+            ContaInvestimento investimento = (ContaInvestimento) banco.buscarConta("0001", "001003").orElseThrow();
+            TestRunner.assertEquals(4, recusadas.size(), "Todas as operações devem propagar a falha do journal");
+            TestRunner.assertEquals(new BigDecimal("5100.00"), corrente.getSaldo(), "Saldo da origem desfeito");
+            TestRunner.assertEquals(new BigDecimal("10000.00"), poupanca.getSaldo(), "Saldo do destino desfeito");
+            TestRunner.assertEquals(new BigDecimal("25000.00"), investimento.getSaldo(), "Saldo investido desfeito");
+            TestRunner.assertEquals(historicoOrigem, corrente.getHistorico().size(), "Histórico da origem desfeito");
+            TestRunner.assertEquals(historicoDestino, poupanca.getHistorico().size(), "Histórico do destino desfeito");
+            TestRunner.assertTrue(investimento.getInvestimentos().isEmpty(), "Investimento desfeito");
+            TestRunner.assertEquals(indexadas, banco.getIndiceTransacoes().getQuantidade(), "Índice desfeito");
+            TestRunner.assertEquals(new BigDecimal("5100.00"),
+                    banco.saldoEm("0001", "001001", LocalDateTime.now()).orElseThrow(), "Linha do tempo desfeita");
+        }
+    }
+
+    private static void executarRecusando(List<String> recusadas, String operacao, Runnable acao) {
+        try {
+            acao.run();
+        } catch (IllegalStateException e) {
+            recusadas.add(operacao);
+        }
+    }
+
+    // Instante estritamente posterior às transações já registradas e anterior às próximas
+    private static LocalDateTime depoisDeUmInstante() throws InterruptedException {
+        Thread.sleep(2);
+        LocalDateTime instante = LocalDateTime.now();
+        Thread.sleep(2);
+        return instante;
+    }
+
+    private static BancoService abrir(Path diretorio) {
+        return BancoService.abrir(diretorio, Durabilidade.ASSINCRONA, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.FiltroTransacoes;
+import com.nttdata.banco.model.Transacao;
+import com.nttdata.banco.service.BancoService;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Testes automatizados para o ArquivoColunar e o arquivamento de transações antigas
+ * Verifica a ida e volta dos campos, o salto de blocos pelos mapas de zona e a leitura
+ * transparente das transações arquivadas pelo extrato
+ */
+public class ArquivoColunarTest {
+    private static final LocalDateTime INICIO = LocalDateTime.of(2022, 1, 1, 9, 0);
+
+    public void testArquivoMantemTodosOsCampos() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("colunar").resolve("teste.col");
+        LocalDateTime dataHora = LocalDateTime.of(2023, 3, 10, 14, 30, 15, 123_456_000);
+        Transacao pix = new Transacao("3f1c2a9e-0b7d-4c55-9a41-2f6d8e1b7c30", TipoTransacao.PIX,
+                                      new BigDecimal("150.75"), dataHora, "PIX enviado",
+                                      "0001-001001", "0001-001002", true, "Aluguel", "corr-1");
+        Transacao saque = new Transacao("saque-legado-7", TipoTransacao.SAQUE, new BigDecimal("20"),
+                                        dataHora.plusSeconds(1), "Saque", "0001-001001", null, false, null, null);
+
+        // Act
+        ArquivoColunar colunar = ArquivoColunar.gravar(arquivo, List.of(pix, saque));
+        Transacao lida = ArquivoColunar.abrir(arquivo).obter(0);
+        Transacao segunda = colunar.obter(1);
+
+        // Assert
+        TestRunner.assertEquals(2L, colunar.getQuantidade(), "Arquivo deve ter as duas transações");
+        TestRunner.assertEquals(pix.getId(), lida.getId(), "Id deve ser mantido");
+        TestRunner.assertEquals(TipoTransacao.PIX, lida.getTipo(), "Tipo deve ser mantido");
+        TestRunner.assertEquals(new BigDecimal("150.75"), lida.getValor(), "Valor deve ser mantido");
+        TestRunner.assertEquals(dataHora, lida.getDataHora(), "Data/hora deve manter os microssegundos");
+        TestRunner.assertEquals("0001-001002", lida.getContaDestino(), "Destino deve ser mantido");
+        TestRunner.assertEquals("Aluguel", lida.getObservacoes(), "Observações devem ser mantidas");
+        TestRunner.assertEquals("corr-1", lida.getIdCorrelacao(), "Correlação deve ser mantida");
+        TestRunner.assertEquals("saque-legado-7", segunda.getId(), "Id fora do formato UUID deve ser mantido");
+        TestRunner.assertEquals(new BigDecimal("20"), segunda.getValor(), "Escala original deve ser mantida");
+        TestRunner.assertTrue(segunda.getContaDestino() == null, "Campo nulo deve continuar nulo");
+        TestRunner.assertFalse(segunda.isSucesso(), "Falha deve ser mantida");
+    }
+
+    public void testBuscaPulaBlocosPeloMapaDeZona() throws Exception {
+        // Arrange: 1000 transações, uma por dia, em blocos de 100; só o bloco 5 tem investimentos
+        List<Transacao> transacoes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            TipoTransacao tipo = i >= 500 && i < 600 ? TipoTransacao.INVESTIMENTO : TipoTransacao.DEPOSITO;
+            transacoes.add(transacao(tipo, i + 1, INICIO.plusDays(i)));
+        }
+        ArquivoColunar colunar = ArquivoColunar.gravar(Files.createTempDirectory("colunar").resolve("zonas.col"),
+                                                       transacoes, 100);
+
+        // Act
+        List<Transacao> periodo = colunar.buscar(new FiltroTransacoes()
+                .periodo(INICIO.plusDays(250), INICIO.plusDays(350)));
+        long lidosPeriodo = colunar.getBlocosLidos();
+        List<Transacao> investimentos = colunar.buscar(new FiltroTransacoes().tipos(TipoTransacao.INVESTIMENTO));
+        long lidosTipo = colunar.getBlocosLidos() - lidosPeriodo;
+        List<Transacao> faixa = colunar.buscar(new FiltroTransacoes()
+                .valorEntre(new BigDecimal("901.00"), new BigDecimal("910.00")));
+        long lidosFaixa = colunar.getBlocosLidos() - lidosPeriodo - lidosTipo;
+
+        // Assert
+        TestRunner.assertEquals(10, colunar.getQuantidadeBlocos(), "Arquivo deve ter 10 blocos");
+        TestRunner.assertEquals(100, periodo.size(), "Período deve trazer 100 dias");
+        TestRunner.assertEquals(INICIO.plusDays(250), periodo.get(0).getDataHora(), "Início do período é inclusivo");
+        TestRunner.assertEquals(2L, lidosPeriodo, "Só os dois blocos do período devem ser lidos");
+        TestRunner.assertEquals(100, investimentos.size(), "Todos os investimentos devem ser encontrados");
+        TestRunner.assertEquals(1L, lidosTipo, "Só o bloco com investimentos deve ser lido");
+        TestRunner.assertEquals(10, faixa.size(), "Faixa de valor deve trazer 10 transações");
+        TestRunner.assertEquals(1L, lidosFaixa, "Só o bloco da faixa de valor deve ser lido");
+        TestRunner.assertEquals(26L, colunar.getBlocosIgnorados(), "Demais blocos devem ser pulados");
+    }
+
+    public void testExtratoContinuaMostrandoTransacoesArquivadas() throws Exception {
+        // Arrange
+        BancoService banco = new BancoService();
+        Conta conta = banco.criarConta("12345678901", TipoConta.POUPANCA);
+        for (int i = 0; i < 30; i++) {
+            conta.adicionarTransacao(transacao(TipoTransacao.DEPOSITO, i + 1, INICIO.plusDays(i)));
+        }
+        banco.depositar(conta.getAgencia(), conta.getNumero(), new BigDecimal("100.00"));
+        String primeiroId = conta.getHistorico().get(0).getId();
+
+        // Act
+        int arquivadas = banco.arquivarTransacoesAntigas(Files.createTempDirectory("arquivo"), 6);
+        banco.sacar(conta.getAgencia(), conta.getNumero(), new BigDecimal("10.00"));
+        List<Transacao> historico = conta.getHistorico();
+        List<Transacao> antigas = banco.buscarTransacoes(conta.getAgencia(), conta.getNumero(),
+                new FiltroTransacoes().periodo(INICIO.plusDays(10), INICIO.plusDays(20)));
+
+        // Assert
+        TestRunner.assertEquals(30, arquivadas, "Só as transações antigas devem ser arquivadas");
+        TestRunner.assertTrue(conta.getArmazenamentoHistorico() instanceof HistoricoArquivado,
+                              "Conta deve passar a usar o histórico arquivado");
+        TestRunner.assertEquals(32, historico.size(), "Histórico deve juntar arquivadas e recentes");
+        TestRunner.assertEquals(primeiroId, historico.get(0).getId(), "Ordem do histórico deve ser mantida");
+        TestRunner.assertEquals(TipoTransacao.SAQUE, historico.get(31).getTipo(), "Nova transação vai para o fim");
+        TestRunner.assertEquals(10, antigas.size(), "Busca por período deve ler as arquivadas");
+    }
+
+    public void testArquivarDeNovoCriaNovaGeracao() throws Exception {
+        // Arrange
+        BancoService banco = new BancoService();
+        Conta conta = banco.criarConta("98765432100", TipoConta.CORRENTE);
+        for (int i = 0; i < 20; i++) {
+            conta.adicionarTransacao(transacao(TipoTransacao.DEPOSITO, i + 1, INICIO.plusDays(i)));
+        }
+        ArquivadorTransacoes arquivador = new ArquivadorTransacoes(Files.createTempDirectory("arquivo"), 4);
+
+        // Act
+        int primeira = arquivador.arquivar(conta, INICIO.plusDays(8));
+        int segunda = arquivador.arquivar(conta, INICIO.plusDays(15));
+        int nenhuma = arquivador.arquivar(conta, INICIO.plusDays(15));
+        HistoricoArquivado historico = (HistoricoArquivado) conta.getArmazenamentoHistorico();
+
+        // Assert
+        TestRunner.assertEquals(8, primeira, "Primeira geração deve ter 8 transações");
+        TestRunner.assertEquals(7, segunda, "Segunda geração deve ter 7 transações");
+        TestRunner.assertEquals(0, nenhuma, "Sem transações antigas nada deve ser arquivado");
+        TestRunner.assertEquals(2, historico.getGeracoes().size(), "Histórico deve ter duas gerações");
+        TestRunner.assertEquals(20L, historico.getQuantidade(), "Quantidade deve ser mantida");
+        for (int i = 0; i < 20; i++) {
+            TestRunner.assertEquals(INICIO.plusDays(i), historico.obter(i).getDataHora(),
+                                    "Índice " + i + " deve continuar na mesma posição");
+        }
+        List<Transacao> pagina = conta.getPaginaHistorico(1, 6).getTransacoes();
+        TestRunner.assertEquals(INICIO.plusDays(13), pagina.get(0).getDataHora(),
+                                "Página deve atravessar as gerações pelos índices");
+        TestRunner.assertEquals(INICIO.plusDays(8), pagina.get(5).getDataHora(),
+                                "Página deve terminar na transação arquivada certa");
+    }
+
+    private static Transacao transacao(TipoTransacao tipo, int reais, LocalDateTime dataHora) {
+        return new Transacao(UUID.randomUUID().toString(), tipo, new BigDecimal(reais + ".00"), dataHora,
+                             tipo.getDescricao(), "0001-001001", null, true, null, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.model.Transacao;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Testes automatizados para o CodecBinario
+ * Verifica a ida e volta de transações e investimentos e o uso do dicionário
+ */
+public class CodecBinarioTest {
+
+    public void testTransacaoIdaEVolta() {
+        // Arrange
+        LocalDateTime dataHora = LocalDateTime.of(2024, 5, 20, 9, 15, 30, 250_000_000);
+        Transacao original = new Transacao("9b2f4e1a-6c3d-4f8e-a1b2-c3d4e5f60718", TipoTransacao.TRANSFERENCIA,
+                                           new BigDecimal("1234.56"), dataHora, "Transferência enviada",
+                                           "0001-001001", "0001-001002", true, "Ação", "correlacao-1");
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+
+        // Act
+        new CodecBinario().escreverTransacao(buffer, original);
+        buffer.flip();
+        Transacao lida = new CodecBinario().lerTransacao(buffer);
+
+        // Assert
+        TestRunner.assertEquals(original.getId(), lida.getId(), "Id deve ser mantido");
+        TestRunner.assertEquals(TipoTransacao.TRANSFERENCIA, lida.getTipo(), "Tipo deve ser mantido");
+        TestRunner.assertEquals(new BigDecimal("1234.56"), lida.getValor(), "Valor deve ser mantido");
+        TestRunner.assertEquals(dataHora, lida.getDataHora(), "Data/hora deve ser mantida");
+        TestRunner.assertEquals("Transferência enviada", lida.getDescricao(), "Descrição deve ser mantida");
+        TestRunner.assertEquals("0001-001001", lida.getContaOrigem(), "Origem deve ser mantida");
+        TestRunner.assertEquals("0001-001002", lida.getContaDestino(), "Destino deve ser mantido");
+        TestRunner.assertEquals("Ação", lida.getObservacoes(), "Acentos devem ser mantidos");
+        TestRunner.assertEquals("correlacao-1", lida.getIdCorrelacao(), "Correlação deve ser mantida");
+        TestRunner.assertTrue(lida.isSucesso(), "Sucesso deve ser mantido");
+        TestRunner.assertFalse(buffer.hasRemaining(), "Todo o conteúdo deve ser consumido");
+    }
+
+    public void testTransacaoComIdLivreECamposNulos() {
+        // Arrange
+        Transacao original = new Transacao("lote-7", TipoTransacao.SAQUE, new BigDecimal("50"),
+                                           LocalDateTime.of(2024, 1, 1, 0, 0), null, "0001-001001", null,
+                                           false, null, null);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+
+        // Act
+        new CodecBinario().escreverTransacao(buffer, original);
+        buffer.flip();
+        Transacao lida = new CodecBinario().lerTransacao(buffer);
+
+        // Assert
+        TestRunner.assertEquals("lote-7", lida.getId(), "Id fora do formato UUID deve ser mantido");
+        TestRunner.assertEquals(new BigDecimal("50"), lida.getValor(), "Escala original deve ser mantida");
+        TestRunner.assertNull(lida.getDescricao(), "Descrição nula deve ser mantida");
+        TestRunner.assertNull(lida.getContaDestino(), "Destino nulo deve ser mantido");
+        TestRunner.assertFalse(lida.isSucesso(), "Falha deve ser mantida");
+    }
+
+    public void testInvestimentoIdaEVolta() {
+        // Arrange
+        Investimento original = new Investimento("5c6d7e8f-1a2b-4c3d-8e9f-0a1b2c3d4e5f", TipoInvestimento.LCA,
+                                                 new BigDecimal("2500.00"), "12345678901",
+                                                 LocalDate.of(2024, 2, 1), LocalDate.of(2025, 2, 1), false,
+                                                 "Resgatado");
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        // Act
+        new CodecBinario().escreverInvestimento(buffer, original);
+        buffer.flip();
+        Investimento lido = new CodecBinario().lerInvestimento(buffer);
+
+        // Assert
+        TestRunner.assertEquals(original.getId(), lido.getId(), "Id deve ser mantido");
+        TestRunner.assertEquals(TipoInvestimento.LCA, lido.getTipo(), "Tipo deve ser mantido");
+        TestRunner.assertEquals(new BigDecimal("2500.00"), lido.getValor(), "Valor deve ser mantido");
+        TestRunner.assertEquals("12345678901", lido.getTitular(), "Titular deve ser mantido");
+        TestRunner.assertEquals(LocalDate.of(2025, 2, 1), lido.getDataVencimento(), "Vencimento deve ser mantido");
+        TestRunner.assertFalse(lido.isAtivo(), "Situação deve ser mantida");
+        TestRunner.assertEquals("Resgatado", lido.getObservacoes(), "Observações devem ser mantidas");
+    }
+
+    public void testDicionarioReduzTextosRepetidos() {
+        // Arrange
+        CodecBinario codificador = new CodecBinario();
+        CodecBinario decodificador = new CodecBinario();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        // Act
+        codificador.escreverTransacao(buffer, deposito());
+        int primeiro = buffer.position();
+        codificador.escreverTransacao(buffer, deposito());
+        int segundo = buffer.position() - primeiro;
+        buffer.flip();
+        Transacao lidaPrimeira = decodificador.lerTransacao(buffer);
+        Transacao lidaSegunda = decodificador.lerTransacao(buffer);
+
+        // Assert
+        TestRunner.assertTrue(segundo < primeiro, "Segunda ocorrência deve usar só os códigos do dicionário");
+        TestRunner.assertEquals(2, decodificador.getTamanhoDicionario(), "Descrição e conta no dicionário");
+        TestRunner.assertTrue(lidaPrimeira.getDescricao() == lidaSegunda.getDescricao(),
+                              "Textos do dicionário devem ser a mesma instância");
+    }
+
+    public void testVersaoDesconhecidaERejeitada() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {99, 0, 0});
+
+        // Act
+        boolean rejeitou = false;
+        try {
+            new CodecBinario().lerTransacao(buffer);
+        } catch (IllegalStateException e) {
+            rejeitou = true;
+        }
+
+        // Assert
+        TestRunner.assertTrue(rejeitou, "Versão desconhecida deve ser rejeitada");
+    }
+
+    private static Transacao deposito() {
+        return new Transacao(TipoTransacao.DEPOSITO, new BigDecimal("10.00"), "Depósito em dinheiro",
+                             "0001-001001", true);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.ContaCorrente;
+import com.nttdata.banco.model.CursorTransacoes;
+import com.nttdata.banco.model.Transacao;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Testes automatizados para o HistoricoMapeado
+ * Verifica a gravação em registros fixos, a leitura por cursor e a reabertura dos segmentos
+ */
+public class HistoricoMapeadoTest {
+
+    public void testTransacaoMantemTodosOsCampos() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("historico");
+        LocalDateTime dataHora = LocalDateTime.of(2024, 3, 10, 14, 30, 15, 123_456_000);
+        Transacao original = new Transacao("3f1c2a9e-0b7d-4c55-9a41-2f6d8e1b7c30", TipoTransacao.PIX,
+                                           new BigDecimal("150.75"), dataHora, "PIX enviado",
+                                           "0001-001001", "0001-001002", true, "Aluguel", "corr-1");
+
+        try (HistoricoMapeado historico = new HistoricoMapeado(diretorio)) {
+            // Act
+            historico.adicionar(original);
+            Transacao lida = historico.obter(0);
+
+            // Assert
+            TestRunner.assertEquals(original.getId(), lida.getId(), "Id deve ser mantido");
+            TestRunner.assertEquals(TipoTransacao.PIX, lida.getTipo(), "Tipo deve ser mantido");
+            TestRunner.assertEquals(new BigDecimal("150.75"), lida.getValor(), "Valor e escala devem ser mantidos");
+            TestRunner.assertEquals(dataHora, lida.getDataHora(), "Data/hora deve manter os microssegundos");
+            TestRunner.assertEquals("PIX enviado", lida.getDescricao(), "Descrição deve ser mantida");
+            TestRunner.assertEquals("0001-001002", lida.getContaDestino(), "Destino deve ser mantido");
+            TestRunner.assertEquals("Aluguel", lida.getObservacoes(), "Observações devem ser mantidas");
+            TestRunner.assertEquals("corr-1", lida.getIdCorrelacao(), "Correlação deve ser mantida");
+            TestRunner.assertTrue(lida.isSucesso(), "Sucesso deve ser mantido");
+        }
+    }
+
+    public void testCursorPercorreVariosSegmentos() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("historico");
+        try (HistoricoMapeado historico = new HistoricoMapeado(diretorio, 8)) {
+            for (int i = 1; i <= 20; i++) {
+                historico.adicionar(deposito(i));
+            }
+
+            // Act
+            CursorTransacoes cursor = historico.cursor();
+            BigDecimal total = BigDecimal.ZERO;
+            int lidas = 0;
+            while (cursor.avancar()) {
+                total = total.add(cursor.getValor());
+                lidas++;
+            }
+
+            // Assert
+            TestRunner.assertEquals(20L, historico.getQuantidade(), "Quantidade deve considerar todos os segmentos");
+            TestRunner.assertEquals(20, lidas, "Cursor deve passar por todos os registros");
+            TestRunner.assertEquals(new BigDecimal("210.00"), total, "Soma dos valores lidos pelo cursor");
+        }
+    }
+
+    public void testReabrirRecuperaQuantidadeETextos() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("historico");
+        try (HistoricoMapeado historico = new HistoricoMapeado(diretorio, 8)) {
+            for (int i = 1; i <= 11; i++) {
+                historico.adicionar(deposito(i));
+            }
+        }
+
+        // Act
+        try (HistoricoMapeado historico = new HistoricoMapeado(diretorio, 8)) {
+            historico.adicionar(deposito(12));
+
+            // Assert
+            TestRunner.assertEquals(12L, historico.getQuantidade(), "Quantidade deve continuar após reabrir");
+            TestRunner.assertEquals("Depósito em dinheiro", historico.obter(10).getDescricao(),
+                                    "Dicionário deve ser recarregado");
+            TestRunner.assertEquals(new BigDecimal("12.00"), historico.obter(11).getValor(),
+                                    "Novo registro deve ficar após os existentes");
+        }
+    }
+
+    public void testContaUsaHistoricoMapeado() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("historico");
+        Cliente cliente = new Cliente("Teste", "11122233344", "teste@email.com", "11999999999", LocalDate.of(1990, 1, 1));
+        ContaCorrente conta = new ContaCorrente("001001", "0001", cliente);
+        conta.adicionarTransacao(deposito(1));
+
+        try (HistoricoMapeado historico = new HistoricoMapeado(diretorio)) {
+            // Act
+            conta.usarHistorico(historico);
+            conta.adicionarTransacao(deposito(2));
+
+            // Assert
+            TestRunner.assertEquals(2L, conta.getQuantidadeTransacoes(), "Transações anteriores devem ser copiadas");
+            TestRunner.assertEquals(2L, historico.getQuantidade(), "Novas transações vão para o histórico mapeado");
+            TestRunner.assertEquals(2, conta.getHistorico().size(), "Lista do histórico continua disponível");
+        }
+    }
+
+    private static Transacao deposito(int valor) {
+        return new Transacao(TipoTransacao.DEPOSITO, new BigDecimal(valor + ".00"), "Depósito em dinheiro",
+                             "0001-001001", true);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.FormatoDados;
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaInvestimento;
+import com.nttdata.banco.repository.ClienteRepository;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.InvestimentoRepository;
+import com.nttdata.banco.service.BancoService;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Testes automatizados para o ImportadorBanco e o ExportadorBanco
+ * Verifica a ida e volta do estado do banco nos dois formatos, a validação dos
+ * registros e a numeração das contas criadas depois da importação
+ */
+public class ImportadorBancoTest {
+
+    public void testExportarEImportarCsvMantemEstado() {
+        verificarIdaEVolta(FormatoDados.CSV);
+    }
+
+    public void testExportarEImportarNdjsonMantemEstado() {
+        verificarIdaEVolta(FormatoDados.NDJSON);
+    }
+
+    public void testRegistrosInvalidosSaoRecusadosComLinha() {
+        // Arrange
+        String csv = String.join("\n",
+                "CLIENTE,Ana Souza,11144477735,ana@email.com,11911111111,1991-02-03",
+                "CLIENTE,Sem Cpf Valido,123,x@email.com,,",
+                "CLIENTE,Ana Repetida,11144477735,,,",
+                "",
+                "CONTA,CORRENTE,0001,002001,11144477735,150.25,2020-01-10T10:00,true",
+                "CONTA,CORRENTE,0001,002002,00000000000,10.00,,",
+                "CONTA,ESPECIAL,0001,002003,11144477735,10.00,,",
+                "CONTA,POUPANCA,0001,002004,11144477735,1.005,,",
+                "DESCONHECIDO,qualquer coisa");
+        Repositorios repositorios = new Repositorios();
+
+        // Act
+        ResultadoImportacao resultado = repositorios.importador(2).importar(new StringReader(csv), FormatoDados.CSV);
+
+        // Assert
+        TestRunner.assertEquals(1L, resultado.getClientes(), "Só o cliente válido deve ser importado");
+        TestRunner.assertEquals(1L, resultado.getContas(), "Só a conta válida deve ser importada");
+        TestRunner.assertEquals(6L, resultado.getRecusados(), "Registros inválidos devem ser recusados");
+        TestRunner.assertTrue(resultado.getErros().stream().anyMatch(e -> e.startsWith("Linha 2: CPF")),
+                              "Erro deve indicar a linha do CPF inválido");
+        TestRunner.assertTrue(resultado.getErros().stream().anyMatch(e -> e.startsWith("Linha 7: TipoConta")),
+                              "Erro deve indicar o tipo de conta desconhecido");
+        TestRunner.assertEquals(new BigDecimal("150.25"),
+                                repositorios.contas.buscarPorNumero("0001", "002001").orElseThrow().getSaldo(),
+                                "Saldo deve ser importado");
+    }
+
+    public void testCamposComAspasVirgulasEQuebrasDeLinha() {
+        // Arrange
+        Repositorios origem = new Repositorios();
+        origem.clientes.salvar(new Cliente("Silva, \"Zé\"\nJúnior", "11144477735", "ze@email.com", null,
+                                           LocalDate.of(1970, 1, 1)));
+
+        for (FormatoDados formato : FormatoDados.values()) {
+            StringWriter saida = new StringWriter();
+            origem.exportador().exportar(saida, formato);
+
+            // Act
+            Repositorios destino = new Repositorios();
+            ResultadoImportacao resultado = destino.importador(1)
+                    .importar(new StringReader(saida.toString()), formato);
+
+            // Assert
+            Cliente lido = destino.clientes.buscarPorCpf("11144477735").orElseThrow();
+            TestRunner.assertEquals(0L, resultado.getRecusados(), "Nenhum registro deve ser recusado em " + formato);
+            TestRunner.assertEquals("Silva, \"Zé\"\nJúnior", lido.getNome(), "Nome deve ser mantido em " + formato);
+            TestRunner.assertTrue(lido.getTelefone() == null, "Campo nulo deve continuar nulo em " + formato);
+        }
+    }
+
+    public void testContasCriadasDepoisFicamAcimaDasImportadas() {
+        // Arrange
+        String csv = "CLIENTE,Ana Souza,11144477735,ana@email.com,11911111111,1991-02-03\n"
+                     + "CONTA,CORRENTE,0001,001500,11144477735,0.00,,true\n"
+                     + "CONTA,POUPANCA,0001,,11144477735,0.00,,true\n";
+        Repositorios repositorios = new Repositorios();
+        repositorios.importador(2).importar(new StringReader(csv), FormatoDados.CSV);
+        BancoService banco = new BancoService(repositorios.clientes, repositorios.contas,
+                                              repositorios.investimentos, null);
+
+        // Act
+        Conta nova = banco.criarConta("11144477735", TipoConta.CORRENTE);
+
+        // Assert
+        TestRunner.assertEquals(3, repositorios.contas.getTotalContas(), "Conta sem número deve receber um");
+        TestRunner.assertTrue(Long.parseLong(nova.getNumero()) > 1500, "Nova conta deve ficar acima da importada");
+    }
+
+    private static void verificarIdaEVolta(FormatoDados formato) {
+        // Arrange
+        BancoService banco = new BancoService();
+        banco.investir("0001", "001003", TipoInvestimento.CDB, new BigDecimal("1000.00"));
+        banco.transferir("0001", "001001", "0001", "001002", new BigDecimal("250.50"));
+        StringWriter saida = new StringWriter();
+        long exportados = new ExportadorBanco(banco.getClienteRepository(), banco.getContaRepository(),
+                                              banco.getInvestimentoRepository(), 2, 2)
+                .exportar(saida, formato);
+
+        // Act
+        Repositorios destino = new Repositorios();
+        ResultadoImportacao resultado = destino.importador(2).importar(new StringReader(saida.toString()), formato);
+
+        // Assert
+        TestRunner.assertEquals(6L, exportados, "Dois clientes, três contas e um investimento");
+        TestRunner.assertEquals(exportados, resultado.getImportados(), "Tudo deve ser importado em " + formato);
+        TestRunner.assertEquals(0L, resultado.getRecusados(), "Nada deve ser recusado em " + formato);
+        for (Conta original : banco.listarContas()) {
+            Conta importada = destino.contas.buscarPorNumero(original.getAgencia(), original.getNumero()).orElseThrow();
+            TestRunner.assertEquals(original.getSaldo(), importada.getSaldo(), "Saldo de " + original.getNumero());
+            TestRunner.assertEquals(original.getTipoConta(), importada.getTipoConta(), "Tipo de " + original.getNumero());
+            TestRunner.assertEquals(original.getDataAbertura(), importada.getDataAbertura(),
+                                    "Abertura de " + original.getNumero());
+        }
+        ContaInvestimento contaInvestimento = (ContaInvestimento) destino.contas.buscarPorNumero("0001", "001003")
+                .orElseThrow();
+        TestRunner.assertEquals(1, contaInvestimento.getInvestimentos().size(),
+                                "Investimento deve voltar vinculado à conta");
+        TestRunner.assertEquals(new BigDecimal("1000.00"), contaInvestimento.getInvestimentos().get(0).getValor(),
+                                "Valor do investimento deve ser mantido");
+    }
+
+    private static class Repositorios {
+        final ClienteRepository clientes = new ClienteRepository();
+        final ContaRepository contas = new ContaRepository();
+        final InvestimentoRepository investimentos = new InvestimentoRepository();
+
+        ImportadorBanco importador(int threads) {
+            return new ImportadorBanco(clientes, contas, investimentos, threads, 2);
+        }
+
+        ExportadorBanco exportador() {
+            return new ExportadorBanco(clientes, contas, investimentos, 1, 10);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.Durabilidade;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.service.BancoService;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes automatizados para o Journal
+ * Verifica gravação em ordem, descarte de final incompleto ou corrompido,
+ * descarga em grupo e registro das mutações do BancoService
+ */
+public class JournalTest {
+
+    public void testRegistrosSaoLidosEmOrdem() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("journal").resolve("banco.journal");
+        try (Journal journal = new Journal(arquivo, Durabilidade.SINCRONA)) {
+            for (int i = 0; i < 10; i++) {
+                journal.aguardar(journal.anexar(registroDeCliente(i)));
+            }
+        }
+
+        // Act
+        List<Long> sequencias = new ArrayList<>();
+        long tamanho = Journal.ler(arquivo, (sequencia, dados) -> sequencias.add(sequencia));
+
+        // Assert
+        TestRunner.assertEquals(10, sequencias.size(), "Todos os registros devem ser lidos");
+        TestRunner.assertEquals(1L, sequencias.get(0), "Sequência deve começar em 1");
+        TestRunner.assertEquals(10L, sequencias.get(9), "Sequências devem ser crescentes");
+        TestRunner.assertEquals(Files.size(arquivo), tamanho, "Arquivo inteiro deve ser válido");
+    }
+
+    public void testFinalIncompletoEDescartadoAoReabrir() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("journal").resolve("banco.journal");
+        try (Journal journal = new Journal(arquivo, Durabilidade.SINCRONA)) {
+            for (int i = 0; i < 3; i++) {
+                journal.aguardar(journal.anexar(registroDeCliente(i)));
+            }
+        }
+        // Simula queda no meio da gravação do quarto registro
+        Files.write(arquivo, new byte[] {0, 0, 0, 40, 1, 2, 3}, java.nio.file.StandardOpenOption.APPEND);
+
+        // Act
+        long sequencia;
+        try (Journal journal = new Journal(arquivo, Durabilidade.SINCRONA)) {
+            sequencia = journal.anexar(registroDeCliente(3));
+            journal.aguardar(sequencia);
+        }
+        List<Long> sequencias = new ArrayList<>();
+        Journal.ler(arquivo, (s, dados) -> sequencias.add(s));
+
+        // Assert
+        TestRunner.assertEquals(4L, sequencia, "Sequência deve continuar do último registro válido");
+        TestRunner.assertEquals(4, sequencias.size(), "Registro novo deve ser gravado após o trecho válido");
+    }
+
+    public void testRegistroCorrompidoInterrompeLeitura() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("journal").resolve("banco.journal");
+        try (Journal journal = new Journal(arquivo, Durabilidade.SINCRONA)) {
+            for (int i = 0; i < 3; i++) {
+                journal.aguardar(journal.anexar(registroDeCliente(i)));
+            }
+        }
+        long tamanhoPrimeiro = Journal.ler(arquivo, (s, dados) -> { }) / 3;
+        try (RandomAccessFile acesso = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            // Altera um byte dos dados do segundo registro
+            acesso.seek(tamanhoPrimeiro + Journal.TAMANHO_CABECALHO + 2);
+            acesso.write(acesso.read() ^ 0xFF);
+        }
+
+        // Act
+        List<Long> sequencias = new ArrayList<>();
+        Journal.ler(arquivo, (s, dados) -> sequencias.add(s));
+
+        // Assert
+        TestRunner.assertEquals(1, sequencias.size(), "Leitura deve parar no registro com CRC inválido");
+    }
+
+    public void testDescargaEmGrupoCompartilhaFsync() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("journal").resolve("banco.journal");
+        int threads = 8;
+        int registrosPorThread = 100;
+        List<Thread> escritores = new ArrayList<>();
+
+        try (Journal journal = new Journal(arquivo, Durabilidade.GRUPO)) {
+            for (int t = 0; t < threads; t++) {
+                int base = t * registrosPorThread;
+                escritores.add(new Thread(() -> {
+                    for (int i = 0; i < registrosPorThread; i++) {
+                        long sequencia = journal.anexar(registroDeCliente(base + i));
+                        journal.aguardar(sequencia);
+                        if (journal.getSequenciaDuravel() < sequencia) {
+                            throw new IllegalStateException("Confirmado antes de durável");
+                        }
+                    }
+                }));
+            }
+
+            // Act
+            escritores.forEach(Thread::start);
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+
+            // Assert
+            TestRunner.assertEquals((long) threads * registrosPorThread, journal.getSequenciaDuravel(),
+                                   "Todas as sequências devem estar duráveis");
+            TestRunner.assertTrue(journal.getDescargas() < journal.getRegistrosAnexados(),
+                                  "Um fsync deve cobrir vários registros");
+        }
+    }
+
+    public void testAssincronaGravaAoFechar() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("journal").resolve("banco.journal");
+        Journal journal = new Journal(arquivo, Durabilidade.ASSINCRONA);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            journal.aguardar(journal.anexar(registroDeCliente(i)));
+        }
+        journal.close();
+        int[] lidos = new int[1];
+        Journal.ler(arquivo, (s, dados) -> lidos[0]++);
+
+        // Assert
+        TestRunner.assertEquals(50, lidos[0], "Registros assíncronos devem ser gravados no fechamento");
+    }
+
+    public void testFalhaDeGravacaoNaoAvancaSequenciaDuravel() throws Exception {
+        // Arrange - /dev/full aceita abrir, mas toda gravação falha por falta de espaço
+        Path dispositivoCheio = Path.of("/dev/full");
+        if (!Files.isWritable(dispositivoCheio)) {
+            System.out.println("  (/dev/full indisponível: teste ignorado)");
+            return;
+        }
+        Journal journal = new Journal(dispositivoCheio, Durabilidade.SINCRONA);
+        long sequencia = journal.anexar(registroDeCliente(1));
+
+        // Act
+        boolean primeiraFalhou = falhaAoAguardar(journal, sequencia);
+        boolean novaTentativaFalhou = falhaAoAguardar(journal, sequencia);
+        boolean anexarFalhou;
+        try {
+            journal.anexar(registroDeCliente(2));
+            anexarFalhou = false;
+        } catch (UncheckedIOException e) {
+            anexarFalhou = true;
+        }
+        journal.close();
+
+        // Assert
+        TestRunner.assertTrue(primeiraFalhou, "Falha de gravação deve ser propagada");
+        TestRunner.assertTrue(novaTentativaFalhou, "Sequência perdida nunca deve ser dada como durável");
+        TestRunner.assertTrue(anexarFalhou, "Journal com falha deve recusar novos registros");
+        TestRunner.assertTrue(journal.isFalhou(), "Journal deve ficar em estado de falha");
+        TestRunner.assertEquals(0L, journal.getSequenciaDuravel(), "Sequência durável não deve avançar");
+    }
+
+    private boolean falhaAoAguardar(Journal journal, long sequencia) {
+        try {
+            journal.aguardar(sequencia);
+            return false;
+        } catch (UncheckedIOException e) {
+            return true;
+        }
+    }
+
+    public void testBancoServiceRegistraMutacoes() throws Exception {
+        // Arrange
+        Path arquivo = Files.createTempDirectory("journal").resolve("banco.journal");
+        try (Journal journal = new Journal(arquivo, Durabilidade.GRUPO)) {
+            BancoService bancoService = new BancoService(journal);
+            long inicial = journal.getUltimaSequencia();
+
+            // Act
+            bancoService.depositar("0001", "001001", new BigDecimal("100.00"));
+            bancoService.transferir("0001", "001001", "0001", "001002", new BigDecimal("50.00"));
+            bancoService.executarComDurabilidade(Durabilidade.SINCRONA, () ->
+                    bancoService.sacar("0001", "001002", new BigDecimal("10.00")));
+
+            // Assert
+            TestRunner.assertEquals(8L, inicial, "Dados iniciais devem gerar 2 clientes, 3 contas e 3 depósitos");
+            TestRunner.assertEquals(inicial + 3, journal.getUltimaSequencia(), "Cada operação deve gerar um registro");
+            TestRunner.assertEquals(journal.getUltimaSequencia(), journal.getSequenciaDuravel(),
+                                   "Operação confirmada deve estar durável");
+        }
+    }
+
+    private static RegistroMutacao registroDeCliente(int i) {
+        return new RegistroMutacao().cliente(new Cliente("Cliente " + i, String.format("%011d", i),
+                                                         "c" + i + "@email.com", "11999999999",
+                                                         LocalDate.of(1990, 1, 1)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaCorrente;
+import com.nttdata.banco.repository.ClienteRepository;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.InvestimentoRepository;
+import com.nttdata.banco.service.BancoService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes automatizados para o RepositorioContaEscritaAdiada
+ * Verifica a coalescência dos salvamentos, a contrapressão com a fila cheia e a
+ * gravação das pendentes no encerramento
+ */
+public class RepositorioContaEscritaAdiadaTest {
+
+    public void testSalvamentosRepetidosSaoCoalescidos() {
+        // Arrange
+        DestinoContado destino = new DestinoContado();
+        Conta conta = novaConta();
+        try (RepositorioContaEscritaAdiada repositorio = new RepositorioContaEscritaAdiada(destino, 200, 100)) {
+            repositorio.salvar(conta);
+            int gravacoesIniciais = destino.gravacoes.get();
+
+            // Act
+            for (int i = 0; i < 100; i++) {
+                repositorio.salvarSeVersao(conta, conta.getVersao(), c -> c.depositar(new BigDecimal("1.00")));
+            }
+            repositorio.descarregar();
+
+            // Assert
+            TestRunner.assertEquals(100L, repositorio.getSalvamentos(), "Todos os salvamentos devem ser confirmados");
+            TestRunner.assertTrue(destino.gravacoes.get() - gravacoesIniciais <= 2,
+                                  "Salvamentos da janela devem virar uma gravação");
+            TestRunner.assertEquals(new BigDecimal("100.00"),
+                                    destino.buscarPorNumero(conta.getAgencia(), conta.getNumero()).orElseThrow()
+                                           .getSaldo(), "Destino deve ter o último estado da conta");
+            TestRunner.assertEquals(101L, conta.getVersao(), "Versão deve ser controlada em memória");
+        }
+    }
+
+    public void testFilaCheiaAplicaContrapressao() throws Exception {
+        // Arrange: o destino fica bloqueado até a liberação
+        DestinoContado destino = new DestinoContado();
+        destino.bloqueio = new CountDownLatch(1);
+        Conta[] contas = {novaConta(), novaConta(), novaConta(), novaConta()};
+        try (RepositorioContaEscritaAdiada repositorio = new RepositorioContaEscritaAdiada(destino, 0, 2)) {
+            for (Conta conta : contas) {
+                destino.salvarDireto(conta);
+            }
+            // A primeira conta ocupa a thread de gravação, as duas seguintes enchem a fila
+            repositorio.salvar(contas[0]);
+            while (repositorio.getQuantidadePendentes() > 0) {
+                Thread.sleep(1);
+            }
+            repositorio.salvar(contas[1]);
+            repositorio.salvar(contas[2]);
+
+            // Act
+            Thread escritor = new Thread(() -> repositorio.salvar(contas[3]));
+            escritor.start();
+            escritor.join(200);
+            boolean esperou = escritor.isAlive();
+            destino.bloqueio.countDown();
+            escritor.join(5_000);
+            repositorio.descarregar();
+
+            // Assert
+            TestRunner.assertTrue(esperou, "Escritor deve esperar com a fila cheia");
+            TestRunner.assertFalse(escritor.isAlive(), "Escritor deve seguir depois da gravação");
+            TestRunner.assertEquals(1L, repositorio.getEsperasPorEspaco(), "Espera por espaço deve ser contada");
+            TestRunner.assertEquals(4L, repositorio.getGravacoes(), "Todas as contas devem ser gravadas");
+        }
+    }
+
+    public void testCloseGravaPendentes() {
+        // Arrange: janela longa, nada seria gravado sem o encerramento
+        DestinoContado destino = new DestinoContado();
+        Conta conta = novaConta();
+        RepositorioContaEscritaAdiada repositorio = new RepositorioContaEscritaAdiada(destino, 60_000, 100);
+        repositorio.salvar(conta);
+        int gravacoesIniciais = destino.gravacoes.get();
+        repositorio.salvarSeVersao(conta, conta.getVersao(), c -> c.depositar(new BigDecimal("10.00")));
+
+        // Act
+        repositorio.close();
+
+        // Assert
+        TestRunner.assertEquals(gravacoesIniciais + 1, destino.gravacoes.get(), "Pendente deve ser gravada no close");
+        TestRunner.assertEquals(0, repositorio.getQuantidadePendentes(), "Fila deve terminar vazia");
+        boolean recusou = false;
+        try {
+            repositorio.salvar(conta);
+        } catch (IllegalStateException e) {
+            recusou = true;
+        }
+        TestRunner.assertTrue(recusou, "Salvar depois do close deve ser recusado");
+    }
+
+    public void testBancoServiceComEscritaAdiada() {
+        // Arrange
+        ContaRepository destino = new ContaRepository();
+        try (RepositorioContaEscritaAdiada repositorio = new RepositorioContaEscritaAdiada(destino)) {
+            BancoService banco = new BancoService(new ClienteRepository(), repositorio,
+                                                  new InvestimentoRepository(), null);
+
+            // Act
+            for (int i = 0; i < 50; i++) {
+                banco.transferir("0001", "001001", "0001", "001002", new BigDecimal("10.00"));
+                banco.depositar("0001", "001003", BigDecimal.ONE);
+            }
+            repositorio.descarregar();
+
+            // Assert
+            TestRunner.assertEquals(new BigDecimal("4375.00"),
+                                    destino.buscarPorNumero("0001", "001001").orElseThrow().getSaldo(),
+                                    "Débitos e tarifas devem chegar ao destino");
+            TestRunner.assertEquals(new BigDecimal("10500.00"),
+                                    destino.buscarPorNumero("0001", "001002").orElseThrow().getSaldo(),
+                                    "Créditos devem chegar ao destino");
+            TestRunner.assertTrue(repositorio.getGravacoes() < repositorio.getSalvamentos(),
+                                  "Parte dos salvamentos deve ser coalescida");
+        }
+    }
+
+    private static Conta novaConta() {
+        Cliente titular = new Cliente("Titular Teste", "11144477735", "teste@email.com", "11900000000",
+                                      LocalDate.of(1990, 1, 1));
+        return new ContaCorrente(null, "0001", titular);
+    }
+
+    /**
+     * Destino em memória que conta as gravações e pode bloqueá-las
+     */
+    private static class DestinoContado extends ContaRepository {
+        final AtomicInteger gravacoes = new AtomicInteger();
+        volatile CountDownLatch bloqueio;
+
+        @Override
+        public Conta salvar(Conta conta) {
+            if (bloqueio != null) {
+                try {
+                    bloqueio.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            gravacoes.incrementAndGet();
+            return super.salvar(conta);
+        }
+
+        void salvarDireto(Conta conta) {
+            super.salvar(conta);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.service.BancoService;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Testes automatizados para os repositórios JDBC
+ * Precisam do driver H2 no classpath (build Maven); sem ele os testes são ignorados
+ */
+public class RepositorioJdbcTest {
+
+    public void testOperacoesSobrevivemAReabertura() throws Exception {
+        String url = url();
+        if (url == null) {
+            return;
+        }
+
+        // Arrange
+        try (BancoDadosJdbc banco = new BancoDadosJdbc(url)) {
+            BancoService servico = servico(banco);
+            servico.depositar("0001", "001001", new BigDecimal("100.00"));
+            servico.transferir("0001", "001001", "0001", "001002", new BigDecimal("50.00"));
+        }
+
+        // Act
+        try (BancoDadosJdbc banco = new BancoDadosJdbc(url)) {
+            BancoService servico = servico(banco);
+            Conta corrente = servico.buscarConta("0001", "001001").orElseThrow();
+            Conta poupanca = servico.buscarConta("0001", "001002").orElseThrow();
+
+            // Assert
+            TestRunner.assertEquals(2, servico.getClienteRepository().getTotalClientes(),
+                                    "Dados iniciais não devem ser recriados");
+            TestRunner.assertEquals(0, new BigDecimal("5047.50").compareTo(corrente.getSaldo()), "Saldo da origem");
+            TestRunner.assertEquals(0, new BigDecimal("10050.00").compareTo(poupanca.getSaldo()), "Saldo do destino");
+            TestRunner.assertEquals(3, corrente.getHistorico().size(), "Histórico deve ser relido");
+        }
+    }
+
+    public void testTransacaoDesfeitaNaoGravaNenhumaConta() throws Exception {
+        String url = url();
+        if (url == null) {
+            return;
+        }
+
+        // Arrange
+        try (BancoDadosJdbc banco = new BancoDadosJdbc(url)) {
+            BancoService servico = servico(banco);
+            Conta corrente = servico.buscarConta("0001", "001001").orElseThrow();
+            Conta poupanca = servico.buscarConta("0001", "001002").orElseThrow();
+
+            // Act
+            try {
+                servico.getContaRepository().emTransacao(() -> {
+                    corrente.depositar(new BigDecimal("10.00"));
+                    servico.getContaRepository().salvar(corrente);
+                    poupanca.depositar(new BigDecimal("10.00"));
+                    servico.getContaRepository().salvar(poupanca);
+                    throw new IllegalStateException("falha simulada");
+                });
+            } catch (IllegalStateException e) {
+                // esperado
+            }
+        }
+
+        // Assert
+        try (BancoDadosJdbc banco = new BancoDadosJdbc(url)) {
+            BancoService servico = servico(banco);
+            TestRunner.assertEquals(0, new BigDecimal("5000.00").compareTo(
+                    servico.buscarConta("0001", "001001").orElseThrow().getSaldo()), "Origem não deve ser gravada");
+            TestRunner.assertEquals(0, new BigDecimal("10000.00").compareTo(
+                    servico.buscarConta("0001", "001002").orElseThrow().getSaldo()), "Destino não deve ser gravado");
+        }
+    }
+
+    public void testValoresMonetariosGravadosComoDecimal() throws Exception {
+        String url = url();
+        if (url == null) {
+            return;
+        }
+
+        // Arrange - vários salvamentos da mesma conta em uma transação (upsert em lote)
+        try (BancoDadosJdbc banco = new BancoDadosJdbc(url)) {
+            BancoService servico = servico(banco);
+            for (int i = 0; i < 3; i++) {
+                servico.depositar("0001", "001002", new BigDecimal("0.10"));
+            }
+        }
+
+        // Act
+        Object saldo;
+        Object valorTransacao;
+        long linhasConta;
+        try (Connection conexao = DriverManager.getConnection(url);
+             Statement comando = conexao.createStatement()) {
+            try (ResultSet linha = comando.executeQuery("SELECT saldo FROM contas WHERE numero = '001002'")) {
+                linha.next();
+                saldo = linha.getObject("saldo");
+            }
+            try (ResultSet linha = comando.executeQuery(
+                    "SELECT valor FROM transacoes WHERE chave_conta LIKE '%001002' ORDER BY sequencia DESC")) {
+                linha.next();
+                valorTransacao = linha.getObject("valor");
+            }
+            try (ResultSet linha = comando.executeQuery("SELECT COUNT(*) FROM contas WHERE numero = '001002'")) {
+                linha.next();
+                linhasConta = linha.getLong(1);
+            }
+        }
+
+        // Assert
+        TestRunner.assertTrue(saldo instanceof BigDecimal, "Saldo deve ser uma coluna numérica");
+        TestRunner.assertEquals(new BigDecimal("10000.30"), saldo, "Saldo deve ser gravado com centavos exatos");
+        TestRunner.assertEquals(new BigDecimal("0.10"), valorTransacao, "Valor da transação deve ser numérico");
+        TestRunner.assertEquals(1L, linhasConta, "Upsert não deve duplicar a conta");
+    }
+
+    private static BancoService servico(BancoDadosJdbc banco) {
+        RepositorioClienteJdbc clientes = new RepositorioClienteJdbc(banco);
+        RepositorioInvestimentoJdbc investimentos = new RepositorioInvestimentoJdbc(banco);
+        return new BancoService(clientes, new RepositorioContaJdbc(banco, clientes, investimentos), investimentos, null);
+    }
+
+    private static String url() throws Exception {
+        String url = "jdbc:h2:file:" + Files.createTempDirectory("banco-jdbc").resolve("banco").toAbsolutePath();
+        if (!BancoDadosJdbc.driverDisponivel(url)) {
+            System.out.println("  (driver H2 ausente: teste ignorado)");
+            return null;
+        }
+        return url;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,352 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.enums.Durabilidade;
+import com.nttdata.banco.enums.ModoLote;
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.CursorTransacoes;
+import com.nttdata.banco.repository.ClienteRepository;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.InvestimentoRepository;
+import com.nttdata.banco.service.BancoService;
+import com.nttdata.banco.service.ItemTransferencia;
+import com.nttdata.banco.service.PernaTransferencia;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Simulador de quedas para a camada de persistência (usado pelos testes)
+ *
+ * Roda uma carga aleatória no BancoService aberto em um diretório e guarda o estado
+ * esperado das contas após cada sequência do journal. Depois simula quedas em cópias
+ * do diretório (arquivo truncado ou corrompido em um deslocamento qualquer), restaura
+ * e confere as invariantes:
+ * - a sequência restaurada é a do último registro inteiro antes do ponto da queda
+ * - cada conta está exatamente como estava nessa sequência (nenhuma transferência pela metade)
+ * - o total de dinheiro confere com o da carga nessa sequência
+ * - nenhum id de transação aparece duas vezes
+ */
+class SimuladorQuedas {
+    private static final String[] CONTAS = {"001001", "001002", "001003", "001004", "001005"};
+    private static final String[] CPFS = {"12345678901", "98765432100"};
+
+    private final Path origem;
+    private final Path rascunho;
+    // Estado esperado ("saldo/transações" por conta) após cada sequência gerada pela carga
+    private final TreeMap<Long, Map<String, String>> esperado = new TreeMap<>();
+    private final long primeiraSequenciaVerificavel;
+    private final Map<Path, List<long[]>> registrosPorSegmento = new HashMap<>();
+
+    private SimuladorQuedas(Path origem, long primeiraSequenciaVerificavel) throws IOException {
+        this.origem = origem;
+        this.rascunho = Files.createTempDirectory("banco-queda");
+        this.primeiraSequenciaVerificavel = primeiraSequenciaVerificavel;
+    }
+
+    /**
+     * Executa a carga e fecha o banco. Com snapshotNoMeio, um snapshot é gravado na
+     * metade das operações e as quedas passam a atingir o segmento posterior a ele.
+     */
+    static SimuladorQuedas executarCarga(long semente, int operacoes, boolean snapshotNoMeio) throws IOException {
+        Path diretorio = Files.createTempDirectory("banco-carga");
+        Random aleatorio = new Random(semente);
+        SimuladorQuedas simulador;
+        try (BancoService banco = BancoService.abrir(diretorio, Durabilidade.ASSINCRONA, null)) {
+            banco.criarConta(CPFS[0], TipoConta.CORRENTE);
+            banco.criarConta(CPFS[1], TipoConta.POUPANCA);
+            simulador = new SimuladorQuedas(diretorio, banco.getJournal().getUltimaSequencia());
+            simulador.registrarEstado(banco);
+            for (int i = 0; i < operacoes; i++) {
+                if (snapshotNoMeio && i == operacoes / 2) {
+                    banco.gravarSnapshot();
+                }
+                executarOperacao(banco, aleatorio);
+                simulador.registrarEstado(banco);
+            }
+        }
+        return simulador;
+    }
+
+    private static void executarOperacao(BancoService banco, Random aleatorio) {
+        String conta = CONTAS[aleatorio.nextInt(CONTAS.length)];
+        String outra = CONTAS[aleatorio.nextInt(CONTAS.length)];
+        BigDecimal valor = BigDecimal.valueOf(1 + aleatorio.nextInt(300_000), 2);
+        switch (aleatorio.nextInt(6)) {
+            case 0 -> banco.depositar("0001", conta, valor);
+            case 1 -> banco.sacar("0001", conta, valor);
+            case 2 -> banco.pix("0001", conta, CPFS[aleatorio.nextInt(CPFS.length)], valor);
+            case 3 -> banco.transferirLote("0001", conta, List.of(
+                    new ItemTransferencia("0001", outra, valor),
+                    new ItemTransferencia("0001", CONTAS[aleatorio.nextInt(CONTAS.length)], valor)),
+                    aleatorio.nextBoolean() ? ModoLote.TUDO_OU_NADA : ModoLote.MELHOR_ESFORCO);
+            case 4 -> banco.transferirMultiplasPernas(
+                    List.of(new PernaTransferencia("0001", conta, valor.add(valor))),
+                    List.of(new PernaTransferencia("0001", outra, valor),
+                            new PernaTransferencia("0001", CONTAS[aleatorio.nextInt(CONTAS.length)], valor)));
+            default -> banco.transferir("0001", conta, "0001", outra, valor);
+        }
+    }
+
+    private void registrarEstado(BancoService banco) {
+        Map<String, String> contas = new TreeMap<>();
+        for (Conta conta : banco.listarContas()) {
+            contas.put(ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero()), estadoDe(conta));
+        }
+        esperado.put(banco.getJournal().getUltimaSequencia(), contas);
+    }
+
+    private static String estadoDe(Conta conta) {
+        return conta.getSaldo().stripTrailingZeros().toPlainString() + "/" + conta.getQuantidadeTransacoes();
+    }
+
+    // ================== QUEDAS ==================
+
+    List<Path> listarSegmentos() {
+        return new ArmazenamentoBanco(origem).listarSegmentos();
+    }
+
+    Path getSnapshot() {
+        return origem.resolve("snapshot.dat");
+    }
+
+    /**
+     * Fins de cada registro inteiro do segmento, em bytes a partir do início do arquivo
+     */
+    static List<Long> finsDeRegistro(Path segmento) throws IOException {
+        List<Long> fins = new ArrayList<>();
+        long[] posicao = {0};
+        Journal.ler(segmento, (sequencia, dados) -> {
+            posicao[0] += Journal.TAMANHO_CABECALHO + dados.length;
+            fins.add(posicao[0]);
+        });
+        return fins;
+    }
+
+    /**
+     * Queda no meio de uma gravação: o segmento termina no deslocamento informado
+     */
+    String verificarTruncamento(Path segmento, long tamanho) throws IOException {
+        Path copia = copiarOrigem();
+        try (FileChannel canal = FileChannel.open(copia.resolve(segmento.getFileName()), StandardOpenOption.WRITE)) {
+            canal.truncate(tamanho);
+        }
+        return verificar(copia, segmento, tamanho);
+    }
+
+    /**
+     * Gravação rasgada: o byte do deslocamento informado chega ao disco corrompido
+     */
+    String verificarCorrupcao(Path segmento, long deslocamento) throws IOException {
+        Path copia = copiarOrigem();
+        Path arquivo = copia.resolve(segmento.getFileName());
+        byte[] bytes = Files.readAllBytes(arquivo);
+        bytes[(int) deslocamento] ^= (byte) 0xFF;
+        Files.write(arquivo, bytes);
+        return verificar(copia, segmento, deslocamento);
+    }
+
+    /**
+     * Queda durante um novo snapshot: o journal já foi rotacionado e o arquivo temporário
+     * do snapshot ficou com os primeiros bytes informados. Nada gravado pode se perder.
+     */
+    String verificarQuedaDuranteSnapshot(byte[] snapshotNovo, int tamanho) throws IOException {
+        Path copia = copiarOrigem();
+        ArmazenamentoBanco armazenamento = new ArmazenamentoBanco(copia, 1);
+        armazenamento.restaurar(new ClienteRepository(), new ContaRepository(), new InvestimentoRepository());
+        try (Journal journal = armazenamento.abrirJournal(Durabilidade.SINCRONA)) {
+            armazenamento.rotacionarJournal(journal);
+        }
+        Files.write(copia.resolve("snapshot.dat.tmp"), Arrays.copyOf(snapshotNovo, tamanho));
+        return comparar(copia, ultimaSequencia(), "snapshot interrompido em " + tamanho);
+    }
+
+    /**
+     * Mídia corrompida no snapshot publicado: a restauração deve recusá-lo
+     * (IllegalStateException) em vez de carregar saldos errados
+     */
+    String verificarSnapshotCorrompido(long deslocamento) throws IOException {
+        Path copia = copiarOrigem();
+        Path arquivo = copia.resolve(getSnapshot().getFileName());
+        byte[] bytes = Files.readAllBytes(arquivo);
+        bytes[(int) deslocamento] ^= (byte) 0xFF;
+        Files.write(arquivo, bytes);
+        try {
+            new ArmazenamentoBanco(copia, 1).restaurar(new ClienteRepository(), new ContaRepository(),
+                                                       new InvestimentoRepository());
+        } catch (IllegalStateException e) {
+            return null;
+        } catch (RuntimeException e) {
+            return "snapshot corrompido em " + deslocamento + ": falhou com " + e;
+        }
+        return "snapshot corrompido em " + deslocamento + " foi aceito";
+    }
+
+    /**
+     * Bytes de um snapshot completo do estado final da carga (gravado em outro diretório)
+     */
+    byte[] gerarSnapshot() throws IOException {
+        Path copia = Files.createTempDirectory("banco-snapshot");
+        copiar(origem, copia);
+        try (BancoService banco = BancoService.abrir(copia, Durabilidade.SINCRONA, null)) {
+            banco.gravarSnapshot();
+        }
+        return Files.readAllBytes(copia.resolve(getSnapshot().getFileName()));
+    }
+
+    /**
+     * Depois de restaurar uma queda, o banco deve voltar a gravar do ponto recuperado:
+     * um depósito feito após a reabertura precisa sobreviver a mais uma reabertura
+     */
+    String verificarContinuacao(Path segmento, long tamanho) throws IOException {
+        Path copia = copiarOrigem();
+        try (FileChannel canal = FileChannel.open(copia.resolve(segmento.getFileName()), StandardOpenOption.WRITE)) {
+            canal.truncate(tamanho);
+        }
+        long sequencia;
+        BigDecimal saldoEsperado;
+        try (BancoService banco = BancoService.abrir(copia, Durabilidade.SINCRONA, null)) {
+            if (banco.buscarConta("0001", CONTAS[0]).isEmpty()) {
+                return null;
+            }
+            banco.depositar("0001", CONTAS[0], BigDecimal.ONE);
+            sequencia = banco.getJournal().getUltimaSequencia();
+            saldoEsperado = banco.buscarConta("0001", CONTAS[0]).orElseThrow().getSaldo();
+        }
+        ContaRepository contas = new ContaRepository();
+        long restaurada = new ArmazenamentoBanco(copia, 1).restaurar(new ClienteRepository(), contas,
+                                                                   new InvestimentoRepository());
+        BigDecimal saldo = contas.buscarPorNumero("0001", CONTAS[0]).orElseThrow().getSaldo();
+        if (restaurada != sequencia || saldo.compareTo(saldoEsperado) != 0) {
+            return String.format("continuação após queda em %d: sequência %d (esperada %d), saldo %s (esperado %s)",
+                                 tamanho, restaurada, sequencia, saldo, saldoEsperado);
+        }
+        return null;
+    }
+
+    private String verificar(Path copia, Path segmento, long pontoDaQueda) throws IOException {
+        // Último registro inteiro antes do ponto da queda (ou o anterior ao segmento)
+        long sequenciaEsperada = primeiraSequencia(segmento) - 1;
+        for (long[] registro : registrosDe(segmento)) {
+            if (registro[1] > pontoDaQueda) {
+                break;
+            }
+            sequenciaEsperada = registro[0];
+        }
+        return comparar(copia, sequenciaEsperada, "queda em " + segmento.getFileName() + "@" + pontoDaQueda);
+    }
+
+    /**
+     * (sequência, fim em bytes) de cada registro do segmento original, lidos uma única vez
+     */
+    private List<long[]> registrosDe(Path segmento) throws IOException {
+        List<long[]> registros = registrosPorSegmento.get(segmento);
+        if (registros == null) {
+            List<long[]> lidos = new ArrayList<>();
+            long[] posicao = {0};
+            Journal.ler(segmento, (sequencia, dados) -> {
+                posicao[0] += Journal.TAMANHO_CABECALHO + dados.length;
+                lidos.add(new long[] {sequencia, posicao[0]});
+            });
+            registros = lidos;
+            registrosPorSegmento.put(segmento, registros);
+        }
+        return registros;
+    }
+
+    private String comparar(Path copia, long sequenciaEsperada, String descricao) {
+        ContaRepository contas = new ContaRepository();
+        long sequencia;
+        try {
+            sequencia = new ArmazenamentoBanco(copia, 1).restaurar(new ClienteRepository(), contas,
+                                                                   new InvestimentoRepository());
+        } catch (RuntimeException e) {
+            return descricao + ": restauração falhou com " + e;
+        }
+        if (sequencia != sequenciaEsperada) {
+            return String.format("%s: restaurou até %d, esperado %d (prefixo do journal)",
+                                 descricao, sequencia, sequenciaEsperada);
+        }
+
+        Set<String> ids = new HashSet<>();
+        Map<String, String> restaurado = new TreeMap<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Conta conta : contas.listarTodas()) {
+            restaurado.put(ContaRepository.gerarChave(conta.getAgencia(), conta.getNumero()), estadoDe(conta));
+            total = total.add(conta.getSaldo());
+            CursorTransacoes cursor = conta.percorrerHistorico();
+            while (cursor.avancar()) {
+                if (!ids.add(cursor.getTransacao().getId())) {
+                    return descricao + ": transação duplicada " + cursor.getTransacao().getId();
+                }
+            }
+        }
+
+        if (sequencia < primeiraSequenciaVerificavel) {
+            return null; // Queda durante os dados iniciais, antes do primeiro estado registrado
+        }
+        Map<String, String> contasEsperadas = esperado.get(sequencia);
+        if (contasEsperadas == null) {
+            return descricao + ": nenhuma operação terminou na sequência " + sequencia;
+        }
+        BigDecimal totalEsperado = contasEsperadas.values().stream()
+                .map(estado -> new BigDecimal(estado.substring(0, estado.indexOf('/'))))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (total.compareTo(totalEsperado) != 0) {
+            return String.format("%s: total %s, esperado %s", descricao, total, totalEsperado);
+        }
+        if (!restaurado.equals(contasEsperadas)) {
+            return String.format("%s: contas %s, esperado %s", descricao, restaurado, contasEsperadas);
+        }
+        return null;
+    }
+
+    long ultimaSequencia() {
+        return esperado.lastKey();
+    }
+
+    private static long primeiraSequencia(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring("journal-".length(), nome.length() - ".log".length()));
+    }
+
+    /**
+     * Copia o diretório da carga para o rascunho, apagando a cópia anterior
+     */
+    private Path copiarOrigem() throws IOException {
+        try (Stream<Path> arquivos = Files.list(rascunho)) {
+            for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                Files.delete(arquivo);
+            }
+        }
+        copiar(origem, rascunho);
+        return rascunho;
+    }
+
+    private static void copiar(Path de, Path para) throws IOException {
+        try (Stream<Path> arquivos = Files.list(de)) {
+            arquivos.sorted(Comparator.naturalOrder()).forEach(arquivo -> {
+                try {
+                    Files.copy(arquivo, para.resolve(arquivo.getFileName()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
\ No newline at end of file
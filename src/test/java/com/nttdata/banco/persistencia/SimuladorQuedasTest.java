@@ -0,0 +1,146 @@
+package com.nttdata.banco.persistencia;
+
+import com.nttdata.banco.TestRunner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testes de consistência após queda: milhares de pontos de queda no journal e no
+ * snapshot, cada um restaurado e conferido pelo SimuladorQuedas
+ */
+public class SimuladorQuedasTest {
+
+    public void testTruncarJournalEmQualquerDeslocamento() throws Exception {
+        // Arrange
+        SimuladorQuedas simulador = SimuladorQuedas.executarCarga(1, 150, false);
+        Path segmento = ultimoSegmento(simulador);
+        List<String> violacoes = new ArrayList<>();
+
+        // Act
+        for (long tamanho : pontosDeQueda(segmento, 600, new Random(1))) {
+            anotar(violacoes, simulador.verificarTruncamento(segmento, tamanho));
+        }
+
+        // Assert
+        TestRunner.assertTrue(violacoes.isEmpty(), resumo(violacoes));
+    }
+
+    public void testCorromperByteDoJournal() throws Exception {
+        // Arrange
+        SimuladorQuedas simulador = SimuladorQuedas.executarCarga(2, 150, false);
+        Path segmento = ultimoSegmento(simulador);
+        long tamanho = Files.size(segmento);
+        Random aleatorio = new Random(2);
+        List<String> violacoes = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 800; i++) {
+            anotar(violacoes, simulador.verificarCorrupcao(segmento, aleatorio.nextInt((int) tamanho)));
+        }
+
+        // Assert
+        TestRunner.assertTrue(violacoes.isEmpty(), resumo(violacoes));
+    }
+
+    public void testQuedaNoSegmentoPosteriorAoSnapshot() throws Exception {
+        // Arrange
+        SimuladorQuedas simulador = SimuladorQuedas.executarCarga(3, 150, true);
+        Path segmento = ultimoSegmento(simulador);
+        List<String> violacoes = new ArrayList<>();
+
+        // Act
+        for (long tamanho : pontosDeQueda(segmento, 800, new Random(3))) {
+            anotar(violacoes, simulador.verificarTruncamento(segmento, tamanho));
+        }
+
+        // Assert
+        TestRunner.assertEquals(1, simulador.listarSegmentos().size(), "Snapshot deve apagar os segmentos cobertos");
+        TestRunner.assertTrue(violacoes.isEmpty(), resumo(violacoes));
+    }
+
+    public void testQuedaDuranteGravacaoDoSnapshot() throws Exception {
+        // Arrange
+        SimuladorQuedas simulador = SimuladorQuedas.executarCarga(4, 100, true);
+        byte[] snapshotNovo = simulador.gerarSnapshot();
+        Random aleatorio = new Random(4);
+        List<String> violacoes = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            anotar(violacoes, simulador.verificarQuedaDuranteSnapshot(snapshotNovo, aleatorio.nextInt(snapshotNovo.length)));
+        }
+
+        // Assert
+        TestRunner.assertTrue(violacoes.isEmpty(), resumo(violacoes));
+    }
+
+    public void testSnapshotCorrompidoEhRecusado() throws Exception {
+        // Arrange
+        SimuladorQuedas simulador = SimuladorQuedas.executarCarga(5, 100, true);
+        long tamanho = Files.size(simulador.getSnapshot());
+        Random aleatorio = new Random(5);
+        List<String> violacoes = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 400; i++) {
+            anotar(violacoes, simulador.verificarSnapshotCorrompido(aleatorio.nextInt((int) tamanho)));
+        }
+
+        // Assert
+        TestRunner.assertTrue(violacoes.isEmpty(), resumo(violacoes));
+    }
+
+    public void testBancoVoltaAGravarAposQueda() throws Exception {
+        // Arrange
+        SimuladorQuedas simulador = SimuladorQuedas.executarCarga(6, 60, false);
+        Path segmento = ultimoSegmento(simulador);
+        List<String> violacoes = new ArrayList<>();
+
+        // Act
+        for (long tamanho : pontosDeQueda(segmento, 40, new Random(6))) {
+            anotar(violacoes, simulador.verificarContinuacao(segmento, tamanho));
+        }
+
+        // Assert
+        TestRunner.assertTrue(violacoes.isEmpty(), resumo(violacoes));
+    }
+
+    /**
+     * Os limites de cada registro (e um byte antes e depois) mais deslocamentos aleatórios
+     */
+    private static List<Long> pontosDeQueda(Path segmento, int aleatorios, Random aleatorio) throws Exception {
+        List<Long> pontos = new ArrayList<>();
+        pontos.add(0L);
+        long tamanho = Files.size(segmento);
+        for (long fim : SimuladorQuedas.finsDeRegistro(segmento)) {
+            pontos.add(fim - 1);
+            pontos.add(fim);
+            if (fim < tamanho) {
+                pontos.add(fim + 1);
+            }
+        }
+        for (int i = 0; i < aleatorios; i++) {
+            pontos.add((long) aleatorio.nextInt((int) tamanho + 1));
+        }
+        return pontos;
+    }
+
+    private static Path ultimoSegmento(SimuladorQuedas simulador) {
+        List<Path> segmentos = simulador.listarSegmentos();
+        return segmentos.get(segmentos.size() - 1);
+    }
+
+    private static void anotar(List<String> violacoes, String violacao) {
+        if (violacao != null) {
+            violacoes.add(violacao);
+        }
+    }
+
+    private static String resumo(List<String> violacoes) {
+        return violacoes.size() + " violação(ões) de consistência"
+                + (violacoes.isEmpty() ? "" : ", a primeira: " + violacoes.get(0));
+    }
+}
\ No newline at end of file
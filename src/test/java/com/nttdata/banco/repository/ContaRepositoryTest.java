@@ -279,4 +279,51 @@ public class ContaRepositoryTest {
         TestRunner.assertTrue(contaBuscada.isPresent(), "Conta deve existir");
         TestRunner.assertEquals(new BigDecimal("1000.00"), contaBuscada.get().getSaldo(), "Saldo no repositório deve estar atualizado");
     }
-}
+
+    public void testSalvarIncrementaVersao() {
+        // Arrange
+        ContaRepository repository = new ContaRepository();
+        Cliente cliente = new Cliente("João Silva", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        ContaCorrente conta = new ContaCorrente("001001", "0001", cliente);
+
+        // Act
+        repository.salvar(conta);
+        repository.salvar(conta);
+
+        // Assert
+        TestRunner.assertEquals(2L, conta.getVersao(), "Cada gravação deve incrementar a versão");
+    }
+
+    public void testSalvarSeVersaoComVersaoEsperada() {
+        // Arrange
+        ContaRepository repository = new ContaRepository();
+        Cliente cliente = new Cliente("João Silva", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        ContaCorrente conta = new ContaCorrente("001001", "0001", cliente);
+        repository.salvar(conta);
+
+        // Act
+        boolean gravou = repository.salvarSeVersao(conta, 1L);
+
+        // Assert
+        TestRunner.assertTrue(gravou, "Gravação com a versão atual deve ser aceita");
+        TestRunner.assertEquals(2L, conta.getVersao(), "Versão deve avançar após a gravação");
+    }
+
+    public void testSalvarSeVersaoDetectaConflito() {
+        // Arrange - duas leituras da versão 1, a primeira grava antes
+        ContaRepository repository = new ContaRepository();
+        Cliente cliente = new Cliente("João Silva", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        ContaCorrente conta = new ContaCorrente("001001", "0001", cliente);
+        repository.salvar(conta);
+        long versaoLida = conta.getVersao();
+        repository.salvarSeVersao(conta, versaoLida);
+
+        // Act
+        boolean gravou = repository.salvarSeVersao(conta, versaoLida, c -> c.depositar(new BigDecimal("100.00")));
+
+        // Assert
+        TestRunner.assertFalse(gravou, "Gravação com versão antiga deve ser recusada");
+        TestRunner.assertEquals(BigDecimal.ZERO, conta.getSaldo(), "Alteração não deve ser aplicada em caso de conflito");
+        TestRunner.assertEquals(2L, conta.getVersao(), "Versão não deve mudar em caso de conflito");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.nttdata.banco.repository;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaCorrente;
+import com.nttdata.banco.model.ContaInvestimento;
+import com.nttdata.banco.model.Investimento;
+import com.nttdata.banco.model.Transacao;
+import com.nttdata.banco.persistencia.BancoDadosJdbc;
+import com.nttdata.banco.persistencia.RepositorioClienteDisco;
+import com.nttdata.banco.persistencia.RepositorioClienteJdbc;
+import com.nttdata.banco.persistencia.RepositorioContaDisco;
+import com.nttdata.banco.persistencia.RepositorioContaJdbc;
+import com.nttdata.banco.persistencia.RepositorioInvestimentoDisco;
+import com.nttdata.banco.persistencia.RepositorioInvestimentoJdbc;
+import com.nttdata.banco.service.BancoService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Testes de contrato dos repositórios
+ * Os mesmos casos são executados contra cada implementação (memória, disco e JDBC quando
+ * houver driver H2 no classpath)
+ */
+public class ContratoRepositoriosTest {
+
+    public void testSalvarEBuscarCliente() {
+        paraCadaImplementacao(repos -> {
+            // Arrange
+            Cliente cliente = new Cliente("Ana Souza", "11122233344", "ana@email.com", "11999990000",
+                                          LocalDate.of(1990, 3, 15));
+
+            // Act
+            repos.clientes.salvar(cliente);
+
+            // Assert
+            TestRunner.assertTrue(repos.clientes.existe("11122233344"), repos.nome + ": cliente deve existir");
+            TestRunner.assertTrue(repos.clientes.buscarPorCpf("11122233344").get() == cliente,
+                                  repos.nome + ": busca deve devolver a mesma instância");
+            TestRunner.assertEquals(1, repos.clientes.buscarPorNome("ana").size(), repos.nome + ": busca por nome");
+            TestRunner.assertTrue(repos.clientes.buscarPorEmail("ANA@email.com").isPresent(),
+                                  repos.nome + ": busca por email");
+            TestRunner.assertTrue(repos.clientes.excluir("11122233344"), repos.nome + ": exclusão");
+            TestRunner.assertEquals(0, repos.clientes.getTotalClientes(), repos.nome + ": total após exclusão");
+        });
+    }
+
+    public void testSalvarGeraNumeroEIncrementaVersao() {
+        paraCadaImplementacao(repos -> {
+            // Arrange
+            Conta conta = new ContaCorrente(null, "0001", titular(repos));
+
+            // Act
+            repos.contas.salvar(conta);
+            repos.contas.salvar(conta);
+
+            // Assert
+            TestRunner.assertNotNull(conta.getNumero(), repos.nome + ": número deve ser gerado");
+            TestRunner.assertEquals(2L, conta.getVersao(), repos.nome + ": cada salvar incrementa a versão");
+            TestRunner.assertTrue(repos.contas.existe("0001", conta.getNumero()), repos.nome + ": conta deve existir");
+            TestRunner.assertEquals(1, repos.contas.buscarPorCpf("11122233344").size(), repos.nome + ": busca por CPF");
+        });
+    }
+
+    public void testSalvarSeVersaoRejeitaVersaoAntiga() {
+        paraCadaImplementacao(repos -> {
+            // Arrange
+            Conta conta = new ContaCorrente("000777", "0001", titular(repos));
+            repos.contas.salvar(conta);
+            long versao = conta.getVersao();
+
+            // Act
+            boolean primeira = repos.contas.salvarSeVersao(conta, versao, c -> c.depositar(new BigDecimal("10.00")));
+            boolean segunda = repos.contas.salvarSeVersao(conta, versao, c -> c.depositar(new BigDecimal("10.00")));
+
+            // Assert
+            TestRunner.assertTrue(primeira, repos.nome + ": versão esperada deve gravar");
+            TestRunner.assertFalse(segunda, repos.nome + ": versão antiga deve ser rejeitada");
+            TestRunner.assertEquals(0, new BigDecimal("10.00").compareTo(conta.getSaldo()),
+                                    repos.nome + ": alteração rejeitada não deve ser aplicada");
+            BigDecimal lido = repos.contas.lerConta("0001", "000777", Conta::getSaldo).orElseThrow();
+            TestRunner.assertEquals(0, new BigDecimal("10.00").compareTo(lido), repos.nome + ": leitura atômica");
+        });
+    }
+
+    public void testExcluirConta() {
+        paraCadaImplementacao(repos -> {
+            // Arrange
+            Conta conta = new ContaCorrente("000778", "0001", titular(repos));
+            repos.contas.salvar(conta);
+
+            // Act
+            boolean excluida = repos.contas.excluir("0001", "000778");
+
+            // Assert
+            TestRunner.assertTrue(excluida, repos.nome + ": conta deve ser excluída");
+            TestRunner.assertFalse(repos.contas.buscarPorNumero("0001", "000778").isPresent(),
+                                   repos.nome + ": conta excluída não deve ser encontrada");
+            TestRunner.assertFalse(repos.contas.excluir("0001", "000778"), repos.nome + ": segunda exclusão");
+        });
+    }
+
+    public void testConsultasDeInvestimentos() {
+        paraCadaImplementacao(repos -> {
+            // Arrange
+            Investimento cdb = new Investimento(TipoInvestimento.CDB, new BigDecimal("1000.00"), "11122233344");
+            Investimento lca = new Investimento(TipoInvestimento.LCA, new BigDecimal("2000.00"), "11122233344");
+            lca.setAtivo(false);
+
+            // Act
+            repos.investimentos.salvar(cdb);
+            repos.investimentos.salvar(lca);
+
+            // Assert
+            TestRunner.assertEquals(2, repos.investimentos.buscarPorTitular("11122233344").size(),
+                                    repos.nome + ": busca por titular");
+            TestRunner.assertEquals(1, repos.investimentos.buscarAtivos().size(), repos.nome + ": somente ativos");
+            TestRunner.assertEquals(1, repos.investimentos.buscarPorTipo(TipoInvestimento.LCA).size(),
+                                    repos.nome + ": busca por tipo");
+            TestRunner.assertEquals(0, new BigDecimal("1000.00").compareTo(repos.investimentos.getValorTotalInvestido()),
+                                    repos.nome + ": total investido considera só os ativos");
+        });
+    }
+
+    public void testBancoServiceSobreRepositorios() {
+        paraCadaImplementacao(repos -> {
+            // Arrange
+            BancoService banco = new BancoService(repos.clientes, repos.contas, repos.investimentos, null);
+
+            // Act
+            boolean depositou = banco.depositar("0001", "001001", new BigDecimal("100.00"));
+            boolean transferiu = banco.transferir("0001", "001001", "0001", "001002", new BigDecimal("50.00"));
+
+            // Assert
+            TestRunner.assertTrue(depositou && transferiu, repos.nome + ": operações devem ser aceitas");
+            Conta corrente = banco.buscarConta("0001", "001001").orElseThrow();
+            TestRunner.assertEquals(0, new BigDecimal("5047.50").compareTo(corrente.getSaldo()),
+                                    repos.nome + ": saldo após depósito e transferência");
+            TestRunner.assertEquals(3, corrente.getHistorico().size(),
+                                    repos.nome + ": abertura, depósito e transferência no histórico");
+        });
+    }
+
+    public void testContaEmDiscoSobreviveAReabertura() throws IOException {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("repositorios");
+        String numero;
+        try (RepositorioClienteDisco clientes = new RepositorioClienteDisco(diretorio);
+             RepositorioInvestimentoDisco investimentos = new RepositorioInvestimentoDisco(diretorio);
+             RepositorioContaDisco contas = new RepositorioContaDisco(diretorio, clientes, investimentos)) {
+            Cliente titular = clientes.salvar(new Cliente("Ana Souza", "11122233344", "ana@email.com",
+                                                          "11999990000", LocalDate.of(1990, 3, 15)));
+            ContaInvestimento conta = new ContaInvestimento(null, "0001", titular);
+            conta.depositar(new BigDecimal("500.00"));
+            conta.adicionarTransacao(new Transacao(TipoTransacao.DEPOSITO, new BigDecimal("500.00"), "Depósito",
+                                                   "0001-investimento", true));
+            Investimento cdb = investimentos.salvar(new Investimento(TipoInvestimento.CDB, new BigDecimal("200.00"),
+                                                                     "11122233344"));
+            conta.adicionarInvestimento(cdb);
+            contas.salvar(conta);
+            conta.depositar(new BigDecimal("25.00"));
+            conta.adicionarTransacao(new Transacao(TipoTransacao.DEPOSITO, new BigDecimal("25.00"), "Depósito",
+                                                   "0001-investimento", true));
+            contas.salvar(conta);
+            numero = conta.getNumero();
+        }
+
+        // Act
+        try (RepositorioClienteDisco clientes = new RepositorioClienteDisco(diretorio);
+             RepositorioInvestimentoDisco investimentos = new RepositorioInvestimentoDisco(diretorio);
+             RepositorioContaDisco contas = new RepositorioContaDisco(diretorio, clientes, investimentos)) {
+            ContaInvestimento conta = (ContaInvestimento) contas.buscarPorNumero("0001", numero).orElseThrow();
+            Conta novaConta = contas.salvar(new ContaCorrente(null, "0001", conta.getTitular()));
+
+            // Assert
+            TestRunner.assertEquals(0, new BigDecimal("525.00").compareTo(conta.getSaldo()), "Saldo deve ser relido");
+            TestRunner.assertEquals(2, conta.getHistorico().size(), "Histórico deve ser relido");
+            TestRunner.assertEquals(2L, conta.getVersao(), "Versão deve ser relida");
+            TestRunner.assertEquals(1, conta.getInvestimentos().size(), "Investimentos devem ser vinculados");
+            TestRunner.assertTrue(conta.getTitular() == clientes.buscarPorCpf("11122233344").get(),
+                                  "Titular deve ser a instância do repositório de clientes");
+            TestRunner.assertFalse(numero.equals(novaConta.getNumero()), "Números não devem ser reutilizados");
+        }
+    }
+
+    // ================== IMPLEMENTAÇÕES ==================
+
+    private static class Repositorios {
+        private final String nome;
+        private final RepositorioCliente clientes;
+        private final RepositorioInvestimento investimentos;
+        private final RepositorioConta contas;
+
+        Repositorios(String nome, RepositorioCliente clientes, RepositorioInvestimento investimentos,
+                     RepositorioConta contas) {
+            this.nome = nome;
+            this.clientes = clientes;
+            this.investimentos = investimentos;
+            this.contas = contas;
+        }
+    }
+
+    private static void paraCadaImplementacao(Consumer<Repositorios> caso) {
+        caso.accept(new Repositorios("Memória", new ClienteRepository(), new InvestimentoRepository(),
+                                     new ContaRepository()));
+
+        Path diretorio;
+        try {
+            diretorio = Files.createTempDirectory("repositorios");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (RepositorioClienteDisco clientes = new RepositorioClienteDisco(diretorio);
+             RepositorioInvestimentoDisco investimentos = new RepositorioInvestimentoDisco(diretorio);
+             RepositorioContaDisco contas = new RepositorioContaDisco(diretorio, clientes, investimentos)) {
+            caso.accept(new Repositorios("Disco", clientes, investimentos, contas));
+        }
+
+        // O driver H2 só está no classpath no build Maven
+        String url = "jdbc:h2:file:" + diretorio.resolve("banco").toAbsolutePath();
+        if (BancoDadosJdbc.driverDisponivel(url)) {
+            try (BancoDadosJdbc banco = new BancoDadosJdbc(url)) {
+                RepositorioClienteJdbc clientes = new RepositorioClienteJdbc(banco);
+                RepositorioInvestimentoJdbc investimentos = new RepositorioInvestimentoJdbc(banco);
+                caso.accept(new Repositorios("JDBC", clientes, investimentos,
+                                             new RepositorioContaJdbc(banco, clientes, investimentos)));
+            }
+        }
+    }
+
+    private static Cliente titular(Repositorios repos) {
+        return repos.clientes.salvar(new Cliente("Ana Souza", "11122233344", "ana@email.com", "11999990000",
+                                                 LocalDate.of(1990, 3, 15)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.nttdata.banco.repository;
+
+import com.nttdata.banco.TestRunner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Testes automatizados para a classe GeradorNumeroConta
+ * Verifica sequência por agência, reserva de blocos e ausência de números repetidos
+ */
+public class GeradorNumeroContaTest {
+
+    public void testSequenciaComecaEm001001() {
+        // Arrange
+        GeradorNumeroConta gerador = new GeradorNumeroConta();
+
+        // Act
+        String primeiro = gerador.proximoNumero("0001");
+        String segundo = gerador.proximoNumero("0001");
+
+        // Assert
+        TestRunner.assertEquals("001001", primeiro, "Primeiro número deve ser 001001");
+        TestRunner.assertEquals("001002", segundo, "Segundo número deve ser 001002");
+    }
+
+    public void testSequenciasIndependentesPorAgencia() {
+        // Arrange
+        GeradorNumeroConta gerador = new GeradorNumeroConta();
+
+        // Act
+        gerador.proximoNumero("0001");
+        gerador.proximoNumero("0001");
+        String outraAgencia = gerador.proximoNumero("0002");
+
+        // Assert
+        TestRunner.assertEquals("001001", outraAgencia, "Cada agência deve ter sua própria sequência");
+    }
+
+    public void testNumeroAcimaDe999999GanhaMaisDigitos() {
+        // Arrange
+        GeradorNumeroConta gerador = new GeradorNumeroConta(null, 999_999, 10);
+
+        // Act
+        String ultimoDeSeisDigitos = gerador.proximoNumero("0001");
+        String seguinte = gerador.proximoNumero("0001");
+
+        // Assert
+        TestRunner.assertEquals("999999", ultimoDeSeisDigitos, "Número deve manter seis dígitos");
+        TestRunner.assertEquals("1000000", seguinte, "Sequência não deve parar em 999999");
+    }
+
+    public void testReservarAteSaltaNumerosImportados() throws Exception {
+        // Arrange
+        GeradorNumeroConta gerador = new GeradorNumeroConta(null, 1001, 10);
+        GeradorNumeroConta persistente = new GeradorNumeroConta(
+                Files.createTempDirectory("gerador-numero").resolve("marcas.properties"), 1001, 10);
+        gerador.proximoNumero("0001");
+
+        // Act
+        gerador.reservarAte("0001", 1050);
+        gerador.reservarAte("0001", 1020);
+        persistente.reservarAte("0001", 5000);
+
+        // Assert
+        TestRunner.assertEquals("001051", gerador.proximoNumero("0001"), "Próximo número deve ficar acima do reservado");
+        TestRunner.assertEquals("001052", gerador.proximoNumero("0001"), "Reserva menor não deve voltar a sequência");
+        TestRunner.assertEquals("005001", persistente.proximoNumero("0001"), "Marca em arquivo também deve subir");
+    }
+
+    public void testReinicioNaoReutilizaNumeros() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("gerador-numero");
+        Path arquivo = diretorio.resolve("marcas.properties");
+        GeradorNumeroConta antes = new GeradorNumeroConta(arquivo, 1001, 10);
+        for (int i = 0; i < 3; i++) {
+            antes.proximoNumero("0001");
+        }
+
+        // Act - nova instância simula o reinício após uma queda
+        GeradorNumeroConta depois = new GeradorNumeroConta(arquivo, 1001, 10);
+        String numero = depois.proximoNumero("0001");
+
+        // Assert
+        TestRunner.assertEquals("001011", numero, "Após reinício deve continuar depois do bloco reservado");
+    }
+
+    public void testInstanciasConcorrentesNaoRepetemNumeros() throws Exception {
+        // Arrange
+        Path diretorio = Files.createTempDirectory("gerador-numero");
+        Path arquivo = diretorio.resolve("marcas.properties");
+        int instancias = 4;
+        int threadsPorInstancia = 4;
+        int numerosPorThread = 500;
+        Set<String> gerados = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < instancias; i++) {
+            GeradorNumeroConta gerador = new GeradorNumeroConta(arquivo, 1001, 16);
+            for (int t = 0; t < threadsPorInstancia; t++) {
+                threads.add(new Thread(() -> {
+                    for (int n = 0; n < numerosPorThread; n++) {
+                        gerados.add(gerador.proximoNumero("0001"));
+                    }
+                }));
+            }
+        }
+
+        // Act
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        TestRunner.assertEquals(instancias * threadsPorInstancia * numerosPorThread, gerados.size(),
+                                "Nenhum número deve ser gerado duas vezes");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.TipoInvestimento;
+import com.nttdata.banco.model.Conta;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes automatizados para a fachada assíncrona BancoServiceAsync
+ * Verifica que os resultados são os mesmos da versão síncrona e que o limite é respeitado
+ */
+public class BancoServiceAsyncTest {
+
+    public void testOperacoesAssincronasMantemResultado() throws Exception {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        try (BancoServiceAsync async = new BancoServiceAsync(bancoService)) {
+            // Act
+            boolean deposito = async.depositar("0001", "001001", new BigDecimal("500.00")).get(5, TimeUnit.SECONDS);
+            boolean depositoInexistente = async.depositar("0001", "999999", new BigDecimal("500.00")).get(5, TimeUnit.SECONDS);
+            boolean saqueSemSaldo = async.sacar("0001", "001002", new BigDecimal("50000.00")).get(5, TimeUnit.SECONDS);
+            boolean transferencia = async.transferir("0001", "001002", "0001", "001003", new BigDecimal("100.00")).get(5, TimeUnit.SECONDS);
+            boolean pix = async.pix("0001", "001001", "98765432100", new BigDecimal("10.00")).get(5, TimeUnit.SECONDS);
+            boolean investimento = async.investir("0001", "001003", TipoInvestimento.CDB, new BigDecimal("1000.00")).get(5, TimeUnit.SECONDS);
+
+            // Assert
+            TestRunner.assertTrue(deposito, "Depósito assíncrono deve ser bem-sucedido");
+            TestRunner.assertFalse(depositoInexistente, "Depósito em conta inexistente deve falhar");
+            TestRunner.assertFalse(saqueSemSaldo, "Saque sem saldo deve falhar");
+            TestRunner.assertTrue(transferencia, "Transferência assíncrona deve ser bem-sucedida");
+            TestRunner.assertTrue(pix, "PIX assíncrono deve ser bem-sucedido");
+            TestRunner.assertTrue(investimento, "Investimento assíncrono deve ser bem-sucedido");
+
+            Conta conta = bancoService.buscarConta("0001", "001001").get();
+            // 5000 + 500 - 10 (PIX) - 2.50 (tarifa)
+            TestRunner.assertEquals(0, new BigDecimal("5487.50").compareTo(conta.getSaldo()), "Saldo deve refletir as operações");
+        }
+    }
+
+    public void testLimiteDeConcorrenciaRespeitado() throws Exception {
+        // Arrange - serviço que registra quantos depósitos executam ao mesmo tempo
+        AtomicInteger emExecucao = new AtomicInteger();
+        AtomicInteger maximoObservado = new AtomicInteger();
+        BancoService bancoService = new BancoService() {
+            @Override
+            public boolean depositar(String agencia, String numero, BigDecimal valor) {
+                int atual = emExecucao.incrementAndGet();
+                maximoObservado.accumulateAndGet(atual, Math::max);
+                try {
+                    Thread.sleep(2);
+                    return super.depositar(agencia, numero, valor);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } finally {
+                    emExecucao.decrementAndGet();
+                }
+            }
+        };
+
+        try (BancoServiceAsync async = new BancoServiceAsync(bancoService, 4)) {
+            // Act - recusado pelo limite, o chamador espera a operação mais antiga e tenta de novo
+            List<CompletableFuture<Boolean>> futuros = new ArrayList<>();
+            int concluidas = 0;
+            for (int i = 0; i < 200; i++) {
+                CompletableFuture<Boolean> futuro;
+                while ((futuro = async.depositar("0001", "001002", new BigDecimal("1.00"))).isCompletedExceptionally()) {
+                    futuros.get(concluidas++).get(5, TimeUnit.SECONDS);
+                }
+                futuros.add(futuro);
+            }
+            CompletableFuture.allOf(futuros.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+            // Assert
+            TestRunner.assertEquals(4, async.getLimiteConcorrencia(), "Limite configurado deve ser 4");
+            TestRunner.assertTrue(maximoObservado.get() <= 4,
+                                 "No máximo 4 operações simultâneas - Observado: " + maximoObservado.get());
+            TestRunner.assertEquals(0, new BigDecimal("10200.00").compareTo(
+                                    bancoService.buscarConta("0001", "001002").get().getSaldo()),
+                                   "Todos os depósitos devem ser aplicados");
+        }
+    }
+
+    public void testChamadorRecusadoSemBloquearComLimiteAtingido() throws Exception {
+        // Arrange - executor de uma thread ocupada: as tarefas ficam na fila dele
+        CountDownLatch liberarExecutor = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.execute(() -> {
+            try {
+                liberarExecutor.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        BancoService bancoService = new BancoService();
+
+        try (BancoServiceAsync async = new BancoServiceAsync(bancoService, executor, 2)) {
+            // Act - duas operações ocupam o limite; a terceira é recusada na hora
+            CompletableFuture<Boolean> primeira = async.depositar("0001", "001002", new BigDecimal("1.00"));
+            CompletableFuture<Boolean> segunda = async.depositar("0001", "001002", new BigDecimal("1.00"));
+            int emAndamento = async.getOperacoesEmExecucao();
+            CompletableFuture<Boolean> terceira = async.depositar("0001", "001002", new BigDecimal("1.00"));
+            Throwable recusa = terceira.handle((resultado, erro) -> erro).get(5, TimeUnit.SECONDS);
+            liberarExecutor.countDown();
+            boolean resultado = primeira.get(5, TimeUnit.SECONDS) && segunda.get(5, TimeUnit.SECONDS);
+            CompletableFuture<Boolean> depoisDaLiberacao = async.depositar("0001", "001002", new BigDecimal("1.00"));
+
+            // Assert
+            TestRunner.assertEquals(2, emAndamento, "Operações na fila do executor devem contar no limite");
+            TestRunner.assertTrue(recusa instanceof RejectedExecutionException,
+                                  "Com o limite atingido o futuro já volta falho com RejectedExecutionException");
+            TestRunner.assertTrue(resultado, "Operações aceitas devem concluir após a liberação");
+            TestRunner.assertTrue(depoisDaLiberacao.get(5, TimeUnit.SECONDS), "Permissões devolvidas ao concluir");
+            TestRunner.assertEquals(0, new BigDecimal("10003.00").compareTo(
+                                    bancoService.buscarConta("0001", "001002").get().getSaldo()),
+                                   "Só os depósitos aceitos devem ser aplicados");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.TipoConta;
+import com.nttdata.banco.model.Conta;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testes de estresse para o BancoService executado por várias threads
+ * Verifica conservação do dinheiro e ausência de deadlock
+ */
+public class BancoServiceConcorrenciaTest {
+    private static final int THREADS = 8;
+    private static final int OPERACOES_POR_THREAD = 2000;
+
+    public void testTransferenciasConcorrentesConservamSaldoTotal() throws Exception {
+        // Arrange - contas poupança não cobram tarifa, então o total deve se manter
+        BancoService bancoService = new BancoService();
+        List<Conta> contas = criarContasPoupanca(bancoService, 20, new BigDecimal("1000.00"));
+        BigDecimal totalAntes = somarSaldos(contas);
+
+        // Act
+        executarEmParalelo(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Conta origem = contas.get(random.nextInt(contas.size()));
+            Conta destino = contas.get(random.nextInt(contas.size()));
+            BigDecimal valor = BigDecimal.valueOf(random.nextInt(1, 5000), 2);
+            bancoService.transferir(origem.getAgencia(), origem.getNumero(),
+                                    destino.getAgencia(), destino.getNumero(), valor);
+        });
+
+        // Assert
+        TestRunner.assertEquals(0, totalAntes.compareTo(somarSaldos(contas)),
+                               "Soma dos saldos deve ser conservada - Antes: " + totalAntes
+                               + ", Depois: " + somarSaldos(contas));
+        contas.forEach(conta -> TestRunner.assertTrue(conta.getSaldo().signum() >= 0,
+                                                      "Poupança nunca deve ficar negativa"));
+    }
+
+    public void testDepositosConcorrentesNaMesmaConta() throws Exception {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        Conta conta = criarContasPoupanca(bancoService, 1, BigDecimal.ZERO).get(0);
+
+        // Act
+        executarEmParalelo(() -> bancoService.depositar(conta.getAgencia(), conta.getNumero(), new BigDecimal("1.00")));
+
+        // Assert
+        BigDecimal esperado = new BigDecimal(THREADS * OPERACOES_POR_THREAD);
+        TestRunner.assertEquals(0, esperado.compareTo(conta.getSaldo()),
+                               "Nenhum depósito deve ser perdido - Atual: " + conta.getSaldo());
+        TestRunner.assertEquals(THREADS * OPERACOES_POR_THREAD, conta.getHistorico().size(),
+                               "Cada depósito deve gerar uma transação");
+    }
+
+    public void testTransferenciasCruzadasNaoCausamDeadlock() throws Exception {
+        // Arrange - metade das threads transfere A->B e a outra metade B->A
+        BancoService bancoService = new BancoService();
+        List<Conta> contas = criarContasPoupanca(bancoService, 2, new BigDecimal("100000.00"));
+        Conta contaA = contas.get(0);
+        Conta contaB = contas.get(1);
+
+        // Act
+        executarEmParalelo(() -> {
+            BigDecimal valor = new BigDecimal("1.00");
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                bancoService.transferir(contaA.getAgencia(), contaA.getNumero(),
+                                        contaB.getAgencia(), contaB.getNumero(), valor);
+            } else {
+                bancoService.pix(contaB.getAgencia(), contaB.getNumero(),
+                                 contaA.getTitular().getCpf(), valor);
+            }
+        });
+
+        // Assert
+        TestRunner.assertEquals(0, new BigDecimal("200000.00").compareTo(contaA.getSaldo().add(contaB.getSaldo())),
+                               "Soma das duas contas deve ser conservada");
+    }
+
+    public void testOperacaoDeUmaContaExcluiTransferenciaNaMesmaConta() throws Exception {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        List<Conta> contas = criarContasPoupanca(bancoService, 2, new BigDecimal("100.00"));
+        Conta origem = contas.get(0);
+        Conta destino = contas.get(1);
+        BigDecimal[] saldoDuranteOperacao = new BigDecimal[1];
+        Thread transferencia = new Thread(() -> bancoService.transferir(origem.getAgencia(), origem.getNumero(),
+                destino.getAgencia(), destino.getNumero(), new BigDecimal("30.00")));
+
+        // Act - a transferência começa enquanto o depósito (controle de versão) está em andamento
+        bancoService.executarComRetentativa(origem.getAgencia(), origem.getNumero(), conta -> {
+            transferencia.start();
+            try {
+                transferencia.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            saldoDuranteOperacao[0] = conta.getSaldo();
+            conta.depositar(new BigDecimal("1.00"));
+            return true;
+        });
+        transferencia.join(5_000);
+
+        // Assert
+        TestRunner.assertEquals(0, new BigDecimal("100.00").compareTo(saldoDuranteOperacao[0]),
+                               "Transferência deve esperar a trava da conta - Saldo: " + saldoDuranteOperacao[0]);
+        TestRunner.assertEquals(0, new BigDecimal("71.00").compareTo(origem.getSaldo()),
+                               "Depósito e transferência devem ser aplicados - Saldo: " + origem.getSaldo());
+    }
+
+    private List<Conta> criarContasPoupanca(BancoService bancoService, int quantidade, BigDecimal saldoInicial) {
+        List<Conta> contas = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            String cpf = String.format("7%010d", i);
+            bancoService.criarCliente("Cliente Estresse " + i, cpf, "estresse" + i + "@email.com",
+                                      "11900000000", LocalDate.of(1990, 1, 1));
+            Conta conta = bancoService.criarConta(cpf, TipoConta.POUPANCA);
+            if (saldoInicial.signum() > 0) {
+                bancoService.depositar(conta.getAgencia(), conta.getNumero(), saldoInicial);
+            }
+            contas.add(conta);
+        }
+        return contas;
+    }
+
+    private BigDecimal somarSaldos(List<Conta> contas) {
+        return contas.stream()
+                .map(Conta::getSaldo)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private void executarEmParalelo(Runnable operacao) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    operacao.run();
+                }
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        TestRunner.assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS),
+                             "Operações concorrentes devem terminar (possível deadlock)");
+    }
+}
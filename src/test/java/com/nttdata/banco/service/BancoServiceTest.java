@@ -5,7 +5,9 @@ import com.nttdata.banco.enums.*;
 import com.nttdata.banco.model.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -370,4 +372,352 @@ public class BancoServiceTest {
         TestRunner.assertEquals(new BigDecimal("25000.00"), contaInvestimentoMaria.get().getSaldo(), 
                                "Saldo inicial conta investimento deve ser R$ 25000");
     }
-}
+
+    public void testTransferirLoteTudoOuNadaComSucesso() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        List<ItemTransferencia> itens = List.of(
+            new ItemTransferencia("0001", "001001", new BigDecimal("100.00")),
+            new ItemTransferencia("0001", "001003", new BigDecimal("200.00")),
+            new ItemTransferencia("0001", "001001", new BigDecimal("50.00"))
+        );
+
+        // Act
+        ResultadoLote resultado = bancoService.transferirLote("0001", "001002", itens, ModoLote.TUDO_OU_NADA);
+
+        // Assert
+        TestRunner.assertTrue(resultado.isSucessoTotal(), "Todos os itens devem ser transferidos");
+        TestRunner.assertEquals(new BigDecimal("9650.00"), bancoService.buscarConta("0001", "001002").get().getSaldo(),
+                               "Origem (poupança) deve ser debitada em R$ 350");
+        TestRunner.assertEquals(new BigDecimal("5150.00"), bancoService.buscarConta("0001", "001001").get().getSaldo(),
+                               "Destino repetido deve receber os dois créditos");
+        TestRunner.assertEquals(new BigDecimal("25200.00"), bancoService.buscarConta("0001", "001003").get().getSaldo(),
+                               "Segundo destino deve receber R$ 200");
+    }
+
+    public void testTransferirLoteTudoOuNadaDesfazQuandoItemFalha() {
+        // Arrange - conta corrente com R$ 5000 + R$ 1000 de limite e R$ 2,50 de tarifa por item
+        BancoService bancoService = new BancoService();
+        List<ItemTransferencia> itens = List.of(
+            new ItemTransferencia("0001", "001002", new BigDecimal("3000.00")),
+            new ItemTransferencia("0001", "001003", new BigDecimal("3000.00"))
+        );
+
+        // Act
+        ResultadoLote resultado = bancoService.transferirLote("0001", "001001", itens, ModoLote.TUDO_OU_NADA);
+
+        // Assert
+        TestRunner.assertEquals(0, resultado.getQuantidadeSucesso(), "Nenhum item deve ser aplicado");
+        TestRunner.assertEquals(0, new BigDecimal("5000.00").compareTo(bancoService.buscarConta("0001", "001001").get().getSaldo()),
+                               "Saldo da origem deve ser restaurado, inclusive a tarifa");
+        TestRunner.assertEquals(new BigDecimal("10000.00"), bancoService.buscarConta("0001", "001002").get().getSaldo(),
+                               "Destino não deve receber crédito");
+    }
+
+    public void testTransferirLoteMelhorEsforco() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        List<ItemTransferencia> itens = List.of(
+            new ItemTransferencia("0001", "001001", new BigDecimal("6000.00")),
+            new ItemTransferencia("0001", "999999", new BigDecimal("10.00")),
+            new ItemTransferencia("0001", "001003", new BigDecimal("5000.00"))
+        );
+
+        // Act
+        ResultadoLote resultado = bancoService.transferirLote("0001", "001002", itens, ModoLote.MELHOR_ESFORCO);
+
+        // Assert
+        TestRunner.assertEquals(3, resultado.getTotalItens(), "Deve haver um resultado por item");
+        TestRunner.assertTrue(resultado.isSucesso(0), "Primeiro item deve ser transferido");
+        TestRunner.assertFalse(resultado.isSucesso(1), "Destino inexistente deve falhar");
+        TestRunner.assertFalse(resultado.isSucesso(2), "Item sem saldo restante deve falhar");
+        TestRunner.assertEquals(new BigDecimal("4000.00"), bancoService.buscarConta("0001", "001002").get().getSaldo(),
+                               "Apenas o primeiro item deve ser debitado");
+        // Depósito inicial + os dois itens com destino válido (um com sucesso e outro recusado)
+        TestRunner.assertEquals(3, bancoService.buscarConta("0001", "001002").get().getHistorico().size(),
+                               "Itens com destino válido devem ser registrados na origem");
+    }
+
+    public void testOperacaoComRetentativaRegistraMetricas() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        long operacoesAntes = bancoService.getMetricasConcorrencia().getOperacoes();
+
+        // Act
+        boolean resultado = bancoService.executarComRetentativa("0001", "001001",
+                conta -> conta.sacar(new BigDecimal("100.00")));
+
+        // Assert
+        TestRunner.assertTrue(resultado, "Operação otimista deve ser aplicada");
+        TestRunner.assertEquals(operacoesAntes + 1, bancoService.getMetricasConcorrencia().getOperacoes(),
+                               "Métricas devem contar a operação");
+        TestRunner.assertEquals(new BigDecimal("4897.50"), bancoService.buscarConta("0001", "001001").get().getSaldo(),
+                               "Saque deve ser aplicado uma única vez");
+    }
+
+    public void testTransferirMultiplasPernasDivideUmDebitoEntreVariosCreditos() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        List<PernaTransferencia> debitos = List.of(new PernaTransferencia("0001", "001002", new BigDecimal("3000.00")));
+        List<PernaTransferencia> creditos = List.of(
+            new PernaTransferencia("0001", "001001", new BigDecimal("1000.00")),
+            new PernaTransferencia("0001", "001003", new BigDecimal("2000.00"))
+        );
+
+        // Act
+        boolean resultado = bancoService.transferirMultiplasPernas(debitos, creditos);
+
+        // Assert
+        TestRunner.assertTrue(resultado, "Transferência múltipla deve ser aplicada");
+        TestRunner.assertEquals(new BigDecimal("7000.00"), bancoService.buscarConta("0001", "001002").get().getSaldo(),
+                               "Conta de débito deve ser debitada pelo total");
+        TestRunner.assertEquals(new BigDecimal("6000.00"), bancoService.buscarConta("0001", "001001").get().getSaldo(),
+                               "Primeira conta de crédito deve receber sua parte");
+        TestRunner.assertEquals(new BigDecimal("27000.00"), bancoService.buscarConta("0001", "001003").get().getSaldo(),
+                               "Segunda conta de crédito deve receber sua parte");
+
+        List<Transacao> historicoDebito = bancoService.buscarConta("0001", "001002").get().getHistorico();
+        List<Transacao> historicoCredito = bancoService.buscarConta("0001", "001003").get().getHistorico();
+        String idCorrelacao = historicoDebito.get(historicoDebito.size() - 1).getIdCorrelacao();
+        TestRunner.assertNotNull(idCorrelacao, "Pernas devem ter id de correlação");
+        TestRunner.assertEquals(idCorrelacao, historicoCredito.get(historicoCredito.size() - 1).getIdCorrelacao(),
+                               "Todas as pernas devem compartilhar o mesmo id de correlação");
+    }
+
+    public void testTransferirMultiplasPernasJuntaVariosDebitosEmUmCredito() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        List<PernaTransferencia> debitos = List.of(
+            new PernaTransferencia("0001", "001002", new BigDecimal("1000.00")),
+            new PernaTransferencia("0001", "001003", new BigDecimal("1000.00"))
+        );
+        List<PernaTransferencia> creditos = List.of(new PernaTransferencia("0001", "001001", new BigDecimal("2000.00")));
+
+        // Act
+        boolean resultado = bancoService.transferirMultiplasPernas(debitos, creditos);
+
+        // Assert
+        TestRunner.assertTrue(resultado, "Rateio deve ser aplicado");
+        TestRunner.assertEquals(new BigDecimal("9000.00"), bancoService.buscarConta("0001", "001002").get().getSaldo(),
+                               "Primeira conta de débito deve pagar sua parte");
+        TestRunner.assertEquals(new BigDecimal("24000.00"), bancoService.buscarConta("0001", "001003").get().getSaldo(),
+                               "Segunda conta de débito deve pagar sua parte");
+        TestRunner.assertEquals(new BigDecimal("7000.00"), bancoService.buscarConta("0001", "001001").get().getSaldo(),
+                               "Conta de crédito deve receber o total");
+    }
+
+    public void testTransferirMultiplasPernasDesfazQuandoPernaFalha() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        // A conta corrente tem saldo + limite exatos, mas a tarifa de saque faz a segunda perna falhar
+        List<PernaTransferencia> debitos = List.of(
+            new PernaTransferencia("0001", "001002", new BigDecimal("500.00")),
+            new PernaTransferencia("0001", "001001", new BigDecimal("6000.00"))
+        );
+        List<PernaTransferencia> creditos = List.of(new PernaTransferencia("0001", "001003", new BigDecimal("6500.00")));
+        int historicoAntes = bancoService.buscarConta("0001", "001002").get().getHistorico().size();
+
+        // Act
+        boolean resultado = bancoService.transferirMultiplasPernas(debitos, creditos);
+
+        // Assert
+        TestRunner.assertFalse(resultado, "Transferência múltipla deve ser recusada");
+        TestRunner.assertEquals(new BigDecimal("10000.00"), bancoService.buscarConta("0001", "001002").get().getSaldo(),
+                               "Débito já aplicado deve ser desfeito");
+        TestRunner.assertEquals(new BigDecimal("5000.00"), bancoService.buscarConta("0001", "001001").get().getSaldo(),
+                               "Conta sem fundos não deve ser alterada");
+        TestRunner.assertEquals(new BigDecimal("25000.00"), bancoService.buscarConta("0001", "001003").get().getSaldo(),
+                               "Nenhum crédito deve ser aplicado");
+        TestRunner.assertEquals(historicoAntes, bancoService.buscarConta("0001", "001002").get().getHistorico().size(),
+                               "Nenhuma transação deve ser registrada");
+    }
+
+    public void testSaldoEmCentavosAtivadoNoServico() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+
+        // Act
+        bancoService.usarSaldoEmCentavos();
+        Conta nova = bancoService.criarConta("12345678901", TipoConta.CORRENTE);
+        boolean deposito = bancoService.depositarCentavos("0001", "001001", 12345);
+        boolean saque = bancoService.sacarCentavos("0001", "001001", 10000);
+        boolean saqueSemSaldo = bancoService.sacarCentavos("0001", "001002", 1000001);
+        Conta corrente = bancoService.buscarConta("0001", "001001").get();
+
+        // Assert
+        TestRunner.assertTrue(bancoService.isSaldoEmCentavos(), "Serviço deve usar saldo em centavos");
+        TestRunner.assertTrue(corrente.isSaldoEmCentavos(), "Contas existentes devem ser convertidas");
+        TestRunner.assertTrue(nova.isSaldoEmCentavos(), "Contas novas devem nascer em centavos");
+        TestRunner.assertTrue(deposito && saque, "Depósito e saque em centavos devem ser aceitos");
+        TestRunner.assertFalse(saqueSemSaldo, "Saque acima do saldo deve ser recusado");
+        TestRunner.assertEquals(new BigDecimal("5020.95"), corrente.getSaldo(), "Saldo = 5000 + 123,45 - 100 - 2,50");
+        TestRunner.assertEquals(new BigDecimal("123.45"), corrente.getHistorico().get(corrente.getHistorico().size() - 2).getValor(),
+                               "Transação deve registrar o valor em reais");
+    }
+
+    public void testTransferirMultiplasPernasDevolveTarifasDaMesmaConta() {
+        // Arrange - duas pernas da conta corrente cabem no saldo + limite, mas não com as duas tarifas
+        BancoService bancoService = new BancoService();
+        List<PernaTransferencia> debitos = List.of(
+            new PernaTransferencia("0001", "001001", new BigDecimal("3000.00")),
+            new PernaTransferencia("0001", "001001", new BigDecimal("2999.00"))
+        );
+        List<PernaTransferencia> creditos = List.of(new PernaTransferencia("0001", "001002", new BigDecimal("5999.00")));
+
+        // Act
+        boolean resultado = bancoService.transferirMultiplasPernas(debitos, creditos);
+
+        // Assert
+        TestRunner.assertFalse(resultado, "Transferência múltipla deve ser recusada");
+        TestRunner.assertEquals(0, new BigDecimal("5000.00").compareTo(bancoService.buscarConta("0001", "001001").get().getSaldo()),
+                               "Valor e tarifa da perna aplicada devem ser devolvidos");
+        TestRunner.assertEquals(new BigDecimal("10000.00"), bancoService.buscarConta("0001", "001002").get().getSaldo(),
+                               "Nenhum crédito deve ser aplicado");
+    }
+
+    public void testTransferirMultiplasPernasRecusaTotaisDiferentes() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        List<PernaTransferencia> debitos = List.of(new PernaTransferencia("0001", "001002", new BigDecimal("100.00")));
+        List<PernaTransferencia> creditos = List.of(new PernaTransferencia("0001", "001001", new BigDecimal("90.00")));
+
+        // Act
+        boolean resultado = bancoService.transferirMultiplasPernas(debitos, creditos);
+
+        // Assert
+        TestRunner.assertFalse(resultado, "Débitos e créditos com totais diferentes devem ser recusados");
+        TestRunner.assertEquals(new BigDecimal("10000.00"), bancoService.buscarConta("0001", "001002").get().getSaldo(),
+                               "Saldo não deve ser alterado");
+    }
+
+    public void testSaldoEmConsultaSaldoDoPassado() throws InterruptedException {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        LocalDateTime antes = LocalDateTime.now();
+        Thread.sleep(5);
+        bancoService.depositar("0001", "001001", new BigDecimal("100.00"));
+        Thread.sleep(5);
+        LocalDateTime depoisDoDeposito = LocalDateTime.now();
+        Thread.sleep(5);
+        bancoService.transferir("0001", "001001", "0001", "001002", new BigDecimal("50.00"));
+
+        // Act
+        Optional<BigDecimal> saldoAntes = bancoService.saldoEm("0001", "001001", antes);
+        Optional<BigDecimal> saldoDepoisDoDeposito = bancoService.saldoEm("0001", "001001", depoisDoDeposito);
+        Optional<BigDecimal> saldoAtual = bancoService.saldoEm("0001", "001001", LocalDateTime.now());
+
+        // Assert
+        TestRunner.assertEquals(new BigDecimal("5000.00"), saldoAntes.get(), "Saldo antes do depósito");
+        TestRunner.assertEquals(new BigDecimal("5100.00"), saldoDepoisDoDeposito.get(), "Saldo após o depósito");
+        TestRunner.assertEquals(new BigDecimal("5047.50"), saldoAtual.get(), "Saldo atual inclui a tarifa");
+        TestRunner.assertTrue(bancoService.saldoEm("0001", "999999", antes).isEmpty(), "Conta inexistente");
+    }
+
+    public void testSaldosEmMontaRetratoDoBanco() throws InterruptedException {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        Thread.sleep(5);
+        LocalDateTime retrato = LocalDateTime.now();
+        Thread.sleep(5);
+        bancoService.transferir("0001", "001002", "0001", "001003", new BigDecimal("1000.00"));
+
+        // Act
+        Map<String, BigDecimal> saldos = bancoService.saldosEm(retrato);
+
+        // Assert
+        TestRunner.assertEquals(3, saldos.size(), "Todas as contas devem aparecer no retrato");
+        TestRunner.assertEquals(new BigDecimal("10000.00"), saldos.get("0001-001002"), "Origem antes da transferência");
+        TestRunner.assertEquals(new BigDecimal("25000.00"), saldos.get("0001-001003"), "Destino antes da transferência");
+    }
+
+    public void testExtratoPorPeriodoComSaldoCorrido() throws InterruptedException {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        bancoService.depositar("0001", "001001", new BigDecimal("1.00"));
+        Thread.sleep(5);
+        LocalDateTime de = LocalDateTime.now();
+        Thread.sleep(5);
+        bancoService.depositar("0001", "001001", new BigDecimal("100.00"));
+        bancoService.sacar("0001", "001001", new BigDecimal("30.00"));
+        Thread.sleep(5);
+        LocalDateTime ate = LocalDateTime.now();
+        Thread.sleep(5);
+        bancoService.depositar("0001", "001001", new BigDecimal("7.00"));
+
+        // Act
+        ExtratoPeriodo extrato = bancoService.extrato("0001", "001001", de, ate).get();
+
+        // Assert
+        TestRunner.assertEquals(2, extrato.getTransacoes().size(), "Só as transações do período");
+        TestRunner.assertEquals(TipoTransacao.DEPOSITO, extrato.getTransacoes().get(0).getTipo(), "Ordem por data/hora");
+        TestRunner.assertEquals(new BigDecimal("5001.00"), extrato.getSaldoInicial(), "Saldo antes do período");
+        TestRunner.assertEquals(new BigDecimal("5101.00"), extrato.getSaldoApos(0), "Saldo após o depósito");
+        TestRunner.assertEquals(new BigDecimal("5068.50"), extrato.getSaldoApos(1), "Saldo após o saque e a tarifa");
+        TestRunner.assertEquals(new BigDecimal("5068.50"), extrato.getSaldoFinal(), "Saldo no fim do período");
+        TestRunner.assertTrue(bancoService.extrato("0001", "999999", de, ate).isEmpty(), "Conta inexistente");
+    }
+
+    public void testBuscaTransacoesPeloIndiceDoBanco() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        bancoService.transferir("0001", "001001", "0001", "001002", new BigDecimal("50.00"));
+        bancoService.transferir("0001", "001001", "0001", "001003", new BigDecimal("20.00"));
+        bancoService.transferir("0001", "001002", "0001", "001003", new BigDecimal("5.00"));
+        Transacao enviada = bancoService.buscarConta("0001", "001001").get().getTransacoesRecentes(1).get(0);
+
+        // Act
+        Optional<Transacao> porId = bancoService.buscarTransacao(enviada.getId());
+        Optional<Conta> contaDaTransacao = bancoService.buscarContaDaTransacao(enviada.getId());
+        List<Transacao> recebidas = bancoService.buscarTransferenciasRecebidasDe("0001", "001001");
+        List<Transacao> paraPoupanca = bancoService.buscarTransacoesPorDestino("0001", "001002");
+
+        // Assert
+        TestRunner.assertTrue(porId.isPresent(), "Transação deve ser encontrada pelo id");
+        TestRunner.assertEquals(new BigDecimal("20.00"), porId.get().getValor(), "Transação certa pelo id");
+        TestRunner.assertEquals("001001", contaDaTransacao.get().getNumero(), "Conta do histórico da transação");
+        TestRunner.assertEquals(2, recebidas.size(), "Dois créditos recebidos com origem na conta");
+        TestRunner.assertTrue(recebidas.stream().allMatch(t -> t.getDescricao().equals("Transferência recebida")),
+                              "Só o lado de quem recebeu");
+        TestRunner.assertEquals(2, paraPoupanca.size(), "Envio e recebimento com destino na poupança");
+        TestRunner.assertTrue(bancoService.buscarTransacao("inexistente").isEmpty(), "Id desconhecido");
+    }
+
+    public void testIndiceDeTransacoesConstruidoNaPrimeiraConsulta() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        bancoService.depositar("0001", "001001", new BigDecimal("10.00"));
+        boolean construidoAntes = bancoService.getIndiceTransacoes().isConstruido();
+
+        // Act - getIndiceTransacoes é uma consulta; a partir dela o índice acompanha os registros
+        Transacao deposito = bancoService.buscarConta("0001", "001001").get().getTransacoesRecentes(1).get(0);
+        bancoService.sacar("0001", "001002", new BigDecimal("1.00"));
+        Transacao saque = bancoService.buscarConta("0001", "001002").get().getTransacoesRecentes(1).get(0);
+
+        // Assert
+        TestRunner.assertTrue(construidoAntes, "Consulta constrói o índice");
+        TestRunner.assertTrue(bancoService.buscarTransacao(deposito.getId()).isPresent(), "Histórico anterior indexado");
+        TestRunner.assertTrue(bancoService.buscarTransacao(saque.getId()).isPresent(), "Registro posterior indexado");
+    }
+
+    public void testExcluirContaRemoveDoIndiceDeTransacoes() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        Conta poupanca = bancoService.criarConta("12345678901", TipoConta.POUPANCA);
+        bancoService.transferir("0001", "001001", "0001", poupanca.getNumero(), new BigDecimal("10.00"));
+        bancoService.transferir("0001", poupanca.getNumero(), "0001", "001001", new BigDecimal("10.00"));
+        Transacao recebida = poupanca.getTransacoesRecentes(2).get(0);
+        int recebidasAntes = bancoService.buscarTransferenciasRecebidasDe("0001", "001001").size();
+
+        // Act
+        boolean comSaldo = bancoService.excluirConta("0001", "001001");
+        boolean excluida = bancoService.excluirConta("0001", poupanca.getNumero());
+
+        // Assert
+        TestRunner.assertFalse(comSaldo, "Conta com saldo não é excluída");
+        TestRunner.assertTrue(excluida, "Conta zerada é excluída");
+        TestRunner.assertTrue(bancoService.buscarConta("0001", poupanca.getNumero()).isEmpty(), "Conta sai do repositório");
+        TestRunner.assertTrue(bancoService.buscarTransacao(recebida.getId()).isEmpty(), "Transação da conta sai do índice");
+        TestRunner.assertEquals(recebidasAntes - 1, bancoService.buscarTransferenciasRecebidasDe("0001", "001001").size(),
+                                "Crédito na conta excluída deixa de aparecer");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.ResultadoPix;
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Testes automatizados para o ControleAdmissaoPix
+ * Verifica rajada, reposição de fichas, limites por CPF e global, devolução e remoção de baldes ociosos
+ */
+public class ControleAdmissaoPixTest {
+
+    public void testRajadaDaContaLimitaChamadas() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong();
+        ControleAdmissaoPix controle = new ControleAdmissaoPix(1, 3, 100, 100, 1000, 1000, relogio::get);
+
+        // Act
+        ResultadoPix[] resultados = new ResultadoPix[4];
+        for (int i = 0; i < resultados.length; i++) {
+            resultados[i] = controle.executar("0001-001001", "12345678901", () -> true);
+        }
+
+        // Assert
+        TestRunner.assertEquals(ResultadoPix.SUCESSO, resultados[2], "Chamadas dentro da rajada devem ser admitidas");
+        TestRunner.assertEquals(ResultadoPix.REJEITADO_LIMITE_CONTA, resultados[3],
+                               "Chamada além da rajada deve ser rejeitada pelo limite da conta");
+        TestRunner.assertEquals(1L, controle.getRejeitadosConta(), "Deve contar a rejeição por conta");
+        TestRunner.assertEquals(3L, controle.getAdmitidos(), "Deve contar as chamadas admitidas");
+    }
+
+    public void testFichasSaoRepostasComOTempo() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong();
+        ControleAdmissaoPix controle = new ControleAdmissaoPix(1, 1, 100, 100, 1000, 1000, relogio::get);
+        controle.executar("0001-001001", "12345678901", () -> true);
+
+        // Act
+        ResultadoPix semFicha = controle.executar("0001-001001", "12345678901", () -> true);
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        ResultadoPix aposReposicao = controle.executar("0001-001001", "12345678901", () -> true);
+
+        // Assert
+        TestRunner.assertEquals(ResultadoPix.REJEITADO_LIMITE_CONTA, semFicha, "Sem ficha a chamada deve ser rejeitada");
+        TestRunner.assertEquals(ResultadoPix.SUCESSO, aposReposicao, "Após um segundo deve haver nova ficha");
+    }
+
+    public void testLimitePorCpfValeParaTodasAsContas() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong();
+        ControleAdmissaoPix controle = new ControleAdmissaoPix(100, 100, 1, 2, 1000, 1000, relogio::get);
+
+        // Act
+        controle.executar("0001-001001", "12345678901", () -> true);
+        controle.executar("0001-001002", "12345678901", () -> true);
+        ResultadoPix terceiraConta = controle.executar("0001-001003", "12345678901", () -> true);
+        ResultadoPix outroCpf = controle.executar("0001-001004", "98765432100", () -> true);
+
+        // Assert
+        TestRunner.assertEquals(ResultadoPix.REJEITADO_LIMITE_CPF, terceiraConta,
+                               "Mesmo CPF em outra conta deve respeitar o limite do CPF");
+        TestRunner.assertEquals(ResultadoPix.SUCESSO, outroCpf, "Outro CPF não deve ser afetado");
+    }
+
+    public void testRejeicaoGlobalDevolveFichasDaContaEDoCpf() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong();
+        ControleAdmissaoPix controle = new ControleAdmissaoPix(1, 1, 1, 1, 1, 1, relogio::get);
+        controle.executar("0001-001001", "12345678901", () -> true);
+
+        // Act
+        ResultadoPix rejeitado = controle.executar("0001-001002", "98765432100", () -> true);
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        ResultadoPix depois = controle.executar("0001-001002", "98765432100", () -> true);
+
+        // Assert
+        TestRunner.assertEquals(ResultadoPix.REJEITADO_LIMITE_GLOBAL, rejeitado, "Limite global deve rejeitar");
+        TestRunner.assertEquals(ResultadoPix.SUCESSO, depois,
+                               "Fichas de conta e CPF não devem ser perdidas com a rejeição global");
+    }
+
+    public void testOperacaoRecusadaNaoEConfundidaComRejeicao() {
+        // Arrange
+        ControleAdmissaoPix controle = new ControleAdmissaoPix();
+
+        // Act
+        ResultadoPix resultado = controle.executar("0001-001001", "12345678901", () -> false);
+
+        // Assert
+        TestRunner.assertEquals(ResultadoPix.FALHOU, resultado, "Operação recusada deve retornar FALHOU");
+        TestRunner.assertFalse(resultado.isRejeitado(), "FALHOU não é rejeição por limite");
+    }
+
+    public void testBaldesOciososSaoRemovidos() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong();
+        ControleAdmissaoPix controle = new ControleAdmissaoPix(10, 10, 10, 10, 1000, 1000, relogio::get);
+        for (int i = 0; i < 100; i++) {
+            controle.executar("0001-" + i, "cpf-" + i, () -> true);
+        }
+        int baldesAntes = controle.getTotalBaldes();
+
+        // Act
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        controle.limparBaldesOciosos();
+
+        // Assert
+        TestRunner.assertEquals(200, baldesAntes, "Deve haver um balde por conta e por CPF");
+        TestRunner.assertEquals(0, controle.getTotalBaldes(), "Baldes cheios (ociosos) devem ser removidos");
+    }
+
+    public void testPixEmAndamentoEContado() throws Exception {
+        // Arrange
+        ControleAdmissaoPix controle = new ControleAdmissaoPix();
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Thread thread = new Thread(() -> controle.executar("0001-001001", "12345678901", () -> {
+            emExecucao.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }));
+
+        // Act
+        thread.start();
+        emExecucao.await();
+        int durante = controle.getPixEmAndamento();
+        liberar.countDown();
+        thread.join();
+
+        // Assert
+        TestRunner.assertEquals(1, durante, "PIX em execução deve ser contado");
+        TestRunner.assertEquals(0, controle.getPixEmAndamento(), "Contador deve voltar a zero");
+    }
+
+    public void testBancoServiceRejeitaRajadaDePix() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        int rajada = ControleAdmissaoPix.RAJADA_CONTA_PADRAO;
+
+        // Act
+        ResultadoPix ultimo = null;
+        for (int i = 0; i <= rajada; i++) {
+            ultimo = bancoService.pixComAdmissao("0001", "001002", "98765432100", new BigDecimal("1.00"));
+        }
+
+        // Assert
+        TestRunner.assertEquals(ResultadoPix.REJEITADO_LIMITE_CONTA, ultimo, "PIX além da rajada deve ser rejeitado");
+        TestRunner.assertEquals(new BigDecimal("25000.00").add(new BigDecimal(rajada)),
+                               bancoService.buscarConta("0001", "001003").get().getSaldo(),
+                               "Somente os PIX admitidos devem ser creditados");
+    }
+}
@@ -0,0 +1,67 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaCorrente;
+import com.nttdata.banco.model.Transacao;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Testes automatizados para a classe IndiceTemporalTransacoes
+ */
+public class IndiceTemporalTransacoesTest {
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    public void testBuscaDevolveSoOPeriodoEmOrdem() {
+        // Arrange
+        Conta conta = novaConta();
+        for (int i = 0; i < 60; i++) {
+            conta.adicionarTransacao(transacao("t" + i, INICIO.plusDays(i)));
+        }
+        IndiceTemporalTransacoes indice = new IndiceTemporalTransacoes();
+
+        // Act
+        List<Transacao> marco = indice.buscar(conta, INICIO.plusDays(10), INICIO.plusDays(20));
+        List<Transacao> vazio = indice.buscar(conta, INICIO.minusDays(5), INICIO);
+
+        // Assert
+        TestRunner.assertEquals(10, marco.size(), "Período deve trazer 10 dias");
+        TestRunner.assertEquals("t10", marco.get(0).getId(), "Início do período é inclusivo");
+        TestRunner.assertEquals("t19", marco.get(9).getId(), "Fim do período é exclusivo");
+        TestRunner.assertTrue(vazio.isEmpty(), "Período antes do histórico deve vir vazio");
+    }
+
+    public void testIndiceAcompanhaTransacoesNovasForaDeOrdem() {
+        // Arrange
+        Conta conta = novaConta();
+        conta.adicionarTransacao(transacao("a", INICIO));
+        conta.adicionarTransacao(transacao("c", INICIO.plusHours(2)));
+        IndiceTemporalTransacoes indice = new IndiceTemporalTransacoes();
+        indice.buscar(conta, INICIO, INICIO.plusDays(1));
+
+        // Act: uma transação restaurada com data anterior e outra no mesmo instante de "c"
+        conta.adicionarTransacao(transacao("b", INICIO.plusHours(1)));
+        conta.adicionarTransacao(transacao("c2", INICIO.plusHours(2)));
+        List<Transacao> dia = indice.buscar(conta, INICIO, INICIO.plusDays(1));
+
+        // Assert
+        TestRunner.assertEquals(4, indice.getQuantidadeIndexada("0001-001001"), "Novas transações devem ser indexadas");
+        TestRunner.assertEquals(List.of("a", "b", "c", "c2"), dia.stream().map(Transacao::getId).toList(),
+                                "Ordem deve ser por data/hora, com empates na ordem do histórico");
+    }
+
+    private static Conta novaConta() {
+        Cliente cliente = new Cliente("João", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        return new ContaCorrente("001001", "0001", cliente);
+    }
+
+    private static Transacao transacao(String id, LocalDateTime dataHora) {
+        return new Transacao(id, TipoTransacao.DEPOSITO, BigDecimal.ONE, dataHora, "Depósito", "0001-001001", null,
+                             true, null, null);
+    }
+}
\ No newline at end of file
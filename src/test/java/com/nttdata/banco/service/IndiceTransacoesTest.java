@@ -0,0 +1,150 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.enums.TipoTransacao;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaCorrente;
+import com.nttdata.banco.model.Transacao;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Testes automatizados para a classe IndiceTransacoes
+ */
+public class IndiceTransacoesTest {
+
+    public void testLocalizaPorIdEPorContas() {
+        // Arrange
+        Conta origem = novaConta("001001");
+        Conta destino = novaConta("001002");
+        Transacao enviada = new Transacao(TipoTransacao.TRANSFERENCIA, BigDecimal.TEN, "Transferência enviada",
+                                          "0001-001001", "0001-001002", true);
+        Transacao recebida = new Transacao(TipoTransacao.TRANSFERENCIA, BigDecimal.TEN, "Transferência recebida",
+                                           "0001-001001", "0001-001002", true);
+        origem.adicionarTransacao(new Transacao(TipoTransacao.DEPOSITO, BigDecimal.ONE, "Depósito", "0001-001001", true));
+        origem.adicionarTransacao(enviada);
+        destino.adicionarTransacao(recebida);
+        IndiceTransacoes indice = new IndiceTransacoes();
+
+        // Act
+        indice.acompanhar(List.of(origem, destino));
+        IndiceTransacoes.Referencia referencia = indice.localizar(recebida.getId()).get();
+
+        // Assert
+        TestRunner.assertEquals(3, indice.getQuantidade(), "Todas as transações devem ser indexadas");
+        TestRunner.assertEquals("0001-001002", referencia.getConta(), "Referência aponta a conta do histórico");
+        TestRunner.assertEquals(0L, referencia.getPosicao(), "Referência aponta a posição no histórico");
+        TestRunner.assertEquals(3, indice.comOrigem("0001-001001").size(), "Origem inclui os dois lados");
+        TestRunner.assertEquals(2, indice.comDestino("0001-001002").size(), "Destino inclui os dois lados");
+        TestRunner.assertEquals(2, indice.doTipo(TipoTransacao.TRANSFERENCIA).size(), "Índice por tipo");
+        TestRunner.assertTrue(indice.localizar("inexistente").isEmpty(), "Id desconhecido");
+    }
+
+    public void testRecuarTiraAsTransacoesDesfeitas() {
+        // Arrange - muitas transações para que a remoção de ids reposicione entradas do mapa
+        Conta conta = novaConta("001001");
+        IndiceTransacoes indice = new IndiceTransacoes();
+        for (int i = 0; i < 2_000; i++) {
+            conta.adicionarTransacao(new Transacao(TipoTransacao.DEPOSITO, BigDecimal.ONE, "Depósito", "0001-001001", true));
+        }
+        indice.acompanhar(conta);
+        Transacao desfeita = conta.getArmazenamentoHistorico().obter(1_500);
+        Transacao mantida = conta.getArmazenamentoHistorico().obter(1_499);
+
+        // Act
+        indice.recuar(conta, 1_500);
+        conta.desfazer(conta.getSaldo(), 1_500);
+        Transacao nova = new Transacao(TipoTransacao.SAQUE, BigDecimal.ONE, "Saque", "0001-001001", true);
+        conta.adicionarTransacao(nova);
+        indice.acompanhar(conta);
+
+        // Assert
+        TestRunner.assertEquals(1_501, indice.getQuantidade(), "Ids desfeitos saem do índice");
+        TestRunner.assertTrue(indice.localizar(desfeita.getId()).isEmpty(), "Id desfeito não é mais localizado");
+        TestRunner.assertEquals(1_499L, indice.localizar(mantida.getId()).get().getPosicao(), "Ids anteriores ficam");
+        TestRunner.assertEquals(1_500L, indice.localizar(nova.getId()).get().getPosicao(), "Nova ocupa a posição liberada");
+        TestRunner.assertEquals(1_500, indice.doTipo(TipoTransacao.DEPOSITO).size(), "Índice por tipo recuado");
+        TestRunner.assertEquals(1_501, indice.comOrigem("0001-001001").size(), "Sem referência repetida");
+        for (int i = 0; i < 1_500; i++) {
+            Transacao transacao = conta.getArmazenamentoHistorico().obter(i);
+            TestRunner.assertTrue(indice.localizar(transacao.getId()).isPresent(), "Toda transação mantida é localizada");
+        }
+    }
+
+    public void testAcompanharIndexaSoAsNovas() {
+        // Arrange
+        Conta conta = novaConta("001001");
+        IndiceTransacoes indice = new IndiceTransacoes();
+        conta.adicionarTransacao(new Transacao(TipoTransacao.DEPOSITO, BigDecimal.ONE, "Depósito", "0001-001001", true));
+        indice.acompanhar(conta);
+
+        // Act
+        conta.adicionarTransacao(new Transacao(TipoTransacao.SAQUE, BigDecimal.ONE, "Saque", "0001-001001", true));
+        indice.acompanhar(conta);
+        indice.acompanhar(conta);
+
+        // Assert
+        TestRunner.assertEquals(2, indice.getQuantidade(), "Cada transação deve ser indexada uma vez");
+        TestRunner.assertEquals(1, indice.doTipo(TipoTransacao.SAQUE).size(), "Nova transação deve ser indexada");
+        TestRunner.assertEquals(2, indice.comOrigem("0001-001001").size(), "Sem referências duplicadas");
+    }
+
+    public void testRemoverContaEscondeAsReferenciasDoHistorico() {
+        // Arrange - a segunda transação tem id fora do formato UUID
+        Conta origem = novaConta("001001");
+        Conta destino = novaConta("001002");
+        Transacao enviada = new Transacao(TipoTransacao.TRANSFERENCIA, BigDecimal.TEN, "Transferência enviada",
+                                          "0001-001001", "0001-001002", true);
+        Transacao recebida = new Transacao("importada-1", TipoTransacao.TRANSFERENCIA, BigDecimal.TEN,
+                                           LocalDateTime.now(), "Transferência recebida", "0001-001001",
+                                           "0001-001002", true, "", null);
+        origem.adicionarTransacao(enviada);
+        destino.adicionarTransacao(recebida);
+        IndiceTransacoes indice = new IndiceTransacoes();
+        indice.acompanhar(List.of(origem, destino));
+
+        // Act
+        boolean achadaAntes = indice.localizar("importada-1").isPresent();
+        indice.remover("0001-001002");
+        Conta recriada = novaConta("001002");
+        recriada.adicionarTransacao(new Transacao(TipoTransacao.DEPOSITO, BigDecimal.ONE, "Depósito", "0001-001002", true));
+        indice.acompanhar(recriada);
+
+        // Assert
+        TestRunner.assertTrue(achadaAntes, "Id fora do formato UUID também é indexado");
+        TestRunner.assertTrue(indice.localizar("importada-1").isEmpty(), "Transação da conta removida some");
+        TestRunner.assertEquals(1, indice.comOrigem("0001-001001").size(), "Só o lado da conta que ficou");
+        TestRunner.assertEquals("0001-001001", indice.localizar(enviada.getId()).get().getConta(),
+                                "Transação de outra conta continua");
+        TestRunner.assertEquals(1, indice.comOrigem("0001-001002").size(), "Conta recriada começa do zero");
+    }
+
+    public void testConstruirIndexaUmaVezSo() {
+        // Arrange
+        Conta conta = novaConta("001001");
+        conta.adicionarTransacao(new Transacao(TipoTransacao.DEPOSITO, BigDecimal.ONE, "Depósito", "0001-001001", true));
+        IndiceTransacoes indice = new IndiceTransacoes();
+        indice.acompanharSeConstruido(conta);
+        boolean construidoAntes = indice.isConstruido();
+
+        // Act
+        indice.construir(() -> List.of(conta));
+        indice.construir(() -> {
+            throw new AssertionError("Contas não devem ser lidas de novo");
+        });
+        conta.adicionarTransacao(new Transacao(TipoTransacao.SAQUE, BigDecimal.ONE, "Saque", "0001-001001", true));
+        indice.acompanharSeConstruido(conta);
+
+        // Assert
+        TestRunner.assertFalse(construidoAntes, "Nada é indexado antes da construção");
+        TestRunner.assertEquals(2, indice.getQuantidade(), "Construção e acompanhamento indexam cada uma");
+    }
+
+    private static Conta novaConta(String numero) {
+        Cliente cliente = new Cliente("João", "12345678901", "joao@email.com", "11999999999", LocalDate.of(1990, 5, 15));
+        return new ContaCorrente(numero, "0001", cliente);
+    }
+}
\ No newline at end of file
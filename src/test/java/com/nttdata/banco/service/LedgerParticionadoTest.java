@@ -0,0 +1,223 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.TestRunner;
+import com.nttdata.banco.model.Cliente;
+import com.nttdata.banco.model.Conta;
+import com.nttdata.banco.model.ContaPoupanca;
+import com.nttdata.banco.repository.ClienteRepository;
+import com.nttdata.banco.repository.ContaRepository;
+import com.nttdata.banco.repository.InvestimentoRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes automatizados para o LedgerParticionado (escritor único por partição)
+ * Verifica operações simples, transferências entre partições e conservação do saldo
+ */
+public class LedgerParticionadoTest {
+
+    public void testDepositoESaque() throws Exception {
+        // Arrange
+        ContaRepository repository = new ContaRepository();
+        Conta conta = repository.salvar(novaPoupanca("001001"));
+
+        try (LedgerParticionado ledger = new LedgerParticionado(repository, 4, 64)) {
+            // Act
+            boolean deposito = ledger.depositar("0001", "001001", new BigDecimal("300.00")).get(5, TimeUnit.SECONDS);
+            boolean saque = ledger.sacar("0001", "001001", new BigDecimal("100.00")).get(5, TimeUnit.SECONDS);
+            boolean saqueSemSaldo = ledger.sacar("0001", "001001", new BigDecimal("1000.00")).get(5, TimeUnit.SECONDS);
+            boolean contaInexistente = ledger.depositar("0001", "999999", new BigDecimal("1.00")).get(5, TimeUnit.SECONDS);
+
+            // Assert
+            TestRunner.assertTrue(deposito, "Depósito deve ser aplicado");
+            TestRunner.assertTrue(saque, "Saque deve ser aplicado");
+            TestRunner.assertFalse(saqueSemSaldo, "Saque sem saldo deve falhar");
+            TestRunner.assertFalse(contaInexistente, "Conta inexistente deve falhar");
+            TestRunner.assertEquals(0, new BigDecimal("200.00").compareTo(conta.getSaldo()), "Saldo deve ser R$ 200");
+            TestRunner.assertEquals(3, conta.getHistorico().size(), "Deve registrar 3 transações");
+        }
+    }
+
+    public void testParticaoDeterministicaPelaChave() {
+        // Arrange
+        try (LedgerParticionado ledger = new LedgerParticionado(new ContaRepository(), 8, 16)) {
+            String chave = ContaRepository.gerarChave("0001", "001001");
+
+            // Act & Assert
+            TestRunner.assertEquals(ledger.particaoDe(chave), ledger.particaoDe(chave), "Mesma chave deve cair na mesma partição");
+            TestRunner.assertTrue(ledger.particaoDe(chave) >= 0 && ledger.particaoDe(chave) < 8, "Partição deve estar no intervalo");
+        }
+    }
+
+    public void testTransferenciasEntrePartioesConservamSaldo() throws Exception {
+        // Arrange
+        ContaRepository repository = new ContaRepository();
+        List<Conta> contas = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Conta conta = repository.salvar(novaPoupanca(String.format("%06d", 2000 + i)));
+            conta.depositar(new BigDecimal("100.00"));
+            contas.add(conta);
+        }
+
+        List<CompletableFuture<Boolean>> futuros = new ArrayList<>();
+        try (LedgerParticionado ledger = new LedgerParticionado(repository, 4, 32)) {
+            // Act - a fila pequena força contrapressão sobre quem envia
+            for (int i = 0; i < 20000; i++) {
+                Conta origem = contas.get(i % contas.size());
+                Conta destino = contas.get((i * 5 + 3) % contas.size());
+                futuros.add(ledger.transferir(origem.getAgencia(), origem.getNumero(),
+                                              destino.getAgencia(), destino.getNumero(), new BigDecimal("7.00")));
+            }
+            CompletableFuture.allOf(futuros.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        BigDecimal total = contas.stream().map(Conta::getSaldo).reduce(BigDecimal.ZERO, BigDecimal::add);
+        TestRunner.assertEquals(0, new BigDecimal("1600.00").compareTo(total), "Total deve ser conservado - Atual: " + total);
+        long recebidas = contas.stream()
+                .flatMap(conta -> conta.getHistorico().stream())
+                .filter(t -> t.getDescricao().equals("Transferência recebida"))
+                .count();
+        long aceitas = futuros.stream().filter(CompletableFuture::join).count();
+        TestRunner.assertEquals(aceitas, recebidas, "Cada transferência aceita deve ter exatamente um crédito");
+    }
+
+    public void testTransferenciaParaDestinoExcluidoEstornaOrigem() throws Exception {
+        // Arrange - o destino passa na validação, mas some antes da perna de crédito
+        ContaRepository repository = new ContaRepository() {
+            @Override
+            public boolean existe(String agencia, String numero) {
+                return true;
+            }
+        };
+        Conta origem = repository.salvar(novaPoupanca("003001"));
+        origem.depositar(new BigDecimal("100.00"));
+
+        boolean resultado;
+        try (LedgerParticionado ledger = new LedgerParticionado(repository, 4, 16)) {
+            // Act
+            resultado = ledger.transferir("0001", "003001", "0001", "999999", new BigDecimal("40.00"))
+                    .get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        TestRunner.assertFalse(resultado, "Transferência para destino excluído deve falhar");
+        TestRunner.assertEquals(0, new BigDecimal("100.00").compareTo(origem.getSaldo()),
+                               "Valor debitado deve voltar à origem - Atual: " + origem.getSaldo());
+        TestRunner.assertTrue(origem.getHistorico().stream()
+                                      .anyMatch(t -> t.getDescricao().equals("Transferência estornada")),
+                              "Estorno deve constar no histórico da origem");
+    }
+
+    public void testEstornoSemOrigemDeixaValorEmSuspenso() throws Exception {
+        // Arrange - destino some antes do crédito e a origem antes do estorno
+        Conta origem = novaPoupanca("004001");
+        origem.depositar(new BigDecimal("100.00"));
+        AtomicInteger buscasDaOrigem = new AtomicInteger();
+        ContaRepository repository = new ContaRepository() {
+            @Override
+            public boolean existe(String agencia, String numero) {
+                return true;
+            }
+
+            @Override
+            public Optional<Conta> buscarPorNumero(String agencia, String numero) {
+                if (numero.equals("004001") && buscasDaOrigem.getAndIncrement() == 0) {
+                    return Optional.of(origem);
+                }
+                return Optional.empty();
+            }
+        };
+
+        boolean resultado;
+        List<LedgerParticionado.ValorEmSuspenso> suspensos;
+        BigDecimal total;
+        try (LedgerParticionado ledger = new LedgerParticionado(repository, 4, 16)) {
+            // Act
+            resultado = ledger.transferir("0001", "004001", "0001", "999999", new BigDecimal("40.00"))
+                    .get(5, TimeUnit.SECONDS);
+            suspensos = ledger.getValoresEmSuspenso();
+            total = ledger.getTotalEmSuspenso();
+        }
+
+        // Assert
+        TestRunner.assertFalse(resultado, "Transferência sem destino nem origem deve falhar");
+        TestRunner.assertEquals(0, new BigDecimal("60.00").compareTo(origem.getSaldo()), "Débito foi aplicado");
+        TestRunner.assertEquals(1, suspensos.size(), "Valor deve ficar em suspenso");
+        TestRunner.assertEquals(0, new BigDecimal("40.00").compareTo(total), "Total em suspenso é o valor debitado");
+        TestRunner.assertEquals("0001-004001", suspensos.get(0).getContaOrigem(), "Origem do valor em suspenso");
+        TestRunner.assertEquals("0001-999999", suspensos.get(0).getContaDestino(), "Destino do valor em suspenso");
+    }
+
+    public void testExcecaoEmComandoNaoDerrubaEscritor() throws Exception {
+        // Arrange - uma partição só: o mesmo escritor recebe os dois comandos
+        ContaRepository repository = new ContaRepository() {
+            @Override
+            public Optional<Conta> buscarPorNumero(String agencia, String numero) {
+                if (numero.equals("666666")) {
+                    throw new IllegalStateException("Falha de leitura");
+                }
+                return super.buscarPorNumero(agencia, numero);
+            }
+        };
+        Conta conta = repository.salvar(novaPoupanca("005001"));
+
+        try (LedgerParticionado ledger = new LedgerParticionado(repository, 1, 16)) {
+            // Act
+            CompletableFuture<Boolean> comFalha = ledger.depositar("0001", "666666", new BigDecimal("1.00"));
+            boolean seguinte = ledger.depositar("0001", "005001", new BigDecimal("10.00")).get(5, TimeUnit.SECONDS);
+            Throwable erro = null;
+            try {
+                comFalha.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                erro = e.getCause();
+            }
+
+            // Assert
+            TestRunner.assertTrue(erro instanceof IllegalStateException, "Futuro do comando deve falhar com a exceção");
+            TestRunner.assertTrue(seguinte, "Escritor continua processando depois da falha");
+            TestRunner.assertEquals(0, new BigDecimal("10.00").compareTo(conta.getSaldo()), "Comando seguinte aplicado");
+        }
+    }
+
+    public void testNaoDivideRepositorioComBancoService() {
+        // Arrange
+        ContaRepository usadoPeloBanco = new ContaRepository();
+        ContaRepository usadoPeloLedger = new ContaRepository();
+        new BancoService(new ClienteRepository(), usadoPeloBanco, new InvestimentoRepository(), null);
+        boolean ledgerRecusado = false;
+        boolean bancoRecusado = false;
+
+        // Act
+        try (LedgerParticionado ledger = new LedgerParticionado(usadoPeloBanco, 1, 4)) {
+            ledger.getNumeroParticoes();
+        } catch (IllegalArgumentException e) {
+            ledgerRecusado = true;
+        }
+        try (LedgerParticionado ledger = new LedgerParticionado(usadoPeloLedger, 1, 4)) {
+            new BancoService(new ClienteRepository(), usadoPeloLedger, new InvestimentoRepository(), null);
+        } catch (IllegalArgumentException e) {
+            bancoRecusado = true;
+        }
+        BancoService depoisDeFechado = new BancoService(new ClienteRepository(), usadoPeloLedger,
+                                                        new InvestimentoRepository(), null);
+
+        // Assert
+        TestRunner.assertTrue(ledgerRecusado, "Ledger não usa repositório de um BancoService");
+        TestRunner.assertTrue(bancoRecusado, "BancoService não usa repositório de um ledger aberto");
+        TestRunner.assertNotNull(depoisDeFechado, "Repositório liberado quando o ledger fecha");
+    }
+
+    private Conta novaPoupanca(String numero) {
+        Cliente cliente = new Cliente("Cliente " + numero, "3" + numero + "0000", "c" + numero + "@email.com",
+                                      "11900000000", LocalDate.of(1990, 1, 1));
+        return new ContaPoupanca(numero, "0001", cliente);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.TestRunner;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Testes automatizados para a classe LinhaDoTempoSaldos
+ */
+public class LinhaDoTempoSaldosTest {
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 10, 9, 0);
+
+    public void testSaldoEmDevolveUltimoPontoAteOInstante() {
+        // Arrange
+        LinhaDoTempoSaldos linha = new LinhaDoTempoSaldos();
+        linha.iniciar("0001-1", INICIO, BigDecimal.ZERO);
+        linha.registrar("0001-1", INICIO.plusHours(1), new BigDecimal("100.00"));
+        linha.registrar("0001-1", INICIO.plusHours(2), new BigDecimal("70.50"));
+
+        // Act & Assert
+        TestRunner.assertTrue(linha.saldoEm("0001-1", INICIO.minusSeconds(1)).isEmpty(),
+                              "Antes do primeiro ponto o saldo é desconhecido");
+        TestRunner.assertEquals(new BigDecimal("0.00"), linha.saldoEm("0001-1", INICIO).get(), "Saldo na abertura");
+        TestRunner.assertEquals(new BigDecimal("100.00"), linha.saldoEm("0001-1", INICIO.plusMinutes(90)).get(),
+                                "Saldo entre dois pontos");
+        TestRunner.assertEquals(new BigDecimal("70.50"), linha.saldoEm("0001-1", INICIO.plusHours(2)).get(),
+                                "Saldo exatamente no instante do ponto");
+        TestRunner.assertEquals(new BigDecimal("70.50"), linha.saldoEm("0001-1", INICIO.plusDays(30)).get(),
+                                "Saldo depois do último ponto");
+        TestRunner.assertTrue(linha.saldoEm("0001-2", INICIO).isEmpty(), "Conta sem sequência");
+    }
+
+    public void testSaldoInalteradoNaoGeraNovoPonto() {
+        // Arrange
+        LinhaDoTempoSaldos linha = new LinhaDoTempoSaldos();
+        linha.iniciar("0001-1", INICIO, new BigDecimal("50.00"));
+
+        // Act
+        linha.registrar("0001-1", INICIO.plusMinutes(1), new BigDecimal("50.00"));
+        linha.registrar("0001-1", INICIO.plusMinutes(2), new BigDecimal("60.00"));
+
+        // Assert
+        TestRunner.assertEquals(2, linha.getQuantidadePontos("0001-1"), "Operação recusada não gera ponto");
+    }
+
+    public void testInstanteForaDeOrdemEhAjustado() {
+        // Arrange
+        LinhaDoTempoSaldos linha = new LinhaDoTempoSaldos();
+        linha.iniciar("0001-1", INICIO, BigDecimal.ZERO);
+        linha.registrar("0001-1", INICIO.plusMinutes(10), new BigDecimal("10.00"));
+
+        // Act
+        linha.registrar("0001-1", INICIO.plusMinutes(5), new BigDecimal("20.00"));
+
+        // Assert
+        TestRunner.assertEquals(new BigDecimal("0.00"), linha.saldoEm("0001-1", INICIO.plusMinutes(7)).get(),
+                                "Ponto atrasado não deve reescrever o passado");
+        TestRunner.assertEquals(new BigDecimal("20.00"), linha.saldoEm("0001-1", INICIO.plusMinutes(10)).get(),
+                                "Ponto atrasado vale a partir do último instante");
+    }
+
+    public void testMuitosPontosCrescemASequencia() {
+        // Arrange
+        LinhaDoTempoSaldos linha = new LinhaDoTempoSaldos();
+        linha.iniciar("0001-1", INICIO, BigDecimal.ZERO);
+
+        // Act
+        for (int i = 1; i <= 10_000; i++) {
+            linha.registrar("0001-1", INICIO.plusSeconds(i), BigDecimal.valueOf(i));
+        }
+
+        // Assert
+        TestRunner.assertEquals(10_001, linha.getQuantidadePontos("0001-1"), "Todos os pontos devem ser mantidos");
+        TestRunner.assertEquals(new BigDecimal("4321.00"), linha.saldoEm("0001-1", INICIO.plusSeconds(4321).plusNanos(500_000)).get(),
+                                "Busca binária deve achar o ponto certo");
+    }
+
+    public void testTrechoAvancaSaldoAPartirDoCheckpoint() {
+        // Arrange
+        LinhaDoTempoSaldos linha = new LinhaDoTempoSaldos();
+        linha.iniciar("0001-1", INICIO, new BigDecimal("10.00"));
+        for (int i = 1; i <= 5; i++) {
+            linha.registrar("0001-1", INICIO.plusHours(i), new BigDecimal(10 + i * 10 + ".00"));
+        }
+
+        // Act
+        LinhaDoTempoSaldos.Trecho trecho = linha.trecho("0001-1", INICIO.plusMinutes(90), INICIO.plusHours(4));
+        BigDecimal segunda = trecho.saldoEm(INICIO.plusHours(2));
+        BigDecimal terceira = trecho.saldoEm(INICIO.plusHours(3));
+        BigDecimal foraDeOrdem = trecho.saldoEm(INICIO.plusMinutes(100));
+
+        // Assert
+        TestRunner.assertEquals(new BigDecimal("20.00"), trecho.getSaldoInicial(), "Saldo antes do período");
+        TestRunner.assertEquals(new BigDecimal("30.00"), segunda, "Saldo após o ponto das 2h");
+        TestRunner.assertEquals(new BigDecimal("40.00"), terceira, "Saldo após o ponto das 3h");
+        TestRunner.assertEquals(new BigDecimal("20.00"), foraDeOrdem, "Consulta anterior volta pela busca binária");
+        TestRunner.assertEquals(new BigDecimal("40.00"), trecho.getSaldoFinal(), "Fim do período é exclusivo");
+        TestRunner.assertTrue(linha.trecho("0001-2", INICIO, INICIO.plusDays(1)).getSaldoInicial() == null,
+                              "Conta sem sequência não tem saldo inicial");
+    }
+}
\ No newline at end of file
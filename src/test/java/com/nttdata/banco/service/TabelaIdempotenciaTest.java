@@ -0,0 +1,182 @@
+package com.nttdata.banco.service;
+
+import com.nttdata.banco.TestRunner;
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Testes automatizados para a TabelaIdempotencia
+ * Verifica deduplicação, validade, descarte por capacidade e concorrência na mesma chave
+ */
+public class TabelaIdempotenciaTest {
+
+    public void testRepeticaoDevolveResultadoGuardado() {
+        // Arrange
+        TabelaIdempotencia tabela = new TabelaIdempotencia();
+        AtomicInteger execucoes = new AtomicInteger();
+
+        // Act
+        boolean primeira = tabela.executar("chave-1", () -> execucoes.incrementAndGet() == 1);
+        boolean segunda = tabela.executar("chave-1", () -> execucoes.incrementAndGet() == 1);
+
+        // Assert
+        TestRunner.assertTrue(primeira, "Primeira execução deve retornar true");
+        TestRunner.assertTrue(segunda, "Repetição deve devolver o resultado guardado");
+        TestRunner.assertEquals(1, execucoes.get(), "Operação deve executar uma única vez");
+        TestRunner.assertEquals(1L, tabela.getRepeticoes(), "Deve contar uma repetição");
+    }
+
+    public void testChaveVencidaExecutaNovamente() {
+        // Arrange
+        AtomicLong relogio = new AtomicLong();
+        TabelaIdempotencia tabela = new TabelaIdempotencia(100, 10, TimeUnit.SECONDS, relogio::get);
+        AtomicInteger execucoes = new AtomicInteger();
+
+        // Act
+        tabela.executar("chave", () -> execucoes.incrementAndGet() > 0);
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        tabela.executar("chave", () -> execucoes.incrementAndGet() > 0);
+
+        // Assert
+        TestRunner.assertEquals(2, execucoes.get(), "Após a validade a operação deve executar de novo");
+    }
+
+    public void testCapacidadeLimitada() {
+        // Arrange
+        TabelaIdempotencia tabela = new TabelaIdempotencia(128, 1, TimeUnit.HOURS);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            tabela.executar("chave-" + i, () -> true);
+        }
+
+        // Assert
+        TestRunner.assertTrue(tabela.getTamanho() <= 128, "Tabela não deve passar da capacidade - Atual: " + tabela.getTamanho());
+        TestRunner.assertTrue(tabela.getDescartes() > 0, "Entradas antigas devem ser descartadas");
+    }
+
+    public void testExcecaoLiberaChave() {
+        // Arrange
+        TabelaIdempotencia tabela = new TabelaIdempotencia();
+
+        // Act
+        try {
+            tabela.executar("chave", () -> {
+                throw new IllegalStateException("falha temporária");
+            });
+        } catch (IllegalStateException e) {
+            // esperado
+        }
+        boolean novaTentativa = tabela.executar("chave", () -> true);
+
+        // Assert
+        TestRunner.assertTrue(novaTentativa, "Após exceção a chave deve permitir nova execução");
+    }
+
+    public void testMesmaChaveConcorrenteExecutaUmaVez() throws InterruptedException {
+        // Arrange
+        TabelaIdempotencia tabela = new TabelaIdempotencia();
+        AtomicInteger execucoes = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                largada.await();
+                return tabela.executar("mesma-chave", () -> {
+                    execucoes.incrementAndGet();
+                    return true;
+                });
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Assert
+        TestRunner.assertEquals(1, execucoes.get(), "Tentativas simultâneas devem executar uma única vez");
+    }
+
+    public void testCapacidadeNaoDescartaEntradaEmAndamento() throws Exception {
+        // Arrange - capacidade 1: cada nova chave empurra a mais antiga
+        TabelaIdempotencia tabela = new TabelaIdempotencia(1, 1, TimeUnit.HOURS);
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger execucoesLenta = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> tabela.executar("lenta", () -> {
+            execucoesLenta.incrementAndGet();
+            iniciou.countDown();
+            try {
+                return liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        iniciou.await(10, TimeUnit.SECONDS);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            tabela.executar("rapida-" + i, () -> true);
+        }
+        int tamanhoComPendente = tabela.getTamanho();
+        liberar.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        boolean repeticao = tabela.executar("lenta", () -> execucoesLenta.incrementAndGet() > 0);
+
+        // Assert
+        TestRunner.assertEquals(2, tamanhoComPendente, "Entrada em andamento fica além da capacidade");
+        TestRunner.assertTrue(repeticao, "Repetição devolve o resultado da entrada que ficou");
+        TestRunner.assertEquals(1, execucoesLenta.get(), "Operação em andamento não é executada de novo");
+    }
+
+    public void testMesmaChaveComOutraOperacaoERecusada() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+        bancoService.depositar("req-456", "0001", "001001", new BigDecimal("100.00"));
+        boolean outraOperacao = false;
+        boolean outroValor = false;
+
+        // Act
+        try {
+            bancoService.sacar("req-456", "0001", "001001", new BigDecimal("100.00"));
+        } catch (IllegalArgumentException e) {
+            outraOperacao = true;
+        }
+        try {
+            bancoService.depositar("req-456", "0001", "001001", new BigDecimal("200.00"));
+        } catch (IllegalArgumentException e) {
+            outroValor = true;
+        }
+        boolean mesmaEmOutraEscala = bancoService.depositar("req-456", "0001", "001001", new BigDecimal("100.0"));
+
+        // Assert
+        TestRunner.assertTrue(outraOperacao, "Chave reutilizada em outra operação deve ser recusada");
+        TestRunner.assertTrue(outroValor, "Chave reutilizada com outro valor deve ser recusada");
+        TestRunner.assertTrue(mesmaEmOutraEscala, "Mesmo valor em outra escala é a mesma operação");
+        TestRunner.assertEquals(new BigDecimal("5100.00"), bancoService.buscarConta("0001", "001001").get().getSaldo(),
+                               "Só o primeiro depósito deve ser aplicado");
+    }
+
+    public void testDepositoIdempotenteNoBancoService() {
+        // Arrange
+        BancoService bancoService = new BancoService();
+
+        // Act - cliente reenvia o mesmo depósito após timeout
+        boolean primeira = bancoService.depositar("req-123", "0001", "001001", new BigDecimal("100.00"));
+        boolean repeticao = bancoService.depositar("req-123", "0001", "001001", new BigDecimal("100.00"));
+
+        // Assert
+        TestRunner.assertTrue(primeira && repeticao, "Ambas as chamadas devem informar sucesso");
+        TestRunner.assertEquals(new BigDecimal("5100.00"), bancoService.buscarConta("0001", "001001").get().getSaldo(),
+                               "Depósito deve ser aplicado uma única vez");
+    }
+}
\ No newline at end of file